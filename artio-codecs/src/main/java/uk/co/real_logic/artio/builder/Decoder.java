@@ -52,4 +52,16 @@ public interface Decoder
      * or {@code NO_ERROR} if there's no error.
      */
     int rejectReason();
+
+    /**
+     * Appends the same representation as {@link #toString()} to a builder. Generated decoders override this in
+     * order to avoid allocating intermediate Strings.
+     *
+     * @param builder the builder to append to.
+     * @return the builder.
+     */
+    default StringBuilder appendTo(final StringBuilder builder)
+    {
+        return builder.append(this);
+    }
 }
@@ -58,4 +58,16 @@ public interface Encoder
     Object header();
 
     void resetMessage();
+
+    /**
+     * Appends the same representation as {@link #toString()} to a builder. Generated encoders override this in
+     * order to avoid allocating intermediate Strings.
+     *
+     * @param builder the builder to append to.
+     * @return the builder.
+     */
+    default StringBuilder appendTo(final StringBuilder builder)
+    {
+        return builder.append(this);
+    }
 }
@@ -15,25 +15,71 @@
  */
 package uk.co.real_logic.artio.dictionary;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static uk.co.real_logic.artio.dictionary.PackedCharArrays.MISSING_KEY;
+
+/**
+ * Immutable map from char sequences to values that can be queried with a char array. Keys of up to 8 ASCII
+ * chars are held in an open addressed table of packed longs, other keys fall back to a hash map.
+ *
+ * @param <V> the type of values in the map.
+ */
 public final class CharArrayMap<V>
 {
     private final CharArrayWrapper wrapper = new CharArrayWrapper();
-    private final Map<CharArrayWrapper, V> map;
+    private final long[] packedKeys;
+    private final Object[] packedValues;
+    private final Map<CharArrayWrapper, V> otherEntries = new HashMap<>();
 
     public CharArrayMap(final Map<String, V> buildFrom)
     {
-        this.map = buildFrom
-            .entrySet()
-            .stream()
-            .collect(Collectors.toMap((entry) -> new CharArrayWrapper(entry.getKey()), Map.Entry::getValue));
+        int packedCount = 0;
+        for (final String key : buildFrom.keySet())
+        {
+            if (PackedCharArrays.pack(key) != MISSING_KEY)
+            {
+                packedCount++;
+            }
+        }
+
+        packedKeys = PackedCharArrays.newKeys(packedCount);
+        packedValues = new Object[packedKeys.length];
+        for (final Map.Entry<String, V> entry : buildFrom.entrySet())
+        {
+            final String key = entry.getKey();
+            final long packedKey = PackedCharArrays.pack(key);
+            if (packedKey == MISSING_KEY)
+            {
+                otherEntries.put(new CharArrayWrapper(key), entry.getValue());
+            }
+            else
+            {
+                final int slot = PackedCharArrays.slot(packedKeys, packedKey);
+                packedKeys[slot] = packedKey;
+                packedValues[slot] = entry.getValue();
+            }
+        }
     }
 
+    @SuppressWarnings("unchecked")
     public V get(final char[] value, final int length)
     {
+        final long key = PackedCharArrays.pack(value, length);
+        if (key != MISSING_KEY)
+        {
+            final long[] packedKeys = this.packedKeys;
+            final int slot = PackedCharArrays.slot(packedKeys, key);
+            return packedKeys[slot] == key ? (V)packedValues[slot] : null;
+        }
+
+        if (otherEntries.isEmpty())
+        {
+            return null;
+        }
+
         wrapper.wrap(value, length);
-        return map.get(wrapper);
+        return otherEntries.get(wrapper);
     }
 }
@@ -15,16 +15,20 @@
  */
 package uk.co.real_logic.artio.dictionary;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Set;
+import java.util.*;
 
-import static java.util.stream.Collectors.toSet;
+import static uk.co.real_logic.artio.dictionary.PackedCharArrays.MISSING_KEY;
 
+/**
+ * Immutable set of char sequences that can be queried with a char array. Values of up to 8 ASCII chars,
+ * such as most FIX enum values, are held in an open addressed table of packed longs. Other values fall back
+ * to a hash set.
+ */
 public final class CharArraySet
 {
     private final CharArrayWrapper wrapper = new CharArrayWrapper();
-    private final Set<CharArrayWrapper> values;
+    private final long[] packedValues;
+    private final Set<CharArrayWrapper> otherValues;
 
     public CharArraySet(final String... values)
     {
@@ -33,23 +37,59 @@ public final class CharArraySet
 
     public CharArraySet(final Collection<String> values)
     {
-        this.values = values
-            .stream()
-            .map(CharArrayWrapper::new)
-            .collect(toSet());
+        final List<String> unpackedValues = new ArrayList<>();
+        int packedCount = 0;
+        for (final String value : values)
+        {
+            if (PackedCharArrays.pack(value) == MISSING_KEY)
+            {
+                unpackedValues.add(value);
+            }
+            else
+            {
+                packedCount++;
+            }
+        }
+
+        packedValues = PackedCharArrays.newKeys(packedCount);
+        for (final String value : values)
+        {
+            final long key = PackedCharArrays.pack(value);
+            if (key != MISSING_KEY)
+            {
+                packedValues[PackedCharArrays.slot(packedValues, key)] = key;
+            }
+        }
+
+        otherValues = new HashSet<>();
+        for (final String value : unpackedValues)
+        {
+            otherValues.add(new CharArrayWrapper(value));
+        }
     }
 
     public CharArraySet(final CharArraySet other)
     {
-        this.values = other.values
-            .stream()
-            .map(CharArrayWrapper::new)
-            .collect(toSet());
+        // Only the wrapper is mutable, so the tables themselves can be shared.
+        this.packedValues = other.packedValues;
+        this.otherValues = other.otherValues;
     }
 
     public boolean contains(final char[] value, final int length)
     {
+        final long key = PackedCharArrays.pack(value, length);
+        if (key != MISSING_KEY)
+        {
+            final long[] packedValues = this.packedValues;
+            return packedValues[PackedCharArrays.slot(packedValues, key)] == key;
+        }
+
+        if (otherValues.isEmpty())
+        {
+            return false;
+        }
+
         wrapper.wrap(value, length);
-        return values.contains(wrapper);
+        return otherValues.contains(wrapper);
     }
 }
@@ -27,13 +27,6 @@ final class CharArrayWrapper
     {
     }
 
-    CharArrayWrapper(final CharArrayWrapper other)
-    {
-        this.values = other.values;
-        this.length = other.length;
-        this.hashcode = other.hashcode;
-    }
-
     CharArrayWrapper(final String string)
     {
         final char[] values = string.toCharArray();
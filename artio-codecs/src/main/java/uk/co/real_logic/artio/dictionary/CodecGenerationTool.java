@@ -27,6 +27,12 @@ import static uk.co.real_logic.artio.dictionary.generation.GenerationUtil.*;
 
 public final class CodecGenerationTool
 {
+    /**
+     * Set this system property to true in order to generate codecs whose repeating group entries are held in a
+     * reusable array and can be accessed by index.
+     */
+    public static final String ARRAY_BACKED_GROUPS_PROP = "fix.codecs.array_backed_groups";
+
     public static void main(final String[] args) throws Exception
     {
         if (args.length < 2)
@@ -49,6 +55,8 @@ public final class CodecGenerationTool
             dictionary = parseDictionary(xmlFile, dictionary);
         }
 
+        final boolean arrayBackedGroups = Boolean.getBoolean(ARRAY_BACKED_GROUPS_PROP);
+
         final PackageOutputManager parent = new PackageOutputManager(outputPath, PARENT_PACKAGE);
         final PackageOutputManager decoder = new PackageOutputManager(outputPath, DECODER_PACKAGE);
 
@@ -60,10 +68,12 @@ public final class CodecGenerationTool
             1,
             ENCODER_PACKAGE,
             PARENT_PACKAGE,
-            new PackageOutputManager(outputPath, ENCODER_PACKAGE), Validation.class);
+            new PackageOutputManager(outputPath, ENCODER_PACKAGE),
+            Validation.class,
+            arrayBackedGroups);
 
         final DecoderGenerator decoderGenerator = new DecoderGenerator(
-            dictionary, 1, DECODER_PACKAGE, PARENT_PACKAGE, decoder, Validation.class);
+            dictionary, 1, DECODER_PACKAGE, PARENT_PACKAGE, decoder, Validation.class, arrayBackedGroups);
         final PrinterGenerator printerGenerator = new PrinterGenerator(dictionary, DECODER_PACKAGE, decoder);
         final AcceptorGenerator acceptorGenerator = new AcceptorGenerator(dictionary, DECODER_PACKAGE, decoder);
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import org.agrona.BitUtil;
+import org.agrona.collections.Hashing;
+
+import java.util.Arrays;
+
+/**
+ * Packs short ASCII char arrays into a long so that they can be stored in open addressed tables without
+ * pointer chasing. Each char takes up a byte and, because NUL isn't packed, keys of different lengths
+ * can't collide.
+ */
+final class PackedCharArrays
+{
+    static final int MAX_PACKED_LENGTH = 8;
+
+    /**
+     * Marks both empty slots and values that can't be packed, all packed keys are non-negative.
+     */
+    static final long MISSING_KEY = -1L;
+
+    private static final int MIN_CAPACITY = 8;
+
+    private PackedCharArrays()
+    {
+    }
+
+    static long pack(final String value)
+    {
+        return pack(value.toCharArray(), value.length());
+    }
+
+    static long pack(final char[] value, final int length)
+    {
+        if (length > MAX_PACKED_LENGTH)
+        {
+            return MISSING_KEY;
+        }
+
+        long key = 0;
+        for (int i = 0; i < length; i++)
+        {
+            final char character = value[i];
+            if (character == 0 || character > Byte.MAX_VALUE)
+            {
+                return MISSING_KEY;
+            }
+
+            key = (key << 8) | character;
+        }
+
+        return key;
+    }
+
+    static long[] newKeys(final int size)
+    {
+        final long[] keys = new long[Math.max(MIN_CAPACITY, BitUtil.findNextPositivePowerOfTwo(size * 2))];
+        Arrays.fill(keys, MISSING_KEY);
+        return keys;
+    }
+
+    /**
+     * Find the slot that holds the key, or the empty slot that it should be inserted into.
+     *
+     * @param keys the table to search.
+     * @param key  the packed key to search for.
+     * @return the index of the slot.
+     */
+    static int slot(final long[] keys, final long key)
+    {
+        final int mask = keys.length - 1;
+        int index = Hashing.hash(key, mask);
+        long candidate;
+        while ((candidate = keys[index]) != key && candidate != MISSING_KEY)
+        {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+}
@@ -99,6 +99,31 @@ public final class CodecUtil
         return true;
     }
 
+    /**
+     * Checks whether a byte array holds the same value as {@link #toBytes(char[], int)} would produce.
+     */
+    public static boolean equals(final byte[] value, final char[] expected, final int length)
+    {
+        if (value.length != length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            if (value[i] != (byte)expected[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * NB: for ASCII values this is the same hash code as {@link java.util.Arrays#hashCode(byte[])} gives
+     * for the result of {@link #toBytes(char[], int)}.
+     */
     public static int hashCode(final char[] value, final int length)
     {
         int result = 1;
@@ -109,4 +134,51 @@ public final class CodecUtil
 
         return result;
     }
+
+    public static void appendIndent(final StringBuilder builder, final int level)
+    {
+        for (int i = 0; i < level; i++)
+        {
+            builder.append("  ");
+        }
+    }
+
+    /**
+     * NB: only valid for ASCII bytes.
+     */
+    public static void appendString(final StringBuilder builder, final byte[] value, final int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            builder.append((char)value[i]);
+        }
+    }
+
+    public static void appendString(final StringBuilder builder, final char[] value, final int length)
+    {
+        builder.append(value, 0, length);
+    }
+
+    /**
+     * Appends the value in the same format as {@link java.util.Arrays#toString(byte[])}.
+     */
+    public static void appendData(final StringBuilder builder, final byte[] value)
+    {
+        if (value == null)
+        {
+            builder.append("null");
+            return;
+        }
+
+        builder.append('[');
+        for (int i = 0; i < value.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(", ");
+            }
+            builder.append(value[i]);
+        }
+        builder.append(']');
+    }
 }
@@ -83,6 +83,7 @@ public class DecoderGenerator extends Generator
     private Aggregate currentAggregate = null;
 
     private final int initialBufferSize;
+    private final boolean arrayBackedGroups;
 
     private String allFieldsDictionary;
 
@@ -93,9 +94,30 @@ public class DecoderGenerator extends Generator
         final String builderCommonPackage,
         final OutputManager outputManager,
         final Class<?> validationClass)
+    {
+        this(
+            dictionary, initialBufferSize, builderPackage, builderCommonPackage, outputManager, validationClass, false);
+    }
+
+    /**
+     * Create a decoder generator.
+     *
+     * @param arrayBackedGroups if true then the entries of a repeating group are held in a reusable array that
+     *                          supports random access by index, rather than only being reachable by walking
+     *                          the <code>next()</code> chain.
+     */
+    public DecoderGenerator(
+        final Dictionary dictionary,
+        final int initialBufferSize,
+        final String builderPackage,
+        final String builderCommonPackage,
+        final OutputManager outputManager,
+        final Class<?> validationClass,
+        final boolean arrayBackedGroups)
     {
         super(dictionary, builderPackage, builderCommonPackage, outputManager, validationClass);
         this.initialBufferSize = initialBufferSize;
+        this.arrayBackedGroups = arrayBackedGroups;
     }
 
     public void generate()
@@ -177,7 +199,7 @@ public class DecoderGenerator extends Generator
         getters(out, aggregate.entries());
         out.append(decodeMethod(aggregate.entries(), aggregate, type));
         out.append(completeResetMethod(isMessage, aggregate.entries(), resetValidation()));
-        out.append(toString(aggregate, isMessage));
+        out.append(appendTo(aggregate, isMessage));
         out.append("}\n");
         currentAggregate = parentAggregate;
     }
@@ -222,12 +244,25 @@ public class DecoderGenerator extends Generator
         return "";
     }
 
-    protected String toStringGroupSuffix()
+    protected String toStringGroupArguments()
     {
+        return "";
+    }
+
+    protected String appendToGroupSuffix()
+    {
+        // Array backed groups are appended entry by entry from their parent
+        if (arrayBackedGroups)
+        {
+            return "";
+        }
+
         return
             "        if (next != null)\n" +
             "        {\n" +
-            "            entries += \",\\n\" + next.toString();\n" +
+            "            builder.append(\",\\n\");\n" +
+            "            appendIndent(builder, level - 1);\n" +
+            "            next.appendTo(builder, level);\n" +
             "        }\n";
     }
 
@@ -463,6 +498,14 @@ public class DecoderGenerator extends Generator
             "    public %1$s %2$s();\n",
             decoderClassName(group),
             formatPropertyName(group.name())));
+
+        if (arrayBackedGroups)
+        {
+            out.append(String.format(
+                "    public %1$s %2$sAt(int index);\n",
+                decoderClassName(group),
+                formatPropertyName(group.name())));
+        }
     }
 
     private void componentInterfaceGetter(final Component component, final Writer out)
@@ -518,15 +561,18 @@ public class DecoderGenerator extends Generator
         {
             wrapTrailerInConstructor(out, aggregate);
 
+            // Array backed groups are linked together by the parent, which may be a different top level class
+            // in the case of groups within components.
             out.append(String.format(
-                "    private %1$s next = null;\n\n" +
+                "    %3$s%1$s next = null;\n\n" +
                 "    public %1$s next()\n" +
                 "    {\n" +
                 "        return next;\n" +
                 "    }\n\n" +
                 "    private IntHashSet seenFields = new IntHashSet(%2$d);\n\n",
                 decoderClassName(aggregate),
-                sizeHashSet(aggregate.entries())));
+                sizeHashSet(aggregate.entries()),
+                arrayBackedGroups ? "" : "private "));
         }
     }
 
@@ -600,7 +646,96 @@ public class DecoderGenerator extends Generator
             formatPropertyName(group.name()),
             prefix));
 
-        generateGroupIterator(out, group);
+        if (arrayBackedGroups)
+        {
+            generateGroupEntries(out, group);
+            generateArrayBackedGroupIterator(out, group);
+        }
+        else
+        {
+            generateGroupIterator(out, group);
+        }
+    }
+
+    private void generateGroupEntries(final Writer out, final Group group) throws IOException
+    {
+        out.append(String.format(
+            "    private %1$s[] %2$sEntries = new %1$s[0];\n" +
+            "    private int %2$sEntryCount;\n\n" +
+            "    public %1$s %2$sAt(final int index)\n" +
+            "    {\n" +
+            "        if (index < 0 || index >= %3$s || index >= %2$sEntryCount)\n" +
+            "        {\n" +
+            "            throw new IndexOutOfBoundsException(\"Invalid %4$s index: \" + index);\n" +
+            "        }\n" +
+            "        return %2$sEntries[index];\n" +
+            "    }\n\n" +
+            "    private %1$s %2$sEntry(final int index)\n" +
+            "    {\n" +
+            "        %1$s[] entries = %2$sEntries;\n" +
+            "        if (index == %2$sEntryCount)\n" +
+            "        {\n" +
+            "            if (index == entries.length)\n" +
+            "            {\n" +
+            "                entries = Arrays.copyOf(entries, Math.max(1, 2 * index));\n" +
+            "                %2$sEntries = entries;\n" +
+            "            }\n" +
+            "            final %1$s entry = new %1$s(trailer);\n" +
+            "            entries[index] = entry;\n" +
+            "            if (index > 0)\n" +
+            "            {\n" +
+            "                entries[index - 1].next = entry;\n" +
+            "            }\n" +
+            "            else\n" +
+            "            {\n" +
+            "                %2$s = entry;\n" +
+            "            }\n" +
+            "            %2$sEntryCount = index + 1;\n" +
+            "        }\n" +
+            "        return entries[index];\n" +
+            "    }\n\n",
+            decoderClassName(group),
+            formatPropertyName(group.name()),
+            formatPropertyName(group.numberField().name()),
+            group.name()));
+    }
+
+    private void generateArrayBackedGroupIterator(final Writer out, final Group group) throws IOException
+    {
+        out.append(String.format(
+            "    private %1$s %2$s = new %1$s();\n\n" +
+            "    public %1$s %2$s()\n" +
+            "    {\n" +
+            "        return %2$s.iterator();\n" +
+            "    }\n\n" +
+            "    public class %1$s implements Iterable<%4$s>, java.util.Iterator<%4$s>\n" +
+            "    {\n" +
+            "        private int index;\n" +
+            "        private int count;\n" +
+            "        public boolean hasNext()\n" +
+            "        {\n" +
+            "            return index < count;\n" +
+            "        }\n" +
+            "        public %4$s next()\n" +
+            "        {\n" +
+            "            return %5$sEntries[index++];\n" +
+            "        }\n" +
+            "        public void reset()\n" +
+            "        {\n" +
+            "            index = 0;\n" +
+            "            count = Math.min(%3$s, %5$sEntryCount);\n" +
+            "        }\n" +
+            "        public %1$s iterator()\n" +
+            "        {\n" +
+            "            reset();\n" +
+            "            return this;\n" +
+            "        }\n" +
+            "    }\n\n",
+            iteratorClassName(group),
+            iteratorFieldName(group),
+            formatPropertyName(group.numberField().name()),
+            decoderClassName(group),
+            formatPropertyName(group.name())));
     }
 
     private void generateGroupIterator(final Writer out, final Group group) throws IOException
@@ -960,7 +1095,16 @@ public class DecoderGenerator extends Generator
     private String endGroupCheck(final Aggregate aggregate, final boolean isGroup)
     {
         final String endGroupCheck;
-        if (isGroup)
+        if (isGroup && arrayBackedGroups)
+        {
+            // The parent allocates entries from its array, so there's no need to create the next one here
+            endGroupCheck =
+                "            if (!seenFields.add(tag))\n" +
+                "            {\n" +
+                "                return position - offset;\n" +
+                "            }\n";
+        }
+        else if (isGroup)
         {
             endGroupCheck = String.format(
                 "            if (!seenFields.add(tag))\n" +
@@ -1020,19 +1164,42 @@ public class DecoderGenerator extends Generator
             .collect(joining("\n", "", "\n"));
     }
 
-    protected String componentToString(final Component component)
+    protected String componentAppendTo(final Component component)
     {
         return component
             .entries()
             .stream()
-            .map(this::entryToString)
-            .collect(joining(" + \n"));
+            .map(this::entryAppendTo)
+            .collect(joining());
     }
 
     private String decodeGroup(final Entry entry)
     {
         final Group group = (Group)entry.element();
 
+        if (arrayBackedGroups)
+        {
+            final String parseArrayBackedGroup = String.format(
+                "                position = endOfField + 1;\n" +
+                "                int %1$sDecoded = 0;\n" +
+                "                while (%1$sDecoded < %2$s && position < end)\n" +
+                "                {\n" +
+                "                    final int entryLength =\n" +
+                "                        %1$sEntry(%1$sDecoded).decode(buffer, position, end - position);\n" +
+                "                    if (entryLength == 0)\n" +
+                "                    {\n" +
+                "                        break;\n" +
+                "                    }\n" +
+                "                    position += entryLength;\n" +
+                "                    %1$sDecoded++;\n" +
+                "                }\n" +
+                "                %2$s = %1$sDecoded;\n",
+                formatPropertyName(group.name()),
+                formatPropertyName(group.numberField().name()));
+
+            return decodeField(group.numberField(), parseArrayBackedGroup);
+        }
+
         final String parseGroup = String.format(
             "                if (%1$s == null)\n" +
             "                {\n" +
@@ -1143,11 +1310,6 @@ public class DecoderGenerator extends Generator
         }
     }
 
-    protected String stringToString(final String fieldName)
-    {
-        return String.format("new String(%s, 0, %1$sLength)", fieldName);
-    }
-
     protected boolean hasFlag(final Entry entry, final Field field)
     {
         return !entry.required();
@@ -1167,15 +1329,52 @@ public class DecoderGenerator extends Generator
             .collect(joining());
     }
 
-    protected String groupEntryToString(final Group element, final String name)
+    protected String groupEntryAppendTo(final Group element, final String name)
     {
+        final String appendEntries;
+        final String condition;
+        if (arrayBackedGroups)
+        {
+            condition = String.format(
+                "%1$sEntryCount > 0 && %2$s > 0",
+                formatPropertyName(name),
+                formatPropertyName(element.numberField().name()));
+            appendEntries = String.format(
+                "            final int count = Math.min(%2$s, %1$sEntryCount);\n" +
+                "            for (int i = 0; i < count; i++)\n" +
+                "            {\n" +
+                "                if (i > 0)\n" +
+                "                {\n" +
+                "                    builder.append(\",\\n\");\n" +
+                "                }\n" +
+                "                appendIndent(builder, level);\n" +
+                "                %1$sEntries[i].appendTo(builder, level + 1);\n" +
+                "            }\n",
+                formatPropertyName(name),
+                formatPropertyName(element.numberField().name()));
+        }
+        else
+        {
+            condition = formatPropertyName(name) + " != null";
+            appendEntries = String.format(
+                "            appendIndent(builder, level);\n" +
+                "            %1$s.appendTo(builder, level + 1);\n",
+                formatPropertyName(name));
+        }
+
         return String.format(
-            "                (%2$s != null ? String.format(\"  \\\"%1$s\\\": [\\n" +
-            "  %%s" +
-            "\\n  ]" +
-            "\\n\", %2$s.toString().replace(\"\\n\", \"\\n  \")" + ") : \"\")",
+            "        if (%2$s)\n" +
+            "        {\n" +
+            "            appendIndent(builder, level);\n" +
+            "            builder.append(\"\\\"%1$s\\\": [\\n\");\n" +
+            "%3$s" +
+            "            builder.append(\"\\n\");\n" +
+            "            appendIndent(builder, level);\n" +
+            "            builder.append(\"]\\n\");\n" +
+            "        }\n",
             name,
-            formatPropertyName(name));
+            condition,
+            appendEntries);
     }
 
     protected String optionalReset(final Field field, final String name)
@@ -99,6 +99,7 @@ public class EncoderGenerator extends Generator
     private final MutableAsciiBuffer string = new MutableAsciiBuffer(buffer);
 
     private final int initialArraySize;
+    private final boolean arrayBackedGroups;
 
     // Header prefix strings are of the form: "8=FIX.4.49="
     private final String headerPrefixString;
@@ -111,6 +112,26 @@ public class EncoderGenerator extends Generator
         final String builderCommonPackage,
         final OutputManager outputManager,
         final Class<?> validationClass)
+    {
+        this(
+            dictionary, initialArraySize, builderPackage, builderCommonPackage, outputManager, validationClass, false);
+    }
+
+    /**
+     * Create an encoder generator.
+     *
+     * @param arrayBackedGroups if true then the entries of a repeating group are held in a reusable array that
+     *                          supports random access by index, rather than only being reachable by walking
+     *                          the <code>next()</code> chain.
+     */
+    public EncoderGenerator(
+        final Dictionary dictionary,
+        final int initialArraySize,
+        final String builderPackage,
+        final String builderCommonPackage,
+        final OutputManager outputManager,
+        final Class<?> validationClass,
+        final boolean arrayBackedGroups)
     {
         super(dictionary, builderPackage, builderCommonPackage, outputManager, validationClass);
 
@@ -119,6 +140,7 @@ public class EncoderGenerator extends Generator
         validateHasField(header, BODY_LENGTH);
 
         this.initialArraySize = initialArraySize;
+        this.arrayBackedGroups = arrayBackedGroups;
         headerPrefixString = String.format("8=%s.%d.%d\0019=",
             dictionary.specType(),
             dictionary.majorVersion(), dictionary.minorVersion());
@@ -176,7 +198,7 @@ public class EncoderGenerator extends Generator
         setters(out, className, aggregate.entries());
         out.append(encodeMethod(aggregate.entries(), type));
         out.append(completeResetMethod(aggregate, isMessage, type));
-        out.append(toString(aggregate, isMessage));
+        out.append(appendTo(aggregate, isMessage));
         out.append("}\n");
     }
 
@@ -328,6 +350,12 @@ public class EncoderGenerator extends Generator
         final Entry numberField = group.numberField();
         setter(className, numberField, out);
 
+        if (arrayBackedGroups)
+        {
+            generateArrayBackedGroup(group, out);
+            return;
+        }
+
         out.append(String.format(
             "\n" +
             "    private %1$s %2$s = null;\n\n" +
@@ -347,6 +375,50 @@ public class EncoderGenerator extends Generator
             formatPropertyName(numberField.name())));
     }
 
+    private void generateArrayBackedGroup(final Group group, final Writer out) throws IOException
+    {
+        final Entry numberField = group.numberField();
+        out.append(String.format(
+            "\n" +
+            "    private %1$s %2$s = null;\n\n" +
+            "    private %1$s[] %2$sEntries = new %1$s[0];\n\n" +
+            "    public %1$s %2$s(final int numberOfElements)\n" +
+            "    {\n" +
+            "        has%3$s = true;\n" +
+            "        %4$s = numberOfElements;\n" +
+            "        %1$s[] entries = %2$sEntries;\n" +
+            "        if (entries.length < numberOfElements || entries.length == 0)\n" +
+            "        {\n" +
+            "            final int oldLength = entries.length;\n" +
+            "            entries = Arrays.copyOf(entries, Math.max(Math.max(1, numberOfElements), 2 * oldLength));\n" +
+            "            for (int i = oldLength; i < entries.length; i++)\n" +
+            "            {\n" +
+            "                entries[i] = new %1$s();\n" +
+            "                if (i > 0)\n" +
+            "                {\n" +
+            "                    entries[i - 1].next = entries[i];\n" +
+            "                }\n" +
+            "            }\n" +
+            "            %2$s = entries[0];\n" +
+            "            %2$sEntries = entries;\n" +
+            "        }\n" +
+            "        return %2$s;\n" +
+            "    }\n\n" +
+            "    public %1$s %2$sAt(final int index)\n" +
+            "    {\n" +
+            "        if (index < 0 || index >= %4$s || index >= %2$sEntries.length)\n" +
+            "        {\n" +
+            "            throw new IndexOutOfBoundsException(\"Invalid %5$s index: \" + index);\n" +
+            "        }\n" +
+            "        return %2$sEntries[index];\n" +
+            "    }\n\n",
+            encoderClassName(group.name()),
+            formatPropertyName(group.name()),
+            numberField.name(),
+            formatPropertyName(numberField.name()),
+            group.name()));
+    }
+
     private String generateByteArraySetter(final String className, final String fieldName, final String name)
     {
         return String.format(
@@ -664,6 +736,21 @@ public class EncoderGenerator extends Generator
     private String encodeGroup(final Entry entry)
     {
         final Group group = (Group)entry.element();
+        if (arrayBackedGroups)
+        {
+            // Each entry is told it's the last one in order to avoid recursing down the next() chain
+            return String.format(
+                "%1$s\n" +
+                "        final int %2$sCount = Math.min(%3$s, %2$sEntries.length);\n" +
+                "        for (int i = 0; i < %2$sCount; i++)\n" +
+                "        {\n" +
+                "            position += %2$sEntries[i].encode(buffer, position, 1);\n" +
+                "        }\n",
+                encodeField(group.numberField()),
+                formatPropertyName(group.name()),
+                formatPropertyName(group.numberField().name()));
+        }
+
         return String.format(
             "%1$s\n" +
             "        if (%2$s != null)\n" +
@@ -743,16 +830,14 @@ public class EncoderGenerator extends Generator
             bytes));
     }
 
-    protected String stringToString(final String fieldName)
-    {
-        return String.format("new String(%s, 0, %1$sLength, StandardCharsets.US_ASCII)", fieldName);
-    }
-
-    protected String componentToString(final Component component)
+    protected String componentAppendTo(final Component component)
     {
         final String name = component.name();
         return String.format(
-            "                String.format(\"  \\\"%1$s\\\":  %%s\\n\", %2$s" + EXPAND_INDENT + ")",
+            "        appendIndent(builder, level);\n" +
+            "        builder.append(\"\\\"%1$s\\\":  \");\n" +
+            "        %2$s.appendTo(builder, level + 1);\n" +
+            "        builder.append(\"\\n\");\n",
             name,
             formatPropertyName(name));
     }
@@ -784,12 +869,19 @@ public class EncoderGenerator extends Generator
         return "final int remainingEntries";
     }
 
-    protected String toStringGroupSuffix()
+    protected String toStringGroupArguments()
+    {
+        return "remainingEntries";
+    }
+
+    protected String appendToGroupSuffix()
     {
         return
             "        if (remainingEntries > 1)\n" +
             "        {\n" +
-            "            entries += \",\\n\" + next.toString(remainingEntries - 1);\n" +
+            "            builder.append(\",\\n\");\n" +
+            "            appendIndent(builder, level - 1);\n" +
+            "            next.appendTo(builder, level, remainingEntries - 1);\n" +
             "        }\n";
     }
 
@@ -813,14 +905,20 @@ public class EncoderGenerator extends Generator
             .collect(joining());
     }
 
-    protected String groupEntryToString(final Group element, final String name)
+    protected String groupEntryAppendTo(final Group element, final String name)
     {
         final Entry numberField = element.numberField();
         return String.format(
-            "                (%3$s > 0 ? String.format(\"  \\\"%1$s\\\": [\\n" +
-            "  %%s" +
-            "\\n  ]" +
-            "\\n\", %2$s.toString(%3$s).replace(\"\\n\", \"\\n  \")" + ") : \"\")",
+            "        if (%3$s > 0)\n" +
+            "        {\n" +
+            "            appendIndent(builder, level);\n" +
+            "            builder.append(\"\\\"%1$s\\\": [\\n\");\n" +
+            "            appendIndent(builder, level);\n" +
+            "            %2$s.appendTo(builder, level + 1, %3$s);\n" +
+            "            builder.append(\"\\n\");\n" +
+            "            appendIndent(builder, level);\n" +
+            "            builder.append(\"]\\n\");\n" +
+            "        }\n",
             name,
             formatPropertyName(name),
             formatPropertyName(numberField.name()));
@@ -50,7 +50,6 @@ public abstract class Generator
     public static final String BEGIN_STRING = "BeginString";
     public static final String BODY_LENGTH = "BodyLength";
 
-    public static final String EXPAND_INDENT = ".toString().replace(\"\\n\", \"\\n  \")";
     public static final String CODEC_VALIDATION_ENABLED = "CODEC_VALIDATION_ENABLED";
 
     protected String commonCompoundImports(final String form, final boolean headerWrapsTrailer)
@@ -447,23 +446,26 @@ public abstract class Generator
             resetValue);
     }
 
-    protected String toString(final Aggregate aggregate, final boolean hasCommonCompounds)
+    protected String appendTo(final Aggregate aggregate, final boolean hasCommonCompounds)
     {
         final String entriesToString = aggregate
             .entries()
             .stream()
-            .map(this::entryToString)
-            .collect(joining(" + \n"));
+            .map(this::entryAppendTo)
+            .collect(joining());
 
-        final String prefix = !hasCommonCompounds ?
-            "" : "\"  \\\"header\\\": \" + header" + EXPAND_INDENT + " + \"\\n\" + ";
+        final String prefix = !hasCommonCompounds ? "" :
+            "        appendIndent(builder, level);\n" +
+            "        builder.append(\"\\\"header\\\": \");\n" +
+            "        header.appendTo(builder, level + 1);\n" +
+            "        builder.append(\"\\n\");\n";
 
         final String suffix;
+        final String toStringMethods;
         final String parameters;
         if (aggregate instanceof Group)
         {
-            suffix = toStringGroupSuffix();
-
+            suffix = appendToGroupSuffix();
             parameters = toStringGroupParameters();
         }
         else
@@ -472,33 +474,64 @@ public abstract class Generator
             parameters = "";
         }
 
+        if (parameters.isEmpty())
+        {
+            toStringMethods =
+                "    public String toString()\n" +
+                "    {\n" +
+                "        return appendTo(new StringBuilder()).toString();\n" +
+                "    }\n\n" +
+                "    public StringBuilder appendTo(final StringBuilder builder)\n" +
+                "    {\n" +
+                "        return appendTo(builder, 1);\n" +
+                "    }\n\n";
+        }
+        else
+        {
+            toStringMethods = String.format(
+                "    public String toString(%1$s)\n" +
+                "    {\n" +
+                "        return appendTo(new StringBuilder(), 1, %2$s).toString();\n" +
+                "    }\n\n",
+                parameters,
+                toStringGroupArguments());
+        }
+
         return String.format(
-            "    public String toString(%5$s)\n" +
+            "%1$s" +
+            "    public StringBuilder appendTo(final StringBuilder builder, final int level%2$s)\n" +
             "    {\n" +
-            "        String entries = %1$s\n" +
-            "%2$s;\n\n" +
-            "        entries = \"{\\n  \\\"MessageName\\\": \\\"%4$s\\\",\\n\" + entries + \"}\";\n" +
-            "%3$s" +
-            "        return entries;\n" +
+            "        builder.append(\"{\\n\");\n" +
+            "        appendIndent(builder, level);\n" +
+            "        builder.append(\"\\\"MessageName\\\": \\\"%3$s\\\",\\n\");\n" +
+            "%4$s" +
+            "%5$s" +
+            "        appendIndent(builder, level - 1);\n" +
+            "        builder.append(\"}\");\n" +
+            "%6$s" +
+            "        return builder;\n" +
             "    }\n\n",
+            toStringMethods,
+            parameters.isEmpty() ? "" : ", " + parameters,
+            aggregate.name(),
             prefix,
             entriesToString,
-            suffix,
-            aggregate.name(),
-            parameters);
+            suffix);
     }
 
     protected abstract String toStringGroupParameters();
 
-    protected abstract String toStringGroupSuffix();
+    protected abstract String toStringGroupArguments();
+
+    protected abstract String appendToGroupSuffix();
 
-    protected String entryToString(final Entry entry)
+    protected String entryAppendTo(final Entry entry)
     {
         //"  \"OnBehalfOfCompID\": \"abc\",\n" +
 
         if (isBodyLength(entry))
         {
-            return "\"\"";
+            return "";
         }
 
         final Element element = entry.element();
@@ -506,32 +539,42 @@ public abstract class Generator
         if (element instanceof Field)
         {
             final Field field = (Field)element;
-            final String value = fieldToString(field);
-
-            final String formatter = String.format(
-                "String.format(\"  \\\"%s\\\": \\\"%%s\\\",\\n\", %s)",
-                name,
-                value);
-
             final boolean hasFlag = toStringChecksHasGetter(entry, field);
-            return "             " +
-                (hasFlag ? String.format("(has%s() ? %s : \"\")", name, formatter) : formatter);
+            final String indent = hasFlag ? "            " : "        ";
+            final String appendField =
+                indent + "appendIndent(builder, level);\n" +
+                indent + "builder.append(\"\\\"" + name + "\\\": \\\"\");\n" +
+                indent + appendFieldValue(field) + ";\n" +
+                indent + "builder.append(\"\\\",\\n\");\n";
+
+            if (hasFlag)
+            {
+                return String.format(
+                    "        if (has%s())\n" +
+                    "        {\n" +
+                    "%s" +
+                    "        }\n",
+                    name,
+                    appendField);
+            }
+
+            return appendField;
         }
         else if (element instanceof Group)
         {
-            return groupEntryToString((Group)element, name);
+            return groupEntryAppendTo((Group)element, name);
         }
         else if (element instanceof Component)
         {
-            return componentToString((Component)element);
+            return componentAppendTo((Component)element);
         }
 
-        return "\"\"";
+        return "";
     }
 
     protected abstract boolean toStringChecksHasGetter(Entry entry, Field field);
 
-    protected abstract String groupEntryToString(Group element, String name);
+    protected abstract String groupEntryAppendTo(Group element, String name);
 
     protected abstract boolean hasFlag(Entry entry, Field field);
 
@@ -545,9 +588,9 @@ public abstract class Generator
             name);
     }
 
-    protected abstract String componentToString(Component component);
+    protected abstract String componentAppendTo(Component component);
 
-    protected String fieldToString(final Field field)
+    protected String appendFieldValue(final Field field)
     {
         final String fieldName = formatPropertyName(field.name());
         switch (field.type())
@@ -567,14 +610,22 @@ public abstract class Generator
             case MONTHYEAR:
             case TZTIMEONLY:
             case TZTIMESTAMP:
-                return stringToString(fieldName);
+                return String.format("appendString(builder, %s, %1$sLength)", fieldName);
 
             case DATA:
             case XMLDATA:
-                return String.format("Arrays.toString(%s)", fieldName);
+                return String.format("appendData(builder, %s)", fieldName);
+
+            case FLOAT:
+            case PRICE:
+            case PRICEOFFSET:
+            case QTY:
+            case PERCENTAGE:
+            case AMT:
+                return String.format("%s.appendTo(builder)", fieldName);
 
             default:
-                return fieldName;
+                return String.format("builder.append(%s)", fieldName);
         }
     }
 
@@ -603,8 +654,6 @@ public abstract class Generator
         return BODY_LENGTH.equals(name);
     }
 
-    protected abstract String stringToString(String fieldName);
-
     protected String indent(final int times, final String suffix)
     {
         final StringBuilder sb = new StringBuilder(times * 4 + suffix.length());
@@ -15,8 +15,6 @@
  */
 package uk.co.real_logic.artio.fields;
 
-import java.util.Arrays;
-
 /**
  * Fix float data type. Floats are used for a variety of things, including price.
  * <p>
@@ -125,36 +123,42 @@ public final class DecimalFloat implements Comparable<DecimalFloat>
 
     public String toString()
     {
-        String value = String.valueOf(this.value);
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the same representation as {@link #toString()} to a builder without allocating.
+     *
+     * @param builder the builder to append to.
+     * @return the builder.
+     */
+    public StringBuilder appendTo(final StringBuilder builder)
+    {
+        final long value = this.value;
+        final int scale = this.scale;
+        final int start = builder.length();
+        builder.append(value);
+
         if (scale > 0)
         {
-            final boolean isNegative = this.value < 0;
-            final int split = value.length() - scale;
-            final int splitWithNegative = split - (isNegative ? 1 : 0);
-            if (splitWithNegative < 0)
+            final int digitsStart = value < 0 ? start + 1 : start;
+            final int digits = builder.length() - digitsStart;
+            if (digits < scale)
             {
                 // We have to add extra zeros between the start or '-' and the First Digit.
-                final StringBuilder builder = new StringBuilder();
-
-                if (isNegative)
+                for (int i = digits; i < scale; i++)
                 {
-                    value = String.valueOf(-this.value());
-                    builder.append('-');
+                    builder.insert(digitsStart, '0');
                 }
-
-                final char[] zeros = new char[-splitWithNegative];
-                Arrays.fill(zeros, '0');
-                return builder
-                    .append('.')
-                    .append(zeros)
-                    .append(value).toString();
+                builder.insert(digitsStart, '.');
+            }
+            else
+            {
+                builder.insert(builder.length() - scale, '.');
             }
-            return value.substring(0, split) + "." + value.substring(split);
-        }
-        else
-        {
-            return value;
         }
+
+        return builder;
     }
 
     public int compareTo(final DecimalFloat other)
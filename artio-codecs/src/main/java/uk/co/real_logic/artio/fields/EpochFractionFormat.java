@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.fields;
+
+/**
+ * The precision of the fraction of a second within a UTC timestamp. Timestamps in a given format are
+ * represented as a number of these units since the start of the UNIX Epoch.
+ */
+public enum EpochFractionFormat
+{
+    MILLISECONDS(3),
+    MICROSECONDS(6),
+    NANOSECONDS(9);
+
+    private final int digits;
+    private final long unitsInSecond;
+    private final long nanosInUnit;
+    private final long unitsInMilli;
+
+    EpochFractionFormat(final int digits)
+    {
+        this.digits = digits;
+
+        long unitsInSecond = 1;
+        for (int i = 0; i < digits; i++)
+        {
+            unitsInSecond *= 10;
+        }
+        this.unitsInSecond = unitsInSecond;
+        this.nanosInUnit = 1_000_000_000L / unitsInSecond;
+        this.unitsInMilli = unitsInSecond / 1_000L;
+    }
+
+    /**
+     * Get the number of digits used after the dot to encode a fraction of a second.
+     *
+     * @return the number of digits used after the dot to encode a fraction of a second.
+     */
+    public int digits()
+    {
+        return digits;
+    }
+
+    public long unitsInSecond()
+    {
+        return unitsInSecond;
+    }
+
+    /**
+     * Convert a time in nanoseconds since the start of the UNIX Epoch into this format.
+     *
+     * @param epochNanos the time in nanoseconds since the start of the UNIX Epoch.
+     * @return the time in units of this format.
+     */
+    public long fromNanos(final long epochNanos)
+    {
+        return Math.floorDiv(epochNanos, nanosInUnit);
+    }
+
+    /**
+     * Convert a time in units of this format into milliseconds since the start of the UNIX Epoch.
+     *
+     * @param epochFraction the time in units of this format.
+     * @return the time in milliseconds since the start of the UNIX Epoch.
+     */
+    public long toMillis(final long epochFraction)
+    {
+        return Math.floorDiv(epochFraction, unitsInMilli);
+    }
+}
@@ -43,6 +43,21 @@ public final class UtcTimeOnlyDecoder
     }
 
     public static long decode(final AsciiBuffer time, final int offset, final int length)
+    {
+        return decode(time, offset, length, EpochFractionFormat.MILLISECONDS);
+    }
+
+    /**
+     * Decode the time of day from a timestamp.
+     *
+     * @param time the buffer containing the timestamp.
+     * @param offset the offset of the start of the timestamp, including its date.
+     * @param length the length of the timestamp.
+     * @param format the format of the result, any additional digits of precision are truncated.
+     * @return the time of day in the units of the format.
+     */
+    static long decode(
+        final AsciiBuffer time, final int offset, final int length, final EpochFractionFormat format)
     {
         final int startHour = offset + LENGTH + 1;
         final int endHour = startHour + 2;
@@ -53,24 +68,33 @@ public final class UtcTimeOnlyDecoder
         final int startSecond = endMinute + 1;
         final int endSecond = startSecond + 2;
 
-        final int startMillisecond = endSecond + 1;
-        final int endMillisecond = startMillisecond + 3;
+        final int startFraction = endSecond + 1;
+        final int end = offset + length;
 
         final int hour = getValidInt(time, startHour, endHour, 0, 23);
         final int minute = getValidInt(time, startMinute, endMinute, 0, 59);
         final int second = getValidInt(time, startSecond, endSecond, 0, 60);
-        final int millisecond;
-        if (offset + length > endSecond && time.isDigit(startMillisecond))
-        {
-            millisecond = time.getNatural(startMillisecond, endMillisecond);
-        }
-        else
+
+        final int digits = format.digits();
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (end > endSecond)
         {
-            millisecond = 0;
+            for (int index = startFraction; index < end && fractionDigits < digits && time.isDigit(index); index++)
+            {
+                fraction = fraction * 10 + time.getDigit(index);
+                fractionDigits++;
+            }
+
+            // Scale up values with fewer digits than the format, eg .5 is 500 milliseconds
+            for (; fractionDigits < digits; fractionDigits++)
+            {
+                fraction *= 10;
+            }
         }
 
         final int secondOfDay = hour * SECONDS_IN_HOUR + minute * SECONDS_IN_MINUTE + second;
 
-        return secondOfDay * MILLIS_IN_SECOND + millisecond;
+        return secondOfDay * format.unitsInSecond() + fraction;
     }
 }
@@ -55,6 +55,26 @@ public final class UtcTimeOnlyEncoder
         final int epochMillis,
         final MutableAsciiBuffer string,
         final int offset)
+    {
+        encode(epochSecond, epochMillis, EpochFractionFormat.MILLISECONDS.digits(), string, offset);
+    }
+
+    static void encode(
+        final long epochSecond,
+        final int fractionOfSecond,
+        final int fractionDigits,
+        final MutableAsciiBuffer string,
+        final int offset)
+    {
+        encodeSecondOfDay(epochSecond, string, offset);
+
+        if (fractionOfSecond > 0)
+        {
+            encodeFraction(fractionOfSecond, fractionDigits, string, offset + LENGTH_WITHOUT_MILLISECONDS);
+        }
+    }
+
+    static void encodeSecondOfDay(final long epochSecond, final MutableAsciiBuffer string, final int offset)
     {
         int secondOfDay = (int)Math.floorMod(epochSecond, SECONDS_IN_DAY);
         final int hours = secondOfDay / SECONDS_IN_HOUR;
@@ -67,11 +87,12 @@ public final class UtcTimeOnlyEncoder
         string.putNatural(offset + 3, 2, minutes);
         string.putChar(offset + 5, ':');
         string.putNatural(offset + 6, 2, secondOfDay);
+    }
 
-        if (epochMillis > 0)
-        {
-            string.putChar(offset + 8, '.');
-            string.putNatural(offset + 9, 3, epochMillis);
-        }
+    static void encodeFraction(
+        final int fractionOfSecond, final int fractionDigits, final MutableAsciiBuffer string, final int offset)
+    {
+        string.putChar(offset, '.');
+        string.putNatural(offset + 1, fractionDigits, fractionOfSecond);
     }
 }
@@ -18,7 +18,7 @@ package uk.co.real_logic.artio.fields;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
-import static uk.co.real_logic.artio.fields.CalendricalUtil.MILLIS_IN_DAY;
+import static uk.co.real_logic.artio.fields.CalendricalUtil.SECONDS_IN_DAY;
 
 /**
  * Parser for Fix's UTC timestamps - see http://fixwiki.org/fixwiki/UTCTimestampDataType for details
@@ -26,6 +26,8 @@ import static uk.co.real_logic.artio.fields.CalendricalUtil.MILLIS_IN_DAY;
  * Equivalent to a Java format string of "yyyyMMdd-HH:mm:ss[.SSS]". The builtin parsers could cope with
  * this situation, but allocate and perform poorly.
  * <p>
+ * Timestamps with microsecond or nanosecond precision can be decoded by using the {@link EpochFractionFormat}
+ * of the required precision.
  */
 public final class UtcTimestampDecoder
 {
@@ -34,13 +36,31 @@ public final class UtcTimestampDecoder
 
     public static final int SHORT_LENGTH = 17;
     public static final int LONG_LENGTH = 21;
+    public static final int LONG_LENGTH_MICROS = 24;
+    public static final int LONG_LENGTH_NANOS = 27;
 
     private final AsciiBuffer buffer = new MutableAsciiBuffer();
+    private final EpochFractionFormat format;
+
+    public UtcTimestampDecoder()
+    {
+        this(EpochFractionFormat.MILLISECONDS);
+    }
+
+    /**
+     * Create a decoder whose instance methods return values in the given format.
+     *
+     * @param format the precision of the decoded values.
+     */
+    public UtcTimestampDecoder(final EpochFractionFormat format)
+    {
+        this.format = format;
+    }
 
     public long decode(final byte[] bytes, final int length)
     {
         buffer.wrap(bytes);
-        return decode(buffer, 0, length);
+        return decode(buffer, 0, length, format);
     }
 
     public long decode(final byte[] bytes)
@@ -55,10 +75,38 @@ public final class UtcTimestampDecoder
      * @return the number of milliseconds since the Unix Epoch that represents this timestamp
      */
     public static long decode(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        return decode(timestamp, offset, length, EpochFractionFormat.MILLISECONDS);
+    }
+
+    /**
+     * @param timestamp
+     * @param offset
+     * @param length
+     * @return the number of microseconds since the Unix Epoch that represents this timestamp
+     */
+    public static long decodeMicros(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        return decode(timestamp, offset, length, EpochFractionFormat.MICROSECONDS);
+    }
+
+    /**
+     * @param timestamp
+     * @param offset
+     * @param length
+     * @return the number of nanoseconds since the Unix Epoch that represents this timestamp
+     */
+    public static long decodeNanos(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        return decode(timestamp, offset, length, EpochFractionFormat.NANOSECONDS);
+    }
+
+    public static long decode(
+        final AsciiBuffer timestamp, final int offset, final int length, final EpochFractionFormat format)
     {
         final long epochDay = UtcDateOnlyDecoder.decode(timestamp, offset);
-        final long millisecondOfDay = UtcTimeOnlyDecoder.decode(timestamp, offset, length);
-        return epochDay * MILLIS_IN_DAY + millisecondOfDay;
+        final long fractionOfDay = UtcTimeOnlyDecoder.decode(timestamp, offset, length, format);
+        return epochDay * SECONDS_IN_DAY * format.unitsInSecond() + fractionOfDay;
     }
 
 }
@@ -21,6 +21,13 @@ import java.util.concurrent.TimeUnit;
 
 import static uk.co.real_logic.artio.fields.CalendricalUtil.*;
 
+/**
+ * Encoder for Fix's UTC timestamps, the precision of the encoded timestamps is set by its
+ * {@link EpochFractionFormat}. Times passed into this encoder are in the units of that format.
+ * <p>
+ * {@link #update(long)} caches the encoded date and second so that only the changed suffix of the timestamp is
+ * re-encoded when it is called with successive times.
+ */
 public final class UtcTimestampEncoder
 {
     public static final long MIN_EPOCH_MILLIS = UtcTimestampDecoder.MIN_EPOCH_MILLIS;
@@ -28,63 +35,107 @@ public final class UtcTimestampEncoder
 
     public static final long DAY_IN_MILLIS = TimeUnit.DAYS.toMillis(1);
     public static final int LENGTH_WITH_MILLISECONDS = 21;
+    public static final int LENGTH_WITH_MICROSECONDS = 24;
+    public static final int LENGTH_WITH_NANOSECONDS = 27;
     public static final int LENGTH_WITHOUT_MILLISECONDS = 17;
     public static final int LENGTH_OF_DATE = 8;
     public static final int LENGTH_OF_DATE_AND_DASH = LENGTH_OF_DATE + 1;
 
-    private final byte[] bytes = new byte[LENGTH_WITH_MILLISECONDS];
-    private final MutableAsciiBuffer flyweight = new MutableAsciiBuffer(bytes);
+    private static final long NO_SECOND = Long.MIN_VALUE;
+
+    private final EpochFractionFormat format;
+    private final long unitsInSecond;
+    private final long unitsInDay;
+    private final int fractionDigits;
+    private final int lengthWithFraction;
+    private final long minEpochFraction;
+    private final long maxEpochFraction;
+    private final byte[] bytes;
+    private final MutableAsciiBuffer flyweight;
 
-    private long startOfNextDayInMs;
-    private long beginningOfDayInMs;
+    private long startOfNextDay;
+    private long beginningOfDay;
+    private long encodedSecond = NO_SECOND;
 
     public UtcTimestampEncoder()
     {
-        flyweight.wrap(bytes);
+        this(EpochFractionFormat.MILLISECONDS);
+    }
+
+    /**
+     * Create an encoder that encodes timestamps with the precision of the given format.
+     *
+     * @param format the precision of the encoded timestamps and the units of the times passed to this encoder.
+     */
+    public UtcTimestampEncoder(final EpochFractionFormat format)
+    {
+        this.format = format;
+        unitsInSecond = format.unitsInSecond();
+        unitsInDay = unitsInSecond * SECONDS_IN_DAY;
+        fractionDigits = format.digits();
+        lengthWithFraction = LENGTH_WITHOUT_MILLISECONDS + 1 + fractionDigits;
+        minEpochFraction = minEpochFraction(format);
+        maxEpochFraction = maxEpochFraction(format);
+        bytes = new byte[lengthWithFraction];
+        flyweight = new MutableAsciiBuffer(bytes);
     }
 
     /**
      * Encode the current time into the buffer as an ascii UTC String
      *
-     * @param epochMillis the current time as the number of milliseconds since the start of the UNIX Epoch.
+     * @param epochFraction the current time as the number of units of this encoder's format since the start
+     *                      of the UNIX Epoch, for example milliseconds.
      * @return the length of the encoded data in the flyweight.
      */
-    public int encode(final long epochMillis)
+    public int encode(final long epochFraction)
     {
-        return encode(epochMillis, flyweight, 0);
+        encodedSecond = NO_SECOND;
+        startOfNextDay = beginningOfDay;
+        return encode(epochFraction, flyweight, 0, format);
     }
 
-    public int initialise(final long epochMillis)
+    public int initialise(final long epochFraction)
     {
-        validate(epochMillis);
+        validate(epochFraction, minEpochFraction, maxEpochFraction);
 
-        final long localSecond = localSecond(epochMillis);
+        final long localSecond = Math.floorDiv(epochFraction, unitsInSecond);
         final long epochDay = epochDay(localSecond);
-        final int fractionOfSecond = fractionOfSecond(epochMillis);
+        final int fractionOfSecond = (int)Math.floorMod(epochFraction, unitsInSecond);
 
-        startOfNextDayInMs = (epochDay + 1) * DAY_IN_MILLIS;
-        beginningOfDayInMs = startOfNextDayInMs - DAY_IN_MILLIS;
+        beginningOfDay = epochDay * unitsInDay;
+        startOfNextDay = beginningOfDay + unitsInDay;
+        encodedSecond = localSecond;
 
         encodeDate(epochDay, flyweight, 0);
         flyweight.putChar(LENGTH_OF_DATE, '-');
-        UtcTimeOnlyEncoder.encode(localSecond, fractionOfSecond, flyweight, LENGTH_OF_DATE_AND_DASH);
+        UtcTimeOnlyEncoder.encode(localSecond, fractionOfSecond, fractionDigits, flyweight, LENGTH_OF_DATE_AND_DASH);
 
-        return fractionOfSecond > 0 ? LENGTH_WITH_MILLISECONDS : LENGTH_WITHOUT_MILLISECONDS;
+        return fractionOfSecond > 0 ? lengthWithFraction : LENGTH_WITHOUT_MILLISECONDS;
     }
 
-    public int update(final long epochMillis)
+    public int update(final long epochFraction)
     {
-        if (epochMillis > startOfNextDayInMs || epochMillis < beginningOfDayInMs)
+        if (epochFraction >= startOfNextDay || epochFraction < beginningOfDay)
         {
-            return initialise(epochMillis);
+            return initialise(epochFraction);
         }
 
-        final long localSecond = localSecond(epochMillis);
-        final int fractionOfSecond = fractionOfSecond(epochMillis);
+        final long localSecond = Math.floorDiv(epochFraction, unitsInSecond);
+        if (localSecond != encodedSecond)
+        {
+            UtcTimeOnlyEncoder.encodeSecondOfDay(localSecond, flyweight, LENGTH_OF_DATE_AND_DASH);
+            encodedSecond = localSecond;
+        }
 
-        UtcTimeOnlyEncoder.encode(localSecond, fractionOfSecond, flyweight, LENGTH_OF_DATE_AND_DASH);
+        final int fractionOfSecond = (int)(epochFraction - localSecond * unitsInSecond);
+        if (fractionOfSecond > 0)
+        {
+            UtcTimeOnlyEncoder.encodeFraction(
+                fractionOfSecond, fractionDigits, flyweight, LENGTH_WITHOUT_MILLISECONDS);
+            return lengthWithFraction;
+        }
 
-        return fractionOfSecond > 0 ? LENGTH_WITH_MILLISECONDS : LENGTH_WITHOUT_MILLISECONDS;
+        return LENGTH_WITHOUT_MILLISECONDS;
     }
 
     public byte[] buffer()
@@ -92,19 +143,35 @@ public final class UtcTimestampEncoder
         return bytes;
     }
 
+    public EpochFractionFormat format()
+    {
+        return format;
+    }
+
     public static int encode(final long epochMillis, final MutableAsciiBuffer string, final int offset)
     {
-        validate(epochMillis);
+        return encode(epochMillis, string, offset, EpochFractionFormat.MILLISECONDS);
+    }
+
+    public static int encode(
+        final long epochFraction,
+        final MutableAsciiBuffer string,
+        final int offset,
+        final EpochFractionFormat format)
+    {
+        validate(epochFraction, minEpochFraction(format), maxEpochFraction(format));
 
-        final long localSecond = localSecond(epochMillis);
+        final long unitsInSecond = format.unitsInSecond();
+        final long localSecond = Math.floorDiv(epochFraction, unitsInSecond);
         final long epochDay = epochDay(localSecond);
-        final int fractionOfSecond = fractionOfSecond(epochMillis);
+        final int fractionOfSecond = (int)Math.floorMod(epochFraction, unitsInSecond);
 
         encodeDate(epochDay, string, offset);
         string.putChar(offset + LENGTH_OF_DATE, '-');
-        UtcTimeOnlyEncoder.encode(localSecond, fractionOfSecond, string, offset + LENGTH_OF_DATE_AND_DASH);
+        UtcTimeOnlyEncoder.encode(
+            localSecond, fractionOfSecond, format.digits(), string, offset + LENGTH_OF_DATE_AND_DASH);
 
-        return fractionOfSecond > 0 ? LENGTH_WITH_MILLISECONDS : LENGTH_WITHOUT_MILLISECONDS;
+        return fractionOfSecond > 0 ? LENGTH_WITHOUT_MILLISECONDS + 1 + format.digits() : LENGTH_WITHOUT_MILLISECONDS;
     }
 
     private static long epochDay(final long localSecond)
@@ -112,21 +179,24 @@ public final class UtcTimestampEncoder
         return Math.floorDiv(localSecond, SECONDS_IN_DAY);
     }
 
-    private static int fractionOfSecond(final long epochMillis)
+    private static long minEpochFraction(final EpochFractionFormat format)
     {
-        return (int)(Math.floorMod(epochMillis, MILLIS_IN_SECOND));
+        // Nanosecond timestamps can't represent the whole range of years, so are limited by the size of a long
+        return format == EpochFractionFormat.NANOSECONDS ?
+            Long.MIN_VALUE : MIN_EPOCH_MILLIS * (format.unitsInSecond() / MILLIS_IN_SECOND);
     }
 
-    private static long localSecond(final long epochMillis)
+    private static long maxEpochFraction(final EpochFractionFormat format)
     {
-        return Math.floorDiv(epochMillis, MILLIS_IN_SECOND);
+        return format == EpochFractionFormat.NANOSECONDS ?
+            Long.MAX_VALUE : (MAX_EPOCH_MILLIS + 1) * (format.unitsInSecond() / MILLIS_IN_SECOND) - 1;
     }
 
-    private static void validate(final long epochMillis)
+    private static void validate(final long epochFraction, final long min, final long max)
     {
-        if (epochMillis < MIN_EPOCH_MILLIS || epochMillis > MAX_EPOCH_MILLIS)
+        if (epochFraction < min || epochFraction > max)
         {
-            throw new IllegalArgumentException(epochMillis + " is outside of the valid range for this encoder");
+            throw new IllegalArgumentException(epochFraction + " is outside of the valid range for this encoder");
         }
     }
 }
@@ -20,6 +20,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.artio.fields.*;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
 
@@ -45,6 +46,17 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
         999999999_999999999L, Long.MAX_VALUE
     };
 
+    private static final long[] POWERS_OF_TEN =
+    {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10_000000000L, 100_000000000L, 1000_000000000L, 10000_000000000L, 100000_000000000L,
+        1000000_000000000L, 10000000_000000000L, 100000000_000000000L, 1000000000_000000000L
+    };
+
+    // The longest run of digits that always fits into a long
+    private static final int MAX_CANONICAL_FLOAT_DIGITS = 18;
+    private static final int DIGITS_PER_WORD = 8;
+
     private static final byte[] MIN_INTEGER_VALUE = String.valueOf(Integer.MIN_VALUE).getBytes(US_ASCII);
     private static final byte[] MIN_LONG_VALUE = String.valueOf(Long.MIN_VALUE).getBytes(US_ASCII);
 
@@ -209,8 +221,103 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
         }
     }
 
+    public DecimalFloat getFloat(final DecimalFloat number, final int offset, final int length)
+    {
+        if (!getCanonicalFloat(number, offset, length))
+        {
+            getPaddedFloat(number, offset, length);
+        }
+
+        return number;
+    }
+
+    /**
+     * Single pass decode of the common form of a float: an optional minus sign, followed by digits with an
+     * optional dot between them and no padding.
+     *
+     * @return true if the float was decoded, false if the general routine needs to be used instead.
+     */
+    private boolean getCanonicalFloat(final DecimalFloat number, final int offset, final int length)
+    {
+        final int end = offset + length;
+        final boolean negative = length > 0 && getByte(offset) == NEGATIVE;
+        final int digitsStart = negative ? offset + 1 : offset;
+
+        long value = 0;
+        int digits = 0;
+        int dotIndex = -1;
+        int index = digitsStart;
+        while (index < end)
+        {
+            if (end - index >= DIGITS_PER_WORD)
+            {
+                final long word = getLong(index, ByteOrder.LITTLE_ENDIAN);
+                if (isEightDigits(word))
+                {
+                    value = value * 100_000_000L + eightDigitsValue(word);
+                    digits += DIGITS_PER_WORD;
+                    index += DIGITS_PER_WORD;
+                    continue;
+                }
+            }
+
+            final byte byteValue = getByte(index);
+            if (byteValue >= '0' && byteValue <= '9')
+            {
+                value = value * 10 + (byteValue - ZERO);
+                digits++;
+            }
+            else if (byteValue == DOT && dotIndex == -1 && index > digitsStart)
+            {
+                dotIndex = index;
+            }
+            else
+            {
+                return false;
+            }
+            index++;
+        }
+
+        if (digits == 0 || digits > MAX_CANONICAL_FLOAT_DIGITS)
+        {
+            return false;
+        }
+
+        int scale = dotIndex == -1 ? 0 : end - (dotIndex + 1);
+        if (scale > 0 && value % 10 == 0)
+        {
+            // Throw away trailing zeros after the dot
+            int trailingZeros = 0;
+            while (scale > trailingZeros && value % POWERS_OF_TEN[trailingZeros + 1] == 0)
+            {
+                trailingZeros++;
+            }
+            value /= POWERS_OF_TEN[trailingZeros];
+            scale -= trailingZeros;
+        }
+
+        number.value(negative ? -value : value);
+        number.scale(scale);
+        return true;
+    }
+
+    private static boolean isEightDigits(final long word)
+    {
+        return ((word & 0xF0F0F0F0F0F0F0F0L) |
+            (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+    }
+
+    // Converts eight little endian ASCII digits into their value by combining pairs, then quads, then octets.
+    private static long eightDigitsValue(final long word)
+    {
+        long value = word - 0x3030303030303030L;
+        value = (value * 10) + (value >>> 8);
+        return (((value & 0x000000FF000000FFL) * (100 + (1000000L << 32))) +
+            (((value >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32)))) >>> 32;
+    }
+
     @SuppressWarnings("FinalParameters")
-    public DecimalFloat getFloat(final DecimalFloat number, int offset, int length)
+    private void getPaddedFloat(final DecimalFloat number, int offset, final int length)
     {
         // Throw away trailing spaces or zeros
         int end = offset + length;
@@ -278,7 +385,6 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
 
         number.value(negative ? -1 * value : value);
         number.scale(scale);
-        return number;
     }
 
     private boolean isSpace(final int index)
@@ -550,86 +656,108 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
             return 1;
         }
 
-        final long remainder = calculateRemainderAndPutMinus(offset, value);
-        final int minusAdj = value < 0 ? 1 : 0;
-        final int start = offset + minusAdj;
-
-        // Encode the value into a tmp space, leaving the longest possible space required
-        final int tmpEnd = start + LONGEST_LONG_LENGTH;
-        final int tmpStart = putLong(remainder, tmpEnd) + 1;
-        final int length = tmpEnd - tmpStart + DOT_LENGTH;
+        if (value == Long.MIN_VALUE)
+        {
+            return putAsciiMinFloat(offset, scale);
+        }
 
-        // Move the value to the beginning once you've encoded it
-        if (scale > 0)
+        final int minusAdj;
+        final long magnitude;
+        if (value < 0)
         {
-            final int end = start + length;
-            final int split = end - scale;
-            final int digitsBeforeDot = length - scale;
-            if (digitsBeforeDot < 0)
-            {
-                int cursor = start;
-                putByte(cursor++, DOT);
-                final int numberOfZeros = -digitsBeforeDot;
-                final int endOfZeros = cursor + numberOfZeros;
-                for (; cursor < endOfZeros; cursor++)
-                {
-                    putByte(cursor, ZERO);
-                }
-                putBytes(cursor, this, tmpStart, length);
+            putByte(offset, NEGATIVE);
+            minusAdj = 1;
+            magnitude = -value;
+        }
+        else
+        {
+            minusAdj = 0;
+            magnitude = value;
+        }
 
-                return minusAdj + numberOfZeros + DOT_LENGTH + length;
-            }
-            else
-            {
-                putBytes(start, this, tmpStart, digitsBeforeDot);
-                putByte(split, DOT);
-                putBytes(split + 1, this, tmpStart + digitsBeforeDot, scale);
-            }
-            return length + DOT_LENGTH + minusAdj;
+        // Write the digits directly into place from the end, inserting the dot as we go
+        final int start = offset + minusAdj;
+        final int digits = endOffset(magnitude) + 1;
+        if (scale <= 0)
+        {
+            putDigitsFromEnd(magnitude, start + digits, digits);
+            return minusAdj + digits;
+        }
+        else if (digits > scale)
+        {
+            final int end = start + digits + DOT_LENGTH;
+            final int split = end - scale - DOT_LENGTH;
+            final long fraction = magnitude % POWERS_OF_TEN[scale];
+            putDigitsFromEnd(fraction, end, scale);
+            putByte(split, DOT);
+            putDigitsFromEnd(magnitude / POWERS_OF_TEN[scale], split, digits - scale);
+            return minusAdj + digits + DOT_LENGTH;
         }
         else
         {
-            putBytes(start, this, tmpStart, length);
-            return length + minusAdj;
+            putByte(start, DOT);
+            final int end = start + DOT_LENGTH + scale;
+            final int zerosEnd = end - digits;
+            for (int index = start + DOT_LENGTH; index < zerosEnd; index++)
+            {
+                putByte(index, ZERO);
+            }
+            putDigitsFromEnd(magnitude, end, digits);
+            return minusAdj + DOT_LENGTH + scale;
         }
     }
 
-    private boolean zero(final int offset, final long value)
+    private void putDigitsFromEnd(final long value, final int endExclusive, final int digits)
     {
-        if (value == 0)
+        long remainder = value;
+        for (int index = endExclusive - 1; index >= endExclusive - digits; index--)
         {
-            putByte(offset, ZERO);
-            return true;
+            final long quotient = remainder / 10;
+            putByte(index, (byte)(ZERO + (remainder - quotient * 10)));
+            remainder = quotient;
         }
-        return false;
     }
 
-    private long calculateRemainderAndPutMinus(final int offset, final long value)
+    // Long.MIN_VALUE can't be negated, so its digits are copied from their ASCII form
+    private int putAsciiMinFloat(final int offset, final int scale)
     {
-        if (value < 0)
+        final int digits = MIN_LONG_VALUE.length - 1;
+        final int start = offset + 1;
+        putByte(offset, NEGATIVE);
+        if (scale <= 0)
         {
-            putChar(offset, '-');
-            return value;
+            putBytes(start, MIN_LONG_VALUE, 1, digits);
+            return 1 + digits;
+        }
+        else if (digits > scale)
+        {
+            final int digitsBeforeDot = digits - scale;
+            putBytes(start, MIN_LONG_VALUE, 1, digitsBeforeDot);
+            putByte(start + digitsBeforeDot, DOT);
+            putBytes(start + digitsBeforeDot + DOT_LENGTH, MIN_LONG_VALUE, 1 + digitsBeforeDot, scale);
+            return 1 + digits + DOT_LENGTH;
         }
         else
         {
-            // Deal with negatives to avoid overflow for Integer.MAX_VALUE
-            return -1L * value;
+            putByte(start, DOT);
+            final int end = start + DOT_LENGTH + scale;
+            final int zerosEnd = end - digits;
+            for (int index = start + DOT_LENGTH; index < zerosEnd; index++)
+            {
+                putByte(index, ZERO);
+            }
+            putBytes(zerosEnd, MIN_LONG_VALUE, 1, digits);
+            return 1 + DOT_LENGTH + scale;
         }
     }
 
-    @SuppressWarnings("FinalParameters")
-    private int putLong(long remainder, final int end)
+    private boolean zero(final int offset, final long value)
     {
-        int index = end;
-        while (remainder < 0)
+        if (value == 0)
         {
-            final long digit = remainder % 10;
-            remainder = remainder / 10;
-            putByte(index, (byte)(ZERO + (-1L * digit)));
-            index--;
+            putByte(offset, ZERO);
+            return true;
         }
-
-        return index;
+        return false;
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CharArrayMapTest
+{
+    private static final String[] KEYS =
+    {
+        "", "0", "A", "AB", "ABCDEFGH", "ABCDEFGHI", "SMART_ORDER_ROUTER", "\u00e9t\u00e9"
+    };
+
+    private final CharArrayMap<Integer> map;
+
+    public CharArrayMapTest()
+    {
+        final Map<String, Integer> buildFrom = new HashMap<>();
+        for (int i = 0; i < KEYS.length; i++)
+        {
+            buildFrom.put(KEYS[i], i);
+        }
+        map = new CharArrayMap<>(buildFrom);
+    }
+
+    @Test
+    public void shouldGetValuesOfAllKeys()
+    {
+        for (int i = 0; i < KEYS.length; i++)
+        {
+            final char[] key = KEYS[i].toCharArray();
+            assertEquals(KEYS[i], Integer.valueOf(i), map.get(key, key.length));
+        }
+    }
+
+    @Test
+    public void shouldNotGetValuesOfMissingKeys()
+    {
+        assertMissing("B");
+        assertMissing("BA");
+        assertMissing("ABCDEFG");
+        assertMissing("ABCDEFGHIJ");
+        assertMissing("\u0141");
+    }
+
+    @Test
+    public void shouldOnlyCompareUpToLength()
+    {
+        final char[] key = "ABC".toCharArray();
+
+        assertEquals(Integer.valueOf(3), map.get(key, 2));
+        assertNull(map.get(key, 3));
+    }
+
+    private void assertMissing(final String key)
+    {
+        final char[] value = key.toCharArray();
+        assertNull(key, map.get(value, value.length));
+    }
+}
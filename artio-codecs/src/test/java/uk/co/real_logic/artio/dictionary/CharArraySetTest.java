@@ -19,6 +19,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class CharArraySetTest
@@ -32,6 +33,11 @@ public class CharArraySetTest
         "AY", "AZ", "BA", "BB", "BC", "BD", "BE", "BF", "BG", "BH"
     };
 
+    public static final String[] UNPACKED_EXAMPLES =
+    {
+        "", "ABCDEFGHI", "SMART_ORDER_ROUTER", "\u00e9t\u00e9", "A\u0000B"
+    };
+
     public static final CharArraySet CHAR_ARRAY_SET = new CharArraySet(EXAMPLES);
 
     @Test
@@ -43,4 +49,62 @@ public class CharArraySetTest
             assertTrue(example + " isn't a member of the char array set", CHAR_ARRAY_SET.contains(value, value.length));
         }
     }
+
+    @Test
+    public void shouldContainValuesThatCannotBePacked()
+    {
+        final CharArraySet set = new CharArraySet(UNPACKED_EXAMPLES);
+
+        for (final String example : UNPACKED_EXAMPLES)
+        {
+            assertContains(set, example);
+        }
+    }
+
+    @Test
+    public void shouldNotContainNonMembers()
+    {
+        final CharArraySet set = new CharArraySet("A", "AB", "ABCDEFGH", "ABCDEFGHI");
+
+        assertNotContains(set, "");
+        assertNotContains(set, "B");
+        assertNotContains(set, "BA");
+        assertNotContains(set, "\u0000A");
+        assertNotContains(set, "ABCDEFG");
+        assertNotContains(set, "ABCDEFGHIJ");
+        assertNotContains(set, "\u0141");
+    }
+
+    @Test
+    public void shouldOnlyCompareUpToLength()
+    {
+        final char[] value = "ABC".toCharArray();
+
+        assertTrue(CHAR_ARRAY_SET.contains(value, 2));
+        assertFalse(CHAR_ARRAY_SET.contains(value, 3));
+    }
+
+    @Test
+    public void shouldContainAllMembersOfCopiedSet()
+    {
+        final CharArraySet copy = new CharArraySet(new CharArraySet(UNPACKED_EXAMPLES));
+
+        for (final String example : UNPACKED_EXAMPLES)
+        {
+            assertContains(copy, example);
+        }
+        assertNotContains(copy, "A");
+    }
+
+    private void assertContains(final CharArraySet set, final String example)
+    {
+        final char[] value = example.toCharArray();
+        assertTrue(example + " isn't a member of the char array set", set.contains(value, value.length));
+    }
+
+    private void assertNotContains(final CharArraySet set, final String example)
+    {
+        final char[] value = example.toCharArray();
+        assertFalse(example + " is a member of the char array set", set.contains(value, value.length));
+    }
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary.generation;
+
+import org.agrona.generation.StringWriterOutputManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.co.real_logic.artio.builder.Decoder;
+import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.generation.CompilerUtil.compileInMemory;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.*;
+import static uk.co.real_logic.artio.dictionary.ExampleDictionary.*;
+import static uk.co.real_logic.artio.util.Reflection.*;
+
+public class ArrayBackedGroupsGeneratorTest
+{
+    private static final String EG_GROUP_AT = "egGroupGroupAt";
+    private static final String GROUP_FIELD = "groupField";
+    private static final String EG_GROUP_ENTRIES = "egGroupGroupEntries";
+
+    private static Class<?> heartbeatDecoder;
+    private static Class<?> heartbeatEncoder;
+
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[16 * 1024]);
+
+    @BeforeClass
+    public static void generate() throws Exception
+    {
+        final StringWriterOutputManager outputManager = new StringWriterOutputManager();
+        new ConstantGenerator(MESSAGE_EXAMPLE, TEST_PACKAGE, outputManager).generate();
+        new EnumGenerator(MESSAGE_EXAMPLE, TEST_PARENT_PACKAGE, outputManager).generate();
+        new DecoderGenerator(
+            MESSAGE_EXAMPLE, 1, TEST_PACKAGE, TEST_PARENT_PACKAGE, outputManager, ValidationOn.class, true)
+            .generate();
+        new EncoderGenerator(
+            MESSAGE_EXAMPLE, 1, TEST_PACKAGE, TEST_PARENT_PACKAGE, outputManager, ValidationOn.class, true)
+            .generate();
+
+        final Map<String, CharSequence> sources = outputManager.getSources();
+        heartbeatDecoder = compileInMemory(HEARTBEAT_DECODER, sources);
+        if (heartbeatDecoder == null)
+        {
+            System.out.println(sources);
+        }
+        heartbeatEncoder = compileInMemory(HEARTBEAT_ENCODER, sources);
+    }
+
+    @Test
+    public void shouldDecodeRepeatingGroups() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+
+        assertEquals(1, getGroupField(get(decoder, EG_GROUP_AT, 0)));
+        assertEquals(2, getGroupField(get(decoder, EG_GROUP_AT, 1)));
+        assertTrue(decoder.validate());
+    }
+
+    @Test
+    public void shouldLinkEntriesForNextMethod() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+
+        final Object group = getEgGroup(decoder);
+        assertSame(group, get(decoder, EG_GROUP_AT, 0));
+        assertSame(next(group), get(decoder, EG_GROUP_AT, 1));
+    }
+
+    @Test
+    public void shouldRejectIndexBeyondNumberOfEntries() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(SINGLE_REPEATING_GROUP_MESSAGE);
+
+        assertEquals(2, getGroupField(get(decoder, EG_GROUP_AT, 0)));
+        try
+        {
+            get(decoder, EG_GROUP_AT, 1);
+            fail("Expected an exception");
+        }
+        catch (final InvocationTargetException e)
+        {
+            assertThat(e.getCause(), instanceOf(IndexOutOfBoundsException.class));
+        }
+    }
+
+    @Test
+    public void shouldReuseEntriesForShorterGroups() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+        final Object firstEntry = get(decoder, EG_GROUP_AT, 0);
+
+        decoder.reset();
+        decode(SINGLE_REPEATING_GROUP_MESSAGE, decoder);
+
+        assertSame(firstEntry, get(decoder, EG_GROUP_AT, 0));
+        assertEquals(2, getGroupField(firstEntry));
+        assertIterates(decoder, 2);
+    }
+
+    @Test
+    public void shouldIterateOverGroupRepeatedly() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+
+        assertIterates(decoder, 1, 2);
+        assertIterates(decoder, 1, 2);
+    }
+
+    @Test
+    public void shouldIterateOverZeroRepeatingGroup() throws Exception
+    {
+        assertIterates(decodeHeartbeat(ZERO_REPEATING_GROUP_MESSAGE));
+        assertIterates(decodeHeartbeat(NO_REPEATING_GROUP_MESSAGE));
+    }
+
+    @Test
+    public void shouldDecodeLargeRepeatingGroups() throws Exception
+    {
+        final int numberOfEntries = 500;
+        final Decoder decoder = decodeHeartbeat(largeRepeatingGroupMessage(numberOfEntries));
+
+        for (int i = 0; i < numberOfEntries; i++)
+        {
+            assertEquals(i, getGroupField(get(decoder, EG_GROUP_AT, i)));
+        }
+
+        int expectedValue = 0;
+        final Iterator<?> iterator = getEgGroupIterator(decoder);
+        while (iterator.hasNext())
+        {
+            assertEquals(expectedValue, getGroupField(iterator.next()));
+            expectedValue++;
+        }
+        assertEquals(numberOfEntries, expectedValue);
+    }
+
+    @Test
+    public void shouldOnlyAllocateEntriesPresentForOversizedNumInGroup() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(
+            "8=FIX.4.4\0019=71\00135=0\001115=abc\001116=2\001117=1.1\001127=19700101-00:00:00.001" +
+            "\001120=1000000\001121=1\001121=2\00110=053\001");
+
+        assertEquals(1, getGroupField(get(decoder, EG_GROUP_AT, 0)));
+        assertEquals(2, getGroupField(get(decoder, EG_GROUP_AT, 1)));
+        assertIterates(decoder, 1, 2);
+        assertThat(((Object[])getField(decoder, EG_GROUP_ENTRIES)).length, lessThan(16));
+
+        try
+        {
+            get(decoder, EG_GROUP_AT, 2);
+            fail("Expected an exception");
+        }
+        catch (final InvocationTargetException e)
+        {
+            assertThat(e.getCause(), instanceOf(IndexOutOfBoundsException.class));
+        }
+    }
+
+    @Test
+    public void shouldToStringOnlyDecodedEntries() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+        assertThat(decoder, hasToString(containsString(STRING_GROUP_TWO_ELEMENTS)));
+
+        decoder.reset();
+        decode(SINGLE_REPEATING_GROUP_MESSAGE, decoder);
+        assertThat(decoder, hasToString(containsString(STRING_GROUP_ONE_ELEMENT)));
+    }
+
+    @Test
+    public void shouldEncodeGroupsByIndex() throws Exception
+    {
+        final Encoder encoder = (Encoder)heartbeatEncoder.getConstructor().newInstance();
+        setRequiredFields(encoder);
+
+        getEgGroup(encoder, 2);
+        setGroupField(get(encoder, EG_GROUP_AT, 0), 1);
+        setGroupField(get(encoder, EG_GROUP_AT, 1), 2);
+
+        assertEncodesTo(encoder, REPEATING_GROUP_MESSAGE);
+        assertThat(encoder, hasToString(containsString(STRING_GROUP_TWO_ELEMENTS)));
+    }
+
+    @Test
+    public void shouldEncodeGroupsUsingNext() throws Exception
+    {
+        final Encoder encoder = (Encoder)heartbeatEncoder.getConstructor().newInstance();
+        setRequiredFields(encoder);
+
+        final Object group = getEgGroup(encoder, 2);
+        setGroupField(group, 1);
+        setGroupField(next(group), 2);
+
+        assertEncodesTo(encoder, REPEATING_GROUP_MESSAGE);
+    }
+
+    @Test
+    public void shouldEncodeShorterGroups() throws Exception
+    {
+        final Encoder encoder = (Encoder)heartbeatEncoder.getConstructor().newInstance();
+        setRequiredFields(encoder);
+
+        getEgGroup(encoder, 2);
+        setGroupField(get(encoder, EG_GROUP_AT, 0), 1);
+        setGroupField(get(encoder, EG_GROUP_AT, 1), 2);
+        encoder.encode(buffer, 1);
+
+        getEgGroup(encoder, 1);
+        setGroupField(get(encoder, EG_GROUP_AT, 0), 2);
+
+        assertEncodesTo(encoder, SINGLE_REPEATING_GROUP_MESSAGE);
+    }
+
+    @Test(expected = InvocationTargetException.class)
+    public void shouldRejectEncoderIndexBeyondNumberOfElements() throws Exception
+    {
+        final Encoder encoder = (Encoder)heartbeatEncoder.getConstructor().newInstance();
+
+        getEgGroup(encoder, 1);
+        get(encoder, EG_GROUP_AT, 1);
+    }
+
+    private String largeRepeatingGroupMessage(final int numberOfEntries)
+    {
+        final StringBuilder message = new StringBuilder(
+            "8=FIX.4.4\0019=71\00135=0\001115=abc\001116=2\001117=1.1\001127=19700101-00:00:00.001\001120=")
+            .append(numberOfEntries)
+            .append('\001');
+
+        for (int i = 0; i < numberOfEntries; i++)
+        {
+            message.append("121=").append(i).append('\001');
+        }
+
+        return message.append("10=053\001").toString();
+    }
+
+    private void assertIterates(final Decoder decoder, final int... expectedValues) throws Exception
+    {
+        int index = 0;
+        for (final Object group : getEgGroupIterable(decoder))
+        {
+            assertEquals(expectedValues[index], getGroupField(group));
+            index++;
+        }
+        assertEquals(expectedValues.length, index);
+    }
+
+    private int getGroupField(final Object group) throws Exception
+    {
+        return (int)get(group, GROUP_FIELD);
+    }
+
+    private void setGroupField(final Object group, final int value) throws Exception
+    {
+        setInt(group, GROUP_FIELD, value);
+    }
+
+    private void setRequiredFields(final Encoder encoder) throws Exception
+    {
+        setCharSequence(encoder, "onBehalfOfCompID", "abc");
+        setInt(encoder, INT_FIELD, 2);
+        setFloat(encoder, FLOAT_FIELD, new DecimalFloat(11, 1));
+        setByteArray(encoder, SOME_TIME_FIELD, "19700101-00:00:00.001".getBytes(US_ASCII));
+    }
+
+    private void assertEncodesTo(final Encoder encoder, final String expected)
+    {
+        final long result = encoder.encode(buffer, 1);
+        final int offset = Encoder.offset(result);
+        final int length = Encoder.length(result);
+        assertEquals(expected, buffer.getAscii(offset, length));
+    }
+
+    private Decoder decodeHeartbeat(final String example) throws Exception
+    {
+        final Decoder decoder = (Decoder)heartbeatDecoder.getConstructor().newInstance();
+        decode(example, decoder);
+        return decoder;
+    }
+
+    private void decode(final String example, final Decoder decoder)
+    {
+        buffer.putAscii(1, example);
+        decoder.decode(buffer, 1, example.length());
+    }
+}
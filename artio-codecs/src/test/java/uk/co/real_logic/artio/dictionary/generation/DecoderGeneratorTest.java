@@ -38,6 +38,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -118,6 +119,7 @@ import static uk.co.real_logic.artio.dictionary.generation.DecoderGenerator.TAG_
 import static uk.co.real_logic.artio.dictionary.generation.DecoderGenerator.TAG_SPECIFIED_WITHOUT_A_VALUE;
 import static uk.co.real_logic.artio.dictionary.generation.DecoderGenerator.VALUE_IS_INCORRECT;
 import static uk.co.real_logic.artio.fields.DecimalFloat.MISSING_FLOAT;
+import static uk.co.real_logic.artio.util.Allocations.bytesAllocatedBy;
 import static uk.co.real_logic.artio.util.Reflection.get;
 import static uk.co.real_logic.artio.util.Reflection.getBytes;
 import static uk.co.real_logic.artio.util.Reflection.getChars;
@@ -375,6 +377,34 @@ public class DecoderGeneratorTest
         assertThat(decoder.toString(), containsString(STRING_ENCODED_MESSAGE_EXAMPLE));
     }
 
+    @Test
+    public void shouldAppendToExistingBuilder() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(ENCODED_MESSAGE);
+        final StringBuilder builder = new StringBuilder("prefix");
+
+        assertSame(builder, decoder.appendTo(builder));
+
+        assertEquals("prefix" + decoder.toString(), builder.toString());
+    }
+
+    @Test
+    public void shouldAppendToWithoutAllocating() throws Exception
+    {
+        final Decoder decoder = decodeHeartbeat(REPEATING_GROUP_MESSAGE);
+        final StringBuilder builder = new StringBuilder(4 * 1024);
+
+        final long allocated = bytesAllocatedBy(
+            () ->
+            {
+                builder.setLength(0);
+                decoder.appendTo(builder);
+            });
+
+        assertThat(builder, hasToString(containsString(STRING_GROUP_TWO_ELEMENTS)));
+        assertEquals(0, allocated);
+    }
+
     @Test
     public void shouldDecodeShorterStringsAfterLongerStrings() throws Exception
     {
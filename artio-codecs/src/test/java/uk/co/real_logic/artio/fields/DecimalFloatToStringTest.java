@@ -50,4 +50,13 @@ public class DecimalFloatToStringTest
 
         assertEquals(input, price.toString());
     }
+
+    @Test
+    public void canAppendDecimalFloat()
+    {
+        final DecimalFloat price = new DecimalFloat(value, scale);
+        final StringBuilder builder = new StringBuilder("price=");
+
+        assertEquals("price=" + input, price.appendTo(builder).toString());
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.fields;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+import static org.junit.Assert.assertEquals;
+import static uk.co.real_logic.artio.fields.EpochFractionFormat.MICROSECONDS;
+import static uk.co.real_logic.artio.fields.EpochFractionFormat.NANOSECONDS;
+
+@RunWith(Parameterized.class)
+public class UtcTimestampFractionFormatTest
+{
+    private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
+        .appendPattern("yyyyMMdd-HH:mm:ss")
+        .optionalStart()
+        .appendFraction(NANO_OF_SECOND, 0, 9, true)
+        .toFormatter();
+
+    private final String timestamp;
+    private final EpochFractionFormat format;
+    private final long epochFraction;
+
+    @Parameters(name = "{0}, {1}")
+    public static Collection<Object[]> data()
+    {
+        return Arrays.asList(new Object[][]
+        {
+            {"20150225-17:51:32", MICROSECONDS},
+            {"20150225-17:51:32.123456", MICROSECONDS},
+            {"00010101-00:00:00.000001", MICROSECONDS},
+            {"99991231-23:59:59.999999", MICROSECONDS},
+            {"20150225-17:51:32", NANOSECONDS},
+            {"20150225-17:51:32.123456789", NANOSECONDS},
+            {"19700101-00:00:00.000000001", NANOSECONDS},
+            {"19691231-23:59:59.999999999", NANOSECONDS},
+            {"22620411-23:47:16.854775807", NANOSECONDS},
+        });
+    }
+
+    public UtcTimestampFractionFormatTest(final String timestamp, final EpochFractionFormat format)
+    {
+        this.timestamp = timestamp;
+        this.format = format;
+        epochFraction = toEpochFraction(timestamp, format);
+    }
+
+    @Test
+    public void canStaticEncodeTimestamp()
+    {
+        final MutableAsciiBuffer string = new MutableAsciiBuffer(new byte[timestamp.length() + 2]);
+
+        final int length = UtcTimestampEncoder.encode(epochFraction, string, 1, format);
+
+        assertEquals(timestamp, string.getAscii(1, length));
+    }
+
+    @Test
+    public void canInstanceEncodeTimestamp()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder(format);
+
+        final int length = encoder.encode(epochFraction);
+
+        assertEquals(timestamp, new String(encoder.buffer(), 0, length, US_ASCII));
+    }
+
+    @Test
+    public void canUpdateTimestampWithinSameSecond()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder(format);
+        encoder.initialise(epochFraction - Math.floorMod(epochFraction, format.unitsInSecond()));
+
+        final int length = encoder.update(epochFraction);
+
+        assertEquals(timestamp, new String(encoder.buffer(), 0, length, US_ASCII));
+    }
+
+    @Test
+    public void canUpdateTimestampFromOtherSecond()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder(format);
+        final long unitsInSecond = format.unitsInSecond();
+        encoder.initialise(epochFraction > 0 ? epochFraction - unitsInSecond : epochFraction + unitsInSecond);
+
+        final int length = encoder.update(epochFraction);
+
+        assertEquals(timestamp, new String(encoder.buffer(), 0, length, US_ASCII));
+    }
+
+    @Test
+    public void canDecodeTimestamp()
+    {
+        final byte[] bytes = timestamp.getBytes(US_ASCII);
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[bytes.length + 2]);
+        buffer.putBytes(1, bytes);
+
+        assertEquals(epochFraction, UtcTimestampDecoder.decode(buffer, 1, bytes.length, format));
+        assertEquals(epochFraction, new UtcTimestampDecoder(format).decode(bytes));
+    }
+
+    @Test
+    public void canDecodeTimestampIntoMilliseconds()
+    {
+        final byte[] bytes = timestamp.getBytes(US_ASCII);
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(bytes);
+
+        final long epochMillis = toEpochFraction(timestamp, EpochFractionFormat.MILLISECONDS);
+        assertEquals(epochMillis, UtcTimestampDecoder.decode(buffer, 0, bytes.length));
+    }
+
+    private static long toEpochFraction(final String timestamp, final EpochFractionFormat format)
+    {
+        final Instant instant = LocalDateTime.parse(timestamp, FORMATTER).toInstant(ZoneOffset.UTC);
+        final long unitsInSecond = format.unitsInSecond();
+        return instant.getEpochSecond() * unitsInSecond + instant.getNano() / (1_000_000_000L / unitsInSecond);
+    }
+}
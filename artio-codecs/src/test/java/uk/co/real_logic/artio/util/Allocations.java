@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.util;
+
+import java.lang.management.ManagementFactory;
+
+public final class Allocations
+{
+    private static final int WARM_UP_RUNS = 100;
+
+    private Allocations()
+    {
+    }
+
+    /**
+     * Warms an operation up and then measures the bytes that the current thread allocates whilst running it once
+     * more, excluding the cost of the measurement itself.
+     *
+     * @param operation the operation to measure.
+     * @return the number of bytes allocated.
+     */
+    public static long bytesAllocatedBy(final Runnable operation)
+    {
+        final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_RUNS; i++)
+        {
+            operation.run();
+        }
+
+        final long start = threadBean.getThreadAllocatedBytes(threadId);
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        final long measurementOverhead = before - start;
+        operation.run();
+
+        return threadBean.getThreadAllocatedBytes(threadId) - before - measurementOverhead;
+    }
+}
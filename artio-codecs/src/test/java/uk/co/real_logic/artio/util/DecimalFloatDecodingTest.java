@@ -53,6 +53,15 @@ public class DecimalFloatDecodingTest
             {"-.06", -6L, 2},
             {"10", 10L, 0},
             {"-10", -10L, 0},
+            {"0.00", 0L, 0},
+            {"1.", 1L, 0},
+            {"100.000", 100L, 0},
+            {"1.23456789", 123456789L, 8},
+            {"12345678.12345678", 1234567812345678L, 8},
+            {"-12345678.12345670", -123456781234567L, 7},
+            {"123456789012345678", 123456789012345678L, 0},
+            {"1234567890123456789", 1234567890123456789L, 0},
+            {"0.000000001234567800", 12345678L, 16},
         });
     }
 
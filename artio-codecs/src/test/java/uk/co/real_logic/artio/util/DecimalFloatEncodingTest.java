@@ -48,6 +48,13 @@ public class DecimalFloatEncodingTest
             {"-.06", -6L, 2},
             {"10", 10L, 0},
             {"-10", -10L, 0},
+            {"1.23456789", 123456789L, 8},
+            {"12345678.12345678", 1234567812345678L, 8},
+            {"-.0000012345", -12345L, 10},
+            {"9223372036854775807", Long.MAX_VALUE, 0},
+            {"-9223372036854775808", Long.MIN_VALUE, 0},
+            {"-9.223372036854775808", Long.MIN_VALUE, 18},
+            {"-.09223372036854775808", Long.MIN_VALUE, 20},
         });
     }
 
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Idle strategy that picks between spinning, yielding and parking based upon the recent work rate of the agent
+ * that it is idling.
+ *
+ * The work counts passed to {@link #idle(int)} are summed over a sample window and smoothed into an exponentially
+ * weighted average with a decay of one half per window. Whilst that average is at or above the hot threshold the
+ * strategy never gives up its core. Below it the strategy backs off from spinning to yielding, and once the
+ * average has decayed to the cold threshold it continues on to parking with an exponentially increasing period.
+ *
+ * The clock is only read once every {@link #CLOCK_SAMPLE_INTERVAL} idle cycles when spinning in order to keep
+ * wake-up latency low. The time spent in each mode can be exposed through counters, see
+ * {@link #counters(AtomicCounter, AtomicCounter, AtomicCounter)}.
+ *
+ * NB: Not threadsafe, each agent should have its own instance.
+ */
+public class AdaptiveIdleStrategy implements IdleStrategy
+{
+    public static final int SPINNING = 0;
+    public static final int YIELDING = 1;
+    public static final int PARKING = 2;
+
+    public static final int CLOCK_SAMPLE_INTERVAL = 64;
+
+    public static final long DEFAULT_MAX_SPINS = CommonConfiguration.BACKOFF_SPINS;
+    public static final long DEFAULT_MAX_YIELDS = CommonConfiguration.BACKOFF_YIELDS;
+    public static final long DEFAULT_MIN_PARK_PERIOD_IN_NS = 1;
+    public static final long DEFAULT_MAX_PARK_PERIOD_IN_NS = 1 << 20;
+    public static final long DEFAULT_SAMPLE_WINDOW_IN_NS = 1_000_000;
+    public static final long DEFAULT_HOT_WORK_THRESHOLD = 8;
+    public static final long DEFAULT_COLD_WORK_THRESHOLD = 0;
+
+    private final long maxSpins;
+    private final long maxSpinsAndYields;
+    private final long minParkPeriodInNs;
+    private final long maxParkPeriodInNs;
+    private final long sampleWindowInNs;
+    private final long hotWorkThreshold;
+    private final long coldWorkThreshold;
+    private final NanoClock clock;
+    private final long[] timeInModeInNs = new long[3];
+
+    private AtomicCounter spinningTime;
+    private AtomicCounter yieldingTime;
+    private AtomicCounter parkingTime;
+
+    private int mode = SPINNING;
+    private int cyclesSinceClockRead;
+    private long idleCycles;
+    private long parkPeriodInNs;
+    private long lastTimeInNs;
+    private long windowEndInNs;
+    private long windowWork;
+    private long smoothedWork;
+
+    public AdaptiveIdleStrategy()
+    {
+        this(
+            DEFAULT_MAX_SPINS,
+            DEFAULT_MAX_YIELDS,
+            DEFAULT_MIN_PARK_PERIOD_IN_NS,
+            DEFAULT_MAX_PARK_PERIOD_IN_NS,
+            DEFAULT_SAMPLE_WINDOW_IN_NS,
+            DEFAULT_HOT_WORK_THRESHOLD,
+            DEFAULT_COLD_WORK_THRESHOLD,
+            new SystemNanoClock());
+    }
+
+    /**
+     * Create an adaptive idle strategy.
+     *
+     * @param maxSpins the number of consecutive idle cycles to spin for when not under load.
+     * @param maxYields the number of consecutive idle cycles to yield for after spinning when quiet.
+     * @param minParkPeriodInNs the initial park period when quiet.
+     * @param maxParkPeriodInNs the upper bound on the park period when quiet.
+     * @param sampleWindowInNs the length of the window that work counts are summed over.
+     * @param hotWorkThreshold the smoothed work per window at or above which the strategy spins without backing off.
+     * @param coldWorkThreshold the smoothed work per window at or below which the strategy will park.
+     * @param clock the clock used for sampling windows and the time spent in each mode.
+     */
+    public AdaptiveIdleStrategy(
+        final long maxSpins,
+        final long maxYields,
+        final long minParkPeriodInNs,
+        final long maxParkPeriodInNs,
+        final long sampleWindowInNs,
+        final long hotWorkThreshold,
+        final long coldWorkThreshold,
+        final NanoClock clock)
+    {
+        if (hotWorkThreshold <= coldWorkThreshold)
+        {
+            throw new IllegalArgumentException(String.format(
+                "hotWorkThreshold (%d) must be greater than coldWorkThreshold (%d)",
+                hotWorkThreshold,
+                coldWorkThreshold));
+        }
+
+        this.maxSpins = maxSpins;
+        this.maxSpinsAndYields = maxSpins + maxYields;
+        this.minParkPeriodInNs = minParkPeriodInNs;
+        this.maxParkPeriodInNs = maxParkPeriodInNs;
+        this.sampleWindowInNs = sampleWindowInNs;
+        this.hotWorkThreshold = hotWorkThreshold;
+        this.coldWorkThreshold = coldWorkThreshold;
+        this.clock = clock;
+
+        parkPeriodInNs = minParkPeriodInNs;
+        lastTimeInNs = clock.nanoTime();
+        windowEndInNs = lastTimeInNs + sampleWindowInNs;
+    }
+
+    /**
+     * Bind counters that the time spent in each mode, in nanoseconds, is published to at the end of each sample
+     * window.
+     *
+     * @param spinningTime the counter for the time spent spinning.
+     * @param yieldingTime the counter for the time spent yielding.
+     * @param parkingTime the counter for the time spent parking.
+     * @return this
+     */
+    public AdaptiveIdleStrategy counters(
+        final AtomicCounter spinningTime,
+        final AtomicCounter yieldingTime,
+        final AtomicCounter parkingTime)
+    {
+        this.spinningTime = spinningTime;
+        this.yieldingTime = yieldingTime;
+        this.parkingTime = parkingTime;
+        return this;
+    }
+
+    public void idle(final int workCount)
+    {
+        if (workCount > 0)
+        {
+            windowWork += workCount;
+            idleCycles = 0;
+            if (mode != SPINNING)
+            {
+                enterMode(SPINNING);
+            }
+            else
+            {
+                onSpin();
+            }
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    public void idle()
+    {
+        idleCycles++;
+
+        switch (nextMode())
+        {
+            case SPINNING:
+                if (mode != SPINNING)
+                {
+                    enterMode(SPINNING);
+                }
+                else
+                {
+                    onSpin();
+                }
+                break;
+
+            case YIELDING:
+                if (mode != YIELDING)
+                {
+                    enterMode(YIELDING);
+                }
+                Thread.yield();
+                sample(clock.nanoTime());
+                break;
+
+            case PARKING:
+                if (mode != PARKING)
+                {
+                    enterMode(PARKING);
+                }
+                LockSupport.parkNanos(parkPeriodInNs);
+                parkPeriodInNs = Math.min(parkPeriodInNs << 1, maxParkPeriodInNs);
+                sample(clock.nanoTime());
+                break;
+        }
+    }
+
+    public void reset()
+    {
+        idleCycles = 0;
+        if (mode != SPINNING)
+        {
+            enterMode(SPINNING);
+        }
+    }
+
+    /**
+     * Get the mode that the most recent idle cycle was in.
+     *
+     * @return one of {@link #SPINNING}, {@link #YIELDING} or {@link #PARKING}.
+     */
+    public int mode()
+    {
+        return mode;
+    }
+
+    /**
+     * Get the smoothed work count per sample window.
+     *
+     * @return the smoothed work count per sample window.
+     */
+    public long smoothedWork()
+    {
+        return smoothedWork;
+    }
+
+    /**
+     * Get the time spent in a mode, as of the last time the clock was read.
+     *
+     * @param mode one of {@link #SPINNING}, {@link #YIELDING} or {@link #PARKING}.
+     * @return the time spent in the mode in nanoseconds.
+     */
+    public long timeInModeInNs(final int mode)
+    {
+        return timeInModeInNs[mode];
+    }
+
+    private int nextMode()
+    {
+        if (smoothedWork >= hotWorkThreshold || idleCycles <= maxSpins)
+        {
+            return SPINNING;
+        }
+
+        if (smoothedWork > coldWorkThreshold || idleCycles <= maxSpinsAndYields)
+        {
+            return YIELDING;
+        }
+
+        return PARKING;
+    }
+
+    private void onSpin()
+    {
+        if (++cyclesSinceClockRead >= CLOCK_SAMPLE_INTERVAL)
+        {
+            sample(clock.nanoTime());
+        }
+    }
+
+    private void enterMode(final int newMode)
+    {
+        sample(clock.nanoTime());
+        mode = newMode;
+        if (newMode != PARKING)
+        {
+            parkPeriodInNs = minParkPeriodInNs;
+        }
+    }
+
+    private void sample(final long timeInNs)
+    {
+        cyclesSinceClockRead = 0;
+        timeInModeInNs[mode] += timeInNs - lastTimeInNs;
+        lastTimeInNs = timeInNs;
+
+        if (timeInNs >= windowEndInNs)
+        {
+            endWindow(timeInNs);
+        }
+    }
+
+    private void endWindow(final long timeInNs)
+    {
+        final long windows = 1 + (timeInNs - windowEndInNs) / sampleWindowInNs;
+        final long emptyWindows = windows - 1;
+
+        smoothedWork = (smoothedWork + windowWork) >>> 1;
+        smoothedWork = emptyWindows >= Long.SIZE ? 0 : smoothedWork >>> emptyWindows;
+        windowWork = 0;
+        windowEndInNs += windows * sampleWindowInNs;
+
+        if (spinningTime != null)
+        {
+            spinningTime.setOrdered(timeInModeInNs[SPINNING]);
+            yieldingTime.setOrdered(timeInModeInNs[YIELDING]);
+            parkingTime.setOrdered(timeInModeInNs[PARKING]);
+        }
+    }
+}
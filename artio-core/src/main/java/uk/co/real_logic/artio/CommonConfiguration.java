@@ -87,6 +87,10 @@ public class CommonConfiguration
      * Property name for the flag to enable or disable message timing
      */
     public static final String TIME_MESSAGES_PROPERTY = "fix.core.timing";
+    /**
+     * Property name for the flag to enable or disable per session telemetry counters
+     */
+    public static final String SESSION_TELEMETRY_PROPERTY = "fix.core.session_telemetry";
     /**
      * Property name for the file to log debug messages to, default is standard output
      */
@@ -114,6 +118,7 @@ public class CommonConfiguration
     private long reasonableTransmissionTimeInMs = DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_MS;
     private boolean printAeronStreamIdentifiers = DEFAULT_PRINT_AERON_STREAM_IDENTIFIERS;
     private NanoClock nanoClock = new SystemNanoClock();
+    private EpochNanoClock epochNanoClock = new SystemEpochNanoClock();
 
     public static void validateTimeout(final long timeoutInMs)
     {
@@ -216,6 +221,7 @@ public class CommonConfiguration
     private String histogramLoggingFile = null;
     private HistogramHandler histogramHandler;
     private String agentNamePrefix = DEFAULT_NAME_PREFIX;
+    private boolean sessionTelemetry = Boolean.getBoolean(SESSION_TELEMETRY_PROPERTY);
 
     private final AtomicBoolean isConcluded = new AtomicBoolean(false);
 
@@ -423,6 +429,9 @@ public class CommonConfiguration
      *
      * This is also used as the size of buffer for messages that are sent by the Session management system itself.
      *
+     * Sessions are only driven from their library's (or the engine's) thread, so a single session buffer is shared
+     * between all of the sessions on a library or engine.
+     *
      * @param bufferSize the session's encoding buffer size
      * @return this
      */
@@ -432,6 +441,28 @@ public class CommonConfiguration
         return this;
     }
 
+    /**
+     * Sets whether per session telemetry is recorded. When enabled each session gets counters in the monitoring
+     * file for the messages and bytes that it reads and writes, and latency histograms for the time taken for
+     * messages to get from the engine to the library and from the library to the socket. Histograms are stored as
+     * a counter per power of two bucket, so an external tool can read them the same way as any other counter.
+     * Rates can be derived by sampling the counters.
+     * <p>
+     * The engine records the message, byte and library to socket counters and the library records the engine to
+     * library latency, so this should be set on both in order to get all of the telemetry.
+     * <p>
+     * Default: false
+     *
+     * @param sessionTelemetry true to record per session telemetry, false otherwise.
+     * @return this
+     * @see CommonConfiguration#SESSION_TELEMETRY_PROPERTY
+     */
+    public CommonConfiguration sessionTelemetry(final boolean sessionTelemetry)
+    {
+        this.sessionTelemetry = sessionTelemetry;
+        return this;
+    }
+
     public CommonConfiguration histogramPollPeriodInMs(final long histogramPollPeriodInMs)
     {
         this.histogramPollPeriodInMs = histogramPollPeriodInMs;
@@ -474,6 +505,21 @@ public class CommonConfiguration
         return this;
     }
 
+    /**
+     * Sets the clock used to timestamp the SendingTime field of sessions with microsecond or nanosecond precision.
+     * The resolution of the default clock depends upon the JVM, so you may need to supply a higher resolution
+     * clock.
+     *
+     * @param epochNanoClock the clock used to timestamp messages with a precision higher than milliseconds.
+     * @return this
+     * @see uk.co.real_logic.artio.library.SessionConfiguration.Builder#sendingTimeFormat
+     */
+    public CommonConfiguration epochNanoClock(final EpochNanoClock epochNanoClock)
+    {
+        this.epochNanoClock = epochNanoClock;
+        return this;
+    }
+
     public Aeron.Context aeronContext()
     {
         return aeronContext;
@@ -549,6 +595,11 @@ public class CommonConfiguration
         return sessionBufferSize;
     }
 
+    public boolean sessionTelemetry()
+    {
+        return sessionTelemetry;
+    }
+
     public String histogramLoggingFile()
     {
         return histogramLoggingFile;
@@ -623,4 +674,9 @@ public class CommonConfiguration
         return nanoClock;
     }
 
+    public EpochNanoClock epochNanoClock()
+    {
+        return epochNanoClock;
+    }
+
 }
@@ -16,8 +16,13 @@
 package uk.co.real_logic.artio;
 
 import org.agrona.CloseHelper;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.CountersManager;
+import uk.co.real_logic.artio.timing.LatencyHistogram;
+
+import java.util.BitSet;
 
 public class FixCounters implements AutoCloseable
 {
@@ -66,6 +71,33 @@ public class FixCounters implements AutoCloseable
         return newCounter("Messages Read from " + address + " id = " + connectionId);
     }
 
+    public AtomicCounter bytesRead(final long connectionId, final String address)
+    {
+        return newCounter("Bytes Read from " + address + " id = " + connectionId);
+    }
+
+    public AtomicCounter messagesWritten(final long connectionId, final String address)
+    {
+        return newCounter("Messages Written to " + address + " id = " + connectionId);
+    }
+
+    public AtomicCounter bytesWritten(final long connectionId, final String address)
+    {
+        return newCounter("Bytes Written to " + address + " id = " + connectionId);
+    }
+
+    public LatencyHistogram libraryToSocketLatency(
+        final long connectionId, final String address, final NanoClock clock)
+    {
+        return new LatencyHistogram(
+            countersManager, "Library to socket latency for " + address + " id = " + connectionId, clock);
+    }
+
+    public LatencyHistogram engineToLibraryLatency(final long connectionId, final NanoClock clock)
+    {
+        return new LatencyHistogram(countersManager, "Engine to library latency for " + connectionId, clock);
+    }
+
     public AtomicCounter bytesInBuffer(final long connectionId, final String address)
     {
         return newCounter("Quarantined bytes for " + address + " id = " + connectionId);
@@ -86,6 +118,47 @@ public class FixCounters implements AutoCloseable
         return newCounter("Last Received MsgSeqNo for " + connectionId);
     }
 
+    public AtomicCounter receiveBuffersInUse()
+    {
+        return newCounter("Pooled receive buffers in use");
+    }
+
+    public AtomicCounter receiveBufferBytesInUse()
+    {
+        return newCounter("Pooled receive buffer bytes in use");
+    }
+
+    public AtomicCounter deferredAccepts()
+    {
+        return newCounter("Accepts deferred by admission control");
+    }
+
+    public AtomicCounter deferredLogons()
+    {
+        return newCounter("Logons deferred by admission control");
+    }
+
+    public AtomicCounter pendingLogons()
+    {
+        return newCounter("Accepted connections pending logon");
+    }
+
+    public void idleTime(final String agentName, final IdleStrategy idleStrategy)
+    {
+        if (idleStrategy instanceof AdaptiveIdleStrategy)
+        {
+            ((AdaptiveIdleStrategy)idleStrategy).counters(
+                newCounter(agentName + " time spinning (ns)"),
+                newCounter(agentName + " time yielding (ns)"),
+                newCounter(agentName + " time parking (ns)"));
+        }
+    }
+
+    public AtomicCounter threadPlacement(final String agentName, final BitSet cpus)
+    {
+        return newCounter(agentName + " thread bound to cpus " + cpus);
+    }
+
     private AtomicCounter newCounter(final String label)
     {
         return countersManager.newCounter(label);
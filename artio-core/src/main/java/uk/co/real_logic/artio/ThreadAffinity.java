@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import java.util.BitSet;
+
+/**
+ * Binds the calling thread to a set of CPUs.
+ *
+ * Java has no standard API for thread affinity so an implementation should delegate to a native library, for
+ * example OpenHFT's Java-Thread-Affinity or a JNA call to <code>sched_setaffinity</code>.
+ */
+@FunctionalInterface
+public interface ThreadAffinity
+{
+    /**
+     * Pure Java fallback that leaves the thread wherever the operating system schedules it.
+     */
+    ThreadAffinity NONE = (cpus) -> false;
+
+    /**
+     * Bind the calling thread to a set of CPUs.
+     *
+     * @param cpus the indices of the CPUs that the thread may run on, never empty.
+     * @return true if the thread was bound, false if binding isn't supported.
+     */
+    boolean bind(BitSet cpus);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.ThreadAffinity;
+
+import java.util.BitSet;
+
+/**
+ * Wraps an agent in order to bind the thread that runs it to a set of CPUs before the agent starts.
+ */
+public class AffinityAgent implements Agent
+{
+    private final Agent delegate;
+    private final ThreadAffinity threadAffinity;
+    private final BitSet cpus;
+    private final AtomicCounter placement;
+
+    /**
+     * Create a new affinity agent.
+     *
+     * @param delegate the agent to run.
+     * @param threadAffinity the provider used to bind the thread.
+     * @param cpus the CPUs to bind the thread to, if empty then the thread isn't bound.
+     * @param placement the counter that is set to 1 if the thread is bound and 0 otherwise, can be null.
+     */
+    public AffinityAgent(
+        final Agent delegate,
+        final ThreadAffinity threadAffinity,
+        final BitSet cpus,
+        final AtomicCounter placement)
+    {
+        this.delegate = delegate;
+        this.threadAffinity = threadAffinity;
+        this.cpus = cpus;
+        this.placement = placement;
+    }
+
+    public void onStart()
+    {
+        bind(threadAffinity, cpus, placement);
+        delegate.onStart();
+    }
+
+    public int doWork() throws Exception
+    {
+        return delegate.doWork();
+    }
+
+    public void onClose()
+    {
+        delegate.onClose();
+    }
+
+    public String roleName()
+    {
+        return delegate.roleName();
+    }
+
+    /**
+     * Bind the calling thread to a set of CPUs.
+     *
+     * @param threadAffinity the provider used to bind the thread.
+     * @param cpus the CPUs to bind the thread to, if empty then the thread isn't bound.
+     * @param placement the counter that is set to 1 if the thread is bound and 0 otherwise, can be null.
+     * @return true if the thread was bound, false otherwise.
+     */
+    public static boolean bind(final ThreadAffinity threadAffinity, final BitSet cpus, final AtomicCounter placement)
+    {
+        final boolean bound = !cpus.isEmpty() && threadAffinity.bind(cpus);
+        if (placement != null)
+        {
+            placement.setOrdered(bound ? 1 : 0);
+        }
+
+        return bound;
+    }
+
+    public static BitSet cpuSet(final int... cpus)
+    {
+        final BitSet cpuSet = new BitSet();
+        for (final int cpu : cpus)
+        {
+            cpuSet.set(cpu);
+        }
+
+        return cpuSet;
+    }
+}
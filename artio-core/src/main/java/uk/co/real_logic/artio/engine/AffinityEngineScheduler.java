@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import io.aeron.Aeron;
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.ThreadAffinity;
+import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+import static uk.co.real_logic.artio.CommonConfiguration.backoffIdleStrategy;
+import static uk.co.real_logic.artio.engine.AffinityAgent.cpuSet;
+
+/**
+ * A scheduler that runs each engine agent on its own thread, like the {@link DefaultEngineScheduler}, and binds
+ * each thread to a configured set of CPUs.
+ *
+ * Whether each thread was bound is reported through a counter in the monitoring file. Binding doesn't move
+ * memory, the engine's mapped files are loaded on the thread that launches it.
+ *
+ * NB: Ensure that a new instance is created for each engine.
+ */
+public class AffinityEngineScheduler implements EngineScheduler
+{
+    private final ThreadAffinity threadAffinity;
+    private final List<AgentRunner> startedRunners = new ArrayList<>();
+
+    private BitSet framerCpus = new BitSet();
+    private BitSet archiverCpus = new BitSet();
+    private BitSet monitoringCpus = new BitSet();
+
+    private FixCounters fixCounters;
+    private AtomicCounter framerPlacement;
+    private AtomicCounter archiverPlacement;
+    private AtomicCounter monitoringPlacement;
+    private AtomicCounter hostnameResolverPlacement;
+
+    private AgentRunner framerRunner;
+    private AgentRunner archivingRunner;
+    private AgentRunner monitoringRunner;
+    private AgentRunner hostnameResolverRunner;
+
+    public AffinityEngineScheduler()
+    {
+        this(ThreadAffinity.NONE);
+    }
+
+    public AffinityEngineScheduler(final ThreadAffinity threadAffinity)
+    {
+        this.threadAffinity = threadAffinity;
+    }
+
+    /**
+     * Sets the CPUs that the Framer thread is bound to.
+     *
+     * @param cpus the CPUs that the Framer thread is bound to, if empty then the thread isn't bound.
+     * @return this
+     */
+    public AffinityEngineScheduler framerCpus(final int... cpus)
+    {
+        this.framerCpus = cpuSet(cpus);
+        return this;
+    }
+
+    /**
+     * Sets the CPUs that the Archiver thread is bound to.
+     *
+     * @param cpus the CPUs that the Archiver thread is bound to, if empty then the thread isn't bound.
+     * @return this
+     */
+    public AffinityEngineScheduler archiverCpus(final int... cpus)
+    {
+        this.archiverCpus = cpuSet(cpus);
+        return this;
+    }
+
+    /**
+     * Sets the CPUs that the monitoring and hostname resolver threads are bound to.
+     *
+     * @param cpus the CPUs that the monitoring threads are bound to, if empty then the threads aren't bound.
+     * @return this
+     */
+    public AffinityEngineScheduler monitoringCpus(final int... cpus)
+    {
+        this.monitoringCpus = cpuSet(cpus);
+        return this;
+    }
+
+    public void configure(final FixCounters fixCounters)
+    {
+        this.fixCounters = fixCounters;
+    }
+
+    public void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final Agent archivingAgent,
+        final Agent monitoringAgent,
+        final Agent conductorAgent,
+        final Agent hostnameResolver)
+    {
+        if (framerRunner != null)
+        {
+            EngineScheduler.fail();
+        }
+
+        framerPlacement = placement("Framer", framerCpus);
+        archiverPlacement = placement("Archiver", archiverCpus);
+
+        framerRunner = new AgentRunner(
+            configuration.framerIdleStrategy(),
+            errorHandler,
+            null,
+            new AffinityAgent(framer, threadAffinity, framerCpus, framerPlacement));
+        archivingRunner = new AgentRunner(
+            configuration.archiverIdleStrategy(),
+            errorHandler,
+            null,
+            new AffinityAgent(archivingAgent, threadAffinity, archiverCpus, archiverPlacement));
+
+        hostnameResolverPlacement = placement("Hostname resolver", monitoringCpus);
+        hostnameResolverRunner = new AgentRunner(
+            backoffIdleStrategy(),
+            errorHandler,
+            null,
+            new AffinityAgent(hostnameResolver, threadAffinity, monitoringCpus, hostnameResolverPlacement));
+
+        start(framerRunner);
+        start(archivingRunner);
+        start(hostnameResolverRunner);
+
+        if (monitoringAgent != null)
+        {
+            monitoringPlacement = placement("Monitoring", monitoringCpus);
+            monitoringRunner = new AgentRunner(
+                backoffIdleStrategy(),
+                errorHandler,
+                null,
+                new AffinityAgent(monitoringAgent, threadAffinity, monitoringCpus, monitoringPlacement));
+            start(monitoringRunner);
+        }
+    }
+
+    public void close()
+    {
+        // Only runners whose threads were started will ever set their thread, launch can fail part way through.
+        for (final AgentRunner runner : startedRunners)
+        {
+            EngineScheduler.awaitRunnerStart(runner);
+        }
+
+        Exceptions.closeAll(framerRunner, archivingRunner, monitoringRunner, hostnameResolverRunner);
+        CloseHelper.close(framerPlacement);
+        CloseHelper.close(archiverPlacement);
+        CloseHelper.close(monitoringPlacement);
+        CloseHelper.close(hostnameResolverPlacement);
+    }
+
+    public void configure(final Aeron.Context aeronContext)
+    {
+    }
+
+    private void start(final AgentRunner runner)
+    {
+        startOnThread(runner);
+        startedRunners.add(runner);
+    }
+
+    private AtomicCounter placement(final String agentName, final BitSet cpus)
+    {
+        return fixCounters == null ? null : fixCounters.threadPlacement(agentName, cpus);
+    }
+}
@@ -21,6 +21,7 @@ import io.aeron.Subscription;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.CompositeAgent;
 import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.StreamInformation;
 import uk.co.real_logic.artio.engine.logger.ArchiveReader;
 import uk.co.real_logic.artio.engine.logger.Archiver;
@@ -132,7 +133,15 @@ class ClusterContext extends EngineContext
         final ClusterConfiguration clusterConfiguration = new ClusterConfiguration()
             .nodeId(configuration.nodeId())
             .otherNodes(configuration.otherNodes())
+            .learnerNodes(configuration.learnerNodes())
+            .learner(configuration.clusterLearner())
+            .fastFailover(configuration.clusterFastFailover())
             .timeoutIntervalInMs(configuration.clusterTimeoutIntervalInMs())
+            .acknowledgementWindowInBytes(configuration.clusterAcknowledgementWindowInBytes())
+            .acknowledgementIntervalInUs(configuration.clusterAcknowledgementIntervalInUs())
+            .nanoClock(configuration.nanoClock())
+            .catchUpChunkSizeInBytes(configuration.clusterCatchUpChunkSizeInBytes())
+            .catchUpChunksPerDutyCycle(configuration.clusterCatchUpChunksPerDutyCycle())
             .idleStrategy(configuration.framerIdleStrategy())
             .archiver(archiver)
             .archiveReaderSupplier(() -> archiveReader(dataStream))
@@ -170,6 +179,11 @@ class ClusterContext extends EngineContext
         return clusterAgent.clusterStreams();
     }
 
+    public Reply<?> promoteLearner(final short learnerId)
+    {
+        return clusterAgent.promoteLearner(learnerId);
+    }
+
     public GatewayPublication inboundLibraryPublication()
     {
         return new GatewayPublication(
@@ -53,6 +53,7 @@ class ClusterPositionSender implements Agent, ArchivedPositionHandler
 
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final FixMessageDecoder fixMessage = new FixMessageDecoder();
+    private final FixMessageBatchDecoder fixMessageBatch = new FixMessageBatchDecoder();
     private final DisconnectDecoder disconnect = new DisconnectDecoder();
     private final ReplicatedMessageDecoder replicatedMessage = new ReplicatedMessageDecoder();
     private final LibraryConnectDecoder libraryConnect = new LibraryConnectDecoder();
@@ -172,6 +173,14 @@ class ClusterPositionSender implements Agent, ArchivedPositionHandler
                     onClusteredLibraryPosition(libraryId, position, wrappedFrameLength);
                     break;
                 }
+
+                case FixMessageBatchDecoder.TEMPLATE_ID:
+                {
+                    fixMessageBatch.wrap(buffer, offset, actingBlockLength, version);
+                    final int libraryId = fixMessageBatch.libraryId();
+                    onClusteredLibraryPosition(libraryId, position, wrappedFrameLength);
+                    break;
+                }
             }
         }
 
@@ -32,6 +32,7 @@ public class DefaultEngineScheduler implements EngineScheduler
     private AgentRunner framerRunner;
     private AgentRunner archivingRunner;
     private AgentRunner monitoringRunner;
+    private AgentRunner hostnameResolverRunner;
 
     public void launch(
         final EngineConfiguration configuration,
@@ -39,7 +40,8 @@ public class DefaultEngineScheduler implements EngineScheduler
         final Agent framer,
         final Agent archivingAgent,
         final Agent monitoringAgent,
-        final Agent conductorAgent)
+        final Agent conductorAgent,
+        final Agent hostnameResolver)
     {
         if (framerRunner != null)
         {
@@ -51,8 +53,12 @@ public class DefaultEngineScheduler implements EngineScheduler
         archivingRunner = new AgentRunner(
             configuration.archiverIdleStrategy(), errorHandler, null, archivingAgent);
 
+        hostnameResolverRunner = new AgentRunner(
+            backoffIdleStrategy(), errorHandler, null, hostnameResolver);
+
         startOnThread(framerRunner);
         startOnThread(archivingRunner);
+        startOnThread(hostnameResolverRunner);
 
         if (monitoringAgent != null)
         {
@@ -67,8 +73,9 @@ public class DefaultEngineScheduler implements EngineScheduler
         EngineScheduler.awaitRunnerStart(framerRunner);
         EngineScheduler.awaitRunnerStart(archivingRunner);
         EngineScheduler.awaitRunnerStart(monitoringRunner);
+        EngineScheduler.awaitRunnerStart(hostnameResolverRunner);
 
-        Exceptions.closeAll(framerRunner, archivingRunner, monitoringRunner);
+        Exceptions.closeAll(framerRunner, archivingRunner, monitoringRunner, hostnameResolverRunner);
     }
 
     public void configure(final Aeron.Context aeronContext)
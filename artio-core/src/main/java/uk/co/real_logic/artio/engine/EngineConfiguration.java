@@ -22,6 +22,7 @@ import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.artio.CommonConfiguration;
 import uk.co.real_logic.artio.decoder.*;
+import uk.co.real_logic.artio.engine.framer.AddressResolver;
 import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier;
 import uk.co.real_logic.artio.replication.ClusterConfiguration;
 import uk.co.real_logic.artio.replication.RoleHandler;
@@ -112,6 +113,18 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for the timeout before a connection that hasn't sent a logon is disconnected
      */
     public static final String NO_LOGON_DISCONNECT_TIMEOUT_PROP = "fix.core.no_logon_disconnect";
+    /**
+     * Property name for the max number of TCP connections to accept in a single duty cycle.
+     */
+    public static final String MAX_ACCEPTS_PER_DUTY_CYCLE_PROP = "fix.core.max_accepts_per_duty_cycle";
+    /**
+     * Property name for the max number of logons to authenticate in a single duty cycle.
+     */
+    public static final String MAX_LOGONS_PER_DUTY_CYCLE_PROP = "fix.core.max_logons_per_duty_cycle";
+    /**
+     * Property name for the max number of accepted TCP connections that haven't yet logged on.
+     */
+    public static final String MAX_PENDING_LOGONS_PROP = "fix.core.max_pending_logons";
 
     // ------------------------------------------------
     //          Configuration Defaults
@@ -132,12 +145,17 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     public static final int DEFAULT_SESSION_ID_BUFFER_SIZE = 4 * 1024 * 1024;
     public static final int DEFAULT_SENDER_MAX_BYTES_IN_BUFFER = 4 * 1024 * 1024;
     public static final int DEFAULT_NO_LOGON_DISCONNECT_TIMEOUT = (int)SECONDS.toMillis(5);
+    public static final int DEFAULT_MAX_ACCEPTS_PER_DUTY_CYCLE = 1;
+    public static final int DEFAULT_MAX_LOGONS_PER_DUTY_CYCLE = Integer.MAX_VALUE;
+    public static final int DEFAULT_MAX_PENDING_LOGONS = Integer.MAX_VALUE;
     public static final int DEFAULT_CLUSTER_TIMEOUT_IN_MS = 1000;
     public static final String DEFAULT_SESSION_ID_FILE = "session_id_buffer";
     public static final String DEFAULT_SEQUENCE_NUMBERS_SENT_FILE = "sequence_numbers_sent";
     public static final String DEFAULT_SEQUENCE_NUMBERS_RECEIVED_FILE = "sequence_numbers_received";
     public static final short NO_NODE_ID = -1;
     public static final long DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS = 10_000;
+    public static final long DEFAULT_HOSTNAME_CACHE_TIMEOUT_IN_MS = 60_000;
+    public static final int DEFAULT_HOSTNAME_CACHE_SIZE = 1024;
     public static final ReplayHandler DEFAULT_REPLAY_HANDLER =
         (buffer, offset, length, libraryId, sessionId, sequenceIndex, messageType) ->
         {
@@ -165,6 +183,9 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     private int loggerCacheSetSize = DEFAULT_LOGGER_CACHE_SET_SIZE;
     private boolean logInboundMessages = true;
     private boolean logOutboundMessages = true;
+    private boolean batchInboundMessages = false;
+    private boolean pooledReceiveBuffers = false;
+    private boolean preParseInboundHeaders = false;
     private IdleStrategy framerIdleStrategy = backoffIdleStrategy();
     private IdleStrategy archiverIdleStrategy = backoffIdleStrategy();
     private AtomicBuffer sentSequenceNumberBuffer;
@@ -176,7 +197,14 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     private String clusterAeronChannel = null;
     private short nodeId = NO_NODE_ID;
     private IntHashSet otherNodes = new IntHashSet();
+    private IntHashSet learnerNodes = new IntHashSet();
+    private boolean clusterLearner = false;
+    private boolean clusterFastFailover = false;
     private long clusterTimeoutIntervalInMs = DEFAULT_CLUSTER_TIMEOUT_IN_MS;
+    private int clusterAcknowledgementWindowInBytes = ClusterConfiguration.DEFAULT_ACKNOWLEDGEMENT_WINDOW_IN_BYTES;
+    private long clusterAcknowledgementIntervalInUs = ClusterConfiguration.DEFAULT_ACKNOWLEDGEMENT_INTERVAL_IN_US;
+    private int clusterCatchUpChunkSizeInBytes = ClusterConfiguration.DEFAULT_CATCH_UP_CHUNK_SIZE_IN_BYTES;
+    private int clusterCatchUpChunksPerDutyCycle = ClusterConfiguration.DEFAULT_CATCH_UP_CHUNKS_PER_DUTY_CYCLE;
 
     private int outboundLibraryFragmentLimit =
         getInteger(OUTBOUND_LIBRARY_FRAGMENT_LIMIT_PROP, DEFAULT_OUTBOUND_LIBRARY_FRAGMENT_LIMIT);
@@ -198,12 +226,22 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         getInteger(SENDER_MAX_BYTES_IN_BUFFER_PROP, DEFAULT_SENDER_MAX_BYTES_IN_BUFFER);
     private int noLogonDisconnectTimeoutInMs =
         getInteger(NO_LOGON_DISCONNECT_TIMEOUT_PROP, DEFAULT_NO_LOGON_DISCONNECT_TIMEOUT);
+    private int maxAcceptsPerDutyCycle =
+        getInteger(MAX_ACCEPTS_PER_DUTY_CYCLE_PROP, DEFAULT_MAX_ACCEPTS_PER_DUTY_CYCLE);
+    private int maxLogonsPerDutyCycle =
+        getInteger(MAX_LOGONS_PER_DUTY_CYCLE_PROP, DEFAULT_MAX_LOGONS_PER_DUTY_CYCLE);
+    private int maxPendingLogons =
+        getInteger(MAX_PENDING_LOGONS_PROP, DEFAULT_MAX_PENDING_LOGONS);
+    private String[] prioritisedCompIds = new String[0];
 
     private String libraryAeronChannel = null;
     private Function<EngineConfiguration, TcpChannelSupplier> channelSupplierFactory = TcpChannelSupplier::new;
     private RoleHandler roleHandler = ClusterConfiguration.DEFAULT_NODE_HANDLER;
     private SessionPersistenceStrategy sessionPersistenceStrategy;
     private long slowConsumerTimeoutInMs = DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS;
+    private AddressResolver addressResolver = AddressResolver.DEFAULT;
+    private long hostnameCacheTimeoutInMs = DEFAULT_HOSTNAME_CACHE_TIMEOUT_IN_MS;
+    private int hostnameCacheSize = DEFAULT_HOSTNAME_CACHE_SIZE;
     private EngineScheduler scheduler = new DefaultEngineScheduler();
     private ReplayHandler replayHandler = DEFAULT_REPLAY_HANDLER;
 
@@ -239,6 +277,25 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets whether TCP connections share pooled receive buffers rather than each allocating their own.
+     * <p>
+     * When switched on connections read into a buffer owned by the Framer and only take a buffer from a
+     * pool, sized to fit, whilst they have a partial message that is waiting for more data. This reduces
+     * the memory used by engines with a large number of connections that are mostly idle. The
+     * {@link #receiverBufferSize(int)} is still the maximum size of message that can be received.
+     * <p>
+     * Default: false.
+     *
+     * @param pooledReceiveBuffers whether TCP connections share pooled receive buffers.
+     * @return this
+     */
+    public EngineConfiguration pooledReceiveBuffers(final boolean pooledReceiveBuffers)
+    {
+        this.pooledReceiveBuffers = pooledReceiveBuffers;
+        return this;
+    }
+
     /**
      * Sets the receiver socket buffer size.
      *
@@ -357,8 +414,47 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets whether consecutive valid messages read from a TCP connection are framed together.
+     * <p>
+     * When switched on the messages within a single read from a connection are claimed and published as a
+     * single fragment of up to the maximum payload length of the inbound stream. This reduces the
+     * per message framing cost when a counterparty sends bursts of small messages, such as market data.
+     * <p>
+     * Default: false.
+     *
+     * @param batchInboundMessages whether to frame consecutive inbound messages together.
+     * @return this
+     */
+    public EngineConfiguration batchInboundMessages(final boolean batchInboundMessages)
+    {
+        this.batchInboundMessages = batchInboundMessages;
+        return this;
+    }
+
+    /**
+     * Sets whether the MsgSeqNum, PossDupFlag and SendingTime fields of inbound messages are parsed once by the
+     * Framer and carried alongside each message.
+     * <p>
+     * When switched on the sequence number indices and library sessions use these fields rather than decoding the
+     * header of each message again. Messages framed in a batch, see {@link #batchInboundMessages(boolean)}, don't
+     * carry the fields.
+     * <p>
+     * Default: false.
+     *
+     * @param preParseInboundHeaders whether to parse the header fields of inbound messages in the Framer.
+     * @return this
+     */
+    public EngineConfiguration preParseInboundHeaders(final boolean preParseInboundHeaders)
+    {
+        this.preParseInboundHeaders = preParseInboundHeaders;
+        return this;
+    }
+
     /**
      * Sets the idle strategy for the Framer thread.
+     * An {@link uk.co.real_logic.artio.AdaptiveIdleStrategy} will have the time it spends in each mode exposed
+     * through the engine's counters.
      *
      * @param framerIdleStrategy the idle strategy for the Framer thread.
      * @return this
@@ -438,6 +534,67 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets the maximum number of TCP connections that are accepted in a single duty cycle of the framer. Any
+     * further connections wait in the listen backlog of the socket until a later duty cycle.
+     *
+     * @param maxAcceptsPerDutyCycle the maximum number of TCP connections accepted in a single duty cycle.
+     * @return this
+     * @see EngineConfiguration#MAX_ACCEPTS_PER_DUTY_CYCLE_PROP
+     */
+    public EngineConfiguration maxAcceptsPerDutyCycle(final int maxAcceptsPerDutyCycle)
+    {
+        this.maxAcceptsPerDutyCycle = maxAcceptsPerDutyCycle;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of logon messages that are authenticated in a single duty cycle of the framer.
+     * Authenticating a logon involves looking up the session's id and sequence numbers, so a burst of reconnecting
+     * counterparties can starve sessions that are already logged on. Logons beyond this limit stay in their
+     * connection's buffer and are retried in a later duty cycle, logons from prioritised comp ids are never
+     * deferred. A deferred logon still has to complete within the no logon disconnect timeout.
+     *
+     * @param maxLogonsPerDutyCycle the maximum number of logons authenticated in a single duty cycle.
+     * @return this
+     * @see EngineConfiguration#MAX_LOGONS_PER_DUTY_CYCLE_PROP
+     * @see EngineConfiguration#prioritisedCompIds(String...)
+     * @see EngineConfiguration#noLogonDisconnectTimeoutInMs(int)
+     */
+    public EngineConfiguration maxLogonsPerDutyCycle(final int maxLogonsPerDutyCycle)
+    {
+        this.maxLogonsPerDutyCycle = maxLogonsPerDutyCycle;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of accepted TCP connections that haven't yet logged on. Once this is reached no more
+     * connections are accepted until one of them has either logged on or been disconnected.
+     *
+     * @param maxPendingLogons the maximum number of accepted TCP connections that haven't yet logged on.
+     * @return this
+     * @see EngineConfiguration#MAX_PENDING_LOGONS_PROP
+     */
+    public EngineConfiguration maxPendingLogons(final int maxPendingLogons)
+    {
+        this.maxPendingLogons = maxPendingLogons;
+        return this;
+    }
+
+    /**
+     * Sets the comp ids of counterparties whose logons are authenticated as soon as they are received, regardless
+     * of the {@link #maxLogonsPerDutyCycle(int)} limit. These are matched against the SenderCompID of the
+     * counterparty's logon message.
+     *
+     * @param prioritisedCompIds the comp ids of counterparties whose logons should never be deferred.
+     * @return this
+     */
+    public EngineConfiguration prioritisedCompIds(final String... prioritisedCompIds)
+    {
+        this.prioritisedCompIds = prioritisedCompIds;
+        return this;
+    }
+
     /**
      * Sets the aeron channel to use for clustered communications.
      *
@@ -482,6 +639,49 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Adds the specified node ids of the learner nodes in this cluster.
+     *
+     * @param learnerNodes the ids to be added
+     * @return this
+     * @see ClusterConfiguration#learnerNodes(IntHashSet)
+     */
+    public EngineConfiguration addLearnerNodes(final int... learnerNodes)
+    {
+        for (final int learnerNode : learnerNodes)
+        {
+            this.learnerNodes.add(learnerNode);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets whether this node is a learner in the cluster.
+     *
+     * @param clusterLearner true if this node is a learner, false otherwise.
+     * @return this
+     * @see ClusterConfiguration#learner(boolean)
+     */
+    public EngineConfiguration clusterLearner(final boolean clusterLearner)
+    {
+        this.clusterLearner = clusterLearner;
+        return this;
+    }
+
+    /**
+     * Sets whether the cluster fails over to a new leader in fast failover mode.
+     *
+     * @param clusterFastFailover true to enable fast failover, false otherwise.
+     * @return this
+     * @see ClusterConfiguration#fastFailover(boolean)
+     */
+    public EngineConfiguration clusterFastFailover(final boolean clusterFastFailover)
+    {
+        this.clusterFastFailover = clusterFastFailover;
+        return this;
+    }
+
     /**
      * Set the timeout interval on the cluster in milliseconds.
      *
@@ -494,12 +694,103 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Set the number of bytes a follower node may receive before acknowledging them to the cluster leader.
+     *
+     * @param clusterAcknowledgementWindowInBytes the number of bytes a follower may leave unacknowledged.
+     * @return this
+     * @see ClusterConfiguration#acknowledgementWindowInBytes(int)
+     */
+    public EngineConfiguration clusterAcknowledgementWindowInBytes(final int clusterAcknowledgementWindowInBytes)
+    {
+        this.clusterAcknowledgementWindowInBytes = clusterAcknowledgementWindowInBytes;
+        return this;
+    }
+
+    /**
+     * Set the maximum time a follower node may delay acknowledging received data to the cluster leader.
+     *
+     * @param clusterAcknowledgementIntervalInUs the maximum acknowledgement delay in microseconds.
+     * @return this
+     * @see ClusterConfiguration#acknowledgementIntervalInUs(long)
+     */
+    public EngineConfiguration clusterAcknowledgementIntervalInUs(final long clusterAcknowledgementIntervalInUs)
+    {
+        this.clusterAcknowledgementIntervalInUs = clusterAcknowledgementIntervalInUs;
+        return this;
+    }
+
+    /**
+     * Set the maximum size of a chunk of log entries resent by the cluster leader to a lagging follower.
+     *
+     * @param clusterCatchUpChunkSizeInBytes the maximum size of a resent chunk in bytes.
+     * @return this
+     * @see ClusterConfiguration#catchUpChunkSizeInBytes(int)
+     */
+    public EngineConfiguration clusterCatchUpChunkSizeInBytes(final int clusterCatchUpChunkSizeInBytes)
+    {
+        this.clusterCatchUpChunkSizeInBytes = clusterCatchUpChunkSizeInBytes;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of chunks of log entries resent by the cluster leader to each lagging follower
+     * per duty cycle.
+     *
+     * @param clusterCatchUpChunksPerDutyCycle the maximum number of chunks to resend per duty cycle.
+     * @return this
+     * @see ClusterConfiguration#catchUpChunksPerDutyCycle(int)
+     */
+    public EngineConfiguration clusterCatchUpChunksPerDutyCycle(final int clusterCatchUpChunksPerDutyCycle)
+    {
+        this.clusterCatchUpChunksPerDutyCycle = clusterCatchUpChunksPerDutyCycle;
+        return this;
+    }
+
     public EngineConfiguration channelSupplierFactory(final Function<EngineConfiguration, TcpChannelSupplier> value)
     {
         this.channelSupplierFactory = value;
         return this;
     }
 
+    /**
+     * Sets the resolver used to lookup the addresses of hosts that initiated sessions connect to. Lookups are
+     * performed on their own thread so that a slow lookup doesn't block the Framer.
+     *
+     * @param addressResolver the resolver used to lookup the addresses of hosts.
+     * @return this
+     */
+    public EngineConfiguration addressResolver(final AddressResolver addressResolver)
+    {
+        this.addressResolver = addressResolver;
+        return this;
+    }
+
+    /**
+     * Sets the time for which the resolved address of a host is reused by subsequent initiated connections.
+     *
+     * @param hostnameCacheTimeoutInMs the time for which a resolved address is cached in milliseconds.
+     * @return this
+     */
+    public EngineConfiguration hostnameCacheTimeoutInMs(final long hostnameCacheTimeoutInMs)
+    {
+        this.hostnameCacheTimeoutInMs = hostnameCacheTimeoutInMs;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of hosts whose resolved addresses are cached. When the cache is full expired addresses
+     * are evicted, followed by the address that is closest to expiring.
+     *
+     * @param hostnameCacheSize the maximum number of hosts whose resolved addresses are cached.
+     * @return this
+     */
+    public EngineConfiguration hostnameCacheSize(final int hostnameCacheSize)
+    {
+        this.hostnameCacheSize = hostnameCacheSize;
+        return this;
+    }
+
     public EngineConfiguration roleHandler(final RoleHandler roleHandler)
     {
         this.roleHandler = roleHandler;
@@ -562,6 +853,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return receiverBufferSize;
     }
 
+    public boolean pooledReceiveBuffers()
+    {
+        return pooledReceiveBuffers;
+    }
+
     public int receiverSocketBufferSize()
     {
         return receiverSocketBufferSize;
@@ -612,6 +908,16 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return logOutboundMessages;
     }
 
+    public boolean batchInboundMessages()
+    {
+        return batchInboundMessages;
+    }
+
+    public boolean preParseInboundHeaders()
+    {
+        return preParseInboundHeaders;
+    }
+
     public IdleStrategy framerIdleStrategy()
     {
         return framerIdleStrategy;
@@ -677,6 +983,26 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return noLogonDisconnectTimeoutInMs;
     }
 
+    public int maxAcceptsPerDutyCycle()
+    {
+        return maxAcceptsPerDutyCycle;
+    }
+
+    public int maxLogonsPerDutyCycle()
+    {
+        return maxLogonsPerDutyCycle;
+    }
+
+    public int maxPendingLogons()
+    {
+        return maxPendingLogons;
+    }
+
+    public String[] prioritisedCompIds()
+    {
+        return prioritisedCompIds;
+    }
+
     public String clusterAeronChannel()
     {
         return clusterAeronChannel;
@@ -697,11 +1023,46 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return otherNodes;
     }
 
+    public IntHashSet learnerNodes()
+    {
+        return learnerNodes;
+    }
+
+    public boolean clusterLearner()
+    {
+        return clusterLearner;
+    }
+
+    public boolean clusterFastFailover()
+    {
+        return clusterFastFailover;
+    }
+
     public long clusterTimeoutIntervalInMs()
     {
         return clusterTimeoutIntervalInMs;
     }
 
+    public int clusterAcknowledgementWindowInBytes()
+    {
+        return clusterAcknowledgementWindowInBytes;
+    }
+
+    public long clusterAcknowledgementIntervalInUs()
+    {
+        return clusterAcknowledgementIntervalInUs;
+    }
+
+    public int clusterCatchUpChunkSizeInBytes()
+    {
+        return clusterCatchUpChunkSizeInBytes;
+    }
+
+    public int clusterCatchUpChunksPerDutyCycle()
+    {
+        return clusterCatchUpChunksPerDutyCycle;
+    }
+
     public RoleHandler roleHandler()
     {
         return roleHandler;
@@ -829,6 +1190,21 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return channelSupplierFactory.apply(this);
     }
 
+    public AddressResolver addressResolver()
+    {
+        return addressResolver;
+    }
+
+    public long hostnameCacheTimeoutInMs()
+    {
+        return hostnameCacheTimeoutInMs;
+    }
+
+    public int hostnameCacheSize()
+    {
+        return hostnameCacheSize;
+    }
+
     public void close()
     {
         CloseHelper.close(sentSequenceNumberIndex);
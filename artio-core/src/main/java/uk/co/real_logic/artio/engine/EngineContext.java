@@ -26,6 +26,7 @@ import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.SystemEpochClock;
 import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.StreamInformation;
 import uk.co.real_logic.artio.engine.logger.*;
 import uk.co.real_logic.artio.protocol.GatewayPublication;
@@ -278,6 +279,8 @@ public abstract class EngineContext implements AutoCloseable
 
     public abstract ClusterableStreams streams();
 
+    public abstract Reply<?> promoteLearner(short learnerId);
+
     public abstract GatewayPublication inboundLibraryPublication();
 
     public CompletionPosition inboundCompletionPosition()
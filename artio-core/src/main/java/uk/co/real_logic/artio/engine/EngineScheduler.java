@@ -19,6 +19,8 @@ import io.aeron.Aeron;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.CompositeAgent;
+import uk.co.real_logic.artio.FixCounters;
 
 /**
  * Interface for determining how an Engine's Agents are allocated to threads.
@@ -35,14 +37,51 @@ public interface EngineScheduler extends AutoCloseable
      * @param monitoringAgent the monitoring agent to schedule.
      * @param conductorAgent if aeron has useConductorInvoker enable it
      *                       is the agent for the conductor, otherwise null.
+     * @param hostnameResolver the agent that resolves the hosts of initiated connections. It blocks whilst
+     *                         resolving so shouldn't share a thread with the framer.
      */
-    void launch(
-        EngineConfiguration configuration,
-        ErrorHandler errorHandler,
-        Agent framer,
-        Agent archivingAgent,
-        Agent monitoringAgent,
-        Agent conductorAgent);
+    default void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final Agent archivingAgent,
+        final Agent monitoringAgent,
+        final Agent conductorAgent,
+        final Agent hostnameResolver)
+    {
+        launch(
+            configuration,
+            errorHandler,
+            new CompositeAgent(framer, hostnameResolver),
+            archivingAgent,
+            monitoringAgent,
+            conductorAgent);
+    }
+
+    /**
+     * Invoked by the FIX Engine to start the threads if the scheduler doesn't override the launch method that takes
+     * a hostname resolver. In that case the hostname resolver runs on the framer's thread.
+     *
+     * @param configuration the engine's configuration object.
+     * @param errorHandler the ErrorHandler used by the engine.
+     * @param framer the framer agent to schedule.
+     * @param archivingAgent the archiver agent to schedule.
+     * @param monitoringAgent the monitoring agent to schedule.
+     * @param conductorAgent if aeron has useConductorInvoker enable it
+     *                       is the agent for the conductor, otherwise null.
+     * @deprecated override the launch method that takes a hostname resolver instead.
+     */
+    @Deprecated
+    default void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final Agent archivingAgent,
+        final Agent monitoringAgent,
+        final Agent conductorAgent)
+    {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't override a launch method");
+    }
 
     /**
      * Invoked by the FIX Engine to stop the threads. Should only return once they are completed stopped.
@@ -57,6 +96,16 @@ public interface EngineScheduler extends AutoCloseable
      */
     void configure(Aeron.Context aeronContext);
 
+    /**
+     * Invoked by the FIX Engine before launching with the counters that are stored in its monitoring file. This can be
+     * hooked in order to report on the threads that the scheduler starts.
+     *
+     * @param fixCounters the counters of this Engine instance.
+     */
+    default void configure(final FixCounters fixCounters)
+    {
+    }
+
     static void fail()
     {
         throw new IllegalStateException("Cannot re-use scheduler for multiple launch attempts");
@@ -169,6 +169,8 @@ public final class FixEngine extends GatewayProcess
             streams = engineContext.streams();
             initFramer(configuration, fixCounters, replayPublication.sessionId());
             initMonitoringAgent(timers.all(), configuration);
+            fixCounters.idleTime("Framer", configuration.framerIdleStrategy());
+            fixCounters.idleTime("Archiver", configuration.archiverIdleStrategy());
         }
         catch (final Exception e)
         {
@@ -206,6 +208,24 @@ public final class FixEngine extends GatewayProcess
             aeron.conductorAgentInvoker());
     }
 
+    /**
+     * Promotes a learner node into a voting member of the cluster, for example when failing over to a disaster
+     * recovery site. This should be invoked on every node in the cluster, including the learner itself.
+     * Asynchronous method, the Reply instance needs to be polled to ensure that it has completed.
+     *
+     * If the reply is <code>null</code> then the request hasn't been enqueued and the operation
+     * should be retried on a duty cycle.
+     *
+     * @param learnerId the node id of the learner to promote.
+     *
+     * @return the reply object, or null if the request hasn't been successfully enqueued.
+     * @throws IllegalStateException if this engine isn't running in a cluster.
+     */
+    public Reply<?> promoteLearner(final short learnerId)
+    {
+        return engineContext.promoteLearner(learnerId);
+    }
+
     /**
      * Check whether this node believes itself to bethe leader of a cluster. NB: if you aren't running in a cluster
      * this will always return true.
@@ -254,13 +274,15 @@ public final class FixEngine extends GatewayProcess
 
     private FixEngine launch()
     {
+        scheduler.configure(fixCounters);
         scheduler.launch(
             configuration,
             errorHandler,
             framerContext.framer(),
             engineContext.archivingAgent(),
             monitoringAgent,
-            conductorAgent());
+            conductorAgent(),
+            framerContext.hostnameResolver());
 
         return this;
     }
@@ -30,6 +30,7 @@ public class LockStepFramerEngineScheduler implements EngineScheduler
 {
     private AgentRunner archivingRunner;
     private AgentRunner monitoringRunner;
+    private AgentRunner hostnameResolverRunner;
     private AgentInvoker framerInvoker;
 
     public void launch(
@@ -38,7 +39,8 @@ public class LockStepFramerEngineScheduler implements EngineScheduler
         final Agent framer,
         final Agent archivingAgent,
         final Agent monitoringAgent,
-        final Agent conductorAgent)
+        final Agent conductorAgent,
+        final Agent hostnameResolver)
     {
         framerInvoker = new AgentInvoker(errorHandler, null, framer);
         framerInvoker.start();
@@ -51,7 +53,11 @@ public class LockStepFramerEngineScheduler implements EngineScheduler
         archivingRunner = new AgentRunner(
             configuration.archiverIdleStrategy(), errorHandler, null, archivingAgent);
 
+        hostnameResolverRunner = new AgentRunner(
+            backoffIdleStrategy(), errorHandler, null, hostnameResolver);
+
         startOnThread(archivingRunner);
+        startOnThread(hostnameResolverRunner);
 
         if (monitoringAgent != null)
         {
@@ -78,8 +84,9 @@ public class LockStepFramerEngineScheduler implements EngineScheduler
     {
         EngineScheduler.awaitRunnerStart(archivingRunner);
         EngineScheduler.awaitRunnerStart(monitoringRunner);
+        EngineScheduler.awaitRunnerStart(hostnameResolverRunner);
 
-        Exceptions.closeAll(framerInvoker, archivingRunner, monitoringRunner);
+        Exceptions.closeAll(framerInvoker, archivingRunner, monitoringRunner, hostnameResolverRunner);
     }
 
     public void configure(final Aeron.Context aeronContext)
@@ -33,6 +33,9 @@ import static org.agrona.concurrent.AgentRunner.startOnThread;
 /**
  * A scheduler that schedules all engine agents onto a single thread.
  *
+ * NB: this includes the hostname resolver, so resolving the host of an initiated connection blocks every other
+ * agent for the duration of the lookup.
+ *
  * Can also (optionally schedule the media driver's agent onto the same thread.
  */
 public class LowResourceEngineScheduler implements EngineScheduler
@@ -57,7 +60,8 @@ public class LowResourceEngineScheduler implements EngineScheduler
         final Agent framer,
         final Agent archivingAgent,
         final Agent monitoringAgent,
-        final Agent conductorAgent)
+        final Agent conductorAgent,
+        final Agent hostnameResolver)
     {
         if (runner != null)
         {
@@ -65,7 +69,7 @@ public class LowResourceEngineScheduler implements EngineScheduler
         }
 
         final List<Agent> agents = new ArrayList<>();
-        Collections.addAll(agents, monitoringAgent, framer, archivingAgent, conductorAgent);
+        Collections.addAll(agents, monitoringAgent, framer, archivingAgent, conductorAgent, hostnameResolver);
         if (driverAgentInvoker != null)
         {
             agents.add(driverAgentInvoker.agent());
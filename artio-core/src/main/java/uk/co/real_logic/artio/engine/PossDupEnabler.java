@@ -155,9 +155,9 @@ public class PossDupEnabler
             {
                 final MutableDirectBuffer writeBuffer = writeBuffer();
                 final int writeOffset = writeOffset();
-                writeBuffer.putBytes(writeOffset, srcBuffer, messageOffset, messageLength);
-                setPossDupFlag(possDupSrcOffset, messageOffset, writeOffset, writeBuffer);
-                updateSendingTime(messageOffset);
+                writeBuffer.putBytes(writeOffset, srcBuffer, srcOffset, srcLength);
+                setPossDupFlag(possDupSrcOffset, srcOffset, writeOffset, writeBuffer);
+                updateSendingTime(srcOffset);
 
                 return commit(false);
             }
@@ -400,11 +400,11 @@ public class PossDupEnabler
 
     private void setPossDupFlag(
         final int possDupSrcOffset,
-        final int messageOffset,
+        final int srcOffset,
         final int claimOffset,
         final MutableDirectBuffer claimBuffer)
     {
-        final int possDupClaimOffset = srcToClaim(possDupSrcOffset, messageOffset, claimOffset);
+        final int possDupClaimOffset = srcToClaim(possDupSrcOffset, srcOffset, claimOffset);
         mutableAsciiFlyweight.wrap(claimBuffer);
         mutableAsciiFlyweight.putChar(possDupClaimOffset, 'Y');
     }
@@ -22,6 +22,7 @@ import org.agrona.ErrorHandler;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.CompositeAgent;
 import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.StreamInformation;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
 import uk.co.real_logic.artio.engine.logger.*;
@@ -184,6 +185,11 @@ class SoloContext extends EngineContext
         return node;
     }
 
+    public Reply<?> promoteLearner(final short learnerId)
+    {
+        throw new IllegalStateException("Learners can only be promoted when running in a cluster");
+    }
+
     public ReplayQuery inboundReplayQuery()
     {
         if (!configuration.logInboundMessages())
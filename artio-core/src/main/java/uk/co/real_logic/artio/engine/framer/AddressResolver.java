@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Resolves the hostnames of the counterparties that initiator sessions connect to. Resolution may block, so it is
+ * performed off the Framer thread.
+ */
+@FunctionalInterface
+public interface AddressResolver
+{
+    AddressResolver DEFAULT = InetAddress::getByName;
+
+    /**
+     * Resolve a hostname into an address.
+     *
+     * @param host the hostname to resolve.
+     * @return the address of the host.
+     * @throws UnknownHostException if the host cannot be resolved.
+     */
+    InetAddress resolve(String host) throws UnknownHostException;
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
+import uk.co.real_logic.artio.dictionary.CharArraySet;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounds how much connection setup work the framer does in each duty cycle, so that a storm of counterparties
+ * reconnecting at the same time doesn't starve the sessions that are already logged on.
+ *
+ * Only ever accessed on the framer thread.
+ */
+class AdmissionControl
+{
+    private final int maxAcceptsPerDutyCycle;
+    private final int maxLogonsPerDutyCycle;
+    private final int maxPendingLogons;
+    private final CharArraySet prioritisedCompIds;
+    private final AtomicCounter deferredAccepts;
+    private final AtomicCounter deferredLogons;
+    private final AtomicCounter pendingLogonsCounter;
+    private final ArrayDeque<ReceiverEndPoint> deferredEndPoints = new ArrayDeque<>();
+
+    private int acceptsThisDutyCycle;
+    private int logonsThisDutyCycle;
+    private int pendingLogons;
+    private boolean acceptsDeferred;
+
+    AdmissionControl(
+        final int maxAcceptsPerDutyCycle,
+        final int maxLogonsPerDutyCycle,
+        final int maxPendingLogons,
+        final String[] prioritisedCompIds,
+        final AtomicCounter deferredAccepts,
+        final AtomicCounter deferredLogons,
+        final AtomicCounter pendingLogons)
+    {
+        this.maxAcceptsPerDutyCycle = maxAcceptsPerDutyCycle;
+        this.maxLogonsPerDutyCycle = maxLogonsPerDutyCycle;
+        this.maxPendingLogons = maxPendingLogons;
+        this.prioritisedCompIds = new CharArraySet(prioritisedCompIds);
+        this.deferredAccepts = deferredAccepts;
+        this.deferredLogons = deferredLogons;
+        this.pendingLogonsCounter = pendingLogons;
+    }
+
+    void onDutyCycle()
+    {
+        acceptsThisDutyCycle = 0;
+        logonsThisDutyCycle = 0;
+    }
+
+    /**
+     * Called whilst the listening socket has connections waiting to be accepted. Accepts being held back because
+     * too many logons are pending is counted once, when it starts, rather than once per duty cycle.
+     *
+     * @return true if another connection can be accepted in this duty cycle, false otherwise.
+     */
+    boolean canAccept()
+    {
+        if (acceptsThisDutyCycle >= maxAcceptsPerDutyCycle)
+        {
+            return false;
+        }
+
+        if (pendingLogons >= maxPendingLogons)
+        {
+            if (!acceptsDeferred)
+            {
+                acceptsDeferred = true;
+                deferredAccepts.increment();
+            }
+            return false;
+        }
+
+        acceptsDeferred = false;
+        return true;
+    }
+
+    void onAccept()
+    {
+        acceptsThisDutyCycle++;
+    }
+
+    void onLogonPending()
+    {
+        pendingLogons++;
+        pendingLogonsCounter.setOrdered(pendingLogons);
+    }
+
+    void onLogonNoLongerPending()
+    {
+        pendingLogons--;
+        pendingLogonsCounter.setOrdered(pendingLogons);
+    }
+
+    /**
+     * Decide whether a logon message should be authenticated now. New logons that aren't prioritised are refused
+     * whilst older logons are still waiting to be retried, so that they can't jump the queue.
+     *
+     * @param header the header of the logon message.
+     * @param retry true if the logon was previously deferred and is now being retried.
+     * @return true if the logon can be authenticated now, false if it should be deferred.
+     */
+    boolean admitLogon(final HeaderDecoder header, final boolean retry)
+    {
+        final boolean withinBudget = logonsThisDutyCycle < maxLogonsPerDutyCycle &&
+            (retry || deferredEndPoints.isEmpty());
+        if (withinBudget || prioritisedCompIds.contains(header.senderCompID(), header.senderCompIDLength()))
+        {
+            logonsThisDutyCycle++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Queue a logon to be retried in a later duty cycle.
+     *
+     * @param endPoint the end point whose logon has been deferred.
+     * @param retry true if the logon was already deferred, in which case it isn't counted again.
+     */
+    void deferLogon(final ReceiverEndPoint endPoint, final boolean retry)
+    {
+        deferredEndPoints.addLast(endPoint);
+        if (!retry)
+        {
+            deferredLogons.increment();
+        }
+    }
+
+    /**
+     * Retries the logons deferred in previous duty cycles, oldest first. Must be polled before the end points so
+     * that the retries get the duty cycle's logon budget ahead of new logons. Retried logons that are deferred
+     * again go to the back of the queue.
+     *
+     * @return the amount of work done.
+     */
+    int pollDeferredLogons()
+    {
+        final ArrayDeque<ReceiverEndPoint> deferredEndPoints = this.deferredEndPoints;
+        int work = 0;
+        for (int i = deferredEndPoints.size(); i > 0 && logonsThisDutyCycle < maxLogonsPerDutyCycle; i--)
+        {
+            final ReceiverEndPoint endPoint = deferredEndPoints.pollFirst();
+            if (endPoint.hasDeferredLogon())
+            {
+                work += endPoint.retryDeferredLogon();
+            }
+        }
+
+        return work;
+    }
+
+    int pendingLogons()
+    {
+        return pendingLogons;
+    }
+}
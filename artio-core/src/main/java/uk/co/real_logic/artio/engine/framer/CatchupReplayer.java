@@ -21,6 +21,7 @@ import io.aeron.logbuffer.ExclusiveBufferClaim;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.EpochClock;
 import uk.co.real_logic.artio.DebugLogger;
@@ -33,10 +34,12 @@ import uk.co.real_logic.artio.decoder.SequenceResetDecoder;
 import uk.co.real_logic.artio.engine.PossDupEnabler;
 import uk.co.real_logic.artio.engine.logger.ReplayQuery;
 import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.messages.FixMessageBatchDecoder;
 import uk.co.real_logic.artio.messages.FixMessageDecoder;
 import uk.co.real_logic.artio.messages.FixMessageEncoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+import uk.co.real_logic.artio.protocol.FixMessageBatchIterator;
 import uk.co.real_logic.artio.protocol.GatewayPublication;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
@@ -48,6 +51,7 @@ import static uk.co.real_logic.artio.LogTag.CATCHUP;
 import static uk.co.real_logic.artio.messages.MessageStatus.CATCHUP_REPLAY;
 import static uk.co.real_logic.artio.messages.SessionReplyStatus.MISSING_MESSAGES;
 import static uk.co.real_logic.artio.messages.SessionReplyStatus.OK;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
 
 public class CatchupReplayer implements ControlledFragmentHandler, Continuation
 {
@@ -64,10 +68,12 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
     }
 
     private static final int OUT_OF_RANGE = -1;
+    private static final long NO_BATCH = -1;
 
     private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     private final FixMessageDecoder messageDecoder = new FixMessageDecoder();
     private final FixMessageEncoder messageEncoder = new FixMessageEncoder();
+    private final FixMessageBatchIterator messageBatch = new FixMessageBatchIterator();
 
     private final AsciiBuffer asciiBuffer = new MutableAsciiBuffer();
     private final HeaderDecoder headerDecoder = new HeaderDecoder();
@@ -94,6 +100,10 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
     private SequenceResetEncoder sequenceResetEncoder;
     private UtcTimestampEncoder timestampEncoder;
     private MutableAsciiBuffer encodeBuffer;
+    private ExpandableArrayBuffer batchFrameBuffer;
+    private long replayedBatchPosition = NO_BATCH;
+    private long abortedBatchPosition = NO_BATCH;
+    private int abortedBatchMessagesReplayed;
 
     private int heartbeatRangeSequenceNumberStart = OUT_OF_RANGE;
 
@@ -142,7 +152,8 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
             .wrap(buffer, frameOffset)
             .connection(connectionId)
             .libraryId(libraryId)
-            .status(CATCHUP_REPLAY);
+            .status(CATCHUP_REPLAY)
+            .msgSeqNum(NO_PRE_PARSED_HEADER);
     }
 
     private void onIllegalState(final String msg)
@@ -160,6 +171,77 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
         final int srcOffset,
         final int srcLength,
         final Header header)
+    {
+        messageHeaderDecoder.wrap(srcBuffer, srcOffset);
+
+        if (messageHeaderDecoder.templateId() == FixMessageBatchDecoder.TEMPLATE_ID)
+        {
+            return onFixMessageBatch(srcBuffer, srcOffset, header.position());
+        }
+
+        return onFixMessage(srcBuffer, srcOffset, srcLength);
+    }
+
+    private Action onFixMessageBatch(final DirectBuffer srcBuffer, final int srcOffset, final long position)
+    {
+        // Every message within a batch is indexed at the batch's position, so the query reads it once per message.
+        if (position == replayedBatchPosition)
+        {
+            return CONTINUE;
+        }
+
+        final FixMessageBatchIterator messageBatch = this.messageBatch.wrap(
+            srcBuffer,
+            srcOffset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+        final int sequenceIndex = messageBatch.sequenceIndex();
+        final int alreadyReplayed = abortedBatchPosition == position ? abortedBatchMessagesReplayed : 0;
+        abortedBatchPosition = NO_BATCH;
+
+        while (messageBatch.next())
+        {
+            if (messageBatch.index() < alreadyReplayed)
+            {
+                continue;
+            }
+
+            final int messageLength = messageBatch.messageLength();
+            asciiBuffer.wrap(srcBuffer, messageBatch.messageOffset(), messageLength);
+            headerDecoder.decode(asciiBuffer, 0, messageLength);
+
+            // The whole batch is read, even if only some of its messages are in the range being replayed.
+            if (inReplayRange(sequenceIndex, headerDecoder.msgSeqNum()))
+            {
+                if (batchFrameBuffer == null)
+                {
+                    batchFrameBuffer = new ExpandableArrayBuffer(ENCODE_BUFFER_SIZE);
+                }
+
+                final int frameLength = messageBatch.frameMessage(batchFrameBuffer, 0);
+                if (onFixMessage(batchFrameBuffer, 0, frameLength) == ABORT)
+                {
+                    abortedBatchPosition = position;
+                    abortedBatchMessagesReplayed = messageBatch.index();
+                    return ABORT;
+                }
+            }
+        }
+
+        replayedBatchPosition = position;
+        return CONTINUE;
+    }
+
+    private boolean inReplayRange(final int sequenceIndex, final int sequenceNumber)
+    {
+        final boolean afterStart = sequenceIndex > replayFromSequenceIndex ||
+            (sequenceIndex == replayFromSequenceIndex && sequenceNumber >= replayFromSequenceNumber);
+        final boolean beforeEnd = sequenceIndex < currentSequenceIndex ||
+            (sequenceIndex == currentSequenceIndex && sequenceNumber <= lastReceivedSeqNum);
+        return afterStart && beforeEnd;
+    }
+
+    private Action onFixMessage(final DirectBuffer srcBuffer, final int srcOffset, final int srcLength)
     {
         final int messageLength = srcLength - FRAME_LENGTH;
         final int messageOffset = srcOffset + FRAME_LENGTH;
@@ -36,6 +36,8 @@ class EndPointFactory
     private final ErrorHandler errorHandler;
     private final LongHashSet replicatedConnectionIds;
     private final GatewaySessions gatewaySessions;
+    private final AdmissionControl admissionControl;
+    private final ReceiveBufferPool receiveBufferPool;
 
     private SlowPeeker replaySlowPeeker;
 
@@ -47,7 +49,8 @@ class EndPointFactory
         final FixCounters fixCounters,
         final ErrorHandler errorHandler,
         final LongHashSet replicatedConnectionIds,
-        final GatewaySessions gatewaySessions)
+        final GatewaySessions gatewaySessions,
+        final AdmissionControl admissionControl)
     {
         this.configuration = configuration;
         this.sessionContexts = sessionContexts;
@@ -57,6 +60,12 @@ class EndPointFactory
         this.errorHandler = errorHandler;
         this.replicatedConnectionIds = replicatedConnectionIds;
         this.gatewaySessions = gatewaySessions;
+        this.admissionControl = admissionControl;
+
+        receiveBufferPool = configuration.pooledReceiveBuffers() ? new ReceiveBufferPool(
+            configuration.receiverBufferSize(),
+            fixCounters.receiveBuffersInUse(),
+            fixCounters.receiveBufferBytesInUse()) : null;
     }
 
     ReceiverEndPoint receiverEndPoint(
@@ -83,13 +92,18 @@ class EndPointFactory
             sentSequenceNumberIndex,
             receivedSequenceNumberIndex,
             fixCounters.messagesRead(connectionId, channel.remoteAddress()),
+            configuration.sessionTelemetry() ? fixCounters.bytesRead(connectionId, channel.remoteAddress()) : null,
             framer,
             errorHandler,
             libraryId,
             sequenceNumberType,
             connectionType,
             replicatedConnectionIds,
-            gatewaySessions
+            gatewaySessions,
+            configuration.batchInboundMessages(),
+            configuration.preParseInboundHeaders(),
+            receiveBufferPool,
+            admissionControl
         );
     }
 
@@ -109,6 +123,7 @@ class EndPointFactory
             channel,
             fixCounters.bytesInBuffer(connectionId, remoteAddress),
             fixCounters.invalidLibraryAttempts(connectionId, remoteAddress),
+            configuration.sessionTelemetry() ? senderTelemetry(connectionId, remoteAddress) : null,
             errorHandler,
             framer,
             configuration.senderMaxBytesInBuffer(),
@@ -117,6 +132,14 @@ class EndPointFactory
         );
     }
 
+    private SenderTelemetry senderTelemetry(final long connectionId, final String remoteAddress)
+    {
+        return new SenderTelemetry(
+            fixCounters.messagesWritten(connectionId, remoteAddress),
+            fixCounters.bytesWritten(connectionId, remoteAddress),
+            fixCounters.libraryToSocketLatency(connectionId, remoteAddress, configuration.nanoClock()));
+    }
+
     void replaySlowPeeker(final SlowPeeker replaySlowPeeker)
     {
         this.replaySlowPeeker = replaySlowPeeker;
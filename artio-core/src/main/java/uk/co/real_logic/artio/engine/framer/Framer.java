@@ -40,6 +40,7 @@ import uk.co.real_logic.artio.engine.CompletionPosition;
 import uk.co.real_logic.artio.engine.EngineConfiguration;
 import uk.co.real_logic.artio.engine.EngineDescriptorStore;
 import uk.co.real_logic.artio.engine.framer.SubscriptionSlowPeeker.LibrarySlowPeeker;
+import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier.InitiatedChannelHandler;
 import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier.NewChannelHandler;
 import uk.co.real_logic.artio.engine.logger.ReplayQuery;
 import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
@@ -58,6 +59,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -110,7 +112,20 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private final Int2ObjectHashMap<LiveLibraryInfo> idToLibrary = new Int2ObjectHashMap<>();
     private final List<LiveLibraryInfo> librariesBeingAcquired = new ArrayList<>();
     private final Consumer<AdminCommand> onAdminCommand = command -> command.execute(this);
-    private final NewChannelHandler onNewConnectionFunc = this::onNewConnection;
+    private final NewChannelHandler onNewConnectionFunc = new NewChannelHandler()
+    {
+        public void onNewChannel(final long timeInMs, final TcpChannel socketChannel) throws IOException
+        {
+            onNewConnection(timeInMs, socketChannel);
+        }
+
+        public boolean canAcceptChannel()
+        {
+            return admissionControl.canAccept();
+        }
+    };
+    private final Consumer<HostnameResolver.Request> onResolvedAddressFunc = this::onResolvedAddress;
+    private final ArrayDeque<InitiatingConnection> freeInitiatingConnections = new ArrayDeque<>();
     private final Predicate<LiveLibraryInfo> retryAcquireLibrarySessionsFunc = this::retryAcquireLibrarySessions;
 
     private final TcpChannelSupplier channelSupplier;
@@ -152,6 +167,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private final int outboundLibraryFragmentLimit;
     private final int replayFragmentLimit;
     private final GatewaySessions gatewaySessions;
+    private final AdmissionControl admissionControl;
     private final Consumer<GatewaySession> onSessionlogon = this::onSessionLogon;
     /**
      * Null if inbound messages are not logged
@@ -164,6 +180,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private final Long2LongHashMap resendNotSlowStatus = new Long2LongHashMap(-1);
     private final AgentInvoker conductorAgentInvoker;
 
+    private final HostnameResolver hostnameResolver;
     private long nextConnectionId = (long)(Math.random() * Long.MAX_VALUE);
 
     Framer(
@@ -188,6 +205,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         final SequenceNumberIndexReader sentSequenceNumberIndex,
         final SequenceNumberIndexReader receivedSequenceNumberIndex,
         final GatewaySessions gatewaySessions,
+        final AdmissionControl admissionControl,
         final ErrorHandler errorHandler,
         final EngineDescriptorStore engineDescriptorStore,
         final LongHashSet replicatedConnectionIds,
@@ -196,7 +214,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         final CompletionPosition outboundLibraryCompletionPosition,
         final CompletionPosition outboundClusterCompletionPosition,
         final FinalImagePositions finalImagePositions,
-        final AgentInvoker conductorAgentInvoker)
+        final AgentInvoker conductorAgentInvoker,
+        final HostnameResolver hostnameResolver)
     {
         this.clock = clock;
         this.outboundTimer = outboundTimer;
@@ -207,6 +226,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         this.librarySubscription = librarySubscription;
         this.replayImage = replayImage;
         this.gatewaySessions = gatewaySessions;
+        this.admissionControl = admissionControl;
         this.inboundMessages = inboundMessages;
         this.errorHandler = errorHandler;
         this.outboundPublication = outboundPublication;
@@ -218,6 +238,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         this.outboundClusterCompletionPosition = outboundClusterCompletionPosition;
         this.senderEndPoints = new SenderEndPoints(errorHandler);
         this.conductorAgentInvoker = conductorAgentInvoker;
+        this.hostnameResolver = hostnameResolver;
         this.senderEndPointAssembler = new ControlledFragmentAssembler(senderEndPoints, 0, true);
         this.sessionIdStrategy = sessionIdStrategy;
         this.sessionContexts = sessionContexts;
@@ -345,10 +366,13 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     {
         final long timeInMs = clock.time();
         senderEndPoints.timeInMs(timeInMs);
+        admissionControl.onDutyCycle();
         return retryManager.attemptSteps() +
             sendOutboundMessages() +
             sendReplayMessages() +
+            admissionControl.pollDeferredLogons() +
             pollEndPoints() +
+            pollResolvedAddresses() +
             pollNewConnections(timeInMs) +
             pollLibraries(timeInMs) +
             gatewaySessions.pollSessions(timeInMs) +
@@ -536,6 +560,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
     private void onNewConnection(final long timeInMs, final TcpChannel channel) throws IOException
     {
+        admissionControl.onAccept();
         if (clusterableStreams.isLeader())
         {
             final long connectionId = this.nextConnectionId++;
@@ -614,6 +639,11 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             targetSubId,
             targetLocationId);
 
+        if (!hostnameResolver.hasCapacity())
+        {
+            return ABORT;
+        }
+
         final SessionContext sessionContext = sessionContexts.onLogon(sessionKey);
 
         if (sessionContext == SessionContexts.DUPLICATE_SESSION)
@@ -630,50 +660,144 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             return CONTINUE;
         }
 
-        try
+        final InitiatingConnection connection = acquireInitiatingConnection();
+        connection.host = host;
+        connection.port = port;
+        connection.libraryId = libraryId;
+        connection.senderCompId = senderCompId;
+        connection.senderSubId = senderSubId;
+        connection.senderLocationId = senderLocationId;
+        connection.targetCompId = targetCompId;
+        connection.targetSubId = targetSubId;
+        connection.targetLocationId = targetLocationId;
+        connection.sequenceNumberType = sequenceNumberType;
+        connection.resetSequenceNumber = resetSequenceNumber;
+        connection.username = username;
+        connection.password = password;
+        connection.heartbeatIntervalInS = heartbeatIntervalInS;
+        connection.correlationId = correlationId;
+        connection.aeronSessionId = header.sessionId();
+        connection.position = header.position();
+        connection.library = library;
+        connection.sessionContext = sessionContext;
+        connection.sessionKey = sessionKey;
+
+        // Resolving the hostname can block, so it's performed by the resolver's thread and the connection is
+        // opened once the resolved address is polled in pollResolvedAddresses()
+        hostnameResolver.resolve(connection);
+
+        return CONTINUE;
+    }
+
+    private int pollResolvedAddresses()
+    {
+        return hostnameResolver.poll(onResolvedAddressFunc);
+    }
+
+    private void onResolvedAddress(final HostnameResolver.Request request)
+    {
+        final InitiatingConnection connection = (InitiatingConnection)request;
+        final Exception resolveException = connection.exception;
+        if (resolveException != null)
         {
-            final InetSocketAddress address = new InetSocketAddress(host, port);
-            channelSupplier.open(address,
-                (channel, ex) ->
-                {
-                    if (ex != null)
-                    {
-                        sessionContexts.onDisconnect(sessionContext.sessionId());
-                        saveError(UNABLE_TO_CONNECT, libraryId, correlationId, ex);
-                        return;
-                    }
+            connection.onUnableToConnect(resolveException);
+            return;
+        }
 
-                    onConnectionOpen(
-                        libraryId,
-                        senderCompId,
-                        senderSubId,
-                        senderLocationId,
-                        targetCompId,
-                        targetSubId,
-                        targetLocationId,
-                        sequenceNumberType,
-                        resetSequenceNumber,
-                        username,
-                        password,
-                        heartbeatIntervalInS,
-                        correlationId,
-                        header,
-                        library,
-                        address,
-                        channel,
-                        sessionContext,
-                        sessionKey);
-                });
+        try
+        {
+            channelSupplier.open(connection.address, connection);
         }
         catch (final Exception ex)
         {
-            sessionContexts.onDisconnect(sessionContext.sessionId());
-            saveError(UNABLE_TO_CONNECT, libraryId, correlationId, ex);
+            connection.onUnableToConnect(ex);
+        }
+    }
 
-            return CONTINUE;
+    private InitiatingConnection acquireInitiatingConnection()
+    {
+        final InitiatingConnection connection = freeInitiatingConnections.pollFirst();
+        return connection == null ? new InitiatingConnection() : connection;
+    }
+
+    private final class InitiatingConnection extends HostnameResolver.Request implements InitiatedChannelHandler
+    {
+        private int libraryId;
+        private String senderCompId;
+        private String senderSubId;
+        private String senderLocationId;
+        private String targetCompId;
+        private String targetSubId;
+        private String targetLocationId;
+        private SequenceNumberType sequenceNumberType;
+        private boolean resetSequenceNumber;
+        private String username;
+        private String password;
+        private int heartbeatIntervalInS;
+        private long correlationId;
+        private int aeronSessionId;
+        private long position;
+        private LiveLibraryInfo library;
+        private SessionContext sessionContext;
+        private CompositeKey sessionKey;
+
+        public void onInitiatedChannel(final TcpChannel channel, final IOException exception)
+        {
+            if (exception != null)
+            {
+                onUnableToConnect(exception);
+                return;
+            }
+
+            onConnectionOpen(
+                libraryId,
+                senderCompId,
+                senderSubId,
+                senderLocationId,
+                targetCompId,
+                targetSubId,
+                targetLocationId,
+                sequenceNumberType,
+                resetSequenceNumber,
+                username,
+                password,
+                heartbeatIntervalInS,
+                correlationId,
+                aeronSessionId,
+                position,
+                library,
+                address,
+                channel,
+                sessionContext,
+                sessionKey);
+            release();
         }
 
-        return CONTINUE;
+        private void onUnableToConnect(final Exception exception)
+        {
+            sessionContexts.onDisconnect(sessionContext.sessionId());
+            saveError(UNABLE_TO_CONNECT, libraryId, correlationId, exception);
+            release();
+        }
+
+        private void release()
+        {
+            host = null;
+            address = null;
+            exception = null;
+            senderCompId = null;
+            senderSubId = null;
+            senderLocationId = null;
+            targetCompId = null;
+            targetSubId = null;
+            targetLocationId = null;
+            username = null;
+            password = null;
+            library = null;
+            sessionContext = null;
+            sessionKey = null;
+            freeInitiatingConnections.addLast(this);
+        }
     }
 
     private void onConnectionOpen(
@@ -690,7 +814,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         final String password,
         final int heartbeatIntervalInS,
         final long correlationId,
-        final Header header,
+        final int aeronSessionId,
+        final long position,
         final LiveLibraryInfo library,
         final InetSocketAddress address,
         final TcpChannel channel,
@@ -755,7 +880,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
                 private long checkLoggerUpToDate()
                 {
-                    if (indexedPosition(header.sessionId(), header.position()))
+                    if (indexedPosition(aeronSessionId, position))
                     {
                         lastSentSequenceNumber = sentSequenceNumberIndex.lastKnownSequenceNumber(sessionId);
                         lastReceivedSequenceNumber = receivedSequenceNumberIndex.lastKnownSequenceNumber(sessionId);
@@ -807,7 +932,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             sessionContexts.onSentFollowerMessage(sessionId, sequenceIndex, messageType, buffer, offset, length);
         }
 
-        senderEndPoints.onMessage(libraryId, connectionId, buffer, offset, length, position);
+        senderEndPoints.onMessage(libraryId, connectionId, buffer, offset, length, position, timestamp);
 
         sendTimer.recordSince(now);
 
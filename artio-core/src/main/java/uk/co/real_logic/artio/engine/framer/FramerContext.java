@@ -49,6 +49,7 @@ public class FramerContext
     private final QueuedPipe<AdminCommand> adminCommands = new ManyToOneConcurrentArrayQueue<>(ADMIN_COMMAND_CAPACITY);
 
     private final Framer framer;
+    private final HostnameResolver hostnameResolver;
 
     private final GatewaySessions gatewaySessions;
     private final SequenceNumberIndexReader sentSequenceNumberIndex;
@@ -99,6 +100,15 @@ public class FramerContext
             sessionContexts,
             configuration.sessionPersistenceStrategy());
 
+        final AdmissionControl admissionControl = new AdmissionControl(
+            configuration.maxAcceptsPerDutyCycle(),
+            configuration.maxLogonsPerDutyCycle(),
+            configuration.maxPendingLogons(),
+            configuration.prioritisedCompIds(),
+            fixCounters.deferredAccepts(),
+            fixCounters.deferredLogons(),
+            fixCounters.pendingLogons());
+
         final EndPointFactory endPointFactory = new EndPointFactory(
             configuration,
             sessionContexts,
@@ -107,7 +117,8 @@ public class FramerContext
             fixCounters,
             errorHandler,
             replicatedConnectionIds,
-            gatewaySessions);
+            gatewaySessions,
+            admissionControl);
 
         sentSequenceNumberIndex = new SequenceNumberIndexReader(
             configuration.sentSequenceNumberBuffer(), errorHandler);
@@ -116,6 +127,14 @@ public class FramerContext
 
         final FinalImagePositions finalImagePositions = new FinalImagePositions();
 
+        hostnameResolver = new HostnameResolver(
+            configuration.addressResolver(),
+            clock,
+            configuration.hostnameCacheTimeoutInMs(),
+            configuration.hostnameCacheSize(),
+            HostnameResolver.DEFAULT_QUEUE_CAPACITY,
+            configuration.agentNamePrefix());
+
         framer = new Framer(
             clock,
             timers.outboundTimer(),
@@ -140,6 +159,7 @@ public class FramerContext
             sentSequenceNumberIndex,
             receivedSequenceNumberIndex,
             gatewaySessions,
+            admissionControl,
             errorHandler,
             engineDescriptorStore,
             replicatedConnectionIds,
@@ -148,7 +168,8 @@ public class FramerContext
             engineContext.outboundLibraryCompletionPosition(),
             engineContext.outboundClusterCompletionPosition(),
             finalImagePositions,
-            conductorAgentInvoker);
+            conductorAgentInvoker,
+            hostnameResolver);
     }
 
     public Agent framer()
@@ -156,6 +177,11 @@ public class FramerContext
         return framer;
     }
 
+    public Agent hostnameResolver()
+    {
+        return hostnameResolver;
+    }
+
     public Reply<List<LibraryInfo>> libraries()
     {
         final QueryLibrariesCommand reply = new QueryLibrariesCommand();
@@ -55,7 +55,8 @@ class GatewaySessions
     private final FixCounters fixCounters;
     private final AuthenticationStrategy authenticationStrategy;
     private final MessageValidationStrategy validationStrategy;
-    private final int sessionBufferSize;
+    // Engine managed sessions are all polled on the framer thread, so they can share an encoding buffer
+    private final MutableAsciiBuffer sessionBuffer;
     private final long sendingTimeWindowInMs;
     private final long reasonableTransmissionTimeInMs;
     private final SessionContexts sessionContexts;
@@ -85,7 +86,7 @@ class GatewaySessions
         this.fixCounters = fixCounters;
         this.authenticationStrategy = authenticationStrategy;
         this.validationStrategy = validationStrategy;
-        this.sessionBufferSize = sessionBufferSize;
+        this.sessionBuffer = new MutableAsciiBuffer(new byte[sessionBufferSize]);
         this.sendingTimeWindowInMs = sendingTimeWindowInMs;
         this.reasonableTransmissionTimeInMs = reasonableTransmissionTimeInMs;
         this.errorHandler = errorHandler;
@@ -106,10 +107,9 @@ class GatewaySessions
         final long connectionId = gatewaySession.connectionId();
         final AtomicCounter receivedMsgSeqNo = fixCounters.receivedMsgSeqNo(connectionId);
         final AtomicCounter sentMsgSeqNo = fixCounters.sentMsgSeqNo(connectionId);
-        final MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer(new byte[sessionBufferSize]);
 
         final SessionProxy proxy = new SessionProxy(
-            asciiBuffer,
+            sessionBuffer,
             outboundPublication,
             sessionIdStrategy,
             customisationStrategy,
@@ -133,7 +133,7 @@ class GatewaySessions
             // This gets set by the receiver end point once the logon message has been received.
             0,
             reasonableTransmissionTimeInMs,
-            asciiBuffer);
+            sessionBuffer);
 
         final SessionParser sessionParser = new SessionParser(
             session,
@@ -205,7 +205,8 @@ class GatewaySessions
         final List<GatewaySession> sessions = this.sessions;
 
         int eventsProcessed = 0;
-        for (int i = 0, size = sessions.size(); i < size; i++)
+        // Iterate backwards as a session that times out without logging on removes itself whilst being polled.
+        for (int i = sessions.size() - 1; i >= 0; i--)
         {
             final GatewaySession session = sessions.get(i);
             eventsProcessed += session.poll(time);
@@ -240,7 +241,7 @@ class GatewaySessions
         final SequenceNumberIndexReader receivedSequenceNumberIndex,
         final GatewaySession gatewaySession)
     {
-        final CompositeKey compositeKey = sessionIdStrategy.onAcceptLogon(logon.header());
+        final CompositeKey compositeKey = sessionContexts.onAcceptLogon(logon.header());
         final SessionContext sessionContext = sessionContexts.onLogon(compositeKey);
         final long sessionId = sessionContext.sessionId();
         if (sessionContext == DUPLICATE_SESSION)
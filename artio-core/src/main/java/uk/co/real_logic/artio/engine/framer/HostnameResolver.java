@@ -0,0 +1,200 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Agent that resolves the addresses of initiated connections off the Framer thread, caching the resolved addresses
+ * of up to a configurable number of hosts for a configurable time.
+ * <p>
+ * Requests are submitted and their results polled by the Framer thread, the agent itself should be run on its own
+ * thread since resolving a hostname can block.
+ */
+class HostnameResolver implements Agent
+{
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final Map<String, CachedAddress> hostToAddress = new HashMap<>();
+    private final OneToOneConcurrentArrayQueue<Request> requests;
+    private final OneToOneConcurrentArrayQueue<Request> results;
+    private final AddressResolver addressResolver;
+    private final EpochClock clock;
+    private final long cacheTimeoutInMs;
+    private final int cacheSize;
+    private final String agentNamePrefix;
+
+    HostnameResolver(
+        final AddressResolver addressResolver,
+        final EpochClock clock,
+        final long cacheTimeoutInMs,
+        final int cacheSize,
+        final int queueCapacity,
+        final String agentNamePrefix)
+    {
+        this.addressResolver = addressResolver;
+        this.clock = clock;
+        this.cacheTimeoutInMs = cacheTimeoutInMs;
+        this.cacheSize = cacheSize;
+        this.agentNamePrefix = agentNamePrefix;
+        requests = new OneToOneConcurrentArrayQueue<>(queueCapacity);
+        results = new OneToOneConcurrentArrayQueue<>(queueCapacity);
+    }
+
+    /**
+     * Check whether a request can be submitted, invoked by the Framer thread.
+     *
+     * @return true if {@link #resolve(Request)} will accept a request.
+     */
+    boolean hasCapacity()
+    {
+        return requests.remainingCapacity() > 0;
+    }
+
+    /**
+     * Submit a request to be resolved, invoked by the Framer thread.
+     *
+     * @param request the host and port to resolve.
+     * @return true if the request was submitted, false if the resolver is too busy.
+     */
+    boolean resolve(final Request request)
+    {
+        request.address = null;
+        request.exception = null;
+        return requests.offer(request);
+    }
+
+    /**
+     * Hand over completed requests, invoked by the Framer thread.
+     *
+     * @param onResolved the handler for completed requests.
+     * @return the number of completed requests.
+     */
+    int poll(final Consumer<Request> onResolved)
+    {
+        return results.drain(onResolved);
+    }
+
+    public int doWork()
+    {
+        int work = 0;
+        while (results.remainingCapacity() > 0)
+        {
+            final Request request = requests.poll();
+            if (request == null)
+            {
+                break;
+            }
+
+            onRequest(request);
+            results.offer(request);
+            work++;
+        }
+
+        return work;
+    }
+
+    private void onRequest(final Request request)
+    {
+        try
+        {
+            final String host = request.host;
+            final long timeInMs = clock.time();
+            CachedAddress cachedAddress = hostToAddress.get(host);
+            if (cachedAddress == null)
+            {
+                if (hostToAddress.size() >= cacheSize)
+                {
+                    evict(timeInMs);
+                }
+
+                cachedAddress = new CachedAddress();
+                hostToAddress.put(host, cachedAddress);
+            }
+
+            if (cachedAddress.address == null || timeInMs >= cachedAddress.expiryTimeInMs)
+            {
+                cachedAddress.address = null;
+                cachedAddress.address = addressResolver.resolve(host);
+                cachedAddress.expiryTimeInMs = timeInMs + cacheTimeoutInMs;
+            }
+
+            request.address = new InetSocketAddress(cachedAddress.address, request.port);
+        }
+        catch (final Exception ex)
+        {
+            request.exception = ex;
+        }
+    }
+
+    private void evict(final long timeInMs)
+    {
+        Map.Entry<String, CachedAddress> oldest = null;
+        final Iterator<Map.Entry<String, CachedAddress>> it = hostToAddress.entrySet().iterator();
+        while (it.hasNext())
+        {
+            final Map.Entry<String, CachedAddress> entry = it.next();
+            final long expiryTimeInMs = entry.getValue().expiryTimeInMs;
+            if (timeInMs >= expiryTimeInMs)
+            {
+                it.remove();
+            }
+            else if (oldest == null || expiryTimeInMs < oldest.getValue().expiryTimeInMs)
+            {
+                oldest = entry;
+            }
+        }
+
+        if (hostToAddress.size() >= cacheSize && oldest != null)
+        {
+            hostToAddress.remove(oldest.getKey());
+        }
+    }
+
+    int cachedHosts()
+    {
+        return hostToAddress.size();
+    }
+
+    public String roleName()
+    {
+        return agentNamePrefix + "HostnameResolver";
+    }
+
+    static class Request
+    {
+        String host;
+        int port;
+
+        InetSocketAddress address;
+        Exception exception;
+    }
+
+    private static final class CachedAddress
+    {
+        private InetAddress address;
+        private long expiryTimeInMs;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.BitUtil;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Receive buffers that are shared between {@link ReceiverEndPoint}s on the framer thread.
+ *
+ * Endpoints read into a single scratch buffer and only take a buffer from the pool when they have a partial message
+ * left over once they've framed the data that they read. Pooled buffers are allocated in power of two size classes
+ * up to the receiver buffer size and are returned to the pool once the partial message has been drained, so memory
+ * usage grows with the number of partial messages rather than the number of connections.
+ */
+class ReceiveBufferPool
+{
+    static final int MIN_BUFFER_SIZE = 1024;
+
+    private final int maxBufferSize;
+    private final ByteBuffer scratchBuffer;
+    private final ArrayDeque<ByteBuffer>[] freeBuffers;
+    private final AtomicCounter buffersInUse;
+    private final AtomicCounter bytesInUse;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ReceiveBufferPool(final int maxBufferSize, final AtomicCounter buffersInUse, final AtomicCounter bytesInUse)
+    {
+        this.maxBufferSize = maxBufferSize;
+        this.buffersInUse = buffersInUse;
+        this.bytesInUse = bytesInUse;
+        scratchBuffer = ByteBuffer.allocateDirect(maxBufferSize);
+
+        freeBuffers = new ArrayDeque[sizeClass(maxBufferSize) + 1];
+        for (int i = 0; i < freeBuffers.length; i++)
+        {
+            freeBuffers[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Get the buffer to read into when an endpoint has no data left over from a previous read. The data that is read
+     * into it must be framed, or copied into a pooled buffer, before another endpoint reads.
+     *
+     * @return the scratch buffer, cleared ready for a read.
+     */
+    ByteBuffer scratchBuffer()
+    {
+        scratchBuffer.clear();
+        return scratchBuffer;
+    }
+
+    boolean isScratchBuffer(final ByteBuffer buffer)
+    {
+        return buffer == scratchBuffer;
+    }
+
+    int maxBufferSize()
+    {
+        return maxBufferSize;
+    }
+
+    /**
+     * Acquire a cleared buffer from the pool.
+     *
+     * @param requiredCapacity the minimum capacity of the buffer, limited to the max buffer size.
+     * @return a buffer of the smallest size class that fits the required capacity.
+     */
+    ByteBuffer acquire(final int requiredCapacity)
+    {
+        final int sizeClass = sizeClass(requiredCapacity);
+        final int capacity = capacityOf(sizeClass);
+        ByteBuffer buffer = freeBuffers[sizeClass].pollFirst();
+        if (buffer == null)
+        {
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        buffersInUse.increment();
+        bytesInUse.getAndAdd(capacity);
+
+        return buffer;
+    }
+
+    void release(final ByteBuffer buffer)
+    {
+        final int capacity = buffer.capacity();
+        buffer.clear();
+        freeBuffers[sizeClass(capacity)].addFirst(buffer);
+
+        buffersInUse.getAndAdd(-1);
+        bytesInUse.getAndAdd(-capacity);
+    }
+
+    int pooledBufferCount()
+    {
+        int count = 0;
+        for (final ArrayDeque<ByteBuffer> buffers : freeBuffers)
+        {
+            count += buffers.size();
+        }
+
+        return count;
+    }
+
+    private int sizeClass(final int requiredCapacity)
+    {
+        final int capacity = Math.min(Math.max(requiredCapacity, MIN_BUFFER_SIZE), maxBufferSize);
+        return Math.max(0, Integer.numberOfTrailingZeros(BitUtil.findNextPositivePowerOfTwo(capacity)) -
+            Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE));
+    }
+
+    private int capacityOf(final int sizeClass)
+    {
+        return Math.min(MIN_BUFFER_SIZE << sizeClass, maxBufferSize);
+    }
+}
@@ -15,16 +15,19 @@
  */
 package uk.co.real_logic.artio.engine.framer;
 
+import org.agrona.CloseHelper;
 import org.agrona.ErrorHandler;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.Pressure;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
 import uk.co.real_logic.artio.decoder.LogonDecoder;
 import uk.co.real_logic.artio.dictionary.StandardFixConstants;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
 import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
 import uk.co.real_logic.artio.messages.*;
 import uk.co.real_logic.artio.protocol.GatewayPublication;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
@@ -45,6 +48,8 @@ import static uk.co.real_logic.artio.messages.ConnectionType.INITIATOR;
 import static uk.co.real_logic.artio.messages.DisconnectReason.*;
 import static uk.co.real_logic.artio.messages.MessageStatus.*;
 import static uk.co.real_logic.artio.messages.SequenceNumberType.TRANSIENT;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.batchFramedLength;
 import static uk.co.real_logic.artio.session.Session.UNKNOWN;
 import static uk.co.real_logic.artio.util.AsciiBuffer.UNKNOWN_INDEX;
 import static uk.co.real_logic.artio.validation.PersistenceLevel.LOCAL_ARCHIVE;
@@ -56,6 +61,12 @@ import static uk.co.real_logic.artio.validation.PersistenceLevel.REPLICATED;
  * The receiver end point frames the TCP FIX messages into Aeron fragments.
  * It also handles backpressure coming from the Aeron stream and applies it to
  * its own TCP connections.
+ * <p>
+ * If batching is enabled then consecutive valid messages from a single read are framed
+ * into one {@link FixMessageBatchEncoder} fragment, rather than a fragment per message.
+ * <p>
+ * If header pre-parsing is enabled then the MsgSeqNum, PossDupFlag and SendingTime of each message are
+ * decoded once here and saved in its {@link FixMessageEncoder} frame so that its subscribers don't need to.
  */
 class ReceiverEndPoint
 {
@@ -74,6 +85,8 @@ class ReceiverEndPoint
     private static final int UNKNOWN_MESSAGE_TYPE = -1;
 
     private final LogonDecoder logon = new LogonDecoder();
+    private final HeaderDecoder header = new HeaderDecoder();
+    private final UtcTimestampDecoder timestampDecoder = new UtcTimestampDecoder();
 
     private final TcpChannel channel;
     private final GatewayPublication libraryPublication;
@@ -83,12 +96,19 @@ class ReceiverEndPoint
     private final SequenceNumberIndexReader sentSequenceNumberIndex;
     private final SequenceNumberIndexReader receivedSequenceNumberIndex;
     private final AtomicCounter messagesRead;
+    // null when session telemetry is disabled
+    private final AtomicCounter bytesRead;
     private final Framer framer;
     private final ErrorHandler errorHandler;
     private final MutableAsciiBuffer buffer;
-    private final ByteBuffer byteBuffer;
+    private final ReceiveBufferPool receiveBufferPool;
     private final LongHashSet replicatedConnectionIds;
     private final GatewaySessions gatewaySessions;
+    private final AdmissionControl admissionControl;
+    private final boolean batchMessages;
+    private final boolean preParseHeaders;
+    private final int[] batchMessageTypes;
+    private final int[] batchLengths;
 
     private GatewayPublication publication;
     private int libraryId;
@@ -99,6 +119,13 @@ class ReceiverEndPoint
     private boolean hasDisconnected = false;
     private SelectionKey selectionKey;
     private boolean isPaused = false;
+    private boolean logonPending = false;
+    private boolean logonDeferred = false;
+    private boolean retryingLogon = false;
+    private int batchOffset;
+    private int batchLength;
+    private int batchCount;
+    private ByteBuffer byteBuffer;
 
     ReceiverEndPoint(
         final TcpChannel channel,
@@ -112,13 +139,18 @@ class ReceiverEndPoint
         final SequenceNumberIndexReader sentSequenceNumberIndex,
         final SequenceNumberIndexReader receivedSequenceNumberIndex,
         final AtomicCounter messagesRead,
+        final AtomicCounter bytesRead,
         final Framer framer,
         final ErrorHandler errorHandler,
         final int libraryId,
         final SequenceNumberType sequenceNumberType,
         final ConnectionType connectionType,
         final LongHashSet replicatedConnectionIds,
-        final GatewaySessions gatewaySessions)
+        final GatewaySessions gatewaySessions,
+        final boolean batchMessages,
+        final boolean preParseHeaders,
+        final ReceiveBufferPool receiveBufferPool,
+        final AdmissionControl admissionControl)
     {
         Objects.requireNonNull(clusterablePublication, "clusterablePublication");
         Objects.requireNonNull(libraryPublication, "libraryPublication");
@@ -135,19 +167,40 @@ class ReceiverEndPoint
         this.sentSequenceNumberIndex = sentSequenceNumberIndex;
         this.receivedSequenceNumberIndex = receivedSequenceNumberIndex;
         this.messagesRead = messagesRead;
+        this.bytesRead = bytesRead;
         this.framer = framer;
         this.errorHandler = errorHandler;
         this.libraryId = libraryId;
         this.replicatedConnectionIds = replicatedConnectionIds;
         this.gatewaySessions = gatewaySessions;
-
-        byteBuffer = ByteBuffer.allocateDirect(bufferSize);
-        buffer = new MutableAsciiBuffer(byteBuffer);
+        this.admissionControl = admissionControl;
+        this.batchMessages = batchMessages;
+        this.preParseHeaders = preParseHeaders;
+        final int batchCapacity = batchMessages ? GatewayPublication.MAX_BATCH_MESSAGES : 0;
+        batchMessageTypes = new int[batchCapacity];
+        batchLengths = new int[batchCapacity];
+
+        this.receiveBufferPool = receiveBufferPool;
+        if (receiveBufferPool == null)
+        {
+            byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer = new MutableAsciiBuffer(byteBuffer);
+        }
+        else
+        {
+            buffer = new MutableAsciiBuffer();
+        }
         // Initiator sessions are persistent if the sequence numbers are expected to be persistent.
         if (connectionType == INITIATOR)
         {
             choosePublication(sequenceNumberType == TRANSIENT ? LOCAL_ARCHIVE : REPLICATED);
         }
+
+        if (sessionId == UNKNOWN)
+        {
+            logonPending = true;
+            admissionControl.onLogonPending();
+        }
     }
 
     public long connectionId()
@@ -157,13 +210,19 @@ class ReceiverEndPoint
 
     int pollForData()
     {
-        if (isPaused || hasDisconnected())
+        // Deferred logons are only read again when admission control retries them
+        if (isPaused || logonDeferred || hasDisconnected())
         {
             return 0;
         }
 
         try
         {
+            if (receiveBufferPool != null)
+            {
+                return readPooledData();
+            }
+
             return readData() + frameMessages();
         }
         catch (final ClosedChannelException ex)
@@ -184,6 +243,66 @@ class ReceiverEndPoint
         }
     }
 
+    private int readPooledData() throws IOException
+    {
+        final ReceiveBufferPool receiveBufferPool = this.receiveBufferPool;
+        if (usedBufferData == 0)
+        {
+            wrapReceiveBuffer(receiveBufferPool.scratchBuffer());
+        }
+        else if (!byteBuffer.hasRemaining() && byteBuffer.capacity() < receiveBufferPool.maxBufferSize())
+        {
+            // The partial message has filled its buffer, so move it into the next size class up.
+            copyIntoPooledBuffer(byteBuffer.capacity() * 2);
+        }
+
+        final int workCount = readData() + frameMessages();
+
+        if (usedBufferData == 0)
+        {
+            releasePooledBuffer();
+        }
+        else if (receiveBufferPool.isScratchBuffer(byteBuffer))
+        {
+            // Another endpoint will read into the scratch buffer, so take the partial message and leave some room
+            // for the rest of it.
+            copyIntoPooledBuffer(usedBufferData * 2);
+        }
+
+        return workCount;
+    }
+
+    private void copyIntoPooledBuffer(final int requiredCapacity)
+    {
+        final ByteBuffer oldBuffer = byteBuffer;
+        final ByteBuffer newBuffer = receiveBufferPool.acquire(requiredCapacity);
+        buffer.getBytes(0, newBuffer, 0, usedBufferData);
+        ByteBufferUtil.position(newBuffer, usedBufferData);
+        wrapReceiveBuffer(newBuffer);
+
+        if (!receiveBufferPool.isScratchBuffer(oldBuffer))
+        {
+            receiveBufferPool.release(oldBuffer);
+        }
+    }
+
+    private void releasePooledBuffer()
+    {
+        final ByteBuffer byteBuffer = this.byteBuffer;
+        if (byteBuffer != null && !receiveBufferPool.isScratchBuffer(byteBuffer))
+        {
+            receiveBufferPool.release(byteBuffer);
+        }
+
+        this.byteBuffer = null;
+    }
+
+    private void wrapReceiveBuffer(final ByteBuffer byteBuffer)
+    {
+        this.byteBuffer = byteBuffer;
+        buffer.wrap(byteBuffer);
+    }
+
     private int readData() throws IOException
     {
         final int dataRead = channel.read(byteBuffer);
@@ -267,12 +386,16 @@ class ReceiverEndPoint
                 }
                 else
                 {
-                    if (UNKNOWN == sessionId && checkSessionId(offset, length))
+                    if (UNKNOWN == sessionId && (flushBatch() || checkSessionId(offset, length)))
                     {
                         return offset;
                     }
 
                     messagesRead.incrementOrdered();
+                    if (bytesRead != null)
+                    {
+                        bytesRead.getAndAddOrdered(length);
+                    }
                     if (saveMessage(offset, messageType, length))
                     {
                         return offset;
@@ -293,7 +416,10 @@ class ReceiverEndPoint
             }
         }
 
-        moveRemainingDataToBufferStart(offset);
+        if (!flushBatch())
+        {
+            moveRemainingDataToBufferStart(offset);
+        }
         return offset;
     }
 
@@ -356,6 +482,13 @@ class ReceiverEndPoint
 
         logon.decode(buffer, offset, length);
 
+        if (!admissionControl.admitLogon(logon.header(), retryingLogon))
+        {
+            deferLogon(offset);
+            return true;
+        }
+
+        logonNoLongerPending();
         final AuthenticationResult authResult = gatewaySessions.authenticateAndInitiate(
             logon,
             connectionId(),
@@ -385,6 +518,39 @@ class ReceiverEndPoint
         return false;
     }
 
+    private void deferLogon(final int offset)
+    {
+        moveRemainingDataToBufferStart(offset);
+        if (!logonDeferred)
+        {
+            logonDeferred = true;
+            admissionControl.deferLogon(this, retryingLogon);
+        }
+    }
+
+    boolean hasDeferredLogon()
+    {
+        return logonDeferred;
+    }
+
+    int retryDeferredLogon()
+    {
+        logonDeferred = false;
+        retryingLogon = true;
+        final int work = pollForData();
+        retryingLogon = false;
+        return work;
+    }
+
+    private void logonNoLongerPending()
+    {
+        if (logonPending)
+        {
+            logonPending = false;
+            admissionControl.onLogonNoLongerPending();
+        }
+    }
+
     private boolean stashIfBackPressured(final int offset, final long position)
     {
         final boolean backPressured = Pressure.isBackPressured(position);
@@ -398,7 +564,61 @@ class ReceiverEndPoint
 
     private boolean saveMessage(final int offset, final int messageType, final int length)
     {
-        final long position = publication.saveMessage(buffer,
+        if (batchMessages)
+        {
+            return addToBatch(offset, messageType, length);
+        }
+
+        final long position;
+        if (preParseHeaders)
+        {
+            position = savePreParsedMessage(offset, messageType, length);
+        }
+        else
+        {
+            position = publication.saveMessage(buffer,
+                offset,
+                length,
+                libraryId,
+                messageType,
+                sessionId,
+                sequenceIndex,
+                connectionId,
+                OK);
+        }
+
+        if (Pressure.isBackPressured(position))
+        {
+            moveRemainingDataToBufferStart(offset);
+            return true;
+        }
+        else
+        {
+            gatewaySession.onMessage(buffer, offset, length, messageType, sessionId);
+            return false;
+        }
+    }
+
+    private long savePreParsedMessage(final int offset, final int messageType, final int length)
+    {
+        final HeaderDecoder header = this.header;
+        header.reset();
+        header.decode(buffer, offset, length);
+
+        int msgSeqNum = NO_PRE_PARSED_HEADER;
+        boolean possDup = false;
+        long sendingTime = 0;
+        final int sendingTimeLength = header.sendingTimeLength();
+        if (sendingTimeLength > 0)
+        {
+            msgSeqNum = header.msgSeqNum();
+            possDup = (header.hasPossDupFlag() && header.possDupFlag()) ||
+                (header.hasPossResend() && header.possResend());
+            sendingTime = timestampDecoder.decode(header.sendingTime(), sendingTimeLength);
+        }
+
+        return publication.saveMessage(
+            buffer,
             offset,
             length,
             libraryId,
@@ -406,18 +626,96 @@ class ReceiverEndPoint
             sessionId,
             sequenceIndex,
             connectionId,
-            OK);
+            OK,
+            msgSeqNum,
+            possDup,
+            sendingTime);
+    }
+
+    private boolean addToBatch(final int offset, final int messageType, final int length)
+    {
+        final int batchCount = this.batchCount;
+        if (batchCount > 0 && (batchCount == batchMessageTypes.length ||
+            batchFramedLength(batchCount + 1, batchLength + length) > publication.maxPayloadLength()))
+        {
+            if (flushBatch())
+            {
+                return true;
+            }
+        }
+
+        if (this.batchCount == 0)
+        {
+            batchOffset = offset;
+            batchLength = 0;
+        }
+
+        batchMessageTypes[this.batchCount] = messageType;
+        batchLengths[this.batchCount] = length;
+        batchLength += length;
+        this.batchCount++;
+
+        return false;
+    }
+
+    /**
+     * Save any messages that have been batched up.
+     *
+     * @return true if back pressured, in which case the batch has been moved to the start of the buffer.
+     */
+    private boolean flushBatch()
+    {
+        final int batchCount = this.batchCount;
+        if (batchCount == 0)
+        {
+            return false;
+        }
+
+        this.batchCount = 0;
+        final int batchOffset = this.batchOffset;
+        final long position;
+        if (batchCount == 1)
+        {
+            position = publication.saveMessage(
+                buffer,
+                batchOffset,
+                batchLength,
+                libraryId,
+                batchMessageTypes[0],
+                sessionId,
+                sequenceIndex,
+                connectionId,
+                OK);
+        }
+        else
+        {
+            position = publication.saveMessageBatch(
+                buffer,
+                batchOffset,
+                batchMessageTypes,
+                batchLengths,
+                batchCount,
+                libraryId,
+                sessionId,
+                sequenceIndex,
+                connectionId);
+        }
 
         if (Pressure.isBackPressured(position))
         {
-            moveRemainingDataToBufferStart(offset);
+            moveRemainingDataToBufferStart(batchOffset);
             return true;
         }
-        else
+
+        int offset = batchOffset;
+        for (int i = 0; i < batchCount; i++)
         {
-            gatewaySession.onMessage(buffer, offset, length, messageType, sessionId);
-            return false;
+            final int length = batchLengths[i];
+            gatewaySession.onMessage(buffer, offset, length, batchMessageTypes[i], sessionId);
+            offset += length;
         }
+
+        return false;
     }
 
     private boolean validateBodyLength(final int startOfChecksumTag)
@@ -472,6 +770,11 @@ class ReceiverEndPoint
 
     private boolean saveInvalidMessage(final int offset, final int startOfChecksumTag)
     {
+        if (flushBatch())
+        {
+            return true;
+        }
+
         final long position = libraryPublication.saveMessage(
             buffer,
             offset,
@@ -488,6 +791,11 @@ class ReceiverEndPoint
 
     private boolean saveInvalidMessage(final int offset)
     {
+        if (flushBatch())
+        {
+            return true;
+        }
+
         final long position = libraryPublication.saveMessage(buffer,
             offset,
             usedBufferData,
@@ -515,6 +823,11 @@ class ReceiverEndPoint
 
     private boolean saveInvalidChecksumMessage(final int offset, final int messageType, final int length)
     {
+        if (flushBatch())
+        {
+            return true;
+        }
+
         final long position = libraryPublication.saveMessage(buffer,
             offset,
             length,
@@ -542,8 +855,15 @@ class ReceiverEndPoint
     {
         try
         {
+            logonNoLongerPending();
             channel.close();
             messagesRead.close();
+            CloseHelper.close(bytesRead);
+            if (receiveBufferPool != null)
+            {
+                releasePooledBuffer();
+                usedBufferData = 0;
+            }
         }
         catch (final Exception ex)
         {
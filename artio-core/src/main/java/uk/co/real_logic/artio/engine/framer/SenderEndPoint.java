@@ -17,6 +17,7 @@ package uk.co.real_logic.artio.engine.framer;
 
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -24,6 +25,7 @@ import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
 import uk.co.real_logic.artio.engine.logger.ArchiveDescriptor;
 import uk.co.real_logic.artio.messages.DisconnectReason;
+import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -37,10 +39,14 @@ import static uk.co.real_logic.artio.protocol.GatewayPublication.FRAME_SIZE;
 
 class SenderEndPoint implements AutoCloseable
 {
+    private static final long NO_TIMESTAMP = 0;
+
     private final long connectionId;
     private final TcpChannel channel;
     private final AtomicCounter bytesInBuffer;
     private final AtomicCounter invalidLibraryAttempts;
+    // null when session telemetry is disabled
+    private final SenderTelemetry telemetry;
     private final ErrorHandler errorHandler;
     private final Framer framer;
     private final int maxBytesInBuffer;
@@ -61,6 +67,7 @@ class SenderEndPoint implements AutoCloseable
         final TcpChannel channel,
         final AtomicCounter bytesInBuffer,
         final AtomicCounter invalidLibraryAttempts,
+        final SenderTelemetry telemetry,
         final ErrorHandler errorHandler,
         final Framer framer,
         final int maxBytesInBuffer,
@@ -72,6 +79,7 @@ class SenderEndPoint implements AutoCloseable
         this.channel = channel;
         this.bytesInBuffer = bytesInBuffer;
         this.invalidLibraryAttempts = invalidLibraryAttempts;
+        this.telemetry = telemetry;
         this.errorHandler = errorHandler;
         this.framer = framer;
         this.maxBytesInBuffer = maxBytesInBuffer;
@@ -89,7 +97,8 @@ class SenderEndPoint implements AutoCloseable
         final int offset,
         final int bodyLength,
         final long position,
-        final long timeInMs)
+        final long timeInMs,
+        final long timestamp)
     {
         if (isWrongLibraryId(libraryId))
         {
@@ -97,7 +106,12 @@ class SenderEndPoint implements AutoCloseable
             return;
         }
 
-        attemptFramedMessage(directBuffer, offset, bodyLength, timeInMs, position, outboundTracker);
+        final boolean written = attemptFramedMessage(
+            directBuffer, offset, bodyLength, timeInMs, position, outboundTracker);
+        if (written && telemetry != null)
+        {
+            telemetry.onMessageWritten(bodyLength, timestamp);
+        }
     }
 
     Action onReplayMessage(
@@ -122,10 +136,12 @@ class SenderEndPoint implements AutoCloseable
         final int offsetAfterHeader = offset - FRAME_SIZE;
         final int length = bodyLength + FRAME_SIZE;
 
-        return attemptSlowMessage(buffer, offsetAfterHeader, length, position, bodyLength, timeInMs, replayTracker);
+        return attemptSlowMessage(
+            buffer, offsetAfterHeader, length, position, bodyLength, timeInMs, NO_TIMESTAMP, replayTracker);
     }
 
-    private void attemptFramedMessage(
+    // returns true iff the whole message was written to the socket
+    private boolean attemptFramedMessage(
         final DirectBuffer directBuffer,
         final int offset,
         final int bodyLength,
@@ -143,7 +159,7 @@ class SenderEndPoint implements AutoCloseable
 
             this.bytesInBuffer.setOrdered(bytesInBuffer);
 
-            return;
+            return false;
         }
 
         try
@@ -153,15 +169,16 @@ class SenderEndPoint implements AutoCloseable
             if (written != bodyLength)
             {
                 becomeSlowConsumer(written, bodyLength, position, tracker);
+                return false;
             }
-            else
-            {
-                tracker.sentPosition = position;
-            }
+
+            tracker.sentPosition = position;
+            return true;
         }
         catch (final IOException ex)
         {
             onError(ex);
+            return false;
         }
     }
 
@@ -243,6 +260,7 @@ class SenderEndPoint implements AutoCloseable
     {
         bytesInBuffer.close();
         invalidLibraryAttempts.close();
+        CloseHelper.close(telemetry);
     }
 
     Action onSlowOutboundMessage(
@@ -252,7 +270,8 @@ class SenderEndPoint implements AutoCloseable
         final long position,
         final int bodyLength,
         final int libraryId,
-        final long timeInMs)
+        final long timeInMs,
+        final long timestamp)
     {
         if (isWrongLibraryId(libraryId))
         {
@@ -261,7 +280,7 @@ class SenderEndPoint implements AutoCloseable
         }
 
         return attemptSlowMessage(
-            directBuffer, offsetAfterHeader, length, position, bodyLength, timeInMs, outboundTracker);
+            directBuffer, offsetAfterHeader, length, position, bodyLength, timeInMs, timestamp, outboundTracker);
     }
 
     private Action attemptSlowMessage(
@@ -271,6 +290,7 @@ class SenderEndPoint implements AutoCloseable
         final long position,
         final int bodyLength,
         final long timeInMs,
+        final long timestamp,
         final StreamTracker tracker)
     {
         if (!isSlowConsumer())
@@ -339,6 +359,11 @@ class SenderEndPoint implements AutoCloseable
                 tracker.partiallySentMessage = false;
                 tracker.skipPosition = Long.MAX_VALUE;
 
+                if (tracker == outboundTracker && telemetry != null)
+                {
+                    telemetry.onMessageWritten(bodyLength, timestamp);
+                }
+
                 if (!isSlowConsumer())
                 {
                     becomeNormalConsumer();
@@ -355,7 +380,7 @@ class SenderEndPoint implements AutoCloseable
 
     private Action blockPosition(final long position, final int length, final StreamTracker tracker)
     {
-        final int alignedLength = ArchiveDescriptor.alignTerm(length);
+        final int alignedLength = ArchiveDescriptor.alignTerm(MessageHeaderDecoder.ENCODED_LENGTH + length);
         final long startPosition = position - (alignedLength + DataHeaderFlyweight.HEADER_LENGTH);
         tracker.blockablePosition.blockPosition(startPosition);
         tracker.skipPosition = position;
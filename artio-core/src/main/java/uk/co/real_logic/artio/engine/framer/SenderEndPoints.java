@@ -80,12 +80,13 @@ class SenderEndPoints implements AutoCloseable, ControlledFragmentHandler, Clust
         final DirectBuffer buffer,
         final int offset,
         final int length,
-        final long position)
+        final long position,
+        final long timestamp)
     {
         final SenderEndPoint endPoint = connectionIdToSenderEndpoint.get(connectionId);
         if (endPoint != null)
         {
-            endPoint.onOutboundMessage(libraryId, buffer, offset, length, position, timeInMs);
+            endPoint.onOutboundMessage(libraryId, buffer, offset, length, position, timeInMs, timestamp);
         }
     }
 
@@ -161,7 +162,14 @@ class SenderEndPoints implements AutoCloseable, ControlledFragmentHandler, Clust
                 final int bodyLength = fixMessage.bodyLength();
                 final int libraryId = fixMessage.libraryId();
                 return senderEndPoint.onSlowOutboundMessage(
-                    buffer, offset, length - HEADER_LENGTH, position, bodyLength, libraryId, timeInMs);
+                    buffer,
+                    offset,
+                    length - HEADER_LENGTH,
+                    position,
+                    bodyLength,
+                    libraryId,
+                    timeInMs,
+                    fixMessage.timestamp());
             }
         }
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.timing.LatencyHistogram;
+
+/**
+ * Per session counters for the messages that a library asks the engine to send, only created when
+ * session telemetry is enabled.
+ */
+class SenderTelemetry implements AutoCloseable
+{
+    private final AtomicCounter messagesWritten;
+    private final AtomicCounter bytesWritten;
+    private final LatencyHistogram libraryToSocketLatency;
+
+    SenderTelemetry(
+        final AtomicCounter messagesWritten,
+        final AtomicCounter bytesWritten,
+        final LatencyHistogram libraryToSocketLatency)
+    {
+        this.messagesWritten = messagesWritten;
+        this.bytesWritten = bytesWritten;
+        this.libraryToSocketLatency = libraryToSocketLatency;
+    }
+
+    void onMessageWritten(final int length, final long timestamp)
+    {
+        messagesWritten.incrementOrdered();
+        bytesWritten.getAndAddOrdered(length);
+        libraryToSocketLatency.recordSince(timestamp);
+    }
+
+    public void close()
+    {
+        messagesWritten.close();
+        bytesWritten.close();
+        libraryToSocketLatency.close();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.collections.Hashing;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
+import uk.co.real_logic.artio.session.CompositeKey;
+import uk.co.real_logic.artio.session.SessionIdStrategy;
+
+import java.util.function.Consumer;
+
+/**
+ * Open addressed map from composite session keys to their session contexts. As well as looking up by key
+ * the index can find an existing key directly from the header of a logon message, using the hash code and
+ * comparison methods of the {@link SessionIdStrategy}, so that logons for known sessions don't allocate.
+ */
+final class SessionContextIndex
+{
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final SessionIdStrategy idStrategy;
+
+    private CompositeKey[] keys;
+    private SessionContext[] contexts;
+    private int resizeThreshold;
+    private int size;
+
+    SessionContextIndex(final SessionIdStrategy idStrategy)
+    {
+        this.idStrategy = idStrategy;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    SessionContext get(final CompositeKey compositeKey)
+    {
+        final CompositeKey[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = Hashing.hash(compositeKey.hashCode(), mask);
+
+        CompositeKey key;
+        while ((key = keys[index]) != null)
+        {
+            if (key == compositeKey || key.equals(compositeKey))
+            {
+                return contexts[index];
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the key of an existing session from the header of a logon message without creating a new key.
+     *
+     * @param header the header of the logon message.
+     * @return the key of the session, or null if this is a new session.
+     */
+    CompositeKey findAcceptLogonKey(final HeaderDecoder header)
+    {
+        if (size == 0)
+        {
+            return null;
+        }
+
+        final SessionIdStrategy idStrategy = this.idStrategy;
+        final CompositeKey[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = Hashing.hash(idStrategy.onAcceptLogonHashCode(header), mask);
+
+        CompositeKey key;
+        while ((key = keys[index]) != null)
+        {
+            if (idStrategy.onAcceptLogonMatches(key, header))
+            {
+                return key;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    void put(final CompositeKey compositeKey, final SessionContext context)
+    {
+        final CompositeKey[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = Hashing.hash(compositeKey.hashCode(), mask);
+
+        CompositeKey key;
+        while ((key = keys[index]) != null)
+        {
+            if (key == compositeKey || key.equals(compositeKey))
+            {
+                keys[index] = compositeKey;
+                contexts[index] = context;
+                return;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = compositeKey;
+        contexts[index] = context;
+
+        if (++size > resizeThreshold)
+        {
+            rehash(keys.length << 1);
+        }
+    }
+
+    void forEach(final Consumer<SessionContext> consumer)
+    {
+        for (final SessionContext context : contexts)
+        {
+            if (context != null)
+            {
+                consumer.accept(context);
+            }
+        }
+    }
+
+    void clear()
+    {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    private void rehash(final int newCapacity)
+    {
+        final CompositeKey[] oldKeys = keys;
+        final SessionContext[] oldContexts = contexts;
+        allocate(newCapacity);
+
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            final CompositeKey key = oldKeys[i];
+            if (key != null)
+            {
+                int index = Hashing.hash(key.hashCode(), mask);
+                while (keys[index] != null)
+                {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = key;
+                contexts[index] = oldContexts[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity)
+    {
+        keys = new CompositeKey[capacity];
+        contexts = new SessionContext[capacity];
+        resizeThreshold = (int)(capacity * LOAD_FACTOR);
+    }
+}
@@ -38,9 +38,6 @@ import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
 import java.io.File;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
 import java.util.zip.CRC32;
 
 import static uk.co.real_logic.artio.engine.SectorFramer.*;
@@ -79,10 +76,9 @@ public class SessionContexts
     private final int actingBlockLength = sessionIdEncoder.sbeBlockLength();
     private final int actingVersion = sessionIdEncoder.sbeSchemaVersion();
 
-    private final Function<CompositeKey, SessionContext> onNewLogonFunc = this::onNewLogon;
     private final LongHashSet currentlyAuthenticatedSessionIds = new LongHashSet();
     private final LongHashSet recordedSessions = new LongHashSet();
-    private final Map<CompositeKey, SessionContext> compositeToContext = new HashMap<>();
+    private final SessionContextIndex compositeToContext;
 
     private final CRC32 crc32 = new CRC32();
     private final SectorFramer sectorFramer;
@@ -105,6 +101,7 @@ public class SessionContexts
         sectorFramer = new SectorFramer(buffer.capacity());
         this.idStrategy = idStrategy;
         this.errorHandler = errorHandler;
+        compositeToContext = new SessionContextIndex(idStrategy);
         loadBuffer();
     }
 
@@ -211,9 +208,32 @@ public class SessionContexts
         return sectorEnd;
     }
 
+    /**
+     * Gets the composite key for a logon that is being accepted. Existing sessions are found without allocating,
+     * a new key is only created for a session that hasn't been seen before.
+     *
+     * @param header the header of the logon message.
+     * @return the composite key for the session.
+     */
+    public CompositeKey onAcceptLogon(final HeaderDecoder header)
+    {
+        final CompositeKey compositeKey = compositeToContext.findAcceptLogonKey(header);
+        if (compositeKey != null)
+        {
+            return compositeKey;
+        }
+
+        return idStrategy.onAcceptLogon(header);
+    }
+
     public SessionContext onLogon(final CompositeKey compositeKey)
     {
-        final SessionContext sessionContext = compositeToContext.computeIfAbsent(compositeKey, onNewLogonFunc);
+        SessionContext sessionContext = compositeToContext.get(compositeKey);
+        if (sessionContext == null)
+        {
+            sessionContext = onNewLogon(compositeKey);
+            compositeToContext.put(compositeKey, sessionContext);
+        }
 
         if (!currentlyAuthenticatedSessionIds.add(sessionContext.sessionId()))
         {
@@ -279,11 +299,13 @@ public class SessionContexts
 
     void sequenceReset(final long sessionId)
     {
-        compositeToContext
-            .values()
-            .stream()
-            .filter(context -> context.sessionId() == sessionId)
-            .forEach(SessionContext::onSequenceReset);
+        compositeToContext.forEach(context ->
+        {
+            if (context.sessionId() == sessionId)
+            {
+                context.onSequenceReset();
+            }
+        });
     }
 
     // TODO: optimisation, more efficient checksumming, only checksum new data
@@ -71,8 +71,8 @@ public class TcpChannelSupplier implements AutoCloseable
     {
         selector.selectNow();
         final Set<SelectionKey> selectionKeys = selector.selectedKeys();
-        final int unprocessedConnections = selectionKeys.size();
-        if (unprocessedConnections > 0)
+        int processedConnections = 0;
+        if (selectionKeys.size() > 0)
         {
             final Iterator<SelectionKey> it = selectionKeys.iterator();
             while (it.hasNext())
@@ -81,19 +81,28 @@ public class TcpChannelSupplier implements AutoCloseable
 
                 if (selectionKey.isAcceptable())
                 {
-                    final SocketChannel channel = listeningChannel.accept();
-                    if (channel != null)
+                    // Leave the key selected if the handler can't take any more connections this duty cycle
+                    // so that the remaining ones are accepted on a later poll. Deferred connections aren't
+                    // counted as work, otherwise the framer would never idle whilst it is at capacity.
+                    while (handler.canAcceptChannel())
                     {
+                        final SocketChannel channel = listeningChannel.accept();
+                        if (channel == null)
+                        {
+                            it.remove();
+                            break;
+                        }
+
                         configure(channel);
                         channel.configureBlocking(false);
 
                         handler.onNewChannel(timeInMs, newTcpChannel(channel));
+                        processedConnections++;
                     }
-
-                    it.remove();
                 }
                 else if (selectionKey.isConnectable())
                 {
+                    processedConnections++;
                     final InitiatedChannelHandler channelHandler = (InitiatedChannelHandler)selectionKey.attachment();
                     final SocketChannel channel = (SocketChannel)selectionKey.channel();
                     try
@@ -113,7 +122,7 @@ public class TcpChannelSupplier implements AutoCloseable
             }
         }
 
-        return unprocessedConnections;
+        return processedConnections;
     }
 
     private void configure(final SocketChannel channel) throws IOException
@@ -159,5 +168,15 @@ public class TcpChannelSupplier implements AutoCloseable
     public interface NewChannelHandler
     {
         void onNewChannel(long timeInMs, TcpChannel socketChannel) throws IOException;
+
+        /**
+         * Checked before each connection is accepted from the listening socket.
+         *
+         * @return true if another connection can be accepted now, false to leave it until the next poll.
+         */
+        default boolean canAcceptChannel()
+        {
+            return true;
+        }
     }
 }
@@ -19,8 +19,11 @@ import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
+import org.agrona.ExpandableArrayBuffer;
+import uk.co.real_logic.artio.messages.FixMessageBatchDecoder;
 import uk.co.real_logic.artio.messages.FixMessageDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
+import uk.co.real_logic.artio.protocol.FixMessageBatchIterator;
 import uk.co.real_logic.artio.replication.StreamIdentifier;
 
 import static uk.co.real_logic.artio.GatewayProcess.INBOUND_LIBRARY_STREAM;
@@ -30,6 +33,9 @@ import static uk.co.real_logic.artio.engine.logger.FixArchiveScanner.MessageType
 /**
  * Scan the archive for fix messages. Can be combined with predicates to create rich queries.
  *
+ * Messages that were framed together in a batch are passed to the consumer one at a time, each
+ * copied into its own frame.
+ *
  * @see FixMessageConsumer
  * @see FixMessagePredicate
  * @see FixMessagePredicates
@@ -38,6 +44,8 @@ public class FixArchiveScanner
 {
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final FixMessageDecoder fixMessage = new FixMessageDecoder();
+    private final FixMessageBatchIterator messageBatch = new FixMessageBatchIterator();
+    private final ExpandableArrayBuffer batchFrameBuffer = new ExpandableArrayBuffer();
     private final LogEntryHandler logEntryHandler = new LogEntryHandler();
 
     private final ArchiveScanner archiveScanner;
@@ -77,7 +85,8 @@ public class FixArchiveScanner
             final DirectBuffer buffer, int offset, final int length, final Header header)
         {
             messageHeader.wrap(buffer, offset);
-            if (messageHeader.templateId() == FixMessageDecoder.TEMPLATE_ID)
+            final int templateId = messageHeader.templateId();
+            if (templateId == FixMessageDecoder.TEMPLATE_ID)
             {
                 offset += MessageHeaderDecoder.ENCODED_LENGTH;
 
@@ -85,6 +94,24 @@ public class FixArchiveScanner
 
                 handler.onMessage(fixMessage, buffer, offset, length, header);
             }
+            else if (templateId == FixMessageBatchDecoder.TEMPLATE_ID)
+            {
+                offset += MessageHeaderDecoder.ENCODED_LENGTH;
+
+                final FixMessageBatchIterator messageBatch = FixArchiveScanner.this.messageBatch.wrap(
+                    buffer, offset, messageHeader.blockLength(), messageHeader.version());
+                final ExpandableArrayBuffer frameBuffer = batchFrameBuffer;
+                while (messageBatch.next())
+                {
+                    final int frameLength = messageBatch.frameMessage(frameBuffer, 0);
+                    final int messageOffset = MessageHeaderDecoder.ENCODED_LENGTH;
+
+                    fixMessage.wrap(frameBuffer, messageOffset, FixMessageDecoder.BLOCK_LENGTH,
+                        FixMessageDecoder.SCHEMA_VERSION);
+
+                    handler.onMessage(fixMessage, frameBuffer, messageOffset, frameLength, header);
+                }
+            }
         }
     }
 
@@ -24,10 +24,12 @@ import org.agrona.collections.Long2ObjectCache;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.artio.decoder.HeaderDecoder;
+import uk.co.real_logic.artio.messages.FixMessageBatchDecoder;
 import uk.co.real_logic.artio.messages.FixMessageDecoder;
 import uk.co.real_logic.artio.messages.FixMessageEncoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+import uk.co.real_logic.artio.protocol.FixMessageBatchIterator;
 import uk.co.real_logic.artio.storage.messages.ReplayIndexRecordEncoder;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
@@ -39,10 +41,13 @@ import java.util.function.LongFunction;
 import static org.agrona.UnsafeAccess.UNSAFE;
 import static uk.co.real_logic.artio.engine.logger.ReplayIndexDescriptor.*;
 import static uk.co.real_logic.artio.messages.MessageStatus.OK;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.hasPreParsedHeader;
 
 /**
  * Builds an index of a composite key of session id and sequence number for a given stream.
  *
+ * Each message within a {@link FixMessageBatchDecoder} fragment is indexed at the position of the batch.
+ *
  * Written Positions are stored in a separate file at {@link ReplayIndexDescriptor#replayPositionPath(String, int)}.
  *
  * Buffer Consists of:
@@ -58,6 +63,7 @@ public class ReplayIndex implements Index
     private final AsciiBuffer asciiBuffer = new MutableAsciiBuffer();
     private final MessageHeaderDecoder frameHeaderDecoder = new MessageHeaderDecoder();
     private final FixMessageDecoder messageFrame = new FixMessageDecoder();
+    private final FixMessageBatchIterator messageBatch = new FixMessageBatchIterator();
     private final HeaderDecoder fixHeader = new HeaderDecoder();
     private final ReplayIndexRecordEncoder replayIndexRecord = new ReplayIndexRecordEncoder();
     private final MessageHeaderEncoder indexHeaderEncoder = new MessageHeaderEncoder();
@@ -110,7 +116,8 @@ public class ReplayIndex implements Index
 
         int offset = srcOffset;
         frameHeaderDecoder.wrap(srcBuffer, offset);
-        if (frameHeaderDecoder.templateId() == FixMessageEncoder.TEMPLATE_ID)
+        final int templateId = frameHeaderDecoder.templateId();
+        if (templateId == FixMessageEncoder.TEMPLATE_ID)
         {
             final int actingBlockLength = frameHeaderDecoder.blockLength();
             offset += frameHeaderDecoder.encodedLength();
@@ -118,15 +125,18 @@ public class ReplayIndex implements Index
             messageFrame.wrap(srcBuffer, offset, actingBlockLength, frameHeaderDecoder.version());
             if (messageFrame.status() == OK)
             {
-                offset += actingBlockLength + 2;
+                int sequenceNumber = messageFrame.msgSeqNum();
+                if (!hasPreParsedHeader(sequenceNumber))
+                {
+                    offset += actingBlockLength + 2;
 
-                asciiBuffer.wrap(srcBuffer);
-                fixHeader.decode(asciiBuffer, offset, messageFrame.bodyLength());
+                    asciiBuffer.wrap(srcBuffer);
+                    fixHeader.decode(asciiBuffer, offset, messageFrame.bodyLength());
+                    sequenceNumber = fixHeader.msgSeqNum();
+                }
 
-                final int alignedLength = BitUtil.align(srcLength, FrameDescriptor.FRAME_ALIGNMENT);
-                final long beginPosition = endPosition - alignedLength;
+                final long beginPosition = beginPosition(srcLength, endPosition);
 
-                final int sequenceNumber = fixHeader.msgSeqNum();
                 final int sequenceIndex = messageFrame.sequenceIndex();
                 final long fixSessionId = messageFrame.session();
 
@@ -135,6 +145,32 @@ public class ReplayIndex implements Index
                     .onRecord(streamId, aeronSessionId, beginPosition, endPosition, sequenceNumber, sequenceIndex);
             }
         }
+        else if (templateId == FixMessageBatchDecoder.TEMPLATE_ID)
+        {
+            offset += frameHeaderDecoder.encodedLength();
+
+            final FixMessageBatchIterator messageBatch = this.messageBatch.wrap(
+                srcBuffer, offset, frameHeaderDecoder.blockLength(), frameHeaderDecoder.version());
+            final long beginPosition = beginPosition(srcLength, endPosition);
+            final int sequenceIndex = messageBatch.sequenceIndex();
+            final SessionIndex sessionIndex = fixSessionIdToIndex.computeIfAbsent(
+                messageBatch.session(), newSessionIndex);
+
+            asciiBuffer.wrap(srcBuffer);
+            while (messageBatch.next())
+            {
+                fixHeader.decode(asciiBuffer, messageBatch.messageOffset(), messageBatch.messageLength());
+
+                sessionIndex.onRecord(
+                    streamId, aeronSessionId, beginPosition, endPosition, fixHeader.msgSeqNum(), sequenceIndex);
+            }
+        }
+    }
+
+    private static long beginPosition(final int srcLength, final long endPosition)
+    {
+        final int alignedLength = BitUtil.align(srcLength, FrameDescriptor.FRAME_ALIGNMENT);
+        return endPosition - alignedLength;
     }
 
     public void close()
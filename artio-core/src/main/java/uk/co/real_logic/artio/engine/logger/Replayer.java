@@ -46,6 +46,7 @@ import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
 import static uk.co.real_logic.artio.messages.MessageStatus.OK;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
 
 /**
  * The replayer responds to resend requests with data from the log of sent messages.
@@ -143,7 +144,8 @@ public class Replayer implements ProtocolHandler, ControlledFragmentHandler, Age
         final int frameOffset = offset + MessageHeaderEncoder.ENCODED_LENGTH;
         fixMessageEncoder
             .wrap(buffer, frameOffset)
-            .connection(connectionId);
+            .connection(connectionId)
+            .msgSeqNum(NO_PRE_PARSED_HEADER);
     }
 
     public Action onMessage(
@@ -333,6 +335,9 @@ public class Replayer implements ProtocolHandler, ControlledFragmentHandler, Age
                 .connection(this.connectionId)
                 .timestamp(0)
                 .status(MessageStatus.OK)
+                .msgSeqNum(NO_PRE_PARSED_HEADER)
+                .possDup(PossDup.NO)
+                .sendingTime(0)
                 .putBody(gapFillEncoder.buffer(), gapFillOffset, gapFillLength);
 
             bufferClaim.commit();
@@ -24,6 +24,7 @@ import uk.co.real_logic.artio.decoder.HeaderDecoder;
 import uk.co.real_logic.artio.engine.ChecksumFramer;
 import uk.co.real_logic.artio.engine.MappedFile;
 import uk.co.real_logic.artio.messages.*;
+import uk.co.real_logic.artio.protocol.FixMessageBatchIterator;
 import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberDecoder;
 import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder;
 import uk.co.real_logic.artio.util.AsciiBuffer;
@@ -34,6 +35,7 @@ import java.io.File;
 import static uk.co.real_logic.artio.engine.SectorFramer.*;
 import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexDescriptor.*;
 import static uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder.SCHEMA_VERSION;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.hasPreParsedHeader;
 
 /**
  * Writes updates into an in-memory buffer. This buffer is then flushed down to disk. A passing place
@@ -49,6 +51,7 @@ public class SequenceNumberIndexWriter implements Index
 
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final FixMessageDecoder messageFrame = new FixMessageDecoder();
+    private final FixMessageBatchIterator messageBatch = new FixMessageBatchIterator();
     private final ResetSequenceNumberDecoder resetSequenceNumber = new ResetSequenceNumberDecoder();
     private final HeaderDecoder fixHeader = new HeaderDecoder();
 
@@ -139,18 +142,44 @@ public class SequenceNumberIndexWriter implements Index
             {
                 messageFrame.wrap(buffer, offset, actingBlockLength, version);
 
-                offset += actingBlockLength + 2;
+                int msgSeqNum = messageFrame.msgSeqNum();
+                if (!hasPreParsedHeader(msgSeqNum))
+                {
+                    offset += actingBlockLength + 2;
 
-                asciiBuffer.wrap(buffer);
-                fixHeader.decode(asciiBuffer, offset, messageFrame.bodyLength());
+                    asciiBuffer.wrap(buffer);
+                    fixHeader.decode(asciiBuffer, offset, messageFrame.bodyLength());
+                    msgSeqNum = fixHeader.msgSeqNum();
+                }
 
-                final int msgSeqNum = fixHeader.msgSeqNum();
                 final long sessionId = messageFrame.session();
 
                 saveRecord(msgSeqNum, sessionId);
                 break;
             }
 
+            case FixMessageBatchDecoder.TEMPLATE_ID:
+            {
+                // Only the last message in a batch determines the last known sequence number.
+                final FixMessageBatchIterator messageBatch = this.messageBatch.wrap(
+                    buffer, offset, actingBlockLength, version);
+                int lastMessageOffset = 0;
+                int lastMessageLength = 0;
+                while (messageBatch.next())
+                {
+                    lastMessageOffset = messageBatch.messageOffset();
+                    lastMessageLength = messageBatch.messageLength();
+                }
+
+                if (lastMessageLength > 0)
+                {
+                    asciiBuffer.wrap(buffer);
+                    fixHeader.decode(asciiBuffer, lastMessageOffset, lastMessageLength);
+                    saveRecord(fixHeader.msgSeqNum(), messageBatch.session());
+                }
+                break;
+            }
+
             case ResetSessionIdsDecoder.TEMPLATE_ID:
             {
                 resetSequenceNumbers();
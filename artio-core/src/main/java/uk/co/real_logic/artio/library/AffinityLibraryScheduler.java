@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import io.aeron.Aeron;
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.CompositeAgent;
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.ThreadAffinity;
+import uk.co.real_logic.artio.engine.AffinityAgent;
+import uk.co.real_logic.artio.engine.EngineScheduler;
+
+import java.util.BitSet;
+
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+import static uk.co.real_logic.artio.CommonConfiguration.backoffIdleStrategy;
+import static uk.co.real_logic.artio.engine.AffinityAgent.cpuSet;
+
+/**
+ * A scheduler that runs the library's monitoring agent like the {@link DefaultLibraryScheduler}, and binds its
+ * thread to a configured set of CPUs.
+ *
+ * The thread that polls the library is owned by the application, it can bind itself to the library CPUs by
+ * calling {@link #bindLibraryThread()}. Whether each thread was bound is reported through a counter in the
+ * monitoring file.
+ */
+public class AffinityLibraryScheduler implements LibraryScheduler
+{
+    private final ThreadAffinity threadAffinity;
+
+    private BitSet libraryCpus = new BitSet();
+    private BitSet monitoringCpus = new BitSet();
+
+    private FixCounters fixCounters;
+    private AtomicCounter libraryPlacement;
+    private AtomicCounter monitoringPlacement;
+
+    private AgentRunner monitoringRunner;
+    private boolean monitoringRunnerStarted;
+
+    public AffinityLibraryScheduler()
+    {
+        this(ThreadAffinity.NONE);
+    }
+
+    public AffinityLibraryScheduler(final ThreadAffinity threadAffinity)
+    {
+        this.threadAffinity = threadAffinity;
+    }
+
+    /**
+     * Sets the CPUs that the thread polling the library is bound to by {@link #bindLibraryThread()}.
+     *
+     * @param cpus the CPUs that the library thread is bound to, if empty then the thread isn't bound.
+     * @return this
+     */
+    public AffinityLibraryScheduler libraryCpus(final int... cpus)
+    {
+        this.libraryCpus = cpuSet(cpus);
+        return this;
+    }
+
+    /**
+     * Sets the CPUs that the monitoring thread is bound to.
+     *
+     * @param cpus the CPUs that the monitoring thread is bound to, if empty then the thread isn't bound.
+     * @return this
+     */
+    public AffinityLibraryScheduler monitoringCpus(final int... cpus)
+    {
+        this.monitoringCpus = cpuSet(cpus);
+        return this;
+    }
+
+    public void configure(final FixCounters fixCounters)
+    {
+        this.fixCounters = fixCounters;
+        libraryPlacement = fixCounters.threadPlacement("Library", libraryCpus);
+    }
+
+    public void launch(
+        final LibraryConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent monitoringAgent,
+        final Agent conductorAgent)
+    {
+        if (monitoringRunner != null)
+        {
+            EngineScheduler.fail();
+        }
+
+        if (monitoringAgent != null)
+        {
+            if (fixCounters != null)
+            {
+                monitoringPlacement = fixCounters.threadPlacement("Library monitoring", monitoringCpus);
+            }
+
+            monitoringRunner = new AgentRunner(
+                backoffIdleStrategy(),
+                errorHandler,
+                null,
+                new AffinityAgent(
+                    new CompositeAgent(monitoringAgent, conductorAgent),
+                    threadAffinity,
+                    monitoringCpus,
+                    monitoringPlacement));
+            startOnThread(monitoringRunner);
+            monitoringRunnerStarted = true;
+        }
+    }
+
+    /**
+     * Bind the calling thread, which should be the thread that polls the library, to the library CPUs.
+     *
+     * @return true if the thread was bound, false otherwise.
+     */
+    public boolean bindLibraryThread()
+    {
+        return AffinityAgent.bind(threadAffinity, libraryCpus, libraryPlacement);
+    }
+
+    public void configure(final Aeron.Context aeronContext)
+    {
+        aeronContext.useConductorAgentInvoker(true);
+    }
+
+    public void close(final int libraryId)
+    {
+        // The runner's thread is never set if launch failed to start it.
+        if (monitoringRunnerStarted)
+        {
+            EngineScheduler.awaitRunnerStart(monitoringRunner);
+        }
+
+        CloseHelper.close(monitoringRunner);
+        CloseHelper.close(libraryPlacement);
+        CloseHelper.close(monitoringPlacement);
+    }
+}
@@ -68,6 +68,7 @@ public class FixLibrary extends GatewayProcess
             init(configuration);
             final LibraryTimers timers = new LibraryTimers(configuration.nanoClock());
             initMonitoringAgent(timers.all(), configuration);
+            fixCounters.idleTime("Library", configuration.libraryIdleStrategy());
 
             final LibraryTransport transport = new LibraryTransport(configuration, fixCounters, aeron);
             poller = new LibraryPoller(
@@ -105,6 +106,7 @@ public class FixLibrary extends GatewayProcess
     {
         poller.startConnecting();
         final ErrorHandler remoteThreadErrorHandler = createRemoteThreadErrorHandler(errorHandler);
+        scheduler.configure(fixCounters);
         scheduler.launch(configuration, remoteThreadErrorHandler, monitoringAgent, conductorAgent());
         return this;
     }
@@ -272,6 +274,21 @@ public class FixLibrary extends GatewayProcess
         return poller.initiate(configuration);
     }
 
+    /**
+     * Initiate a batch of FIX sessions with FIX acceptors. The sessions are sent to the
+     * {@link uk.co.real_logic.artio.engine.FixEngine} in as few messages as possible rather than one message
+     * per session, which makes bringing up a large number of sessions faster. Each session completes or
+     * errors independently of the others, with the same semantics as {@link #initiate(SessionConfiguration)}.
+     *
+     * @param configurations the configurations to use for each session.
+     * @return a reply for each session, in the same order as the configurations.
+     * @see #initiate(SessionConfiguration)
+     */
+    public List<Reply<Session>> initiate(final List<SessionConfiguration> configurations)
+    {
+        return poller.initiate(configurations);
+    }
+
     /**
      * Release this session object to the gateway to manage. If the release
      * operation has successfully completed then it will return {@link SessionReplyStatus#OK}.
@@ -330,6 +347,29 @@ public class FixLibrary extends GatewayProcess
         return poller.requestSession(sessionId, lastReceivedSequenceNumber, sequenceIndex, timeoutInMs);
     }
 
+    /**
+     * Request a batch of sessions from the gateway. The requests are sent to the
+     * {@link uk.co.real_logic.artio.engine.FixEngine} in as few messages as possible rather than one message
+     * per session. Each request completes independently of the others, with the same semantics as
+     * {@link #requestSession(long, int, int, long)}. The arrays are all indexed the same way.
+     *
+     * @param sessionIds the ids of the sessions to acquire.
+     * @param lastReceivedSequenceNumbers the last received message sequence number of each session.
+     * @param sequenceIndices the index of the sequence within which each lastReceivedSequenceNumber refers.
+     * @param timeoutInMs the timeout for this operation
+     * @return a reply for each request, in the same order as the sessionIds.
+     * @see #requestSession(long, int, int, long)
+     */
+    public List<Reply<SessionReplyStatus>> requestSessions(
+        final long[] sessionIds,
+        final int[] lastReceivedSequenceNumbers,
+        final int[] sequenceIndices,
+        final long timeoutInMs)
+    {
+        CommonConfiguration.validateTimeout(timeoutInMs);
+        return poller.requestSessions(sessionIds, lastReceivedSequenceNumbers, sequenceIndices, timeoutInMs);
+    }
+
     public String currentAeronChannel()
     {
         return poller.currentAeronChannel();
@@ -38,15 +38,32 @@ class InitiateSessionReply extends LibraryReply<Session>
         final LibraryPoller libraryPoller,
         final long latestReplyArrivalTime,
         final SessionConfiguration configuration)
+    {
+        this(libraryPoller, latestReplyArrivalTime, configuration, true);
+    }
+
+    /**
+     * @param sendMessage false if the initial message is sent as part of a batch by the caller.
+     */
+    InitiateSessionReply(
+        final LibraryPoller libraryPoller,
+        final long latestReplyArrivalTime,
+        final SessionConfiguration configuration,
+        final boolean sendMessage)
     {
         super(libraryPoller, latestReplyArrivalTime);
         this.configuration = configuration;
-        if (libraryPoller.isConnected())
+        if (sendMessage && libraryPoller.isConnected())
         {
             sendMessage();
         }
     }
 
+    void onBatchBackPressured()
+    {
+        requiresResend = true;
+    }
+
     private void sendMessage()
     {
         final List<String> hosts = configuration.hosts();
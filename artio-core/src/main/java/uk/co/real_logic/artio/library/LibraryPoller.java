@@ -34,11 +34,13 @@ import uk.co.real_logic.artio.messages.ControlNotificationDecoder.SessionsDecode
 import uk.co.real_logic.artio.protocol.*;
 import uk.co.real_logic.artio.session.*;
 import uk.co.real_logic.artio.timing.LibraryTimers;
+import uk.co.real_logic.artio.timing.LatencyHistogram;
 import uk.co.real_logic.artio.timing.Timer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 import uk.co.real_logic.artio.validation.MessageValidationStrategy;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
@@ -51,6 +53,7 @@ import static uk.co.real_logic.artio.LogTag.*;
 import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
 import static uk.co.real_logic.artio.library.SessionConfiguration.AUTOMATIC_INITIAL_SEQUENCE_NUMBER;
 import static uk.co.real_logic.artio.messages.ConnectionType.INITIATOR;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
 
 final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, AutoCloseable
 {
@@ -110,6 +113,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
     private final SentPositionHandler sentPositionHandler;
     private final boolean enginesAreClustered;
     private final FixCounters fixCounters;
+    // Sessions are only used from the library's thread and copy messages out as they send them, so share one buffer
+    private final MutableAsciiBuffer sessionBuffer;
 
     private final Long2ObjectHashMap<LibraryReply<?>> correlationIdToReply = new Long2ObjectHashMap<>();
     private final LibraryTransport transport;
@@ -159,6 +164,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         this.sentPositionHandler = configuration.sentPositionHandler();
         this.clock = clock;
         this.enginesAreClustered = configuration.libraryAeronChannels().size() > 1;
+        this.sessionBuffer = new MutableAsciiBuffer(new byte[configuration.sessionBufferSize()]);
     }
 
     boolean isConnected()
@@ -193,6 +199,85 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         return new InitiateSessionReply(this, timeInMs() + configuration.timeoutInMs(), configuration);
     }
 
+    List<Reply<Session>> initiate(final List<SessionConfiguration> configurations)
+    {
+        requireNonNull(configurations, "configurations");
+
+        final int size = configurations.size();
+        final List<Reply<Session>> replies = new ArrayList<>(size);
+        final InitiateSessionReply[] batch = new InitiateSessionReply[size];
+        final long[] correlationIds = new long[size];
+        final long timeInMs = timeInMs();
+        for (int i = 0; i < size; i++)
+        {
+            final SessionConfiguration configuration = requireNonNull(configurations.get(i), "configuration");
+            final InitiateSessionReply reply = new InitiateSessionReply(
+                this, timeInMs + configuration.timeoutInMs(), configuration, false);
+            batch[i] = reply;
+            correlationIds[i] = reply.correlationId;
+            replies.add(reply);
+        }
+
+        if (isConnected())
+        {
+            saveInitiateConnections(configurations, batch, correlationIds);
+        }
+
+        return replies;
+    }
+
+    private void saveInitiateConnections(
+        final List<SessionConfiguration> configurations,
+        final InitiateSessionReply[] batch,
+        final long[] correlationIds)
+    {
+        checkState();
+
+        final int size = batch.length;
+        final int maxPayloadLength = outboundPublication.maxPayloadLength();
+        final int heartbeatIntervalInS = configuration.defaultHeartbeatIntervalInS();
+        int offset = 0;
+        while (offset < size)
+        {
+            int count = 0;
+            int entriesLength = 0;
+            while (offset + count < size && count < GatewayPublication.MAX_BATCH_SESSIONS)
+            {
+                final int entryLength =
+                    GatewayPublication.initiateConnectionsEntryLength(configurations.get(offset + count));
+                final int framedLength = GatewayPublication.initiateConnectionsFramedLength(
+                    entriesLength + entryLength);
+                if (count > 0 && framedLength > maxPayloadLength)
+                {
+                    break;
+                }
+
+                entriesLength += entryLength;
+                count++;
+            }
+
+            final long position = outboundPublication.saveInitiateConnections(
+                libraryId,
+                heartbeatIntervalInS,
+                configurations,
+                correlationIds,
+                offset,
+                count,
+                GatewayPublication.initiateConnectionsFramedLength(entriesLength));
+
+            final int end = offset + count;
+            if (position < 0)
+            {
+                for (int i = offset; i < end; i++)
+                {
+                    batch[i].onBatchBackPressured();
+                }
+            }
+
+            offset = end;
+        }
+    }
+
     Reply<SessionReplyStatus> releaseToGateway(final Session session, final long timeoutInMs)
     {
         requireNonNull(session, "session");
@@ -210,10 +295,90 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             this, timeInMs() + timeoutInMs, sessionId, lastReceivedSequenceNumber, sequenceIndex);
     }
 
+    List<Reply<SessionReplyStatus>> requestSessions(
+        final long[] sessionIds,
+        final int[] lastReceivedSequenceNumbers,
+        final int[] sequenceIndices,
+        final long timeoutInMs)
+    {
+        final int size = sessionIds.length;
+        if (lastReceivedSequenceNumbers.length != size || sequenceIndices.length != size)
+        {
+            throw new IllegalArgumentException(String.format(
+                "Expected the same number of sessionIds (%d), lastReceivedSequenceNumbers (%d) and " +
+                "sequenceIndices (%d)",
+                size,
+                lastReceivedSequenceNumbers.length,
+                sequenceIndices.length));
+        }
+
+        final List<Reply<SessionReplyStatus>> replies = new ArrayList<>(size);
+        final RequestSessionReply[] batch = new RequestSessionReply[size];
+        final long[] correlationIds = new long[size];
+        final long latestReplyArrivalTime = timeInMs() + timeoutInMs;
+        for (int i = 0; i < size; i++)
+        {
+            final RequestSessionReply reply = new RequestSessionReply(
+                this,
+                latestReplyArrivalTime,
+                sessionIds[i],
+                lastReceivedSequenceNumbers[i],
+                sequenceIndices[i],
+                false);
+            batch[i] = reply;
+            correlationIds[i] = reply.correlationId;
+            replies.add(reply);
+        }
+
+        if (isConnected())
+        {
+            checkState();
+
+            final int maxPayloadLength = outboundPublication.maxPayloadLength();
+            int offset = 0;
+            while (offset < size)
+            {
+                int count = Math.min(size - offset, GatewayPublication.MAX_BATCH_SESSIONS);
+                while (count > 1 && GatewayPublication.requestSessionsFramedLength(count) > maxPayloadLength)
+                {
+                    count--;
+                }
+
+                final long position = outboundPublication.saveRequestSessions(
+                    libraryId,
+                    sessionIds,
+                    correlationIds,
+                    lastReceivedSequenceNumbers,
+                    sequenceIndices,
+                    offset,
+                    count);
+
+                final int end = offset + count;
+                if (position < 0)
+                {
+                    for (int i = offset; i < end; i++)
+                    {
+                        batch[i].onBatchBackPressured();
+                    }
+                }
+
+                offset = end;
+            }
+        }
+
+        return replies;
+    }
+
     void disableSession(final Session session)
     {
         sessions = ArrayUtil.remove(sessions, session);
         accessor.disable(session);
+
+        final SessionSubscriber subscriber = connectionIdToSession.get(session.connectionId());
+        if (subscriber != null)
+        {
+            subscriber.closeTelemetry();
+        }
     }
 
     long saveReleaseSession(final Session session, final long correlationId)
@@ -690,6 +855,39 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final long timestamp,
         final MessageStatus status,
         final long position)
+    {
+        return onMessage(
+            buffer,
+            offset,
+            length,
+            libraryId,
+            connectionId,
+            sessionId,
+            sequenceIndex,
+            messageType,
+            timestamp,
+            status,
+            position,
+            NO_PRE_PARSED_HEADER,
+            false,
+            0);
+    }
+
+    public Action onMessage(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int libraryId,
+        final long connectionId,
+        final long sessionId,
+        final int sequenceIndex,
+        final int messageType,
+        final long timestamp,
+        final MessageStatus status,
+        final long position,
+        final int msgSeqNum,
+        final boolean possDup,
+        final long sendingTime)
     {
         if (libraryId == this.libraryId)
         {
@@ -707,7 +905,10 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                     messageType,
                     timestamp,
                     status,
-                    position);
+                    position,
+                    msgSeqNum,
+                    possDup,
+                    sendingTime);
             }
         }
 
@@ -734,6 +935,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                 {
                     final Session session = subscriber.session();
                     session.close();
+                    subscriber.closeTelemetry();
                     sessions = ArrayUtil.remove(sessions, session);
                 }
 
@@ -887,6 +1089,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                     if (subscriber != null)
                     {
                         subscriber.onTimeout(libraryId);
+                        subscriber.closeTelemetry();
                     }
                     session.close();
                     // TODO(Nick): Maybe we shouldn't be creating a lot of arrays and batch this up?
@@ -959,7 +1162,10 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final MessageValidationStrategy validationStrategy = configuration.messageValidationStrategy();
         final SessionParser parser = new SessionParser(
             session, sessionIdStrategy, validationStrategy, null);
-        final SessionSubscriber subscriber = new SessionSubscriber(parser, session, receiveTimer, sessionTimer);
+        final LatencyHistogram engineToLibraryLatency = configuration.sessionTelemetry() ?
+            fixCounters.engineToLibraryLatency(connectionId, configuration.nanoClock()) : null;
+        final SessionSubscriber subscriber = new SessionSubscriber(
+            parser, session, receiveTimer, sessionTimer, engineToLibraryLatency);
         connectionIdToSession.put(connectionId, subscriber);
         sessions = ArrayUtil.add(sessions, session);
     }
@@ -975,9 +1181,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final int defaultInterval = configuration.defaultHeartbeatIntervalInS();
         final GatewayPublication publication = transport.outboundPublication();
 
-        final int sessionBufferSize = configuration.sessionBufferSize();
-        final MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer(new byte[sessionBufferSize]);
-        final SessionProxy sessionProxy = sessionProxy(connectionId, asciiBuffer);
+        final SessionProxy sessionProxy = sessionProxy(connectionId);
         final int initialReceivedSequenceNumber = initiatorNewSequenceNumber(
             sessionConfiguration, SessionConfiguration::initialReceivedSequenceNumber, lastReceivedSequenceNumber);
         final int initialSentSequenceNumber = initiatorNewSequenceNumber(
@@ -999,7 +1203,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             state,
             sessionConfiguration != null && sessionConfiguration.resetSeqNum(),
             configuration.reasonableTransmissionTimeInMs(),
-            asciiBuffer)
+            sessionBuffer)
             .lastReceivedMsgSeqNum(initialReceivedSequenceNumber - 1);
 
         if (sessionConfiguration != null)
@@ -1015,7 +1219,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
 
             session
                 .username(sessionConfiguration.username())
-                .password(sessionConfiguration.password());
+                .password(sessionConfiguration.password())
+                .sendingTimeFormat(sessionConfiguration.sendingTimeFormat(), configuration.epochNanoClock());
         }
 
         return session;
@@ -1062,13 +1267,11 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final long sendingTimeWindow = configuration.sendingTimeWindowInMs();
         final AtomicCounter receivedMsgSeqNo = fixCounters.receivedMsgSeqNo(connectionId);
         final AtomicCounter sentMsgSeqNo = fixCounters.sentMsgSeqNo(connectionId);
-        final int sessionBufferSize = configuration.sessionBufferSize();
-        final MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer(new byte[sessionBufferSize]);
 
         return new AcceptorSession(heartbeatIntervalInS,
             connectionId,
             clock,
-            sessionProxy(connectionId, asciiBuffer),
+            sessionProxy(connectionId),
             publication,
             sessionIdStrategy,
             sendingTimeWindow,
@@ -1079,13 +1282,13 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             sequenceIndex,
             state,
             configuration.reasonableTransmissionTimeInMs(),
-            asciiBuffer).address(host, port).logonTime(logonTime);
+            sessionBuffer).address(host, port).logonTime(logonTime);
     }
 
-    private SessionProxy sessionProxy(final long connectionId, final MutableAsciiBuffer asciiBuffer)
+    private SessionProxy sessionProxy(final long connectionId)
     {
         return new SessionProxy(
-            asciiBuffer,
+            sessionBuffer,
             transport.outboundPublication(),
             sessionIdStrategy,
             configuration.sessionCustomisationStrategy(),
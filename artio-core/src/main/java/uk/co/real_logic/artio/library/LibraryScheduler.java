@@ -18,6 +18,7 @@ package uk.co.real_logic.artio.library;
 import io.aeron.Aeron;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.Agent;
+import uk.co.real_logic.artio.FixCounters;
 
 /**
  * Interface for determining how a Library's Agents are allocated to threads.
@@ -52,4 +53,14 @@ public interface LibraryScheduler
      * @param aeronContext the context of the Aeron client being used by this Engine instance.
      */
     void configure(Aeron.Context aeronContext);
+
+    /**
+     * Invoked by the Library before launching with the counters that are stored in its monitoring file. This can be
+     * hooked in order to report on the threads that the scheduler starts.
+     *
+     * @param fixCounters the counters of this Library instance.
+     */
+    default void configure(final FixCounters fixCounters)
+    {
+    }
 }
@@ -35,17 +35,36 @@ class RequestSessionReply extends LibraryReply<SessionReplyStatus>
         final long sessionId,
         final int lastReceivedSequenceNumber,
         final int sequenceIndex)
+    {
+        this(libraryPoller, latestReplyArrivalTime, sessionId, lastReceivedSequenceNumber, sequenceIndex, true);
+    }
+
+    /**
+     * @param sendMessage false if the message is sent as part of a batch by the caller.
+     */
+    RequestSessionReply(
+        final LibraryPoller libraryPoller,
+        final long latestReplyArrivalTime,
+        final long sessionId,
+        final int lastReceivedSequenceNumber,
+        final int sequenceIndex,
+        final boolean sendMessage)
     {
         super(libraryPoller, latestReplyArrivalTime);
         this.sessionId = sessionId;
         this.lastReceivedSequenceNumber = lastReceivedSequenceNumber;
         this.sequenceIndex = sequenceIndex;
-        if (libraryPoller.isConnected())
+        if (sendMessage && libraryPoller.isConnected())
         {
             sendMessage();
         }
     }
 
+    void onBatchBackPressured()
+    {
+        requiresResend = true;
+    }
+
     private void sendMessage()
     {
         final long position = libraryPoller.saveRequestSession(
@@ -17,6 +17,7 @@ package uk.co.real_logic.artio.library;
 
 import org.agrona.collections.IntArrayList;
 import uk.co.real_logic.artio.CommonConfiguration;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
 import uk.co.real_logic.artio.messages.SequenceNumberType;
 
 import java.util.ArrayList;
@@ -33,6 +34,7 @@ public final class SessionConfiguration
     public static final int AUTOMATIC_INITIAL_SEQUENCE_NUMBER = -1;
     public static final boolean DEFAULT_RESET_SEQ_NUM = false;
     public static final boolean DEFAULT_SEQUENCE_NUMBERS_PERSISTENT = false;
+    public static final EpochFractionFormat DEFAULT_SENDING_TIME_FORMAT = EpochFractionFormat.MILLISECONDS;
 
     private final List<String> hosts;
     private final IntArrayList ports;
@@ -49,6 +51,7 @@ public final class SessionConfiguration
     private final int initialSentSequenceNumber;
     private final long timeoutInMs;
     private final boolean resetSeqNum;
+    private final EpochFractionFormat sendingTimeFormat;
 
     public static Builder builder()
     {
@@ -70,7 +73,8 @@ public final class SessionConfiguration
         final int initialReceivedSequenceNumber,
         final int initialSentSequenceNumber,
         final long timeoutInMs,
-        final boolean resetSeqNum)
+        final boolean resetSeqNum,
+        final EpochFractionFormat sendingTimeFormat)
     {
         Objects.requireNonNull(hosts);
         Objects.requireNonNull(ports);
@@ -80,6 +84,7 @@ public final class SessionConfiguration
         Objects.requireNonNull(targetCompId);
         Objects.requireNonNull(targetSubId);
         Objects.requireNonNull(targetLocationId);
+        Objects.requireNonNull(sendingTimeFormat);
 
         requireNonEmpty(hosts, "hosts");
         requireNonEmpty(ports, "ports");
@@ -99,6 +104,7 @@ public final class SessionConfiguration
         this.initialReceivedSequenceNumber = initialReceivedSequenceNumber;
         this.initialSentSequenceNumber = initialSentSequenceNumber;
         this.resetSeqNum = resetSeqNum;
+        this.sendingTimeFormat = sendingTimeFormat;
     }
 
     private void requireNonEmpty(final List<?> values, final String name)
@@ -189,6 +195,11 @@ public final class SessionConfiguration
         return resetSeqNum;
     }
 
+    public EpochFractionFormat sendingTimeFormat()
+    {
+        return sendingTimeFormat;
+    }
+
     public static final class Builder
     {
         private String username;
@@ -206,6 +217,7 @@ public final class SessionConfiguration
         private int initialSentSequenceNumber = AUTOMATIC_INITIAL_SEQUENCE_NUMBER;
         private long timeoutInMs = DEFAULT_REPLY_TIMEOUT_IN_MS;
         private boolean resetSeqNum = DEFAULT_RESET_SEQ_NUM;
+        private EpochFractionFormat sendingTimeFormat = DEFAULT_SENDING_TIME_FORMAT;
 
         private Builder()
         {
@@ -379,6 +391,20 @@ public final class SessionConfiguration
             return this;
         }
 
+        /**
+         * Sets the precision of the SendingTime (52=) field of messages sent on this session, for example
+         * microseconds for MiFID II clock synchronisation requirements. Timestamps with a precision higher than
+         * milliseconds are taken from {@link CommonConfiguration#epochNanoClock(org.agrona.concurrent.EpochNanoClock)}.
+         *
+         * @param sendingTimeFormat the precision of the SendingTime field.
+         * @return this builder
+         */
+        public Builder sendingTimeFormat(final EpochFractionFormat sendingTimeFormat)
+        {
+            this.sendingTimeFormat = sendingTimeFormat;
+            return this;
+        }
+
         public SessionConfiguration build()
         {
             return new SessionConfiguration(
@@ -396,7 +422,8 @@ public final class SessionConfiguration
                 initialReceivedSequenceNumber,
                 initialSentSequenceNumber,
                 timeoutInMs,
-                resetSeqNum);
+                resetSeqNum,
+                sendingTimeFormat);
         }
     }
 }
@@ -16,10 +16,12 @@
 package uk.co.real_logic.artio.library;
 
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import uk.co.real_logic.artio.messages.DisconnectReason;
 import uk.co.real_logic.artio.messages.MessageStatus;
 import uk.co.real_logic.artio.session.*;
+import uk.co.real_logic.artio.timing.LatencyHistogram;
 import uk.co.real_logic.artio.timing.Timer;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.BREAK;
@@ -31,6 +33,8 @@ class SessionSubscriber implements AutoCloseable
     private final Session session;
     private final Timer receiveTimer;
     private final Timer sessionTimer;
+    // null when session telemetry is disabled
+    private LatencyHistogram engineToLibraryLatency;
 
     private SessionHandler handler;
 
@@ -38,12 +42,14 @@ class SessionSubscriber implements AutoCloseable
         final SessionParser parser,
         final Session session,
         final Timer receiveTimer,
-        final Timer sessionTimer)
+        final Timer sessionTimer,
+        final LatencyHistogram engineToLibraryLatency)
     {
         this.parser = parser;
         this.session = session;
         this.receiveTimer = receiveTimer;
         this.sessionTimer = sessionTimer;
+        this.engineToLibraryLatency = engineToLibraryLatency;
         this.session.logonListener(this::onSessionLogon);
     }
 
@@ -57,16 +63,25 @@ class SessionSubscriber implements AutoCloseable
         final int messageType,
         final long timestamp,
         final MessageStatus status,
-        final long position)
+        final long position,
+        final int msgSeqNum,
+        final boolean possDup,
+        final long sendingTime)
     {
         final long now = receiveTimer.recordSince(timestamp);
+        // Replayed messages were received by the engine some time ago, so would distort the latency.
+        if (engineToLibraryLatency != null && status == MessageStatus.OK)
+        {
+            engineToLibraryLatency.recordSince(timestamp);
+        }
 
         try
         {
             switch (status)
             {
                 case OK:
-                    final Action action = parser.onMessage(buffer, offset, length, messageType, sessionId);
+                    final Action action = parser.onMessage(
+                        buffer, offset, length, messageType, sessionId, msgSeqNum, possDup, sendingTime);
                     if (action == BREAK)
                     {
                         return BREAK;
@@ -163,6 +178,13 @@ class SessionSubscriber implements AutoCloseable
         session.requestDisconnect();
     }
 
+    // Idempotent: a released session can later be disconnected or timed out
+    void closeTelemetry()
+    {
+        CloseHelper.close(engineToLibraryLatency);
+        engineToLibraryLatency = null;
+    }
+
     Session session()
     {
         return session;
@@ -19,7 +19,10 @@ import io.aeron.logbuffer.ControlledFragmentHandler;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
 import uk.co.real_logic.artio.messages.*;
+import uk.co.real_logic.artio.messages.InitiateConnectionsDecoder.ConnectionsDecoder;
+import uk.co.real_logic.artio.messages.RequestSessionsDecoder.SessionsDecoder;
 
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 
 public final class EngineProtocolSubscription implements ControlledFragmentHandler
@@ -31,9 +34,25 @@ public final class EngineProtocolSubscription implements ControlledFragmentHandl
     private final LibraryConnectDecoder libraryConnect = new LibraryConnectDecoder();
     private final ReleaseSessionDecoder releaseSession = new ReleaseSessionDecoder();
     private final RequestSessionDecoder requestSession = new RequestSessionDecoder();
+    private final InitiateConnectionsDecoder initiateConnections = new InitiateConnectionsDecoder();
+    private final RequestSessionsDecoder requestSessions = new RequestSessionsDecoder();
+
+    /**
+     * The maximum number of sessions from a batch that are handled per delivery of its fragment. The fragment is
+     * aborted once a slice has been handled so that the rest of the batch is handled in a later duty cycle.
+     */
+    static final int BATCH_SLICE_SIZE = 16;
+
+    private static final long NO_BATCH = -1;
+    private static final byte[] NO_BYTES = {};
 
     private final EngineEndPointHandler handler;
 
+    // Sessions of an aborted batch that have already been handled, skipped when its fragment is redelivered.
+    private int batchAeronSessionId;
+    private long batchPosition = NO_BATCH;
+    private int batchSessionsHandled;
+
     public EngineProtocolSubscription(final EngineEndPointHandler handler)
     {
         this.handler = handler;
@@ -79,6 +98,16 @@ public final class EngineProtocolSubscription implements ControlledFragmentHandl
             {
                 return onRequestSession(buffer, offset, blockLength, version, header);
             }
+
+            case InitiateConnectionsDecoder.TEMPLATE_ID:
+            {
+                return onInitiateConnections(buffer, offset, blockLength, version, header);
+            }
+
+            case RequestSessionsDecoder.TEMPLATE_ID:
+            {
+                return onRequestSessions(buffer, offset, blockLength, version, header);
+            }
         }
 
         return CONTINUE;
@@ -201,6 +230,149 @@ public final class EngineProtocolSubscription implements ControlledFragmentHandl
         );
     }
 
+    private Action onInitiateConnections(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version,
+        final Header header)
+    {
+        final InitiateConnectionsDecoder initiateConnections = this.initiateConnections;
+        initiateConnections.wrap(buffer, offset, blockLength, version);
+        final int libraryId = initiateConnections.libraryId();
+        final Action action = handler.onApplicationHeartbeat(libraryId, header.sessionId());
+        if (action != null)
+        {
+            return action; // Continue processing messages, but don't process this message.
+        }
+
+        final int heartbeatIntervalInS = initiateConnections.heartbeatIntervalInS();
+        final int alreadyHandled = sessionsHandled(header);
+        final ConnectionsDecoder connections = initiateConnections.connections();
+        int index = 0;
+        while (connections.hasNext())
+        {
+            connections.next();
+            if (index < alreadyHandled)
+            {
+                skip(connections);
+            }
+            else
+            {
+                if (index - alreadyHandled >= BATCH_SLICE_SIZE)
+                {
+                    return abortBatch(header, index);
+                }
+
+                final Action connectionAction = handler.onInitiateConnection(
+                    libraryId,
+                    connections.port(),
+                    connections.host(),
+                    connections.senderCompId(),
+                    connections.senderSubId(),
+                    connections.senderLocationId(),
+                    connections.targetCompId(),
+                    connections.targetSubId(),
+                    connections.targetLocationId(),
+                    connections.sequenceNumberType(),
+                    connections.requestedInitialReceivedSequenceNumber(),
+                    connections.requestedInitialSentSequenceNumber(),
+                    connections.resetSequenceNumber() == ResetSequenceNumber.YES,
+                    connections.username(),
+                    connections.password(),
+                    heartbeatIntervalInS,
+                    connections.correlationId(),
+                    header);
+
+                if (connectionAction == ABORT)
+                {
+                    return abortBatch(header, index);
+                }
+            }
+
+            index++;
+        }
+
+        batchPosition = NO_BATCH;
+        return CONTINUE;
+    }
+
+    private Action onRequestSessions(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version,
+        final Header header)
+    {
+        final RequestSessionsDecoder requestSessions = this.requestSessions;
+        requestSessions.wrap(buffer, offset, blockLength, version);
+        final int libraryId = requestSessions.libraryId();
+        final Action action = handler.onApplicationHeartbeat(libraryId, header.sessionId());
+        if (action != null)
+        {
+            return action; // Continue processing messages, but don't process this message.
+        }
+
+        final int alreadyHandled = sessionsHandled(header);
+        final SessionsDecoder sessions = requestSessions.sessions();
+        int index = 0;
+        while (sessions.hasNext())
+        {
+            sessions.next();
+            if (index >= alreadyHandled)
+            {
+                if (index - alreadyHandled >= BATCH_SLICE_SIZE)
+                {
+                    return abortBatch(header, index);
+                }
+
+                final Action sessionAction = handler.onRequestSession(
+                    libraryId,
+                    sessions.sessionId(),
+                    sessions.correlationId(),
+                    sessions.lastReceivedSequenceNumber(),
+                    sessions.sequenceIndex());
+
+                if (sessionAction == ABORT)
+                {
+                    return abortBatch(header, index);
+                }
+            }
+
+            index++;
+        }
+
+        batchPosition = NO_BATCH;
+        return CONTINUE;
+    }
+
+    private int sessionsHandled(final Header header)
+    {
+        final boolean redelivered = batchPosition == header.position() && batchAeronSessionId == header.sessionId();
+        return redelivered ? batchSessionsHandled : 0;
+    }
+
+    private Action abortBatch(final Header header, final int sessionsHandled)
+    {
+        batchAeronSessionId = header.sessionId();
+        batchPosition = header.position();
+        batchSessionsHandled = sessionsHandled;
+        return ABORT;
+    }
+
+    private void skip(final ConnectionsDecoder connections)
+    {
+        connections.getHost(NO_BYTES, 0, 0);
+        connections.getSenderCompId(NO_BYTES, 0, 0);
+        connections.getSenderSubId(NO_BYTES, 0, 0);
+        connections.getSenderLocationId(NO_BYTES, 0, 0);
+        connections.getTargetCompId(NO_BYTES, 0, 0);
+        connections.getTargetSubId(NO_BYTES, 0, 0);
+        connections.getTargetLocationId(NO_BYTES, 0, 0);
+        connections.getUsername(NO_BYTES, 0, 0);
+        connections.getPassword(NO_BYTES, 0, 0);
+    }
+
     private Action onRequestDisconnect(
         final DirectBuffer buffer,
         final int offset,
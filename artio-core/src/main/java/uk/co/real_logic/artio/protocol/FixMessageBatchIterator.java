@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.protocol;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import uk.co.real_logic.artio.messages.*;
+import uk.co.real_logic.artio.messages.FixMessageBatchDecoder.MessagesDecoder;
+
+import static uk.co.real_logic.artio.messages.MessageStatus.OK;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
+
+/**
+ * Iterates over the FIX messages framed within a {@link FixMessageBatchDecoder} fragment.
+ *
+ * Consumers that work with individually framed messages can use {@link #frameMessage(MutableDirectBuffer, int)}
+ * to copy the current message into a {@link FixMessageDecoder} frame.
+ */
+public final class FixMessageBatchIterator
+{
+    public static final int FRAMED_MESSAGE_OVERHEAD =
+        MessageHeaderEncoder.ENCODED_LENGTH + GatewayPublication.FRAME_SIZE;
+
+    private final FixMessageBatchDecoder batch = new FixMessageBatchDecoder();
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final FixMessageEncoder fixMessage = new FixMessageEncoder();
+
+    private DirectBuffer buffer;
+    private MessagesDecoder messages;
+    private int index;
+    private int messageType;
+    private int messageOffset;
+    private int messageLength;
+
+    /**
+     * Wrap a batch fragment, the offset should be just after its {@link MessageHeaderDecoder}.
+     *
+     * @param buffer the buffer containing the fragment.
+     * @param offset the offset of the batch within the buffer.
+     * @param actingBlockLength the block length from the message header.
+     * @param actingVersion the version from the message header.
+     * @return this
+     */
+    public FixMessageBatchIterator wrap(
+        final DirectBuffer buffer, final int offset, final int actingBlockLength, final int actingVersion)
+    {
+        this.buffer = buffer;
+        final FixMessageBatchDecoder batch = this.batch;
+        batch.wrap(buffer, offset, actingBlockLength, actingVersion);
+        messages = batch.messages();
+        index = -1;
+        messageLength = 0;
+        messageOffset = batch.limit() + messages.count() * messages.actingBlockLength() +
+            FixMessageBatchDecoder.bodyHeaderLength();
+        return this;
+    }
+
+    /**
+     * Move onto the next message in the batch.
+     *
+     * @return true if there is another message, false if the end of the batch has been reached.
+     */
+    public boolean next()
+    {
+        final MessagesDecoder messages = this.messages;
+        if (!messages.hasNext())
+        {
+            return false;
+        }
+
+        messages.next();
+        index++;
+        messageOffset += messageLength;
+        messageType = messages.messageType();
+        messageLength = messages.length();
+        return true;
+    }
+
+    public int count()
+    {
+        return messages.count();
+    }
+
+    public int index()
+    {
+        return index;
+    }
+
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    public int messageType()
+    {
+        return messageType;
+    }
+
+    public int messageOffset()
+    {
+        return messageOffset;
+    }
+
+    public int messageLength()
+    {
+        return messageLength;
+    }
+
+    public long session()
+    {
+        return batch.session();
+    }
+
+    public long connection()
+    {
+        return batch.connection();
+    }
+
+    public long timestamp()
+    {
+        return batch.timestamp();
+    }
+
+    public int libraryId()
+    {
+        return batch.libraryId();
+    }
+
+    public int sequenceIndex()
+    {
+        return batch.sequenceIndex();
+    }
+
+    /**
+     * Copy the current message into a {@link FixMessageDecoder} frame, including its message header.
+     *
+     * @param destBuffer the buffer to write the frame into, needs {@link #FRAMED_MESSAGE_OVERHEAD} bytes more
+     *                   than the message length.
+     * @param destOffset the offset to write the frame at.
+     * @return the length of the frame.
+     */
+    public int frameMessage(final MutableDirectBuffer destBuffer, final int destOffset)
+    {
+        fixMessage
+            .wrapAndApplyHeader(destBuffer, destOffset, headerEncoder)
+            .libraryId(batch.libraryId())
+            .messageType(messageType)
+            .session(batch.session())
+            .sequenceIndex(batch.sequenceIndex())
+            .connection(batch.connection())
+            .timestamp(batch.timestamp())
+            .status(OK)
+            .msgSeqNum(NO_PRE_PARSED_HEADER)
+            .possDup(PossDup.NO)
+            .sendingTime(0)
+            .putBody(buffer, messageOffset, messageLength);
+
+        return FRAMED_MESSAGE_OVERHEAD + messageLength;
+    }
+}
@@ -23,8 +23,11 @@ import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.engine.SessionInfo;
+import uk.co.real_logic.artio.library.SessionConfiguration;
 import uk.co.real_logic.artio.messages.*;
 import uk.co.real_logic.artio.messages.ControlNotificationEncoder.SessionsEncoder;
+import uk.co.real_logic.artio.messages.FixMessageBatchEncoder.MessagesEncoder;
+import uk.co.real_logic.artio.messages.InitiateConnectionsEncoder.ConnectionsEncoder;
 import uk.co.real_logic.artio.replication.ClusterablePublication;
 
 import java.util.List;
@@ -46,6 +49,16 @@ public class GatewayPublication extends ClaimablePublication
 {
     public static final int FRAME_SIZE = FixMessageEncoder.BLOCK_LENGTH + FixMessageDecoder.bodyHeaderLength();
     private static final int FRAMED_MESSAGE_SIZE = MessageHeaderEncoder.ENCODED_LENGTH + FRAME_SIZE;
+    private static final int FRAMED_BATCH_SIZE = MessageHeaderEncoder.ENCODED_LENGTH +
+        FixMessageBatchEncoder.BLOCK_LENGTH + GroupSizeEncodingEncoder.ENCODED_LENGTH +
+        FixMessageBatchEncoder.bodyHeaderLength();
+    public static final int MAX_BATCH_MESSAGES = GroupSizeEncodingEncoder.numInGroupMaxValue();
+    public static final int MAX_BATCH_SESSIONS = GroupSizeEncodingEncoder.numInGroupMaxValue();
+
+    /**
+     * The msgSeqNum of a FixMessage frame whose FIX header fields haven't been pre-parsed.
+     */
+    public static final int NO_PRE_PARSED_HEADER = 0;
 
     private static final byte[] NO_BYTES = {};
 
@@ -69,18 +82,27 @@ public class GatewayPublication extends ClaimablePublication
         ManageSessionEncoder.BLOCK_LENGTH + ManageSessionEncoder.localCompIdHeaderLength() * 7;
     private static final int INITIATE_CONNECTION_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH +
         InitiateConnectionEncoder.BLOCK_LENGTH + InitiateConnectionDecoder.hostHeaderLength() * 9;
+    private static final int INITIATE_CONNECTIONS_LENGTH = HEADER_LENGTH + InitiateConnectionsEncoder.BLOCK_LENGTH +
+        GroupSizeEncodingEncoder.ENCODED_LENGTH;
+    private static final int INITIATE_CONNECTIONS_ENTRY_LENGTH = ConnectionsEncoder.sbeBlockLength() +
+        ConnectionsEncoder.hostHeaderLength() * 9;
+    private static final int REQUEST_SESSIONS_LENGTH = HEADER_LENGTH + RequestSessionsEncoder.BLOCK_LENGTH +
+        GroupSizeEncodingEncoder.ENCODED_LENGTH;
     private static final int CONTROL_NOTIFICATION_LENGTH = HEADER_LENGTH + ControlNotificationEncoder.BLOCK_LENGTH +
         GroupSizeEncodingEncoder.ENCODED_LENGTH;
 
     private final ManageSessionEncoder manageSessionEncoder = new ManageSessionEncoder();
     private final InitiateConnectionEncoder initiateConnection = new InitiateConnectionEncoder();
+    private final InitiateConnectionsEncoder initiateConnections = new InitiateConnectionsEncoder();
     private final RequestDisconnectEncoder requestDisconnect = new RequestDisconnectEncoder();
     private final DisconnectEncoder disconnect = new DisconnectEncoder();
     private final FixMessageEncoder fixMessage = new FixMessageEncoder();
+    private final FixMessageBatchEncoder fixMessageBatch = new FixMessageBatchEncoder();
     private final ErrorEncoder error = new ErrorEncoder();
     private final ApplicationHeartbeatEncoder applicationHeartbeat = new ApplicationHeartbeatEncoder();
     private final LibraryConnectEncoder libraryConnect = new LibraryConnectEncoder();
     private final RequestSessionEncoder requestSession = new RequestSessionEncoder();
+    private final RequestSessionsEncoder requestSessions = new RequestSessionsEncoder();
     private final RequestSessionReplyEncoder requestSessionReply = new RequestSessionReplyEncoder();
     private final ReleaseSessionEncoder releaseSession = new ReleaseSessionEncoder();
     private final ReleaseSessionReplyEncoder releaseSessionReply = new ReleaseSessionReplyEncoder();
@@ -112,6 +134,18 @@ public class GatewayPublication extends ClaimablePublication
         this.maxInitialBodyLength = maxPayloadLength - FRAMED_MESSAGE_SIZE;
     }
 
+    /**
+     * Check whether the FIX header fields of a FixMessage frame have been pre-parsed.
+     *
+     * @param msgSeqNum the msgSeqNum field of the frame.
+     * @return true if the msgSeqNum, possDup and sendingTime fields of the frame can be used.
+     */
+    public static boolean hasPreParsedHeader(final int msgSeqNum)
+    {
+        // NB: frames from older schema versions decode the msgSeqNum as a negative null value.
+        return msgSeqNum > NO_PRE_PARSED_HEADER;
+    }
+
     public long saveMessage(
         final DirectBuffer srcBuffer,
         final int srcOffset,
@@ -122,6 +156,53 @@ public class GatewayPublication extends ClaimablePublication
         final int sequenceIndex,
         final long connectionId,
         final MessageStatus status)
+    {
+        return saveMessage(
+            srcBuffer,
+            srcOffset,
+            srcLength,
+            libraryId,
+            messageType,
+            sessionId,
+            sequenceIndex,
+            connectionId,
+            status,
+            NO_PRE_PARSED_HEADER,
+            false,
+            0);
+    }
+
+    /**
+     * Save a FIX message along with fields from its header that have already been parsed, so that
+     * consumers of the message don't need to parse the header again.
+     *
+     * @param srcBuffer the buffer containing the message.
+     * @param srcOffset the offset of the message within the buffer.
+     * @param srcLength the length of the message.
+     * @param libraryId the library that the message is for or from.
+     * @param messageType the packed message type.
+     * @param sessionId the FIX session of the message.
+     * @param sequenceIndex the sequence index of the session.
+     * @param connectionId the connection of the message.
+     * @param status the status of the message.
+     * @param msgSeqNum the MsgSeqNum of the message or {@link #NO_PRE_PARSED_HEADER} if not parsed.
+     * @param possDup whether the PossDupFlag or PossResend field of the message is set.
+     * @param sendingTime the SendingTime of the message in milliseconds since the Epoch.
+     * @return the position of the message or a negative value if it couldn't be claimed.
+     */
+    public long saveMessage(
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int srcLength,
+        final int libraryId,
+        final int messageType,
+        final long sessionId,
+        final int sequenceIndex,
+        final long connectionId,
+        final MessageStatus status,
+        final int msgSeqNum,
+        final boolean possDup,
+        final long sendingTime)
     {
         final ExclusiveBufferClaim bufferClaim = this.bufferClaim;
         final long timestamp = nanoClock.nanoTime();
@@ -156,6 +237,9 @@ public class GatewayPublication extends ClaimablePublication
             .connection(connectionId)
             .timestamp(timestamp)
             .status(status)
+            .msgSeqNum(msgSeqNum)
+            .possDup(possDup ? PossDup.YES : PossDup.NO)
+            .sendingTime(sendingTime)
             .putBody(srcBuffer, srcFragmentOffset, srcFragmentLength);
 
         if (!fragmented)
@@ -193,6 +277,82 @@ public class GatewayPublication extends ClaimablePublication
         return position;
     }
 
+    /**
+     * Get the framed length of a batch of messages, a batch needs to fit within {@link #maxPayloadLength()}
+     * as they are never fragmented.
+     *
+     * @param messageCount the number of messages in the batch.
+     * @param bodyLength the sum of the lengths of the messages in the batch.
+     * @return the length of the batch when framed.
+     */
+    public static int batchFramedLength(final int messageCount, final int bodyLength)
+    {
+        return FRAMED_BATCH_SIZE + messageCount * MessagesEncoder.sbeBlockLength() + bodyLength;
+    }
+
+    /**
+     * Save consecutive valid FIX messages received on the same connection within a single fragment.
+     *
+     * @param srcBuffer the buffer that the messages have been read into.
+     * @param srcOffset the offset within the buffer of the first message.
+     * @param messageTypes the message types of each message.
+     * @param lengths the length of each message, messages follow one another in the buffer.
+     * @param messageCount the number of messages in the batch.
+     * @param libraryId the library that the messages are for.
+     * @param sessionId the FIX session that the messages were received on.
+     * @param sequenceIndex the sequence index of the session.
+     * @param connectionId the connection that the messages were received on.
+     * @return the position of the fragment or a negative value if it couldn't be claimed.
+     */
+    public long saveMessageBatch(
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int[] messageTypes,
+        final int[] lengths,
+        final int messageCount,
+        final int libraryId,
+        final long sessionId,
+        final int sequenceIndex,
+        final long connectionId)
+    {
+        int bodyLength = 0;
+        for (int i = 0; i < messageCount; i++)
+        {
+            bodyLength += lengths[i];
+        }
+
+        final long position = claim(batchFramedLength(messageCount, bodyLength));
+        if (position < 0)
+        {
+            return position;
+        }
+
+        final MutableDirectBuffer destBuffer = bufferClaim.buffer();
+        final int offset = bufferClaim.offset();
+
+        final MessagesEncoder messages = fixMessageBatch
+            .wrapAndApplyHeader(destBuffer, offset, header)
+            .session(sessionId)
+            .connection(connectionId)
+            .timestamp(nanoClock.nanoTime())
+            .libraryId(libraryId)
+            .sequenceIndex(sequenceIndex)
+            .messagesCount(messageCount);
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            messages.next().messageType(messageTypes[i]).length(lengths[i]);
+        }
+
+        fixMessageBatch.putBody(srcBuffer, srcOffset, bodyLength);
+
+        bufferClaim.commit();
+
+        DebugLogger.log(FIX_MESSAGE, "Enqueued %s%n", srcBuffer, srcOffset, bodyLength);
+
+        return position;
+    }
+
     private void putBodyLength(final int srcLength, final int offset, final MutableDirectBuffer destBuffer)
     {
         destBuffer.putShort(offset + FixMessageEncoder.BLOCK_LENGTH, (short)srcLength, LITTLE_ENDIAN);
@@ -471,6 +631,114 @@ public class GatewayPublication extends ClaimablePublication
         return position;
     }
 
+    /**
+     * Get the length that initiating a session adds to a batch of initiated connections, a batch needs to fit
+     * within {@link #maxPayloadLength()} and hold at most {@link #MAX_BATCH_SESSIONS} connections.
+     *
+     * @param configuration the configuration of the session, its first host and port are connected to.
+     * @return the length of the connection within the batch.
+     */
+    public static int initiateConnectionsEntryLength(final SessionConfiguration configuration)
+    {
+        return INITIATE_CONNECTIONS_ENTRY_LENGTH +
+            bytes(configuration.hosts().get(0)).length +
+            bytes(configuration.senderCompId()).length +
+            bytes(configuration.senderSubId()).length +
+            bytes(configuration.senderLocationId()).length +
+            bytes(configuration.targetCompId()).length +
+            bytes(configuration.targetSubId()).length +
+            bytes(configuration.targetLocationId()).length +
+            bytes(configuration.username()).length +
+            bytes(configuration.password()).length;
+    }
+
+    /**
+     * Get the framed length of a batch of initiated connections.
+     *
+     * @param entriesLength the sum of the {@link #initiateConnectionsEntryLength(SessionConfiguration)} of
+     *                      each connection in the batch.
+     * @return the length of the batch when framed.
+     */
+    public static int initiateConnectionsFramedLength(final int entriesLength)
+    {
+        return INITIATE_CONNECTIONS_LENGTH + entriesLength;
+    }
+
+    /**
+     * Save a batch of connections to initiate within a single fragment, connecting each session to the first of its
+     * hosts. Each connection is replied to separately using its correlation id.
+     *
+     * @param libraryId the library initiating the connections.
+     * @param heartbeatIntervalInS the heartbeat interval of the sessions.
+     * @param configurations the configurations of the sessions to initiate.
+     * @param correlationIds the correlation ids of each session, indexed the same way as the configurations.
+     * @param offset the index of the first session within the batch.
+     * @param count the number of sessions within the batch.
+     * @param framedLength the {@link #initiateConnectionsFramedLength(int)} of the batch.
+     * @return the position of the fragment or a negative value if it couldn't be claimed.
+     */
+    public long saveInitiateConnections(
+        final int libraryId,
+        final int heartbeatIntervalInS,
+        final List<SessionConfiguration> configurations,
+        final long[] correlationIds,
+        final int offset,
+        final int count,
+        final int framedLength)
+    {
+        final long position = claim(framedLength);
+        if (position < 0)
+        {
+            return position;
+        }
+
+        final MutableDirectBuffer buffer = bufferClaim.buffer();
+        final int claimOffset = bufferClaim.offset();
+
+        final ConnectionsEncoder connections = initiateConnections
+            .wrapAndApplyHeader(buffer, claimOffset, header)
+            .libraryId(libraryId)
+            .heartbeatIntervalInS(heartbeatIntervalInS)
+            .connectionsCount(count);
+
+        for (int i = offset, end = offset + count; i < end; i++)
+        {
+            final SessionConfiguration configuration = configurations.get(i);
+            final byte[] hostBytes = bytes(configuration.hosts().get(0));
+            final byte[] senderCompIdBytes = bytes(configuration.senderCompId());
+            final byte[] senderSubIdBytes = bytes(configuration.senderSubId());
+            final byte[] senderLocationIdBytes = bytes(configuration.senderLocationId());
+            final byte[] targetCompIdBytes = bytes(configuration.targetCompId());
+            final byte[] targetSubIdBytes = bytes(configuration.targetSubId());
+            final byte[] targetLocationIdBytes = bytes(configuration.targetLocationId());
+            final byte[] usernameBytes = bytes(configuration.username());
+            final byte[] passwordBytes = bytes(configuration.password());
+
+            connections.next()
+                .correlationId(correlationIds[i])
+                .port(configuration.ports().getInt(0))
+                .sequenceNumberType(configuration.sequenceNumberType())
+                .resetSequenceNumber(configuration.resetSeqNum() ? ResetSequenceNumber.YES : ResetSequenceNumber.NO)
+                .requestedInitialReceivedSequenceNumber(configuration.initialReceivedSequenceNumber())
+                .requestedInitialSentSequenceNumber(configuration.initialSentSequenceNumber())
+                .putHost(hostBytes, 0, hostBytes.length)
+                .putSenderCompId(senderCompIdBytes, 0, senderCompIdBytes.length)
+                .putSenderSubId(senderSubIdBytes, 0, senderSubIdBytes.length)
+                .putSenderLocationId(senderLocationIdBytes, 0, senderLocationIdBytes.length)
+                .putTargetCompId(targetCompIdBytes, 0, targetCompIdBytes.length)
+                .putTargetSubId(targetSubIdBytes, 0, targetSubIdBytes.length)
+                .putTargetLocationId(targetLocationIdBytes, 0, targetLocationIdBytes.length)
+                .putUsername(usernameBytes, 0, usernameBytes.length)
+                .putPassword(passwordBytes, 0, passwordBytes.length);
+        }
+
+        bufferClaim.commit();
+
+        logSbeMessage(GATEWAY_MESSAGE, initiateConnections);
+
+        return position;
+    }
+
     public long saveError(final GatewayError errorType, final int libraryId, final long replyToId, final String message)
     {
         final byte[] messageBytes = bytes(message);
@@ -636,6 +904,69 @@ public class GatewayPublication extends ClaimablePublication
         return position;
     }
 
+    /**
+     * Get the framed length of a batch of requested sessions.
+     *
+     * @param sessionCount the number of sessions in the batch.
+     * @return the length of the batch when framed.
+     */
+    public static int requestSessionsFramedLength(final int sessionCount)
+    {
+        return REQUEST_SESSIONS_LENGTH + sessionCount * RequestSessionsEncoder.SessionsEncoder.sbeBlockLength();
+    }
+
+    /**
+     * Save a batch of requests for sessions within a single fragment. Each request is replied to separately
+     * using its correlation id. The arrays are all indexed the same way.
+     *
+     * @param libraryId the library requesting the sessions.
+     * @param sessionIds the ids of the sessions.
+     * @param correlationIds the correlation ids of each request.
+     * @param lastReceivedSequenceNumbers the last received sequence number of each session.
+     * @param sequenceIndices the sequence index of each session.
+     * @param offset the index of the first session within the batch.
+     * @param count the number of sessions within the batch.
+     * @return the position of the fragment or a negative value if it couldn't be claimed.
+     */
+    public long saveRequestSessions(
+        final int libraryId,
+        final long[] sessionIds,
+        final long[] correlationIds,
+        final int[] lastReceivedSequenceNumbers,
+        final int[] sequenceIndices,
+        final int offset,
+        final int count)
+    {
+        final long position = claim(requestSessionsFramedLength(count));
+        if (position < 0)
+        {
+            return position;
+        }
+
+        final MutableDirectBuffer buffer = bufferClaim.buffer();
+        final int claimOffset = bufferClaim.offset();
+
+        final RequestSessionsEncoder.SessionsEncoder sessions = requestSessions
+            .wrapAndApplyHeader(buffer, claimOffset, header)
+            .libraryId(libraryId)
+            .sessionsCount(count);
+
+        for (int i = offset, end = offset + count; i < end; i++)
+        {
+            sessions.next()
+                .correlationId(correlationIds[i])
+                .sessionId(sessionIds[i])
+                .lastReceivedSequenceNumber(lastReceivedSequenceNumbers[i])
+                .sequenceIndex(sequenceIndices[i]);
+        }
+
+        bufferClaim.commit();
+
+        logSbeMessage(GATEWAY_MESSAGE, requestSessions);
+
+        return position;
+    }
+
     public long saveRequestSessionReply(final int libraryId, final SessionReplyStatus status, final long replyToId)
     {
         final long position = claim(REQUEST_SESSION_REPLY_LENGTH);
@@ -788,7 +1119,7 @@ public class GatewayPublication extends ClaimablePublication
         return dataPublication.position();
     }
 
-    private byte[] bytes(final String host)
+    private static byte[] bytes(final String host)
     {
         if (host == null)
         {
@@ -35,5 +35,55 @@ public interface ProtocolHandler
         MessageStatus status,
         long position);
 
+    /**
+     * Handle a message whose FIX header fields may have been pre-parsed by its publisher. Handlers that can make use
+     * of the fields should override this method, by default they are ignored.
+     *
+     * @param buffer the buffer containing the message.
+     * @param offset the offset of the message within the buffer.
+     * @param length the length of the message.
+     * @param libraryId the library that the message is for or from.
+     * @param connectionId the connection of the message.
+     * @param sessionId the FIX session of the message.
+     * @param sequenceIndex the sequence index of the session.
+     * @param messageType the packed message type.
+     * @param timestamp the time that the message was saved.
+     * @param status the status of the message.
+     * @param position the position of the message in its stream.
+     * @param msgSeqNum the MsgSeqNum of the message or {@link GatewayPublication#NO_PRE_PARSED_HEADER}.
+     * @param possDup whether the PossDupFlag or PossResend field of the message is set, if pre-parsed.
+     * @param sendingTime the SendingTime of the message in milliseconds since the Epoch, if pre-parsed.
+     * @return the action to take after handling the message.
+     */
+    default Action onMessage(
+        DirectBuffer buffer,
+        int offset,
+        int length,
+        int libraryId,
+        long connectionId,
+        long sessionId,
+        int sequenceIndex,
+        int messageType,
+        long timestamp,
+        MessageStatus status,
+        long position,
+        int msgSeqNum,
+        boolean possDup,
+        long sendingTime)
+    {
+        return onMessage(
+            buffer,
+            offset,
+            length,
+            libraryId,
+            connectionId,
+            sessionId,
+            sequenceIndex,
+            messageType,
+            timestamp,
+            status,
+            position);
+    }
+
     Action onDisconnect(int libraryId, long connectionId, DisconnectReason reason);
 }
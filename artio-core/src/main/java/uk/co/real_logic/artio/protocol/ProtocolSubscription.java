@@ -20,29 +20,38 @@ import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.messages.DisconnectDecoder;
+import uk.co.real_logic.artio.messages.FixMessageBatchDecoder;
 import uk.co.real_logic.artio.messages.FixMessageDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
+import uk.co.real_logic.artio.messages.PossDup;
 import uk.co.real_logic.artio.messages.ReplicatedMessageDecoder;
 import uk.co.real_logic.artio.replication.ClusterFragmentHandler;
 import uk.co.real_logic.artio.replication.ClusterHeader;
 
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 import static uk.co.real_logic.artio.LogTag.FIX_MESSAGE;
-import static uk.co.real_logic.artio.protocol.GatewayPublication.FRAME_SIZE;
+import static uk.co.real_logic.artio.messages.MessageStatus.OK;
 
 public final class ProtocolSubscription implements ControlledFragmentHandler, ClusterFragmentHandler
 {
     private static final int HEADER_LENGTH = MessageHeaderDecoder.ENCODED_LENGTH;
 
     private static final Action UNKNOWN_TEMPLATE = null;
+    private static final long NO_ABORTED_BATCH = -1;
 
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final DisconnectDecoder disconnect = new DisconnectDecoder();
     private final FixMessageDecoder messageFrame = new FixMessageDecoder();
+    private final FixMessageBatchIterator messageBatch = new FixMessageBatchIterator();
 
     private final ProtocolHandler protocolHandler;
     private final Action defaultAction;
 
+    // A batch that is aborted part way through is redelivered, so we skip the messages that have already been handled.
+    private long abortedBatchPosition = NO_ABORTED_BATCH;
+    private int abortedBatchMessagesHandled;
+
     public static ProtocolSubscription of(final ProtocolHandler protocolHandler)
     {
         return new ProtocolSubscription(protocolHandler, CONTINUE);
@@ -99,6 +108,11 @@ public final class ProtocolSubscription implements ControlledFragmentHandler, Cl
                 return onFixMessage(buffer, offset, blockLength, version, position);
             }
 
+            case FixMessageBatchDecoder.TEMPLATE_ID:
+            {
+                return onFixMessageBatch(buffer, offset, blockLength, version, position);
+            }
+
             case DisconnectDecoder.TEMPLATE_ID:
             {
                 return onDisconnect(buffer, offset, blockLength, version);
@@ -136,7 +150,7 @@ public final class ProtocolSubscription implements ControlledFragmentHandler, Cl
         final int messageLength = messageFrame.bodyLength();
         return protocolHandler.onMessage(
             buffer,
-            offset + FRAME_SIZE,
+            offset + blockLength + FixMessageDecoder.bodyHeaderLength(),
             messageLength,
             messageFrame.libraryId(),
             messageFrame.connection(),
@@ -145,6 +159,64 @@ public final class ProtocolSubscription implements ControlledFragmentHandler, Cl
             messageFrame.messageType(),
             messageFrame.timestamp(),
             messageFrame.status(),
-            position);
+            position,
+            messageFrame.msgSeqNum(),
+            messageFrame.possDup() == PossDup.YES,
+            messageFrame.sendingTime());
+    }
+
+    private Action onFixMessageBatch(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version,
+        final long position)
+    {
+        final FixMessageBatchIterator messageBatch = this.messageBatch.wrap(buffer, offset, blockLength, version);
+        final int libraryId = messageBatch.libraryId();
+        final long connectionId = messageBatch.connection();
+        final long sessionId = messageBatch.session();
+        final int sequenceIndex = messageBatch.sequenceIndex();
+        final long timestamp = messageBatch.timestamp();
+
+        final int alreadyHandled = abortedBatchPosition == position ? abortedBatchMessagesHandled : 0;
+        abortedBatchPosition = NO_ABORTED_BATCH;
+
+        Action batchAction = CONTINUE;
+        while (messageBatch.next())
+        {
+            final int index = messageBatch.index();
+            if (index < alreadyHandled)
+            {
+                continue;
+            }
+
+            final Action action = protocolHandler.onMessage(
+                buffer,
+                messageBatch.messageOffset(),
+                messageBatch.messageLength(),
+                libraryId,
+                connectionId,
+                sessionId,
+                sequenceIndex,
+                messageBatch.messageType(),
+                timestamp,
+                OK,
+                position);
+
+            if (action == ABORT)
+            {
+                abortedBatchPosition = position;
+                abortedBatchMessagesHandled = index;
+                return ABORT;
+            }
+
+            if (action != CONTINUE)
+            {
+                batchAction = action;
+            }
+        }
+
+        return batchAction;
     }
 }
@@ -15,13 +15,16 @@
  */
 package uk.co.real_logic.artio.replication;
 
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.IntHashSet;
+import org.agrona.collections.Long2LongHashMap;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.Pressure;
 import uk.co.real_logic.artio.replication.messages.AcknowledgementStatus;
+import uk.co.real_logic.artio.replication.messages.ReplyVoteDecoder;
 import uk.co.real_logic.artio.replication.messages.Vote;
 
 import java.util.concurrent.atomic.AtomicLong;
@@ -34,7 +37,9 @@ import static uk.co.real_logic.artio.replication.messages.Vote.FOR;
 
 class Candidate implements Role, RaftHandler
 {
-    private final RaftSubscription raftSubscription;
+    static final long NO_POSITION = ReplyVoteDecoder.lastReceivedPositionNullValue();
+
+    private final ControlledFragmentAssembler raftSubscription;
     private final DirectBuffer nodeState;
     private final NodeStateHandler nodeStateHandler;
 
@@ -42,16 +47,20 @@ class Candidate implements Role, RaftHandler
     private final short nodeId;
     private final int sessionId;
     private final ClusterAgent clusterAgent;
-    private final int clusterSize;
+    private int clusterSize;
     private final AcknowledgementStrategy acknowledgementStrategy;
     private final IntHashSet votesFor;
-    private final RandomTimeout voteTimeout;
+    private final Long2LongHashMap voterPositions = new Long2LongHashMap(NO_POSITION);
     private final AtomicLong consensusPosition;
 
+    private RandomTimeout voteTimeout;
+
     private RaftPublication controlPublication;
     private Subscription controlSubscription;
     private long timeInMs;
     private boolean resendRequestVote = false;
+    private IntHashSet learnerNodes = new IntHashSet();
+    private boolean fastFailover;
 
     Candidate(
         final short nodeId,
@@ -73,7 +82,8 @@ class Candidate implements Role, RaftHandler
         this.termState = termState;
         this.consensusPosition = termState.consensusPosition();
         votesFor = new IntHashSet(2 * clusterSize);
-        raftSubscription = new RaftSubscription(DebugRaftHandler.wrap(nodeId, this));
+        raftSubscription = new ControlledFragmentAssembler(
+            new RaftSubscription(DebugRaftHandler.wrap(nodeId, this)));
         this.nodeState = nodeState;
         this.nodeStateHandler = nodeStateHandler;
     }
@@ -150,7 +160,8 @@ class Candidate implements Role, RaftHandler
 
     private long replyVote(final short candidateId, final int leaderShipTerm, final Vote vote)
     {
-        return controlPublication.saveReplyVote(nodeId, candidateId, leaderShipTerm, vote, nodeState);
+        return controlPublication.saveReplyVote(
+            nodeId, candidateId, leaderShipTerm, vote, consensusPosition.get(), nodeState);
     }
 
     public Action onReplyVote(
@@ -158,6 +169,7 @@ class Candidate implements Role, RaftHandler
         final short candidateId,
         final int leaderShipTerm,
         final Vote vote,
+        final long lastReceivedPosition,
         final DirectBuffer nodeStateBuffer,
         final int nodeStateLength,
         final int aeronSessionId)
@@ -175,6 +187,10 @@ class Candidate implements Role, RaftHandler
         {
             // TODO: is it right to keepalive the timeout at this point?
             voteTimeout.onKeepAlive(timeInMs);
+            if (lastReceivedPosition != NO_POSITION)
+            {
+                voterPositions.put(senderNodeId, lastReceivedPosition);
+            }
 
             nodeStateHandler.onNewNodeState(senderNodeId, aeronSessionId, nodeStateBuffer, nodeStateLength);
 
@@ -188,13 +204,30 @@ class Candidate implements Role, RaftHandler
                 return BREAK;
             }
         }
+        else if (fastFailover && isOutpacedBy(candidateId, leaderShipTerm, vote, lastReceivedPosition))
+        {
+            // The voter has a more recent log than us so it can never vote for us, stand down rather than
+            // retrying the election and let a more up to date node win it instead.
+            DebugLogger.log(RAFT, "%d: Standing down in %d, outpaced by %d%n", nodeId, leaderShipTerm, senderNodeId);
+
+            transitionToFollower(leaderShipTerm, NO_ONE, consensusPosition.get(), termState.leaderSessionId().get());
+
+            return BREAK;
+        }
 
         return Action.CONTINUE;
     }
 
+    private boolean isOutpacedBy(
+        final short candidateId, final int leaderShipTerm, final Vote vote, final long lastReceivedPosition)
+    {
+        return candidateId == nodeId && leaderShipTerm == termState.leadershipTerm() && vote == AGAINST &&
+            lastReceivedPosition != NO_POSITION && lastReceivedPosition > consensusPosition.get();
+    }
+
     private boolean countVote(final short senderNodeId)
     {
-        return votesFor.add(senderNodeId);
+        return !learnerNodes.contains(senderNodeId) && votesFor.add(senderNodeId);
     }
 
     private boolean shouldCountVote(final short candidateId, final int leaderShipTerm, final Vote vote)
@@ -267,6 +300,33 @@ class Candidate implements Role, RaftHandler
         return this;
     }
 
+    Candidate learnerNodes(final IntHashSet learnerNodes)
+    {
+        this.learnerNodes = learnerNodes;
+        return this;
+    }
+
+    Candidate fastFailover(final boolean fastFailover, final long heartbeatIntervalInMs)
+    {
+        this.fastFailover = fastFailover;
+        if (fastFailover)
+        {
+            // Vote replies arrive within a heartbeat interval, so there's no need to wait any longer to retry.
+            voteTimeout = new RandomTimeout(heartbeatIntervalInMs, 0);
+        }
+        return this;
+    }
+
+    Long2LongHashMap voterPositions()
+    {
+        return voterPositions;
+    }
+
+    void onLearnerPromoted()
+    {
+        clusterSize++;
+    }
+
     Candidate controlPublication(final RaftPublication controlPublication)
     {
         this.controlPublication = controlPublication;
@@ -282,6 +342,7 @@ class Candidate implements Role, RaftHandler
     private void startElection(final long timeInMs)
     {
         votesFor.clear();
+        voterPositions.clear();
         voteTimeout.onKeepAlive(timeInMs);
         termState.incLeadershipTerm();
         countVote(nodeId); // Vote for yourself
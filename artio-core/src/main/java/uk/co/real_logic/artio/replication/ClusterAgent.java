@@ -19,10 +19,13 @@ import io.aeron.ExclusivePublication;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.IntHashSet;
 import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import uk.co.real_logic.artio.DebugLogger;
+import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.engine.logger.ArchiveReader;
 import uk.co.real_logic.artio.engine.logger.Archiver;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -36,6 +39,7 @@ public class ClusterAgent implements Agent
 {
     private static final int FRAGMENT_LIMIT = 5;
     private static final int HEARTBEAT_TO_TIMEOUT_RATIO = 4;
+    private static final int PROMOTION_CAPACITY = 16;
 
     private final short nodeId;
     private final int ourSessionId;
@@ -53,6 +57,11 @@ public class ClusterAgent implements Agent
     private final Archiver archiver;
     private final ExclusivePublication dataPublication;
     private final RaftArchiver raftArchiver;
+    private final IntHashSet learnerNodes;
+    private final boolean fastFailover;
+    private final ManyToOneConcurrentArrayQueue<PromoteLearnerCommand> promotions =
+        new ManyToOneConcurrentArrayQueue<>(PROMOTION_CAPACITY);
+    private final Consumer<PromoteLearnerCommand> onPromoteLearner = this::onPromoteLearner;
 
     private Role currentRole;
 
@@ -78,11 +87,14 @@ public class ClusterAgent implements Agent
         final long heartbeatTimeInMs = timeoutIntervalInMs / HEARTBEAT_TO_TIMEOUT_RATIO;
         final IntHashSet otherNodes = configuration.otherNodes();
         final int clusterSize = otherNodes.size() + 1;
+        learnerNodes = configuration.learnerNodes();
+        fastFailover = configuration.fastFailover();
         final AcknowledgementStrategy acknowledgementStrategy = configuration.acknowledgementStrategy();
         raftArchiver = new RaftArchiver(termState.leaderSessionId(), archiver);
         final DirectBuffer nodeState = configuration.nodeState();
 
         requireNonNull(otherNodes, "otherNodes");
+        requireNonNull(learnerNodes, "learnerNodes");
         requireNonNull(acknowledgementStrategy, "acknowledgementStrategy");
         requireNonNull(archiver, "archiver");
 
@@ -98,7 +110,9 @@ public class ClusterAgent implements Agent
             agentArchiveReader,
             raftArchiver,
             nodeState,
-            nodeStateHandler);
+            nodeStateHandler)
+            .catchUp(configuration.catchUpChunkSizeInBytes(), configuration.catchUpChunksPerDutyCycle())
+            .learnerNodes(learnerNodes);
 
         candidate = new Candidate(
             nodeId,
@@ -109,7 +123,9 @@ public class ClusterAgent implements Agent
             termState,
             acknowledgementStrategy,
             nodeState,
-            nodeStateHandler);
+            nodeStateHandler)
+            .learnerNodes(learnerNodes)
+            .fastFailover(fastFailover, heartbeatTimeInMs);
 
         follower = new Follower(
             nodeId,
@@ -119,7 +135,12 @@ public class ClusterAgent implements Agent
             termState,
             raftArchiver,
             nodeState,
-            nodeStateHandler);
+            nodeStateHandler)
+            .acknowledgementWindow(
+                configuration.acknowledgementWindowInBytes(),
+                configuration.acknowledgementIntervalInUs(),
+                configuration.nanoClock())
+            .learner(configuration.learner());
 
         transport.initialiseRoles(leader, candidate, follower);
 
@@ -210,6 +231,10 @@ public class ClusterAgent implements Agent
             transport.injectLeaderSubscriptions(leader);
 
             currentRole = leader.getsElected(timeInMs, dataPublication.position());
+            if (fastFailover)
+            {
+                leader.catchUpVoters(candidate.voterPositions());
+            }
 
             onNewLeader();
             roleHandler.onTransitionToLeader(leadershipTerm);
@@ -275,7 +300,7 @@ public class ClusterAgent implements Agent
     {
         final long timeInMs = System.currentTimeMillis();
         final Role role = currentRole;
-        final int commandCount = role.pollCommands(FRAGMENT_LIMIT, timeInMs);
+        final int commandCount = promotions.drain(onPromoteLearner) + role.pollCommands(FRAGMENT_LIMIT, timeInMs);
 
         if (role != currentRole)
         {
@@ -288,6 +313,41 @@ public class ClusterAgent implements Agent
             outboundPipe.poll(FRAGMENT_LIMIT);
     }
 
+    /**
+     * Promotes a learner node into a voting member of the cluster, for example when failing over to a disaster
+     * recovery site. This should be invoked on every node in the cluster, including the learner itself. Can be
+     * called from any thread, the promotion happens on the thread that runs this agent.
+     *
+     * @param learnerId the node id of the learner to promote.
+     * @return the reply object, or null if the request hasn't been successfully enqueued.
+     */
+    public Reply<?> promoteLearner(final short learnerId)
+    {
+        final PromoteLearnerCommand command = new PromoteLearnerCommand(learnerId);
+        if (promotions.offer(command))
+        {
+            return command;
+        }
+
+        return null;
+    }
+
+    private void onPromoteLearner(final PromoteLearnerCommand command)
+    {
+        final short learnerId = command.learnerId();
+        if (learnerId == nodeId)
+        {
+            follower.learner(false);
+        }
+        else if (learnerNodes.remove(learnerId))
+        {
+            leader.onLearnerPromoted(learnerId);
+            candidate.onLearnerPromoted();
+        }
+
+        command.success();
+    }
+
     public boolean isLeader()
     {
         return currentRole == leader;
@@ -20,6 +20,8 @@ import io.aeron.ExclusivePublication;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.IntHashSet;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.engine.logger.ArchiveReader;
 import uk.co.real_logic.artio.engine.logger.Archiver;
@@ -34,6 +36,10 @@ public class ClusterConfiguration
     public static final int DEFAULT_CONTROL_STREAM_ID = 1;
     public static final int DEFAULT_DATA_STREAM_ID = 2;
     public static final int DEFAULT_ACKNOWLEDGEMENT_STREAM_ID = 3;
+    public static final int DEFAULT_ACKNOWLEDGEMENT_WINDOW_IN_BYTES = 0;
+    public static final long DEFAULT_ACKNOWLEDGEMENT_INTERVAL_IN_US = 0;
+    public static final int DEFAULT_CATCH_UP_CHUNK_SIZE_IN_BYTES = 64 * 1024;
+    public static final int DEFAULT_CATCH_UP_CHUNKS_PER_DUTY_CYCLE = 16;
     public static final RoleHandler DEFAULT_NODE_HANDLER = new RoleHandler()
     {
         public void onTransitionToLeader(final int leadershipTerm)
@@ -51,6 +57,9 @@ public class ClusterConfiguration
 
     private short nodeId;
     private IntHashSet otherNodes;
+    private IntHashSet learnerNodes = new IntHashSet();
+    private boolean learner = false;
+    private boolean fastFailover = false;
     private long timeoutIntervalInMs;
 
     private Aeron aeron;
@@ -70,6 +79,11 @@ public class ClusterConfiguration
     private RoleHandler roleHandler = DEFAULT_NODE_HANDLER;
     private String agentNamePrefix = DEFAULT_NAME_PREFIX;
     private boolean printAeronStreamIdentifiers = DEFAULT_PRINT_AERON_STREAM_IDENTIFIERS;
+    private int acknowledgementWindowInBytes = DEFAULT_ACKNOWLEDGEMENT_WINDOW_IN_BYTES;
+    private long acknowledgementIntervalInUs = DEFAULT_ACKNOWLEDGEMENT_INTERVAL_IN_US;
+    private NanoClock nanoClock = new SystemNanoClock();
+    private int catchUpChunkSizeInBytes = DEFAULT_CATCH_UP_CHUNK_SIZE_IN_BYTES;
+    private int catchUpChunksPerDutyCycle = DEFAULT_CATCH_UP_CHUNKS_PER_DUTY_CYCLE;
 
     /**
      * Sets the control, data and acknowledge streams to all this aeron
@@ -116,6 +130,51 @@ public class ClusterConfiguration
         return this;
     }
 
+    /**
+     * Sets the node ids of the learner nodes in this cluster. Learners replicate and archive the leader's data
+     * stream, but they don't vote and their acknowledgements don't count towards the consensus position, so a
+     * slow learner, for example a disaster recovery replica in a remote site, doesn't delay commits. Learner
+     * node ids shouldn't also be in {@link #otherNodes(IntHashSet)}.
+     *
+     * @param learnerNodes the node ids of the learner nodes in the cluster.
+     * @return this
+     * @see ClusterAgent#promoteLearner(short)
+     */
+    public ClusterConfiguration learnerNodes(final IntHashSet learnerNodes)
+    {
+        this.learnerNodes = learnerNodes;
+        return this;
+    }
+
+    /**
+     * Sets whether this node is a learner. A learner never stands for election or votes for other nodes.
+     *
+     * @param learner true if this node is a learner, false otherwise.
+     * @return this
+     * @see #learnerNodes(IntHashSet)
+     */
+    public ClusterConfiguration learner(final boolean learner)
+    {
+        this.learner = learner;
+        return this;
+    }
+
+    /**
+     * Sets whether the cluster should trade some extra election traffic for a shorter outage when the leader fails.
+     * In fast failover mode a candidate retries a failed election after a heartbeat interval rather than a whole
+     * timeout interval, and stands down as soon as it hears from a node with a more recent log, since that node
+     * can never vote for it. Once elected, a new leader starts catching up the nodes that voted for it from the
+     * positions they sent with their votes, rather than waiting for them to report missing log entries.
+     *
+     * @param fastFailover true to enable fast failover, false otherwise.
+     * @return this
+     */
+    public ClusterConfiguration fastFailover(final boolean fastFailover)
+    {
+        this.fastFailover = fastFailover;
+        return this;
+    }
+
     public ClusterConfiguration timeoutIntervalInMs(final long timeoutIntervalInMs)
     {
         this.timeoutIntervalInMs = timeoutIntervalInMs;
@@ -206,6 +265,73 @@ public class ClusterConfiguration
         return this;
     }
 
+    /**
+     * Sets the number of bytes a follower may receive before it has to acknowledge them to the leader.
+     *
+     * Acknowledgements for data received within the window are coalesced into a single acknowledgement,
+     * which reduces acknowledgement traffic and consensus recalculation on the leader at the cost of
+     * delaying the consensus position. A follower always acknowledges outstanding data as soon as it
+     * has nothing more to read, so coalescing only takes effect whilst data is arriving. The default of 0
+     * places no byte bound on the window: acknowledgements are coalesced by time alone if an
+     * acknowledgement interval is set, see {@link #acknowledgementIntervalInUs(long)}, and otherwise
+     * sent after every read.
+     *
+     * @param acknowledgementWindowInBytes the maximum number of unacknowledged bytes.
+     * @return this
+     */
+    public ClusterConfiguration acknowledgementWindowInBytes(final int acknowledgementWindowInBytes)
+    {
+        this.acknowledgementWindowInBytes = acknowledgementWindowInBytes;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time that a follower may delay acknowledging received data whilst coalescing
+     * acknowledgements, see {@link #acknowledgementWindowInBytes(int)}. The interval can be used without a
+     * byte window. The default of 0 places no time bound on the acknowledgement window.
+     *
+     * @param acknowledgementIntervalInUs the maximum time between receiving and acknowledging data.
+     * @return this
+     */
+    public ClusterConfiguration acknowledgementIntervalInUs(final long acknowledgementIntervalInUs)
+    {
+        this.acknowledgementIntervalInUs = acknowledgementIntervalInUs;
+        return this;
+    }
+
+    public ClusterConfiguration nanoClock(final NanoClock nanoClock)
+    {
+        this.nanoClock = nanoClock;
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of a chunk of log entries that the leader resends from its archive to a lagging
+     * follower. Chunks are split on frame boundaries and are also bounded by the maximum payload length of
+     * the control stream.
+     *
+     * @param catchUpChunkSizeInBytes the maximum size of a resent chunk in bytes.
+     * @return this
+     */
+    public ClusterConfiguration catchUpChunkSizeInBytes(final int catchUpChunkSizeInBytes)
+    {
+        this.catchUpChunkSizeInBytes = catchUpChunkSizeInBytes;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of chunks of log entries that the leader resends to each lagging follower per
+     * duty cycle. This bounds how much a catch-up can delay the leader from servicing the live stream.
+     *
+     * @param catchUpChunksPerDutyCycle the maximum number of chunks to resend per duty cycle.
+     * @return this
+     */
+    public ClusterConfiguration catchUpChunksPerDutyCycle(final int catchUpChunksPerDutyCycle)
+    {
+        this.catchUpChunksPerDutyCycle = catchUpChunksPerDutyCycle;
+        return this;
+    }
+
     public StreamIdentifier controlStream()
     {
         return controlStream;
@@ -231,6 +357,21 @@ public class ClusterConfiguration
         return otherNodes;
     }
 
+    public IntHashSet learnerNodes()
+    {
+        return learnerNodes;
+    }
+
+    public boolean learner()
+    {
+        return learner;
+    }
+
+    public boolean fastFailover()
+    {
+        return fastFailover;
+    }
+
     public long timeoutIntervalInMs()
     {
         return timeoutIntervalInMs;
@@ -291,6 +432,31 @@ public class ClusterConfiguration
         return roleHandler;
     }
 
+    public int acknowledgementWindowInBytes()
+    {
+        return acknowledgementWindowInBytes;
+    }
+
+    public long acknowledgementIntervalInUs()
+    {
+        return acknowledgementIntervalInUs;
+    }
+
+    public NanoClock nanoClock()
+    {
+        return nanoClock;
+    }
+
+    public int catchUpChunkSizeInBytes()
+    {
+        return catchUpChunkSizeInBytes;
+    }
+
+    public int catchUpChunksPerDutyCycle()
+    {
+        return catchUpChunksPerDutyCycle;
+    }
+
     public void conclude()
     {
         if (idleStrategy() == null)
@@ -26,6 +26,7 @@ public class ClusterHeader
     private long position;
     private int sessionId;
     private byte flags;
+    private long reservedValue;
 
     ClusterHeader(final int streamId)
     {
@@ -42,11 +43,12 @@ public class ClusterHeader
         return streamId;
     }
 
-    void update(final long position, final int sessionId, final byte flags)
+    void update(final long position, final int sessionId, final byte flags, final long reservedValue)
     {
         this.position = position;
         this.sessionId = sessionId;
         this.flags = flags;
+        this.reservedValue = reservedValue;
     }
 
     // TODO: what does this mean?
@@ -59,4 +61,14 @@ public class ClusterHeader
     {
         return flags;
     }
+
+    /**
+     * Gets the reserved value of the underlying Aeron frame, see {@link ReservedValue} for its layout.
+     *
+     * @return the reserved value of the underlying Aeron frame.
+     */
+    public long reservedValue()
+    {
+        return reservedValue;
+    }
 }
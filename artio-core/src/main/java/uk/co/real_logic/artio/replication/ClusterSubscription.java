@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.artio.replication;
 
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Image;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.ControlledFragmentHandler;
@@ -30,11 +31,8 @@ import uk.co.real_logic.artio.replication.messages.ConsensusHeartbeatDecoder;
 import uk.co.real_logic.artio.replication.messages.MessageHeaderDecoder;
 import uk.co.real_logic.artio.replication.messages.ResendDecoder;
 
-import java.util.PriorityQueue;
-
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.*;
 import static java.lang.Math.max;
-import static java.util.Comparator.comparingLong;
 import static uk.co.real_logic.artio.LogTag.RAFT;
 import static uk.co.real_logic.artio.engine.logger.ArchiveDescriptor.alignTerm;
 import static uk.co.real_logic.artio.replication.ClusterSubscription.Ternary.*;
@@ -51,10 +49,10 @@ public class ClusterSubscription extends ClusterableSubscription
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final ResendDecoder resend = new ResendDecoder();
     private final ConsensusHeartbeatDecoder consensusHeartbeat = new ConsensusHeartbeatDecoder();
-    private final ControlledFragmentHandler onControlMessage = this::onControlMessage;
+    private final ControlledFragmentHandler onControlMessage =
+        new ControlledFragmentAssembler(this::onControlMessage);
     private final ControlledFragmentHandler archiveHandler = this::onArchiveHandler;
-    private final PriorityQueue<FutureAck> futureAcks = new PriorityQueue<>(
-        comparingLong(FutureAck::startPosition));
+    private final FutureAcks futureAcks = new FutureAcks();
 
     private final MessageFilter messageFilter;
     private final Subscription dataSubscription;
@@ -214,7 +212,7 @@ public class ClusterSubscription extends ClusterableSubscription
 
     private Action onArchiveHandler(final DirectBuffer buffer, final int offset, final int length, final Header header)
     {
-        clusterHeader.update(header.position(), header.sessionId(), header.flags());
+        clusterHeader.update(header.position(), header.sessionId(), header.flags(), header.reservedValue());
         return handler.onFragment(buffer, offset, length, clusterHeader);
     }
 
@@ -227,17 +225,22 @@ public class ClusterSubscription extends ClusterableSubscription
 
     Ternary hasMatchingFutureAck()
     {
-        final FutureAck ack = futureAcks.peek();
-        if (ack != null && previousConsensusPosition == ack.startPosition)
+        final FutureAcks futureAcks = this.futureAcks;
+        if (!futureAcks.isEmpty() && previousConsensusPosition == futureAcks.startPosition())
         {
-            futureAcks.poll();
+            final int leaderShipTerm = futureAcks.leaderShipTerm();
+            final int leaderSessionId = futureAcks.leaderSessionId();
+            final long startPosition = futureAcks.startPosition();
+            final long transportStartPosition = futureAcks.transportStartPosition();
+            final long transportPosition = futureAcks.transportPosition();
+            futureAcks.remove();
 
             final boolean success = onSwitchTerms(
-                ack.leaderShipTerm,
-                ack.leaderSessionId,
-                ack.startPosition,
-                ack.transportStartPosition(),
-                ack.transportPosition);
+                leaderShipTerm,
+                leaderSessionId,
+                startPosition,
+                transportStartPosition,
+                transportPosition);
 
             return success ? TRUE : FAILED;
         }
@@ -381,7 +384,8 @@ public class ClusterSubscription extends ClusterableSubscription
 
             // TODO: correct session id
             // TODO: correct header flags
-            clusterHeader.update(position, leaderSessionId, (byte)0);
+            clusterHeader.update(
+                position, leaderSessionId, (byte)0, ReservedValue.ofClusterStreamId(clusterHeader.streamId()));
             action = handler.onFragment(bodyBuffer, bodyOffset, bodyLength, clusterHeader);
             if (action == ABORT)
             {
@@ -471,8 +475,7 @@ public class ClusterSubscription extends ClusterableSubscription
         final long transportStartPosition,
         final long transportPosition)
     {
-        futureAcks.add(new FutureAck(
-            leaderShipTerm, leaderSessionId, transportStartPosition, transportPosition, startPosition));
+        futureAcks.add(leaderShipTerm, leaderSessionId, startPosition, transportStartPosition, transportPosition);
     }
 
     private boolean cannotAdvance()
@@ -520,7 +523,7 @@ public class ClusterSubscription extends ClusterableSubscription
                 if (messageHeader.templateId() != ConsensusHeartbeatDecoder.TEMPLATE_ID)
                 {
                     final long position = transportToReplicated(headerPosition, positionDelta);
-                    clusterHeader.update(position, header.sessionId(), header.flags());
+                    clusterHeader.update(position, header.sessionId(), header.flags(), header.reservedValue());
                     final Action action = handler.onFragment(buffer, offset, length, clusterHeader);
                     if (action != ABORT)
                     {
@@ -535,39 +538,6 @@ public class ClusterSubscription extends ClusterableSubscription
         }
     }
 
-    private final class FutureAck
-    {
-        private final int leaderShipTerm;
-        private final int leaderSessionId;
-        private final long transportPosition;
-        private final long startPosition;
-        private final long transportStartPosition;
-
-        private FutureAck(
-            final int leaderShipTerm,
-            final int leaderSessionId,
-            final long transportStartPosition,
-            final long transportPosition,
-            final long startPosition)
-        {
-            this.leaderShipTerm = leaderShipTerm;
-            this.leaderSessionId = leaderSessionId;
-            this.transportStartPosition = transportStartPosition;
-            this.transportPosition = transportPosition;
-            this.startPosition = startPosition;
-        }
-
-        private long transportStartPosition()
-        {
-            return transportStartPosition;
-        }
-
-        public long startPosition()
-        {
-            return startPosition;
-        }
-    }
-
     long transportPosition()
     {
         return transportConsensusPosition;
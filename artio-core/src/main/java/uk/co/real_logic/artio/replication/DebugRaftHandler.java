@@ -80,21 +80,24 @@ final class DebugRaftHandler implements RaftHandler
         final short candidateId,
         final int leaderShipTerm,
         final Vote vote,
+        final long lastReceivedPosition,
         final DirectBuffer nodeStateBuffer,
         final int nodeStateLength,
         final int sessionId)
     {
         DebugLogger.log(
             RAFT,
-            "%2$d: ReplyVote(senderNodeId=%3$d, candidateId=%4$d, leaderShipTerm=%5$d, %1$s)%n",
+            "%2$d: ReplyVote(senderNodeId=%3$d, candidateId=%4$d, leaderShipTerm=%5$d, " +
+            "lastReceivedPosition=%6$d, %1$s)%n",
             vote,
             this.nodeId,
             senderNodeId,
             candidateId,
-            leaderShipTerm);
+            leaderShipTerm,
+            lastReceivedPosition);
 
         return delegateHandler.onReplyVote(
-            senderNodeId, candidateId, leaderShipTerm, vote,
+            senderNodeId, candidateId, leaderShipTerm, vote, lastReceivedPosition,
             nodeStateBuffer, nodeStateLength, sessionId);
     }
 
@@ -15,14 +15,17 @@
  */
 package uk.co.real_logic.artio.replication;
 
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.NanoClock;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.Pressure;
 import uk.co.real_logic.artio.replication.messages.AcknowledgementStatus;
 import uk.co.real_logic.artio.replication.messages.Vote;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static uk.co.real_logic.artio.LogTag.RAFT;
@@ -36,7 +39,7 @@ class Follower implements Role, RaftHandler
 {
     static final short NO_ONE = -1;
 
-    private final RaftSubscription raftSubscription;
+    private final ControlledFragmentAssembler raftSubscription;
 
     private final short nodeId;
     private final ClusterAgent clusterNode;
@@ -54,6 +57,13 @@ class Follower implements Role, RaftHandler
     private long missingAckedPosition;
     private boolean requiresAcknowledgementResend = false;
 
+    private NanoClock nanoClock;
+    private int acknowledgementWindowInBytes;
+    private long acknowledgementIntervalInNs;
+    private int unacknowledgedBytes;
+    private long firstUnacknowledgedTimeInNs;
+
+    private boolean learner;
     private short votedFor = NO_ONE;
     private long timeInMs;
 
@@ -75,7 +85,8 @@ class Follower implements Role, RaftHandler
         this.nodeState = nodeState;
         this.nodeStateHandler = nodeStateHandler;
         replyTimeout = new RandomTimeout(replyTimeoutInMs, timeInMs);
-        raftSubscription = new RaftSubscription(DebugRaftHandler.wrap(nodeId, this));
+        raftSubscription = new ControlledFragmentAssembler(
+            new RaftSubscription(DebugRaftHandler.wrap(nodeId, this)));
     }
 
     public int pollCommands(final int fragmentLimit, final long timeInMs)
@@ -94,6 +105,14 @@ class Follower implements Role, RaftHandler
     {
         if (replyTimeout.hasTimedOut(timeInMs))
         {
+            if (learner)
+            {
+                // Learners never stand for election, they wait to hear from the next leader.
+                onReplyKeepAlive(timeInMs);
+
+                return 0;
+            }
+
             termState.noLeader();
 
             clusterNode.transitionToCandidate(timeInMs);
@@ -124,15 +143,45 @@ class Follower implements Role, RaftHandler
         }
 
         final int bytesRead = raftArchiver.poll();
-        if (bytesRead > 0 || requiresAcknowledgementResend)
+        if (bytesRead > 0)
         {
             termState.moveReceivedPosition(bytesRead);
+            if (shouldAcknowledge(bytesRead))
+            {
+                saveOkAcknowledgement();
+            }
+        }
+        else if (unacknowledgedBytes > 0 || requiresAcknowledgementResend)
+        {
+            // Nothing more to read, so there's no point in holding back the acknowledgement any longer.
             saveOkAcknowledgement();
         }
 
         return bytesRead;
     }
 
+    private boolean shouldAcknowledge(final int bytesRead)
+    {
+        final long acknowledgementIntervalInNs = this.acknowledgementIntervalInNs;
+        if (unacknowledgedBytes == 0 && acknowledgementIntervalInNs > 0)
+        {
+            firstUnacknowledgedTimeInNs = nanoClock.nanoTime();
+        }
+
+        unacknowledgedBytes += bytesRead;
+
+        if (acknowledgementIntervalInNs > 0 &&
+            nanoClock.nanoTime() - firstUnacknowledgedTimeInNs >= acknowledgementIntervalInNs)
+        {
+            return true;
+        }
+
+        // A window of 0 only coalesces by time when there's an interval, otherwise acknowledge every read
+        final int acknowledgementWindowInBytes = this.acknowledgementWindowInBytes;
+        return acknowledgementWindowInBytes > 0 ?
+            unacknowledgedBytes >= acknowledgementWindowInBytes : acknowledgementIntervalInNs == 0;
+    }
+
     private long saveMessageAcknowledgement(final AcknowledgementStatus status)
     {
         return acknowledgementPublication.saveMessageAcknowledgement(termState.receivedPosition(), nodeId, status);
@@ -157,12 +206,12 @@ class Follower implements Role, RaftHandler
     public Action onRequestVote(
         final short candidateId, final int candidateSessionId, final int leaderShipTerm, final long candidatePosition)
     {
-        // Ignore requests from yourself
-        if (candidateId != this.nodeId)
+        // Ignore requests from yourself, learners don't vote at all
+        if (candidateId != this.nodeId && !learner)
         {
             if (canVoteFor(candidateId) && safeToVote(leaderShipTerm, candidatePosition))
             {
-                if (controlPublication.saveReplyVote(nodeId, candidateId, leaderShipTerm, FOR, nodeState) > 0)
+                if (saveReplyVote(candidateId, leaderShipTerm, FOR) > 0)
                 {
                     votedFor = candidateId;
                     DebugLogger.log(RAFT, "%d: vote for %d in %d%n", nodeId, candidateId, leaderShipTerm);
@@ -177,14 +226,19 @@ class Follower implements Role, RaftHandler
             {
                 DebugLogger.log(RAFT, "%d: vote against %d in %d%n", nodeId, candidateId, leaderShipTerm);
 
-                return Pressure.apply(
-                    controlPublication.saveReplyVote(nodeId, candidateId, leaderShipTerm, AGAINST, nodeState));
+                return Pressure.apply(saveReplyVote(candidateId, leaderShipTerm, AGAINST));
             }
         }
 
         return Action.CONTINUE;
     }
 
+    private long saveReplyVote(final short candidateId, final int leaderShipTerm, final Vote vote)
+    {
+        return controlPublication.saveReplyVote(
+            nodeId, candidateId, leaderShipTerm, vote, termState.receivedPosition(), nodeState);
+    }
+
     private boolean safeToVote(final int leaderShipTerm, final long candidatePosition)
     {
         // Term has to be strictly greater because a follower has already
@@ -203,6 +257,7 @@ class Follower implements Role, RaftHandler
         final short candidateId,
         final int leaderShipTerm,
         final Vote vote,
+        final long lastReceivedPosition,
         final DirectBuffer nodeStateBuffer,
         final int nodeStateLength,
         final int aeronSessionId)
@@ -259,7 +314,11 @@ class Follower implements Role, RaftHandler
             {
                 raftArchiver.patch(bodyBuffer, bodyOffset, bodyLength);
                 termState.moveReceivedPosition(bodyLength);
-                saveOkAcknowledgement();
+                // The leader pipelines catch-up chunks, so acknowledgements for them can be coalesced as well.
+                if (bodyLength == 0 || shouldAcknowledge(bodyLength))
+                {
+                    saveOkAcknowledgement();
+                }
             }
         }
 
@@ -271,6 +330,7 @@ class Follower implements Role, RaftHandler
         requiresAcknowledgementResend = saveMessageAcknowledgement(OK) < 0;
         if (!requiresAcknowledgementResend)
         {
+            unacknowledgedBytes = 0;
             onReplyKeepAlive(timeInMs);
         }
     }
@@ -334,6 +394,21 @@ class Follower implements Role, RaftHandler
         return this;
     }
 
+    Follower acknowledgementWindow(
+        final int acknowledgementWindowInBytes, final long acknowledgementIntervalInUs, final NanoClock nanoClock)
+    {
+        this.acknowledgementWindowInBytes = acknowledgementWindowInBytes;
+        this.acknowledgementIntervalInNs = TimeUnit.MICROSECONDS.toNanos(acknowledgementIntervalInUs);
+        this.nanoClock = nanoClock;
+        return this;
+    }
+
+    Follower learner(final boolean learner)
+    {
+        this.learner = learner;
+        return this;
+    }
+
     Follower votedFor(final short votedFor)
     {
         this.votedFor = votedFor;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.replication;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of consensus heartbeats that have been received ahead of the position a
+ * {@link ClusterSubscription} has reached, ordered by their start position.
+ *
+ * Acks are stored in parallel primitive arrays, so saving and removing them doesn't allocate
+ * unless the heap grows beyond its capacity.
+ */
+class FutureAcks
+{
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private int[] leaderShipTerms;
+    private int[] leaderSessionIds;
+    private long[] startPositions;
+    private long[] transportStartPositions;
+    private long[] transportPositions;
+    private int size;
+
+    FutureAcks()
+    {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    FutureAcks(final int initialCapacity)
+    {
+        leaderShipTerms = new int[initialCapacity];
+        leaderSessionIds = new int[initialCapacity];
+        startPositions = new long[initialCapacity];
+        transportStartPositions = new long[initialCapacity];
+        transportPositions = new long[initialCapacity];
+    }
+
+    void add(
+        final int leaderShipTerm,
+        final int leaderSessionId,
+        final long startPosition,
+        final long transportStartPosition,
+        final long transportPosition)
+    {
+        if (size == startPositions.length)
+        {
+            grow();
+        }
+
+        int index = size++;
+        while (index > 0)
+        {
+            final int parent = (index - 1) >>> 1;
+            if (startPositions[parent] <= startPosition)
+            {
+                break;
+            }
+
+            copy(parent, index);
+            index = parent;
+        }
+
+        set(index, leaderShipTerm, leaderSessionId, startPosition, transportStartPosition, transportPosition);
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    int leaderShipTerm()
+    {
+        return leaderShipTerms[0];
+    }
+
+    int leaderSessionId()
+    {
+        return leaderSessionIds[0];
+    }
+
+    long startPosition()
+    {
+        return startPositions[0];
+    }
+
+    long transportStartPosition()
+    {
+        return transportStartPositions[0];
+    }
+
+    long transportPosition()
+    {
+        return transportPositions[0];
+    }
+
+    /**
+     * Removes the ack with the lowest start position, callers should read its fields first.
+     */
+    void remove()
+    {
+        final int last = --size;
+        if (last == 0)
+        {
+            return;
+        }
+
+        final long startPosition = startPositions[last];
+        int index = 0;
+        int child;
+        while ((child = (index << 1) + 1) < last)
+        {
+            final int right = child + 1;
+            if (right < last && startPositions[right] < startPositions[child])
+            {
+                child = right;
+            }
+
+            if (startPosition <= startPositions[child])
+            {
+                break;
+            }
+
+            copy(child, index);
+            index = child;
+        }
+
+        copy(last, index);
+    }
+
+    private void set(
+        final int index,
+        final int leaderShipTerm,
+        final int leaderSessionId,
+        final long startPosition,
+        final long transportStartPosition,
+        final long transportPosition)
+    {
+        leaderShipTerms[index] = leaderShipTerm;
+        leaderSessionIds[index] = leaderSessionId;
+        startPositions[index] = startPosition;
+        transportStartPositions[index] = transportStartPosition;
+        transportPositions[index] = transportPosition;
+    }
+
+    private void copy(final int from, final int to)
+    {
+        set(
+            to,
+            leaderShipTerms[from],
+            leaderSessionIds[from],
+            startPositions[from],
+            transportStartPositions[from],
+            transportPositions[from]);
+    }
+
+    private void grow()
+    {
+        final int capacity = startPositions.length << 1;
+        leaderShipTerms = Arrays.copyOf(leaderShipTerms, capacity);
+        leaderSessionIds = Arrays.copyOf(leaderSessionIds, capacity);
+        startPositions = Arrays.copyOf(startPositions, capacity);
+        transportStartPositions = Arrays.copyOf(transportStartPositions, capacity);
+        transportPositions = Arrays.copyOf(transportPositions, capacity);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.artio.replication;
 
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.BlockHandler;
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
@@ -33,6 +34,9 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.*;
 import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.artio.engine.logger.ArchiveDescriptor.alignTerm;
 import static uk.co.real_logic.artio.replication.PositionTranslations.replicatedToTransport;
 import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.MISSING_LOG_ENTRIES;
 import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.OK;
@@ -47,15 +51,19 @@ class Leader implements Role, RaftHandler
     private final int ourSessionId;
     private final short nodeId;
     private final AcknowledgementStrategy acknowledgementStrategy;
-    private final RaftSubscription raftSubscription;
+    private final ControlledFragmentAssembler raftSubscription;
     private final ClusterAgent clusterNode;
     private final long heartbeatIntervalInMs;
     private final ArchiveReader archiveReader;
 
     // Counts of how many acknowledgements
     private final Long2LongHashMap nodeToPosition = new Long2LongHashMap(NO_SESSION_ID);
+    // Kept so that a promoted learner counts towards the consensus from the position it has acknowledged
+    private final Long2LongHashMap learnerToPosition = new Long2LongHashMap(0);
     private final List<ResendHandler> resendHandlers = new ArrayList<>();
 
+    private IntHashSet learnerNodes = new IntHashSet();
+
     private ArchiveReader.SessionReader ourArchiveReader;
     private RaftPublication controlPublication;
     private Subscription acknowledgementSubscription;
@@ -82,7 +90,13 @@ class Leader implements Role, RaftHandler
     private long transportPositionDelta;
     private long previousTransportPosition;
 
+    private int catchUpChunkSizeInBytes = ClusterConfiguration.DEFAULT_CATCH_UP_CHUNK_SIZE_IN_BYTES;
+    private int catchUpChunksPerDutyCycle = ClusterConfiguration.DEFAULT_CATCH_UP_CHUNKS_PER_DUTY_CYCLE;
+
     private long nextHeartbeatTimeInMs;
+    // The acked position only changes when a node's position does, so only recompute it then.
+    private boolean positionsChanged = true;
+    private long ackedPosition;
     private long timeInMs;
 
     Leader(
@@ -113,7 +127,9 @@ class Leader implements Role, RaftHandler
 
         followers.forEach(follower -> nodeToPosition.put(follower, 0));
         updateNextHeartbeatTime(timeInMs);
-        raftSubscription = new RaftSubscription(DebugRaftHandler.wrap(nodeId, this));
+        // Resends can be fragmented
+        raftSubscription = new ControlledFragmentAssembler(
+            new RaftSubscription(DebugRaftHandler.wrap(nodeId, this)));
     }
 
     public int readData()
@@ -130,7 +146,7 @@ class Leader implements Role, RaftHandler
         {
             final long transportPosition = raftArchiver.archivedTransportPosition();
             final long replicatedPosition = transportPosition + transportPositionDelta;
-            nodeToPosition.put(nodeId, replicatedPosition);
+            updatePosition(nodeId, replicatedPosition);
         }
 
         return bytesRead;
@@ -138,8 +154,14 @@ class Leader implements Role, RaftHandler
 
     public int checkConditions(final long timeInMs)
     {
-        final int resends = CollectionUtil.removeIf(resendHandlers, ResendHandler::reAttemptResend);
-        final long newPosition = acknowledgementStrategy.findAckedTerm(nodeToPosition);
+        final int resends = CollectionUtil.removeIf(resendHandlers, ResendHandler::resendChunks);
+        if (positionsChanged)
+        {
+            positionsChanged = false;
+            ackedPosition = acknowledgementStrategy.findAckedTerm(nodeToPosition);
+        }
+
+        final long newPosition = ackedPosition;
         final int delta = (int)(newPosition - consensusPosition.get());
         if (delta > 0)
         {
@@ -205,6 +227,14 @@ class Leader implements Role, RaftHandler
         }
     }
 
+    private void updatePosition(final short nodeId, final long position)
+    {
+        if (nodeToPosition.put(nodeId, position) != position)
+        {
+            positionsChanged = true;
+        }
+    }
+
     void updateNextHeartbeatTime(final long timeInMs)
     {
         this.nextHeartbeatTimeInMs = timeInMs + heartbeatIntervalInMs;
@@ -212,38 +242,76 @@ class Leader implements Role, RaftHandler
 
     public Action onMessageAcknowledgement(final long position, final short nodeId, final AcknowledgementStatus status)
     {
+        // Learners get resent missing log entries, but never count towards the consensus position.
         if (status == OK)
         {
-            nodeToPosition.put(nodeId, position);
+            if (learnerNodes.contains(nodeId))
+            {
+                learnerToPosition.put(nodeId, position);
+            }
+            else
+            {
+                updatePosition(nodeId, position);
+            }
         }
 
-        if (status == MISSING_LOG_ENTRIES)
+        if (status == MISSING_LOG_ENTRIES && !catchUp(nodeId, position))
         {
-            final long transportPosition = replicatedToTransport(position, transportPositionDelta);
-            final int length = (int)(raftArchiver.archivedTransportPosition() - transportPosition);
-            if (validateReader())
-            {
-                final ResendHandler resendHandler = new ResendHandler();
-                resendHandler.messageAcknowledgementPosition = position;
-                resendHandler.messageAcknowledgementTransportPosition = transportPosition;
-                final long readPosition = Math.max(transportPosition, HEADER_LENGTH);
-                if (!ourArchiveReader.readBlock(readPosition, length, resendHandler))
-                {
-                    resendHandler.emptyResend();
-                }
+            return ABORT;
+        }
 
-                if (!resendHandler.resendIsComplete())
-                {
-                    resendHandlers.add(resendHandler);
-                }
+        return CONTINUE;
+    }
+
+    private boolean catchUp(final short nodeId, final long position)
+    {
+        if (!validateReader())
+        {
+            return false;
+        }
+
+        final long transportPosition = replicatedToTransport(position, transportPositionDelta);
+        final long endTransportPosition = raftArchiver.archivedTransportPosition();
+        ResendHandler resendHandler = findResendHandler(nodeId);
+        if (resendHandler == null)
+        {
+            resendHandler = new ResendHandler(nodeId);
+            resendHandler.onMissingLogEntries(position, transportPosition, endTransportPosition);
+            if (!resendHandler.resendChunks())
+            {
+                resendHandlers.add(resendHandler);
             }
-            else
+        }
+        else
+        {
+            resendHandler.onMissingLogEntries(position, transportPosition, endTransportPosition);
+        }
+
+        return true;
+    }
+
+    private void catchUpVoter(final long nodeId, final long position)
+    {
+        final long transportPosition = replicatedToTransport(position, transportPositionDelta);
+        if (transportPosition < raftArchiver.archivedTransportPosition())
+        {
+            catchUp((short)nodeId, position);
+        }
+    }
+
+    private ResendHandler findResendHandler(final short nodeId)
+    {
+        final List<ResendHandler> resendHandlers = this.resendHandlers;
+        for (int i = 0, size = resendHandlers.size(); i < size; i++)
+        {
+            final ResendHandler resendHandler = resendHandlers.get(i);
+            if (resendHandler.followerId == nodeId)
             {
-                return ABORT;
+                return resendHandler;
             }
         }
 
-        return CONTINUE;
+        return null;
     }
 
     private boolean validateReader()
@@ -293,7 +361,8 @@ class Leader implements Role, RaftHandler
 
     private boolean replyVote(final short candidateId, final int leaderShipTerm, final Vote against)
     {
-        return controlPublication.saveReplyVote(nodeId, candidateId, leaderShipTerm, against, nodeState) >= 0;
+        return controlPublication.saveReplyVote(
+            nodeId, candidateId, leaderShipTerm, against, lastAppliedPosition, nodeState) >= 0;
     }
 
     public Action onReplyVote(
@@ -301,6 +370,7 @@ class Leader implements Role, RaftHandler
         final short candidateId,
         final int leaderShipTerm,
         final Vote vote,
+        final long lastReceivedPosition,
         final DirectBuffer nodeStateBuffer,
         final int nodeStateLength,
         final int aeronSessionId)
@@ -362,6 +432,7 @@ class Leader implements Role, RaftHandler
         final long currentPosition = consensusPosition.get();
         transportPositionDelta = currentPosition - transportPosition;
         nodeToPosition.put(nodeId, currentPosition);
+        positionsChanged = true;
 
         termState
             .transportPositionDelta(transportPositionDelta)
@@ -376,6 +447,37 @@ class Leader implements Role, RaftHandler
         return this;
     }
 
+    /**
+     * Starts catching up the nodes that voted for us from the positions that they sent with their votes, rather than
+     * waiting for them to follow us and report missing log entries.
+     *
+     * @param voterPositions the last received position of each node that voted for us, keyed by node id. Voters
+     *                       whose position is unknown are absent and get caught up when they report missing entries.
+     */
+    void catchUpVoters(final Long2LongHashMap voterPositions)
+    {
+        voterPositions.longForEach(this::catchUpVoter);
+    }
+
+    Leader learnerNodes(final IntHashSet learnerNodes)
+    {
+        this.learnerNodes = learnerNodes;
+        return this;
+    }
+
+    void onLearnerPromoted(final short learnerId)
+    {
+        nodeToPosition.put(learnerId, learnerToPosition.remove(learnerId));
+        positionsChanged = true;
+    }
+
+    Leader catchUp(final int catchUpChunkSizeInBytes, final int catchUpChunksPerDutyCycle)
+    {
+        this.catchUpChunkSizeInBytes = catchUpChunkSizeInBytes;
+        this.catchUpChunksPerDutyCycle = catchUpChunksPerDutyCycle;
+        return this;
+    }
+
     Leader acknowledgementSubscription(final Subscription acknowledgementSubscription)
     {
         this.acknowledgementSubscription = acknowledgementSubscription;
@@ -401,63 +503,127 @@ class Leader implements Role, RaftHandler
         return this;
     }
 
+    /**
+     * Streams the log entries that a follower is missing out of our archive in frame aligned chunks, sending at most
+     * {@link #catchUpChunksPerDutyCycle} chunks per duty cycle so that a large catch-up doesn't starve the live
+     * stream. Chunks are sent back to back without waiting for the follower to acknowledge each of them.
+     */
     class ResendHandler implements BlockHandler
     {
-        private long messageAcknowledgementPosition;
-        private long messageAcknowledgementTransportPosition;
+        private final short followerId;
 
-        // retry a resend when it gets back pressured
-        private DirectBuffer repeatResendBuffer;
-        private int repeatResendOffset;
-        private int repeatResendLength;
+        private long startPosition;
+        private long resendPosition;
+        private long resendTransportPosition;
+        private long endTransportPosition;
+        private boolean hasSentChunk;
+        private boolean backPressured;
+        private boolean resendIsComplete = true;
 
-        public void onBlock(
-            final DirectBuffer buffer, final int offset, final int length, final int sessionId, final int termId)
+        ResendHandler(final short followerId)
         {
-            saveResend(buffer, offset, length);
+            this.followerId = followerId;
         }
 
-        private void saveResend(final DirectBuffer buffer, final int offset, final int length)
+        void onMissingLogEntries(final long position, final long transportPosition, final long endTransportPosition)
         {
-            if (controlPublication.saveResend(
-                ourSessionId,
-                termState.leadershipTerm(),
-                messageAcknowledgementPosition,
-                messageAcknowledgementTransportPosition,
-                buffer,
-                offset,
-                length) < 0)
+            if (!resendIsComplete && position >= startPosition && position <= resendPosition)
             {
-                repeatResendBuffer = buffer;
-                repeatResendOffset = offset;
-                repeatResendLength = length;
+                // The follower is still consuming chunks that we've already sent, so just extend the catch-up.
+                this.endTransportPosition = Math.max(this.endTransportPosition, endTransportPosition);
+                return;
             }
-            else
+
+            startPosition = position;
+            resendPosition = position;
+            resendTransportPosition = transportPosition;
+            this.endTransportPosition = endTransportPosition;
+            hasSentChunk = false;
+            resendIsComplete = false;
+        }
+
+        public void onBlock(
+            final DirectBuffer buffer, final int offset, final int length, final int sessionId, final int termId)
+        {
+            final int chunkLength = chunkLength(buffer, offset, length);
+            if (saveResend(buffer, offset, chunkLength))
             {
-                repeatResendBuffer = null;
-                repeatResendOffset = 0;
-                repeatResendLength = 0;
+                hasSentChunk = true;
+                resendPosition += chunkLength;
+                resendTransportPosition += chunkLength;
+                resendIsComplete = resendTransportPosition >= endTransportPosition;
             }
         }
 
-        boolean reAttemptResend()
+        // The follower patches each chunk into its archive based upon its first frame header, so only split on
+        // frame boundaries. A first frame that is bigger than a chunk is sent whole and fragmented by the
+        // publication.
+        private int chunkLength(final DirectBuffer buffer, final int offset, final int length)
         {
-            final boolean resendIsComplete = resendIsComplete();
-            if (!resendIsComplete)
+            final int maxChunkLength = Math.min(catchUpChunkSizeInBytes, controlPublication.maxResendBodyLength());
+            if (length <= maxChunkLength)
             {
-                saveResend(repeatResendBuffer, repeatResendOffset, repeatResendLength);
+                return length;
             }
-            return resendIsComplete;
+
+            int chunkLength = 0;
+            while (chunkLength < length)
+            {
+                final int frameLength = buffer.getInt(offset + chunkLength + FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+                final int alignedLength = alignTerm(frameLength);
+                if (frameLength <= 0 || (chunkLength > 0 && chunkLength + alignedLength > maxChunkLength))
+                {
+                    break;
+                }
+
+                chunkLength += alignedLength;
+            }
+
+            return chunkLength > 0 ? Math.min(chunkLength, length) : maxChunkLength;
+        }
+
+        private boolean saveResend(final DirectBuffer buffer, final int offset, final int length)
+        {
+            backPressured = controlPublication.saveResend(
+                ourSessionId,
+                termState.leadershipTerm(),
+                resendPosition,
+                resendTransportPosition,
+                buffer,
+                offset,
+                length) < 0;
+
+            return !backPressured;
         }
 
-        boolean resendIsComplete()
+        boolean resendChunks()
         {
-            return repeatResendBuffer == null;
+            backPressured = false;
+            for (int i = 0; i < catchUpChunksPerDutyCycle && !resendIsComplete && !backPressured; i++)
+            {
+                final long remaining = endTransportPosition - resendTransportPosition;
+                final long readPosition = Math.max(resendTransportPosition, HEADER_LENGTH);
+                if (remaining <= 0 ||
+                    !ourArchiveReader.readBlock(readPosition, (int)Math.min(remaining, Integer.MAX_VALUE), this))
+                {
+                    if (hasSentChunk)
+                    {
+                        // The follower will ask again for anything it's still missing.
+                        resendIsComplete = true;
+                    }
+                    else
+                    {
+                        emptyResend();
+                    }
+                }
+            }
+
+            return resendIsComplete;
         }
 
-        void emptyResend()
+        private void emptyResend()
         {
-            saveResend(EMPTY_BUFFER, 0, 0);
+            resendIsComplete = saveResend(EMPTY_BUFFER, 0, 0);
         }
     }
 }
@@ -30,11 +30,16 @@ import static org.agrona.BitUtil.SIZE_OF_INT;
  * A sequence of session id and position intervals that correspond to leadership terms.
  *
  * This acts as an off-heap archive that does a binary search over the underlying
- * intervals.
+ * intervals. Rows are only ever appended in position order, so the buffer can be a memory
+ * mapped file that is reloaded on restart.
+ *
+ * NB: the engine doesn't maintain or read this index yet, it only tracks the current term through
+ * {@link TermState}. The cursors are for readers that need to look up positions in earlier terms.
  */
 class LeadershipTermIndex
 {
     private static final int NO_HEADER_WRITTEN = 0;
+    private static final int NO_ROW = -1;
 
     private static final int CURRENT_ROW_OFFSET = MessageHeaderEncoder.ENCODED_LENGTH;
     private static final int HEADER_SIZE = CURRENT_ROW_OFFSET + SIZE_OF_INT;
@@ -98,10 +103,10 @@ class LeadershipTermIndex
     {
         final int currentRow = currentRow();
 
-        if (buffer.getInt(currentRow) != 0)
+        if (currentRow > HEADER_SIZE)
         {
             encoder
-                .wrap(buffer, currentRow)
+                .wrap(buffer, currentRow - ROW_SIZE)
                 .finalTransportPosition(finalStreamPositionOfPreviousLeader);
         }
 
@@ -114,40 +119,61 @@ class LeadershipTermIndex
         currentRow(currentRow + ROW_SIZE);
     }
 
+    int rowCount()
+    {
+        return (currentRow() - HEADER_SIZE) / ROW_SIZE;
+    }
+
+    /**
+     * Find the leadership term that a replicated position was written in. The cursor remembers the row that it last
+     * found, so reusing a cursor for reads that move forwards through the log normally avoids the binary search.
+     *
+     * @param position the replicated position to search for.
+     * @param cursor the cursor to store the result in.
+     * @return true if the position was found, false otherwise.
+     */
     boolean find(final long position, final Cursor cursor)
     {
         requireNonNull(cursor, "Cursor cannot be null");
 
-        final MutableDirectBuffer buffer = this.buffer;
-
-        final int currentRow = currentRow();
-        if (currentRow == HEADER_SIZE)
+        final int rowCount = rowCount();
+        if (rowCount == 0)
         {
             return false;
         }
 
+        // Consumers mostly read within a term or across into the next one and live reads are all in the latest
+        // term, so try those rows before searching.
+        final int cachedIndex = cursor.rowIndex;
+        if (cachedIndex != NO_ROW && cachedIndex < rowCount)
+        {
+            if (findInRow(position, cachedIndex, rowCount, cursor) ||
+                (cachedIndex + 1 < rowCount && findInRow(position, cachedIndex + 1, rowCount, cursor)))
+            {
+                return true;
+            }
+        }
+
+        final int lastIndex = rowCount - 1;
+        if (findInRow(position, lastIndex, rowCount, cursor))
+        {
+            return true;
+        }
+
+        final MutableDirectBuffer buffer = this.buffer;
         int minIndex = 0;
-        int maxIndex = (currentRow - HEADER_SIZE) / ROW_SIZE - 1;
+        int maxIndex = lastIndex - 1;
         while (minIndex <= maxIndex)
         {
             final int midIndex = (minIndex + maxIndex) >>> 1;
-            final int midOffset = offset(midIndex);
-            final long startOfMid = initialPosition(buffer, midOffset);
-            final long endOfMid = readEndOfMid(buffer, midOffset);
 
-            if (position < startOfMid)
+            if (position < initialPosition(buffer, offset(midIndex)))
             {
                 maxIndex = midIndex - 1;
             }
-            else if (position < endOfMid)
+            else if (position < endPosition(buffer, midIndex, rowCount))
             {
-                final long termOffset = position - startOfMid;
-
-                final LeadershipTermDecoder decoder =
-                    this.decoder.wrap(buffer, midOffset, actingBlockLength, actingVersion);
-
-                cursor.sessionId = decoder.sessionId();
-                cursor.transportPosition = decoder.initialTransportPosition() + termOffset;
+                fillCursor(position, midIndex, cursor);
 
                 return true;
             }
@@ -160,14 +186,37 @@ class LeadershipTermIndex
         return false;
     }
 
-    private long readEndOfMid(final MutableDirectBuffer buffer, final int midOffset)
+    private boolean findInRow(final long position, final int index, final int rowCount, final Cursor cursor)
     {
-        long endOfMid = initialPosition(buffer, midOffset + ROW_SIZE);
-        if (endOfMid == 0)
+        final MutableDirectBuffer buffer = this.buffer;
+        if (position >= initialPosition(buffer, offset(index)) && position < endPosition(buffer, index, rowCount))
         {
-            endOfMid = Long.MAX_VALUE;
+            fillCursor(position, index, cursor);
+
+            return true;
         }
-        return endOfMid;
+
+        return false;
+    }
+
+    private void fillCursor(final long position, final int index, final Cursor cursor)
+    {
+        final LeadershipTermDecoder decoder =
+            this.decoder.wrap(buffer, offset(index), actingBlockLength, actingVersion);
+        final long initialPosition = decoder.initialPosition();
+        final long initialTransportPosition = decoder.initialTransportPosition();
+
+        cursor.rowIndex = index;
+        cursor.sessionId = decoder.sessionId();
+        cursor.transportPositionDelta = initialPosition - initialTransportPosition;
+        cursor.transportPosition = initialTransportPosition + (position - initialPosition);
+    }
+
+    // A term ends where the next one starts, the latest term is still open.
+    private long endPosition(final MutableDirectBuffer buffer, final int index, final int rowCount)
+    {
+        final int nextIndex = index + 1;
+        return nextIndex < rowCount ? initialPosition(buffer, offset(nextIndex)) : Long.MAX_VALUE;
     }
 
     private long initialPosition(final MutableDirectBuffer buffer, final int offset)
@@ -180,9 +229,15 @@ class LeadershipTermIndex
         return HEADER_SIZE + index * ROW_SIZE;
     }
 
+    /**
+     * The result of a search of the index. Cursors can be reused between searches, and each reader should have its
+     * own one so that it keeps its own cached position in the index.
+     */
     static class Cursor
     {
+        private int rowIndex = NO_ROW;
         private long transportPosition;
+        private long transportPositionDelta;
         private int sessionId;
 
         long transportPosition()
@@ -190,6 +245,12 @@ class LeadershipTermIndex
             return transportPosition;
         }
 
+        // Translates positions within the term that was found, see PositionTranslations
+        long transportPositionDelta()
+        {
+            return transportPositionDelta;
+        }
+
         int sessionId()
         {
             return sessionId;
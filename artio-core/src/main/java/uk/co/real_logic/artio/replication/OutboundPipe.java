@@ -16,17 +16,30 @@
 package uk.co.real_logic.artio.replication;
 
 import io.aeron.ExclusivePublication;
+import io.aeron.ReservedValueSupplier;
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.ExclusiveBufferClaim;
 import org.agrona.DirectBuffer;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 
+/**
+ * Copies committed cluster messages onto a local publication. Messages are copied straight out of the
+ * cluster's term buffers into a claimed region of the publication, retaining the reserved value of the
+ * original frame so that its cluster stream id and checksum survive the copy.
+ */
 class OutboundPipe implements ClusterFragmentHandler
 {
+    private final ExclusiveBufferClaim bufferClaim = new ExclusiveBufferClaim();
     private final ExclusivePublication publication;
     private final ClusterStreams streams;
     private final ClusterableSubscription subscription;
+    private final int maxPayloadLength;
+    private final ReservedValueSupplier reservedValueSupplier =
+        (termBuffer, termOffset, frameLength) -> this.reservedValue;
+
+    private long reservedValue;
 
     OutboundPipe(final ExclusivePublication publication, final ClusterStreams streams)
     {
@@ -34,6 +47,7 @@ class OutboundPipe implements ClusterFragmentHandler
         this.streams = streams;
         this.subscription = publication != null ?
             streams.subscription(publication.streamId(), "outboundPipe") : null;
+        this.maxPayloadLength = publication != null ? publication.maxPayloadLength() : 0;
     }
 
     public int poll(final int fragmentLimit)
@@ -48,12 +62,23 @@ class OutboundPipe implements ClusterFragmentHandler
 
     public Action onFragment(final DirectBuffer buffer, final int offset, final int length, final ClusterHeader header)
     {
-        final long position = publication.offer(buffer, offset, length);
-        if (position < 0)
+        if (length > maxPayloadLength)
+        {
+            // Resent blocks can exceed a single frame, so they need to be fragmented by the publication.
+            reservedValue = header.reservedValue();
+            return publication.offer(buffer, offset, length, reservedValueSupplier) < 0 ? ABORT : CONTINUE;
+        }
+
+        final ExclusiveBufferClaim bufferClaim = this.bufferClaim;
+        if (publication.tryClaim(length, bufferClaim) < 0)
         {
             return ABORT;
         }
 
+        bufferClaim.reservedValue(header.reservedValue());
+        bufferClaim.buffer().putBytes(bufferClaim.offset(), buffer, offset, length);
+        bufferClaim.commit();
+
         return CONTINUE;
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.replication;
+
+import uk.co.real_logic.artio.Reply;
+
+/**
+ * Hands the promotion of a learner over to the thread that runs the {@link ClusterAgent}.
+ */
+final class PromoteLearnerCommand implements Reply<Void>
+{
+    // State written to from the cluster agent's thread, read by any other thread.
+    private volatile State state = State.EXECUTING;
+
+    private final short learnerId;
+
+    PromoteLearnerCommand(final short learnerId)
+    {
+        this.learnerId = learnerId;
+    }
+
+    short learnerId()
+    {
+        return learnerId;
+    }
+
+    void success()
+    {
+        state = State.COMPLETED;
+    }
+
+    public Exception error()
+    {
+        return null;
+    }
+
+    public Void resultIfPresent()
+    {
+        return null;
+    }
+
+    public State state()
+    {
+        return state;
+    }
+}
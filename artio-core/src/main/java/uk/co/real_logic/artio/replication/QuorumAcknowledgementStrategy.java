@@ -17,8 +17,6 @@ package uk.co.real_logic.artio.replication;
 
 import org.agrona.collections.Long2LongHashMap;
 
-import java.util.Arrays;
-
 /**
  * A leaderShipTerm is acknowledged if a quorum of cluster members acknowledge it
  */
@@ -41,7 +39,7 @@ class QuorumAcknowledgementStrategy implements AcknowledgementStrategy
 
         final long[] positions = copyPositions(sessionIdToPosition, size);
 
-        Arrays.sort(positions);
+        sort(positions);
 
         final int quorumPoint = (size % 2 == 0) ? size / 2 - 1 : size / 2;
 
@@ -53,6 +51,22 @@ class QuorumAcknowledgementStrategy implements AcknowledgementStrategy
         return receivedVotes > clusterSize / 2;
     }
 
+    // Clusters are small, so an insertion sort beats the general purpose sort's dispatch overhead.
+    private static void sort(final long[] positions)
+    {
+        for (int i = 1, size = positions.length; i < size; i++)
+        {
+            final long position = positions[i];
+            int j = i - 1;
+            while (j >= 0 && positions[j] > position)
+            {
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            positions[j + 1] = position;
+        }
+    }
+
     private long[] copyPositions(final Long2LongHashMap sessionIdToPosition, final int size)
     {
         long[] positions = this.positions;
@@ -31,6 +31,7 @@ interface RaftHandler
         short candidateId,
         int leaderShipTerm,
         Vote vote,
+        long lastReceivedPosition,
         DirectBuffer nodeStateBuffer,
         int nodeStateLength,
         int aeronSessionId);
@@ -18,6 +18,7 @@ package uk.co.real_logic.artio.replication;
 import io.aeron.ExclusivePublication;
 import io.aeron.logbuffer.ExclusiveBufferClaim;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -46,6 +47,7 @@ class RaftPublication
     private final ReplyVoteEncoder replyVote = new ReplyVoteEncoder();
     private final ConsensusHeartbeatEncoder consensusHeart = new ConsensusHeartbeatEncoder();
     private final ResendEncoder resend = new ResendEncoder();
+    private final ExpandableArrayBuffer fragmentedResendBuffer = new ExpandableArrayBuffer();
 
     private final long maxClaimAttempts;
     private final ExclusivePublication dataPublication;
@@ -136,6 +138,7 @@ class RaftPublication
         final short candidateId,
         final int leaderShipTerm,
         final Vote vote,
+        final long lastReceivedPosition,
         final DirectBuffer nodeState)
     {
         final int nodeStateLength = nodeState.capacity();
@@ -163,6 +166,7 @@ class RaftPublication
             .candidateId(candidateId)
             .leaderShipTerm(leaderShipTerm)
             .vote(vote)
+            .lastReceivedPosition(lastReceivedPosition)
             .putNodeState(nodeState, 0, nodeStateLength);
 
         bufferClaim.commit();
@@ -219,15 +223,45 @@ class RaftPublication
         final int bodyOffset,
         final int bodyLength)
     {
-        final long position = claim(RESEND_BLOCK_LENGTH + bodyLength);
+        final int length = RESEND_BLOCK_LENGTH + bodyLength;
+        if (length > dataPublication.maxPayloadLength())
+        {
+            // Can't claim more than a single frame, so encode it separately and let the publication fragment it.
+            final ExpandableArrayBuffer buffer = fragmentedResendBuffer;
+            buffer.checkLimit(length);
+            putResend(
+                buffer, 0, leaderSessionId, leaderShipTerm, startPosition, transportStartPosition,
+                bodyBuffer, bodyOffset, bodyLength);
+
+            return offer(buffer, length);
+        }
+
+        final long position = claim(length);
         if (position < 0)
         {
             return position;
         }
 
-        final MutableDirectBuffer buffer = bufferClaim.buffer();
-        int offset = bufferClaim.offset();
+        putResend(
+            bufferClaim.buffer(), bufferClaim.offset(), leaderSessionId, leaderShipTerm, startPosition,
+            transportStartPosition, bodyBuffer, bodyOffset, bodyLength);
+
+        bufferClaim.commit();
+
+        return position;
+    }
 
+    private void putResend(
+        final MutableDirectBuffer buffer,
+        final int offset,
+        final int leaderSessionId,
+        final int leaderShipTerm,
+        final long startPosition,
+        final long transportStartPosition,
+        final DirectBuffer bodyBuffer,
+        final int bodyOffset,
+        final int bodyLength)
+    {
         header
             .wrap(buffer, offset)
             .blockLength(resend.sbeBlockLength())
@@ -235,17 +269,43 @@ class RaftPublication
             .schemaId(resend.sbeSchemaId())
             .version(resend.sbeSchemaVersion());
 
-        offset += header.encodedLength();
-
         resend
-            .wrap(buffer, offset)
+            .wrap(buffer, offset + header.encodedLength())
             .leaderSessionId(leaderSessionId)
             .leaderShipTerm(leaderShipTerm)
             .startPosition(startPosition)
             .transportStartPosition(transportStartPosition)
             .putBody(bodyBuffer, bodyOffset, bodyLength);
+    }
 
-        bufferClaim.commit();
+    int maxResendBodyLength()
+    {
+        return dataPublication.maxPayloadLength() - RESEND_BLOCK_LENGTH;
+    }
+
+    private long offer(final DirectBuffer buffer, final int length)
+    {
+        long position;
+        long i = 0;
+        do
+        {
+            position = dataPublication.offer(buffer, 0, length);
+
+            if (position > 0L)
+            {
+                return position;
+            }
+            else
+            {
+                idleStrategy.idle();
+            }
+
+            fails.increment();
+            i++;
+        }
+        while (i <= maxClaimAttempts);
+
+        idleStrategy.reset();
 
         return position;
     }
@@ -83,6 +83,7 @@ class RaftSubscription implements ControlledFragmentHandler
                     replyVote.candidateId(),
                     replyVote.leaderShipTerm(),
                     replyVote.vote(),
+                    replyVote.lastReceivedPosition(),
                     nodeStateBuffer,
                     nodeStateLength,
                     header.sessionId());
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import static uk.co.real_logic.artio.util.AsciiBuffer.SEPARATOR;
+import static uk.co.real_logic.artio.util.MutableAsciiBuffer.lengthInAscii;
+
+/**
+ * A copy of an encoded session message that can be sent again by patching its MsgSeqNum and SendingTime in place,
+ * rather than encoding the whole message again. The BodyLength is unchanged as long as the new values have the same
+ * width as the old ones, otherwise the message has to be encoded again and re-captured. The CheckSum is updated
+ * from the checksum of the bytes that don't change.
+ */
+final class MessageTemplate
+{
+    private static final int CHECKSUM_VALUE_FROM_END = 4;
+
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[0]);
+
+    private int length;
+    private int msgSeqNumOffset;
+    private int msgSeqNumLength;
+    private int sendingTimeOffset;
+    private int sendingTimeLength;
+    private int unpatchedCheckSum;
+
+    /**
+     * Copy an encoded message that will be patched when it's sent again.
+     *
+     * @param srcBuffer the buffer containing the encoded message.
+     * @param offset the offset of the message within srcBuffer.
+     * @param length the length of the message.
+     */
+    void capture(final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        final MutableAsciiBuffer buffer = this.buffer;
+        if (buffer.capacity() < length)
+        {
+            buffer.wrap(new byte[length]);
+        }
+        buffer.putBytes(0, srcBuffer, offset, length);
+
+        msgSeqNumOffset = valueOffset('3', '4', length);
+        sendingTimeOffset = valueOffset('5', '2', length);
+        if (msgSeqNumOffset == -1 || sendingTimeOffset == -1)
+        {
+            invalidate();
+            return;
+        }
+
+        this.length = length;
+        msgSeqNumLength = buffer.scan(msgSeqNumOffset, length - 1, SEPARATOR) - msgSeqNumOffset;
+        sendingTimeLength = buffer.scan(sendingTimeOffset, length - 1, SEPARATOR) - sendingTimeOffset;
+
+        final int checkSumOffset = length - CHECKSUM_VALUE_FROM_END - 3;
+        unpatchedCheckSum =
+            buffer.computeChecksum(0, checkSumOffset) -
+            buffer.computeChecksum(msgSeqNumOffset, msgSeqNumOffset + msgSeqNumLength) -
+            buffer.computeChecksum(sendingTimeOffset, sendingTimeOffset + sendingTimeLength);
+    }
+
+    /**
+     * Patch the message for a new MsgSeqNum and SendingTime.
+     *
+     * @param msgSeqNum the MsgSeqNum of the message.
+     * @param sendingTime the encoded SendingTime of the message.
+     * @param sendingTimeLength the length of the encoded SendingTime.
+     * @return true if the message has been patched, false if it needs to be encoded again.
+     */
+    boolean patch(final int msgSeqNum, final byte[] sendingTime, final int sendingTimeLength)
+    {
+        if (length == 0 || lengthInAscii(msgSeqNum) != msgSeqNumLength || sendingTimeLength != this.sendingTimeLength)
+        {
+            return false;
+        }
+
+        final MutableAsciiBuffer buffer = this.buffer;
+        final int msgSeqNumOffset = this.msgSeqNumOffset;
+        final int msgSeqNumLength = this.msgSeqNumLength;
+        buffer.putNatural(msgSeqNumOffset, msgSeqNumLength, msgSeqNum);
+        buffer.putBytes(sendingTimeOffset, sendingTime, 0, sendingTimeLength);
+
+        int checkSum = unpatchedCheckSum;
+        for (int i = 0; i < msgSeqNumLength; i++)
+        {
+            checkSum += buffer.getByte(msgSeqNumOffset + i);
+        }
+        for (int i = 0; i < sendingTimeLength; i++)
+        {
+            checkSum += sendingTime[i];
+        }
+        buffer.putNatural(length - CHECKSUM_VALUE_FROM_END, 3, checkSum & 0xFF);
+
+        return true;
+    }
+
+    void invalidate()
+    {
+        length = 0;
+    }
+
+    MutableAsciiBuffer buffer()
+    {
+        return buffer;
+    }
+
+    int length()
+    {
+        return length;
+    }
+
+    private int valueOffset(final char firstDigit, final char secondDigit, final int length)
+    {
+        final MutableAsciiBuffer buffer = this.buffer;
+        for (int i = 0, end = length - 3; i < end; i++)
+        {
+            if (buffer.getByte(i) == SEPARATOR &&
+                buffer.getByte(i + 1) == firstDigit &&
+                buffer.getByte(i + 2) == secondDigit &&
+                buffer.getByte(i + 3) == '=')
+            {
+                return i + 4;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -54,6 +54,25 @@ class SenderAndTargetSessionIdStrategy implements SessionIdStrategy
             header.senderCompID(), header.senderCompIDLength());
     }
 
+    public int onAcceptLogonHashCode(final HeaderDecoder header)
+    {
+        requireNonNull(header, "header");
+
+        int result = CodecUtil.hashCode(header.targetCompID(), header.targetCompIDLength());
+        result = 31 * result + CodecUtil.hashCode(header.senderCompID(), header.senderCompIDLength());
+        return result;
+    }
+
+    public boolean onAcceptLogonMatches(final CompositeKey compositeKey, final HeaderDecoder header)
+    {
+        requireNonNull(compositeKey, "compositeKey");
+        requireNonNull(header, "header");
+
+        final CompositeKeyImpl key = (CompositeKeyImpl)compositeKey;
+        return CodecUtil.equals(key.localCompID, header.targetCompID(), header.targetCompIDLength()) &&
+            CodecUtil.equals(key.remoteCompID, header.senderCompID(), header.senderCompIDLength());
+    }
+
     public CompositeKey onInitiateLogon(
         final String localCompId,
         final String localSubId,
@@ -52,6 +52,22 @@ class SenderTargetAndSubSessionIdStrategy implements SessionIdStrategy
             header.senderCompID(), header.senderCompIDLength());
     }
 
+    public int onAcceptLogonHashCode(final HeaderDecoder header)
+    {
+        int result = CodecUtil.hashCode(header.targetCompID(), header.targetCompIDLength());
+        result = 31 * result + CodecUtil.hashCode(header.targetSubID(), header.targetSubIDLength());
+        result = 31 * result + CodecUtil.hashCode(header.senderCompID(), header.senderCompIDLength());
+        return result;
+    }
+
+    public boolean onAcceptLogonMatches(final CompositeKey compositeKey, final HeaderDecoder header)
+    {
+        final CompositeKeyImpl key = (CompositeKeyImpl)compositeKey;
+        return CodecUtil.equals(key.localCompId, header.targetCompID(), header.targetCompIDLength()) &&
+            CodecUtil.equals(key.localSubID, header.targetSubID(), header.targetSubIDLength()) &&
+            CodecUtil.equals(key.remoteCompID, header.senderCompID(), header.senderCompIDLength());
+    }
+
     public CompositeKey onInitiateLogon(
         final String localCompId,
         final String localSubId,
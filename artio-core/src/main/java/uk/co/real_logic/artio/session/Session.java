@@ -19,6 +19,7 @@ import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import org.agrona.DirectBuffer;
 import org.agrona.Verify;
 import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.CommonConfiguration;
 import uk.co.real_logic.artio.Pressure;
@@ -26,6 +27,7 @@ import uk.co.real_logic.artio.builder.Encoder;
 import uk.co.real_logic.artio.builder.HeaderEncoder;
 import uk.co.real_logic.artio.decoder.*;
 import uk.co.real_logic.artio.dictionary.generation.CodecUtil;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
 import uk.co.real_logic.artio.fields.RejectReason;
 import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 import uk.co.real_logic.artio.messages.DisconnectReason;
@@ -102,7 +104,8 @@ public class Session implements AutoCloseable
     private static final char[] TEST_REQ_ID_CHARS = TEST_REQ_ID.toCharArray();
     public static final int NO_LOGOUT_REJECT_REASON = -1;
 
-    private final UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private EpochNanoClock epochNanoClock;
 
     protected final long connectionId;
     protected final SessionIdStrategy sessionIdStrategy;
@@ -397,10 +400,11 @@ public class Session implements AutoCloseable
         validateCanSendMessage();
 
         final int sentSeqNum = newSentSeqNum();
+        final long sendingTime = sendingTimeInFormat();
         final HeaderEncoder header = (HeaderEncoder)encoder.header();
         header
             .msgSeqNum(sentSeqNum)
-            .sendingTime(timestampEncoder.buffer(), timestampEncoder.encode(time()));
+            .sendingTime(timestampEncoder.buffer(), timestampEncoder.update(sendingTime));
 
         if (!header.hasSenderCompID())
         {
@@ -411,7 +415,19 @@ public class Session implements AutoCloseable
         final int length = Encoder.length(result);
         final int offset = Encoder.offset(result);
 
-        return send(asciiBuffer, offset, length, sentSeqNum, encoder.messageType());
+        // The header fields are already known here, so pass them on to save receivers from parsing them
+        final boolean possDup =
+            (header.hasPossDupFlag() && header.possDupFlag()) || (header.hasPossResend() && header.possResend());
+        final long position = publication.saveMessage(
+            asciiBuffer, offset, length, libraryId, encoder.messageType(), id(), sequenceIndex(), connectionId, OK,
+            sentSeqNum, possDup, timestampEncoder.format().toMillis(sendingTime));
+
+        if (position > 0)
+        {
+            lastSentMsgSeqNum(sentSeqNum, position);
+        }
+
+        return position;
     }
 
     /**
@@ -1177,6 +1193,12 @@ public class Session implements AutoCloseable
         return clock.time();
     }
 
+    private long sendingTimeInFormat()
+    {
+        final EpochFractionFormat format = timestampEncoder.format();
+        return format == EpochFractionFormat.MILLISECONDS ? time() : format.fromNanos(epochNanoClock.nanoTime());
+    }
+
     // Also checks the sequence index
     public Session lastReceivedMsgSeqNum(final int value)
     {
@@ -1242,6 +1264,24 @@ public class Session implements AutoCloseable
         return this;
     }
 
+    /**
+     * Sets the precision of the SendingTime field of messages sent on this session, including session messages.
+     *
+     * @param format the precision of the SendingTime field.
+     * @param epochNanoClock the clock used to timestamp messages with a precision higher than milliseconds.
+     * @return this
+     */
+    public Session sendingTimeFormat(final EpochFractionFormat format, final EpochNanoClock epochNanoClock)
+    {
+        Verify.notNull(format, "format");
+        Verify.notNull(epochNanoClock, "epochNanoClock");
+
+        this.epochNanoClock = epochNanoClock;
+        timestampEncoder = new UtcTimestampEncoder(format);
+        proxy.sendingTimeFormat(format, epochNanoClock);
+        return this;
+    }
+
     public Session logonTime(final long logonTime)
     {
         this.logonTime = logonTime;
@@ -58,6 +58,33 @@ public interface SessionIdStrategy
      */
     CompositeKey onAcceptLogon(HeaderDecoder header);
 
+    /**
+     * Computes the hash code of the composite session key that {@link #onAcceptLogon(HeaderDecoder)} would create
+     * for a logon, without creating the key. This lets the engine find an existing session when it receives a logon
+     * without allocating. Implementations should override this if they can avoid creating the key.
+     *
+     * @param header the header of the logon message.
+     * @return the hash code of the composite session key.
+     */
+    default int onAcceptLogonHashCode(final HeaderDecoder header)
+    {
+        return onAcceptLogon(header).hashCode();
+    }
+
+    /**
+     * Checks whether a composite session key is equal to the key that {@link #onAcceptLogon(HeaderDecoder)} would
+     * create for a logon, without creating the key. Implementations should override this if they can avoid
+     * creating the key.
+     *
+     * @param compositeKey an existing composite session key.
+     * @param header the header of the logon message.
+     * @return true if the logon is for the session identified by the composite session key.
+     */
+    default boolean onAcceptLogonMatches(final CompositeKey compositeKey, final HeaderDecoder header)
+    {
+        return compositeKey.equals(onAcceptLogon(header));
+    }
+
     /**
      * Creates the composite session key when you initiate a logon.
      *
@@ -25,6 +25,7 @@ import uk.co.real_logic.artio.decoder.*;
 import uk.co.real_logic.artio.dictionary.generation.CodecUtil;
 import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
 import uk.co.real_logic.artio.messages.SessionState;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 import uk.co.real_logic.artio.validation.MessageValidationStrategy;
@@ -36,9 +37,11 @@ import static uk.co.real_logic.artio.builder.Validation.CODEC_VALIDATION_ENABLED
 import static uk.co.real_logic.artio.builder.Validation.isValidMsgType;
 import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
 import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_LONG;
+import static uk.co.real_logic.artio.dictionary.generation.GenerationUtil.MESSAGE_TYPE_BITSHIFT;
 import static uk.co.real_logic.artio.messages.DisconnectReason.INVALID_FIX_MESSAGE;
 import static uk.co.real_logic.artio.messages.SessionState.AWAITING_LOGOUT;
 import static uk.co.real_logic.artio.messages.SessionState.DISCONNECTED;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.hasPreParsedHeader;
 import static uk.co.real_logic.artio.session.Session.UNKNOWN;
 
 public class SessionParser
@@ -126,6 +129,71 @@ public class SessionParser
         }
     }
 
+    /**
+     * Handle a message whose header fields may have been pre-parsed when it was framed. When codec validation is
+     * disabled application messages with a pre-parsed header are passed on to the session without decoding their
+     * header again, otherwise this is the same as {@link #onMessage(DirectBuffer, int, int, int, long)}.
+     *
+     * @param buffer the buffer containing the message.
+     * @param offset the offset of the message within the buffer.
+     * @param length the length of the message.
+     * @param messageType the packed message type.
+     * @param sessionId the FIX session of the message.
+     * @param msgSeqNum the pre-parsed MsgSeqNum or {@link GatewayPublication#NO_PRE_PARSED_HEADER}.
+     * @param possDup whether the PossDupFlag or PossResend field of the message is set, if pre-parsed.
+     * @param sendingTime the pre-parsed SendingTime of the message in milliseconds since the Epoch.
+     * @return the action to take after handling the message.
+     */
+    public Action onMessage(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int messageType,
+        final long sessionId,
+        final int msgSeqNum,
+        final boolean possDup,
+        final long sendingTime)
+    {
+        if (!CODEC_VALIDATION_ENABLED && hasPreParsedHeader(msgSeqNum) && !isSessionMessage(messageType))
+        {
+            final int msgTypeLength = unpackMsgType(messageType);
+            return session.onMessage(msgSeqNum, msgTypeBuffer, msgTypeLength, sendingTime, UNKNOWN, possDup);
+        }
+
+        return onMessage(buffer, offset, length, messageType, sessionId);
+    }
+
+    private static boolean isSessionMessage(final int messageType)
+    {
+        switch (messageType)
+        {
+            case LogonDecoder.MESSAGE_TYPE:
+            case LogoutDecoder.MESSAGE_TYPE:
+            case HeartbeatDecoder.MESSAGE_TYPE:
+            case RejectDecoder.MESSAGE_TYPE:
+            case TestRequestDecoder.MESSAGE_TYPE:
+            case SequenceResetDecoder.MESSAGE_TYPE:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    private int unpackMsgType(final int messageType)
+    {
+        final byte[] msgTypeBuffer = this.msgTypeBuffer;
+        msgTypeBuffer[0] = (byte)messageType;
+        final byte second = (byte)(messageType >>> MESSAGE_TYPE_BITSHIFT);
+        if (second == 0)
+        {
+            return 1;
+        }
+
+        msgTypeBuffer[1] = second;
+        return 2;
+    }
+
     private Action onHeartbeat(final int offset, final int length)
     {
         final HeartbeatDecoder heartbeat = this.heartbeat;
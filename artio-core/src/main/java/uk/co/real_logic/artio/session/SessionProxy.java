@@ -16,8 +16,10 @@
 package uk.co.real_logic.artio.session;
 
 import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.EpochNanoClock;
 import uk.co.real_logic.artio.builder.*;
 import uk.co.real_logic.artio.decoder.*;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
 import uk.co.real_logic.artio.fields.RejectReason;
 import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 import uk.co.real_logic.artio.messages.DisconnectReason;
@@ -30,6 +32,7 @@ import java.util.List;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
+import static uk.co.real_logic.artio.fields.EpochFractionFormat.MILLISECONDS;
 import static uk.co.real_logic.artio.fields.RejectReason.VALUE_IS_INCORRECT;
 import static uk.co.real_logic.artio.messages.MessageStatus.OK;
 import static uk.co.real_logic.artio.session.Session.LIBRARY_DISCONNECTED;
@@ -76,7 +79,8 @@ public class SessionProxy
         }
     }
 
-    private final UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private EpochNanoClock epochNanoClock;
     private final LogonEncoder logon = new LogonEncoder();
     private final ResendRequestEncoder resendRequest = new ResendRequestEncoder();
     private final LogoutEncoder logout = new LogoutEncoder();
@@ -87,6 +91,9 @@ public class SessionProxy
     private final List<HeaderEncoder> headers = asList(
         logon.header(), resendRequest.header(), logout.header(), heartbeat.header(), reject.header(),
         testRequest.header(), sequenceReset.header());
+    private final MessageTemplate heartbeatTemplate = new MessageTemplate();
+    private final MessageTemplate testRequestTemplate = new MessageTemplate();
+    private String testRequestTemplateId;
 
     private final AsciiFormatter lowSequenceNumber;
     private final MutableAsciiBuffer buffer;
@@ -98,6 +105,7 @@ public class SessionProxy
     private final int libraryId;
     private long sessionId;
     private boolean libraryConnected = true;
+    private long sendingTimeInMs;
 
     public SessionProxy(
         final MutableAsciiBuffer buffer,
@@ -128,10 +136,33 @@ public class SessionProxy
         {
             sessionIdStrategy.setupSession(sessionKey, header);
         }
+        invalidateTemplates();
 
         return this;
     }
 
+    /**
+     * Sets the precision of the SendingTime field of the session messages sent by this proxy.
+     *
+     * @param format the precision of the SendingTime field.
+     * @param epochNanoClock the clock used to timestamp messages with a precision higher than milliseconds.
+     */
+    public void sendingTimeFormat(final EpochFractionFormat format, final EpochNanoClock epochNanoClock)
+    {
+        requireNonNull(format, "format");
+        requireNonNull(epochNanoClock, "epochNanoClock");
+
+        this.epochNanoClock = epochNanoClock;
+        timestampEncoder = new UtcTimestampEncoder(format);
+        invalidateTemplates();
+    }
+
+    private void invalidateTemplates()
+    {
+        heartbeatTemplate.invalidate();
+        testRequestTemplate.invalidate();
+    }
+
     long resendRequest(final int msgSeqNo, final int beginSeqNo, final int endSeqNo, final int sequenceIndex)
     {
         final HeaderEncoder header = resendRequest.header();
@@ -259,18 +290,17 @@ public class SessionProxy
         final int msgSeqNo,
         final int sequenceIndex)
     {
-        final HeaderEncoder header = heartbeat.header();
-        setupHeader(header, msgSeqNo);
-
-        if (testReqId != null)
-        {
-            heartbeat.testReqID(testReqId, testReqIdLength);
-        }
-        else
+        if (testReqId == null)
         {
             heartbeat.resetTestReqID();
+            return sendTemplate(heartbeatTemplate, heartbeat, HeartbeatDecoder.MESSAGE_TYPE, msgSeqNo, sequenceIndex);
         }
 
+        final HeaderEncoder header = heartbeat.header();
+        setupHeader(header, msgSeqNo);
+
+        heartbeat.testReqID(testReqId, testReqIdLength);
+
         return send(heartbeat.encode(buffer, 0), HeartbeatDecoder.MESSAGE_TYPE, sequenceIndex, heartbeat);
     }
 
@@ -343,12 +373,16 @@ public class SessionProxy
 
     public long testRequest(final int msgSeqNo, final CharSequence testReqID, final int sequenceIndex)
     {
-        final HeaderEncoder header = testRequest.header();
-        setupHeader(header, msgSeqNo);
+        if (testRequestTemplateId == null || !testRequestTemplateId.contentEquals(testReqID))
+        {
+            testRequestTemplateId = testReqID.toString();
+            testRequestTemplate.invalidate();
+        }
 
         testRequest.testReqID(testReqID);
 
-        return send(testRequest.encode(buffer, 0), TestRequestDecoder.MESSAGE_TYPE, sequenceIndex, testRequest);
+        return sendTemplate(
+            testRequestTemplate, testRequest, TestRequestDecoder.MESSAGE_TYPE, msgSeqNo, sequenceIndex);
     }
 
     public long sequenceReset(final int msgSeqNo, final int newSeqNo, final int sequenceIndex)
@@ -363,11 +397,54 @@ public class SessionProxy
 
     private void setupHeader(final HeaderEncoder header, final int msgSeqNo)
     {
-        final UtcTimestampEncoder timestampEncoder = this.timestampEncoder;
-        header.sendingTime(timestampEncoder.buffer(), timestampEncoder.update(clock.time()));
+        header.sendingTime(timestampEncoder.buffer(), updateSendingTime());
         header.msgSeqNum(msgSeqNo);
     }
 
+    private int updateSendingTime()
+    {
+        final UtcTimestampEncoder timestampEncoder = this.timestampEncoder;
+        final EpochFractionFormat format = timestampEncoder.format();
+        final long time = format == MILLISECONDS ? clock.time() : format.fromNanos(epochNanoClock.nanoTime());
+        sendingTimeInMs = format.toMillis(time);
+        return timestampEncoder.update(time);
+    }
+
+    // Session level messages that are sent regularly, for example heartbeats from idle sessions, are encoded once
+    // and then only have their MsgSeqNum, SendingTime and CheckSum patched for each subsequent send.
+    private long sendTemplate(
+        final MessageTemplate template,
+        final Encoder encoder,
+        final int messageType,
+        final int msgSeqNo,
+        final int sequenceIndex)
+    {
+        if (!libraryConnected)
+        {
+            return LIBRARY_DISCONNECTED;
+        }
+
+        final UtcTimestampEncoder timestampEncoder = this.timestampEncoder;
+        final int sendingTimeLength = updateSendingTime();
+        if (!template.patch(msgSeqNo, timestampEncoder.buffer(), sendingTimeLength))
+        {
+            final HeaderEncoder header = (HeaderEncoder)encoder.header();
+            header.sendingTime(timestampEncoder.buffer(), sendingTimeLength);
+            header.msgSeqNum(msgSeqNo);
+            final long result = encoder.encode(buffer, 0);
+            template.capture(buffer, Encoder.offset(result), Encoder.length(result));
+            if (template.length() == 0)
+            {
+                return send(result, messageType, sequenceIndex, encoder);
+            }
+        }
+        encoder.resetMessage();
+
+        return gatewayPublication.saveMessage(
+            template.buffer(), 0, template.length(), libraryId, messageType, sessionId, sequenceIndex, connectionId,
+            OK, msgSeqNo, false, sendingTimeInMs);
+    }
+
     private long send(final long result, final int messageType, final int sequenceIndex, final Encoder encoder)
     {
         if (!libraryConnected)
@@ -377,8 +454,12 @@ public class SessionProxy
 
         final int length = Encoder.length(result);
         final int offset = Encoder.offset(result);
+        final HeaderEncoder header = (HeaderEncoder)encoder.header();
+        final boolean possDup =
+            (header.hasPossDupFlag() && header.possDupFlag()) || (header.hasPossResend() && header.possResend());
         final long position = gatewayPublication.saveMessage(
-            buffer, offset, length, libraryId, messageType, sessionId, sequenceIndex, connectionId, OK);
+            buffer, offset, length, libraryId, messageType, sessionId, sequenceIndex, connectionId, OK,
+            header.msgSeqNum(), possDup, sendingTimeInMs);
         encoder.resetMessage();
         return position;
     }
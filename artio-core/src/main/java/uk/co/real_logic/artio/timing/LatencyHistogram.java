@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.timing;
+
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * A coarse latency histogram that is stored as one counter per power of two bucket, so that it lives in the
+ * monitoring file and can be read by another process without any coordination with the recording thread.
+ *
+ * The first bucket counts latencies below 2^{@link #MIN_BUCKET_SHIFT} nanoseconds, each subsequent bucket
+ * doubles the upper bound and the last bucket counts everything that doesn't fit in the others.
+ */
+public final class LatencyHistogram implements AutoCloseable
+{
+    public static final int MIN_BUCKET_SHIFT = 10;
+    public static final int BUCKET_COUNT = 18;
+
+    private static final int LAST_BUCKET = BUCKET_COUNT - 1;
+
+    // Only written to on recording thread
+    private final AtomicCounter[] buckets = new AtomicCounter[BUCKET_COUNT];
+    private final NanoClock clock;
+
+    public LatencyHistogram(final CountersManager countersManager, final String label, final NanoClock clock)
+    {
+        this.clock = clock;
+
+        for (int i = 0; i < LAST_BUCKET; i++)
+        {
+            buckets[i] = countersManager.newCounter(label + " < " + (1L << (MIN_BUCKET_SHIFT + i)) + "ns");
+        }
+        buckets[LAST_BUCKET] = countersManager.newCounter(
+            label + " >= " + (1L << (MIN_BUCKET_SHIFT + LAST_BUCKET - 1)) + "ns");
+    }
+
+    public long recordSince(final long timestamp)
+    {
+        final long time = clock.nanoTime();
+        recordValue(time - timestamp);
+        return time;
+    }
+
+    public void recordValue(final long durationInNs)
+    {
+        buckets[bucketIndex(durationInNs)].incrementOrdered();
+    }
+
+    public long count(final int bucketIndex)
+    {
+        return buckets[bucketIndex].get();
+    }
+
+    static int bucketIndex(final long durationInNs)
+    {
+        if (durationInNs <= 0)
+        {
+            return 0;
+        }
+
+        final int bitLength = Long.SIZE - Long.numberOfLeadingZeros(durationInNs);
+        return Math.max(0, Math.min(LAST_BUCKET, bitLength - MIN_BUCKET_SHIFT));
+    }
+
+    public void close()
+    {
+        for (final AtomicCounter bucket : buckets)
+        {
+            bucket.close();
+        }
+    }
+}
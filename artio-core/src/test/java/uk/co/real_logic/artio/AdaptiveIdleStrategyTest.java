@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static uk.co.real_logic.artio.AdaptiveIdleStrategy.*;
+
+public class AdaptiveIdleStrategyTest
+{
+    private static final long MAX_SPINS = 2;
+    private static final long MAX_YIELDS = 2;
+    private static final long SAMPLE_WINDOW_IN_NS = 100;
+    private static final long HOT_WORK_THRESHOLD = 8;
+    private static final long COLD_WORK_THRESHOLD = 0;
+
+    private long timeInNs = 0;
+
+    private final AdaptiveIdleStrategy idleStrategy = new AdaptiveIdleStrategy(
+        MAX_SPINS, MAX_YIELDS, 1, 4, SAMPLE_WINDOW_IN_NS, HOT_WORK_THRESHOLD, COLD_WORK_THRESHOLD, () -> timeInNs);
+
+    @Test
+    public void shouldBackOffFromSpinningToYieldingToParkingWhenQuiet()
+    {
+        idle(MAX_SPINS);
+        assertEquals(SPINNING, idleStrategy.mode());
+
+        idle(MAX_YIELDS);
+        assertEquals(YIELDING, idleStrategy.mode());
+
+        idle(1);
+        assertEquals(PARKING, idleStrategy.mode());
+    }
+
+    @Test
+    public void shouldKeepSpinningWhenHot()
+    {
+        workForAWindow(1);
+        assertEquals(CLOCK_SAMPLE_INTERVAL / 2, idleStrategy.smoothedWork());
+
+        idle(MAX_SPINS + MAX_YIELDS + 10);
+
+        assertEquals(SPINNING, idleStrategy.mode());
+    }
+
+    @Test
+    public void shouldYieldRatherThanParkUnderModerateLoad()
+    {
+        timeInNs = SAMPLE_WINDOW_IN_NS;
+        idleStrategy.idle(4);
+        idle(MAX_SPINS + 1);
+        assertEquals(2, idleStrategy.smoothedWork());
+
+        idle(MAX_YIELDS + 10);
+
+        assertEquals(YIELDING, idleStrategy.mode());
+    }
+
+    @Test
+    public void shouldDecaySmoothedWorkOverEmptyWindows()
+    {
+        workForAWindow(1);
+
+        timeInNs += 4 * SAMPLE_WINDOW_IN_NS;
+        idle(CLOCK_SAMPLE_INTERVAL);
+
+        assertEquals(CLOCK_SAMPLE_INTERVAL / 2 / 16, idleStrategy.smoothedWork());
+    }
+
+    @Test
+    public void shouldSpinAsSoonAsWorkArrives()
+    {
+        idle(MAX_SPINS + MAX_YIELDS + 1);
+        assertEquals(PARKING, idleStrategy.mode());
+
+        idleStrategy.idle(1);
+
+        assertEquals(SPINNING, idleStrategy.mode());
+    }
+
+    @Test
+    public void shouldSpinAfterReset()
+    {
+        idle(MAX_SPINS + MAX_YIELDS + 1);
+
+        idleStrategy.reset();
+
+        assertEquals(SPINNING, idleStrategy.mode());
+    }
+
+    @Test
+    public void shouldPublishTimeSpentInEachModeAtEndOfWindow()
+    {
+        final AtomicCounter spinningTime = mock(AtomicCounter.class);
+        final AtomicCounter yieldingTime = mock(AtomicCounter.class);
+        final AtomicCounter parkingTime = mock(AtomicCounter.class);
+        idleStrategy.counters(spinningTime, yieldingTime, parkingTime);
+
+        idle(MAX_SPINS);
+        timeInNs = 10;
+        idle(1);
+        timeInNs = 30;
+        idle(1);
+        idle(1);
+        timeInNs = SAMPLE_WINDOW_IN_NS;
+        idle(1);
+
+        assertEquals(10, idleStrategy.timeInModeInNs(SPINNING));
+        assertEquals(20, idleStrategy.timeInModeInNs(YIELDING));
+        assertEquals(70, idleStrategy.timeInModeInNs(PARKING));
+        verify(spinningTime).setOrdered(10);
+        verify(yieldingTime).setOrdered(20);
+        verify(parkingTime).setOrdered(70);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldValidateThresholds()
+    {
+        new AdaptiveIdleStrategy(1, 1, 1, 1, 1, 1, 1, () -> 0);
+    }
+
+    private void workForAWindow(final int workCount)
+    {
+        timeInNs = SAMPLE_WINDOW_IN_NS;
+        for (int i = 0; i < CLOCK_SAMPLE_INTERVAL; i++)
+        {
+            idleStrategy.idle(workCount);
+        }
+    }
+
+    private void idle(final long times)
+    {
+        for (long i = 0; i < times; i++)
+        {
+            idleStrategy.idle();
+        }
+    }
+}
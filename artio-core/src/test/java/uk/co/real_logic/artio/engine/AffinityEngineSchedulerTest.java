@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.ThreadAffinity;
+
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+import static uk.co.real_logic.artio.engine.AffinityAgent.cpuSet;
+
+public class AffinityEngineSchedulerTest
+{
+    private Agent framer = mock(Agent.class);
+    private Agent archivingAgent = mock(Agent.class);
+    private Agent monitoringAgent = mock(Agent.class);
+    private Agent conductorAgent = mock(Agent.class);
+    private Agent hostnameResolver = mock(Agent.class);
+    private EngineConfiguration configuration = mock(EngineConfiguration.class);
+    private ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private FixCounters fixCounters = mock(FixCounters.class);
+    private AtomicCounter framerPlacement = mock(AtomicCounter.class);
+    private AtomicCounter archiverPlacement = mock(AtomicCounter.class);
+    private AtomicCounter monitoringPlacement = mock(AtomicCounter.class);
+    private ThreadAffinity threadAffinity = mock(ThreadAffinity.class);
+
+    @Before
+    public void setUp()
+    {
+        when(framer.roleName()).thenReturn("framer");
+        when(archivingAgent.roleName()).thenReturn("archiver");
+        when(monitoringAgent.roleName()).thenReturn("monitoring");
+        when(hostnameResolver.roleName()).thenReturn("hostname resolver");
+
+        when(configuration.framerIdleStrategy()).thenReturn(new BusySpinIdleStrategy());
+        when(configuration.archiverIdleStrategy()).thenReturn(new BusySpinIdleStrategy());
+
+        when(fixCounters.threadPlacement(eq("Framer"), any())).thenReturn(framerPlacement);
+        when(fixCounters.threadPlacement(eq("Archiver"), any())).thenReturn(archiverPlacement);
+        when(fixCounters.threadPlacement(eq("Monitoring"), any())).thenReturn(monitoringPlacement);
+
+        when(threadAffinity.bind(any())).thenReturn(true);
+    }
+
+    @Test
+    public void shouldBindEachAgentThreadToItsCpus()
+    {
+        try (AffinityEngineScheduler scheduler = new AffinityEngineScheduler(threadAffinity)
+            .framerCpus(1)
+            .archiverCpus(2, 3))
+        {
+            launch(scheduler);
+
+            assertEventuallyTrue(
+                "Failed to bind agent threads",
+                () ->
+                {
+                    verify(threadAffinity).bind(cpuSet(1));
+                    verify(threadAffinity).bind(cpuSet(2, 3));
+                    verify(framerPlacement).setOrdered(1);
+                    verify(archiverPlacement).setOrdered(1);
+                    verify(monitoringPlacement).setOrdered(0);
+                });
+        }
+
+        verify(threadAffinity, times(2)).bind(any());
+    }
+
+    @Test
+    public void shouldReportUnboundThreadsWhenAffinityIsUnsupported()
+    {
+        try (AffinityEngineScheduler scheduler = new AffinityEngineScheduler().framerCpus(1))
+        {
+            launch(scheduler);
+
+            assertEventuallyTrue(
+                "Failed to report placement",
+                () -> verify(framerPlacement).setOrdered(0));
+        }
+    }
+
+    @Test(timeout = 10_000L)
+    public void shouldCloseRunnersWhenLaunchFailsPartWayThrough()
+    {
+        when(hostnameResolver.roleName()).thenReturn(null);
+
+        final AffinityEngineScheduler scheduler = new AffinityEngineScheduler(threadAffinity);
+        try
+        {
+            launch(scheduler);
+            fail("Launch should have failed to name the hostname resolver thread");
+        }
+        catch (final NullPointerException e)
+        {
+            scheduler.close();
+        }
+
+        verify(hostnameResolver).onClose();
+        verify(framer).onClose();
+    }
+
+    private void launch(final AffinityEngineScheduler scheduler)
+    {
+        scheduler.configure(fixCounters);
+        scheduler.launch(
+            configuration,
+            errorHandler,
+            framer,
+            archivingAgent,
+            monitoringAgent,
+            conductorAgent,
+            hostnameResolver);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import io.aeron.Aeron;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class EngineSchedulerTest
+{
+    private Agent framer = mock(Agent.class);
+    private Agent hostnameResolver = mock(Agent.class);
+
+    @Test
+    public void shouldRunHostnameResolverOnFramerThreadForSchedulersWithoutResolverSupport() throws Exception
+    {
+        final LegacyEngineScheduler scheduler = new LegacyEngineScheduler();
+
+        scheduler.launch(
+            mock(EngineConfiguration.class),
+            mock(ErrorHandler.class),
+            framer,
+            mock(Agent.class),
+            mock(Agent.class),
+            null,
+            hostnameResolver);
+
+        scheduler.framer.doWork();
+
+        verify(framer).doWork();
+        verify(hostnameResolver).doWork();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldRejectLaunchIfNoLaunchMethodOverridden()
+    {
+        final EngineScheduler scheduler = new EngineScheduler()
+        {
+            public void close()
+            {
+            }
+
+            public void configure(final Aeron.Context aeronContext)
+            {
+            }
+        };
+
+        scheduler.launch(
+            mock(EngineConfiguration.class),
+            mock(ErrorHandler.class),
+            framer,
+            mock(Agent.class),
+            mock(Agent.class),
+            null,
+            hostnameResolver);
+    }
+
+    private static final class LegacyEngineScheduler implements EngineScheduler
+    {
+        private Agent framer;
+
+        @SuppressWarnings("deprecation")
+        public void launch(
+            final EngineConfiguration configuration,
+            final ErrorHandler errorHandler,
+            final Agent framer,
+            final Agent archivingAgent,
+            final Agent monitoringAgent,
+            final Agent conductorAgent)
+        {
+            this.framer = framer;
+        }
+
+        public void close()
+        {
+        }
+
+        public void configure(final Aeron.Context aeronContext)
+        {
+        }
+    }
+}
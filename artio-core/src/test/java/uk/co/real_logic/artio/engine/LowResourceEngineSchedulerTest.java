@@ -31,6 +31,7 @@ public class LowResourceEngineSchedulerTest
     private Agent monitoringAgent = mock(Agent.class);
     private EngineConfiguration configuration = mock(EngineConfiguration.class);
     private Agent conductorAgent = mock(Agent.class);
+    private Agent hostnameResolver = mock(Agent.class);
     private ErrorHandler mockErrorHandler = mock(ErrorHandler.class);
 
     @Test
@@ -47,7 +48,8 @@ public class LowResourceEngineSchedulerTest
                 framer,
                 archivingAgent,
                 monitoringAgent,
-                conductorAgent);
+                conductorAgent,
+                hostnameResolver);
 
             assertEventuallyTrue(
                 "Failed to invoke monitoring agent",
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class AdmissionControlTest
+{
+    private static final String PRIORITISED_COMP_ID = "PRIORITY";
+
+    private final AtomicCounter deferredAccepts = mock(AtomicCounter.class);
+    private final AtomicCounter deferredLogons = mock(AtomicCounter.class);
+    private final AtomicCounter pendingLogons = mock(AtomicCounter.class);
+
+    private final AdmissionControl admissionControl = new AdmissionControl(
+        2, 1, 3, new String[]{ PRIORITISED_COMP_ID }, deferredAccepts, deferredLogons, pendingLogons);
+
+    @Test
+    public void shouldLimitAcceptsPerDutyCycle()
+    {
+        assertTrue(admissionControl.canAccept());
+        admissionControl.onAccept();
+        assertTrue(admissionControl.canAccept());
+        admissionControl.onAccept();
+        assertFalse(admissionControl.canAccept());
+
+        admissionControl.onDutyCycle();
+
+        assertTrue(admissionControl.canAccept());
+        verifyNoMoreInteractions(deferredAccepts);
+    }
+
+    @Test
+    public void shouldDeferAcceptsWhilstTooManyLogonsArePending()
+    {
+        logonsPending(3);
+
+        assertFalse(admissionControl.canAccept());
+        admissionControl.onDutyCycle();
+        assertFalse(admissionControl.canAccept());
+        verify(deferredAccepts).increment();
+
+        admissionControl.onLogonNoLongerPending();
+
+        assertTrue(admissionControl.canAccept());
+        assertEquals(2, admissionControl.pendingLogons());
+        verify(pendingLogons, times(2)).setOrdered(2);
+    }
+
+    @Test
+    public void shouldLimitLogonsPerDutyCycle()
+    {
+        assertTrue(admissionControl.admitLogon(header("OTHER"), false));
+        assertFalse(admissionControl.admitLogon(header("OTHER"), false));
+
+        admissionControl.onDutyCycle();
+
+        assertTrue(admissionControl.admitLogon(header("OTHER"), false));
+    }
+
+    @Test
+    public void shouldRefuseNewLogonsWhilstDeferredLogonsAreWaiting()
+    {
+        admissionControl.deferLogon(deferredEndPoint(1), false);
+
+        assertFalse(admissionControl.admitLogon(header("OTHER"), false));
+        assertTrue(admissionControl.admitLogon(header(PRIORITISED_COMP_ID), false));
+    }
+
+    @Test
+    public void shouldCountEachDeferredLogonOnce()
+    {
+        final ReceiverEndPoint endPoint = deferredEndPoint(1);
+        admissionControl.deferLogon(endPoint, false);
+        admissionControl.deferLogon(endPoint, true);
+
+        verify(deferredLogons).increment();
+    }
+
+    @Test
+    public void shouldAlwaysAdmitPrioritisedCompIds()
+    {
+        assertTrue(admissionControl.admitLogon(header("OTHER"), false));
+        assertTrue(admissionControl.admitLogon(header(PRIORITISED_COMP_ID), false));
+        assertTrue(admissionControl.admitLogon(header(PRIORITISED_COMP_ID), false));
+        verifyNoMoreInteractions(deferredLogons);
+    }
+
+    @Test
+    public void shouldRetryDeferredLogonsOldestFirstWithinBudget()
+    {
+        final ReceiverEndPoint first = deferredEndPoint(5);
+        final ReceiverEndPoint second = deferredEndPoint(7);
+        admissionControl.deferLogon(first, false);
+        admissionControl.deferLogon(second, false);
+
+        assertEquals(5, admissionControl.pollDeferredLogons());
+        verify(second, never()).retryDeferredLogon();
+
+        admissionControl.onDutyCycle();
+
+        assertEquals(7, admissionControl.pollDeferredLogons());
+    }
+
+    private ReceiverEndPoint deferredEndPoint(final int work)
+    {
+        final ReceiverEndPoint endPoint = mock(ReceiverEndPoint.class);
+        when(endPoint.hasDeferredLogon()).thenReturn(true);
+        when(endPoint.retryDeferredLogon()).thenAnswer(
+            (inv) ->
+            {
+                admissionControl.admitLogon(header("OTHER"), true);
+                return work;
+            });
+        return endPoint;
+    }
+
+    private void logonsPending(final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            admissionControl.onLogonPending();
+        }
+    }
+
+    private static HeaderDecoder header(final String senderCompId)
+    {
+        final HeaderDecoder header = mock(HeaderDecoder.class);
+        when(header.senderCompID()).thenReturn(senderCompId.toCharArray());
+        when(header.senderCompIDLength()).thenReturn(senderCompId.length());
+        return header;
+    }
+}
@@ -24,6 +24,9 @@ import org.agrona.LangUtil;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.AgentInvoker;
 import org.agrona.concurrent.QueuedPipe;
+import org.agrona.concurrent.SystemEpochClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.After;
@@ -59,6 +62,7 @@ import java.util.concurrent.TimeUnit;
 import static io.aeron.Publication.BACK_PRESSURED;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static io.aeron.protocol.DataHeaderFlyweight.*;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.*;
@@ -100,7 +104,10 @@ public class FramerTest
     private final EndPointFactory mockEndPointFactory = mock(EndPointFactory.class);
     private final GatewayPublication inboundPublication = mock(GatewayPublication.class);
     private final SessionIdStrategy mockSessionIdStrategy = mock(SessionIdStrategy.class);
-    private final Header header = mock(Header.class);
+    private final HostnameResolver hostnameResolver = new HostnameResolver(
+        AddressResolver.DEFAULT, new SystemEpochClock(), 1_000, 16, 16, DEFAULT_NAME_PREFIX);
+    private final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[HEADER_LENGTH]);
+    private final Header header = new Header(0, 16);
     private final FakeEpochClock mockClock = new FakeEpochClock();
     private final SequenceNumberIndexReader sentSequenceNumberIndex = mock(SequenceNumberIndexReader.class);
     private final SequenceNumberIndexReader receivedSequenceNumberIndex = mock(SequenceNumberIndexReader.class);
@@ -138,6 +145,9 @@ public class FramerTest
     @SuppressWarnings("unchecked")
     public void setUp() throws IOException
     {
+        header.buffer(headerBuffer);
+        header.offset(0);
+
         server = ServerSocketChannel.open().bind(TEST_ADDRESS);
         server.configureBlocking(false);
 
@@ -190,6 +200,9 @@ public class FramerTest
             sentSequenceNumberIndex,
             receivedSequenceNumberIndex,
             gatewaySessions,
+            new AdmissionControl(
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, new String[0],
+                mock(AtomicCounter.class), mock(AtomicCounter.class), mock(AtomicCounter.class)),
             errorHandler,
             mock(EngineDescriptorStore.class),
             new LongHashSet(),
@@ -198,7 +211,8 @@ public class FramerTest
             mock(CompletionPosition.class),
             mock(CompletionPosition.class),
             finalImagePositions,
-            mock(AgentInvoker.class));
+            mock(AgentInvoker.class),
+            hostnameResolver);
 
         when(sessionContexts.onLogon(any())).thenReturn(new SessionContext(SESSION_ID,
             SessionContext.UNKNOWN_SEQUENCE_INDEX,
@@ -328,6 +342,7 @@ public class FramerTest
         try
         {
             framer.doWork();
+            hostnameResolver.doWork();
         }
         catch (final Exception ex)
         {
@@ -416,13 +431,13 @@ public class FramerTest
 
         assertEquals(CONTINUE, onInitiateConnection());
 
-        // Requires 4 steps to complete
-        framer.doWork();
-        framer.doWork();
-        framer.doWork();
-        framer.doWork();
-
-        notifyLibraryOfConnection(times(2));
+        // Hostname resolution completes asynchronously, then requires 4 steps to complete
+        assertEventuallyTrue("Never retried notifying the library",
+            () ->
+            {
+                doWork();
+                notifyLibraryOfConnection(times(2));
+            });
     }
 
     @Test
@@ -444,8 +459,10 @@ public class FramerTest
 
     private void setupHeader()
     {
-        when(header.sessionId()).thenReturn(AERON_SESSION_ID);
-        when(header.position()).thenReturn(POSITION);
+        // Header is a flyweight with final methods, so it's wrapped around an encoded data frame header
+        headerBuffer.putInt(FRAME_LENGTH_FIELD_OFFSET, HEADER_LENGTH);
+        headerBuffer.putInt(TERM_OFFSET_FIELD_OFFSET, (int)POSITION - HEADER_LENGTH);
+        headerBuffer.putInt(SESSION_ID_FIELD_OFFSET, AERON_SESSION_ID);
     }
 
     @Test
@@ -826,11 +843,16 @@ public class FramerTest
 
         do
         {
-            framer.doWork();
+            doWork();
         }
         while (server.accept() == null);
 
-        assertNotNull("Connection not completed yet", connectionId.getValue());
+        assertEventuallyTrue("Connection not completed yet",
+            () ->
+            {
+                doWork();
+                return !connectionId.getAllValues().isEmpty();
+            });
     }
 
     private Action onInitiateConnection()
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.*;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+
+public class HostnameResolverTest
+{
+    private static final String HOST = "fix.example.com";
+    private static final String UNKNOWN_HOST = "unknown.example.com";
+    private static final int PORT = 9999;
+    private static final long LOOKUP_DELAY_IN_MS = 200;
+    private static final long CACHE_TIMEOUT_IN_MS = 1_000;
+    private static final int CACHE_SIZE = 2;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final FakeEpochClock clock = new FakeEpochClock();
+    private final List<HostnameResolver.Request> results = new ArrayList<>();
+    private final HostnameResolver resolver = new HostnameResolver(
+        this::slowResolve, clock, CACHE_TIMEOUT_IN_MS, CACHE_SIZE, 4, "test-");
+
+    private AgentRunner runner;
+
+    @After
+    public void tearDown()
+    {
+        if (runner != null)
+        {
+            runner.close();
+        }
+    }
+
+    @Test
+    public void shouldNotBlockWhilstResolving()
+    {
+        runner = new AgentRunner(new YieldingIdleStrategy(), Throwable::printStackTrace, null, resolver);
+        AgentRunner.startOnThread(runner);
+
+        final long startInNs = System.nanoTime();
+        assertTrue(resolver.resolve(request(HOST)));
+        final long resolveTimeInMs = (System.nanoTime() - startInNs) / 1_000_000;
+        assertTrue("Blocked for " + resolveTimeInMs + "ms", resolveTimeInMs < LOOKUP_DELAY_IN_MS);
+
+        assertEventuallyTrue("Never resolved", () -> resolver.poll(results::add) > 0);
+        assertResolved(results.get(0));
+    }
+
+    @Test
+    public void shouldReuseCachedAddress()
+    {
+        resolve(HOST);
+        clock.advanceMilliSeconds(CACHE_TIMEOUT_IN_MS - 1);
+        resolve(HOST);
+
+        assertEquals(1, lookups.get());
+        assertResolved(results.get(0));
+        assertResolved(results.get(1));
+    }
+
+    @Test
+    public void shouldLookupAddressAgainOnceCacheTimesOut()
+    {
+        resolve(HOST);
+        clock.advanceMilliSeconds(CACHE_TIMEOUT_IN_MS);
+        resolve(HOST);
+
+        assertEquals(2, lookups.get());
+        assertResolved(results.get(1));
+    }
+
+    @Test
+    public void shouldBoundCachedHosts()
+    {
+        resolve("a.example.com");
+        clock.advanceMilliSeconds(1);
+        resolve("b.example.com");
+        clock.advanceMilliSeconds(1);
+        resolve("c.example.com");
+
+        assertEquals(CACHE_SIZE, resolver.cachedHosts());
+
+        resolve("b.example.com");
+        assertEquals(3, lookups.get());
+
+        resolve("a.example.com");
+        assertEquals(4, lookups.get());
+    }
+
+    @Test
+    public void shouldEvictAllExpiredHostsWhenFull()
+    {
+        resolve("a.example.com");
+        resolve("b.example.com");
+        clock.advanceMilliSeconds(CACHE_TIMEOUT_IN_MS);
+        resolve("c.example.com");
+
+        assertEquals(1, resolver.cachedHosts());
+    }
+
+    @Test
+    public void shouldReportUnknownHosts()
+    {
+        resolve(UNKNOWN_HOST);
+
+        final HostnameResolver.Request result = results.get(0);
+        assertNull(result.address);
+        assertThat(result.exception, instanceOf(UnknownHostException.class));
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenFull()
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(resolver.hasCapacity());
+            assertTrue(resolver.resolve(request(HOST)));
+        }
+
+        assertFalse(resolver.hasCapacity());
+        assertFalse(resolver.resolve(request(HOST)));
+    }
+
+    private void resolve(final String host)
+    {
+        assertTrue(resolver.resolve(request(host)));
+        assertEquals(1, resolver.doWork());
+        assertEquals(1, resolver.poll(results::add));
+    }
+
+    private HostnameResolver.Request request(final String host)
+    {
+        final HostnameResolver.Request request = new HostnameResolver.Request();
+        request.host = host;
+        request.port = PORT;
+        return request;
+    }
+
+    private void assertResolved(final HostnameResolver.Request result)
+    {
+        assertNull(result.exception);
+        assertEquals(InetAddress.getLoopbackAddress(), result.address.getAddress());
+        assertEquals(PORT, result.address.getPort());
+    }
+
+    private InetAddress slowResolve(final String host) throws UnknownHostException
+    {
+        lookups.incrementAndGet();
+        try
+        {
+            Thread.sleep(LOOKUP_DELAY_IN_MS);
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (UNKNOWN_HOST.equals(host))
+        {
+            throw new UnknownHostException(host);
+        }
+
+        return InetAddress.getLoopbackAddress();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+import static uk.co.real_logic.artio.engine.framer.ReceiveBufferPool.MIN_BUFFER_SIZE;
+
+public class ReceiveBufferPoolTest
+{
+    private static final int MAX_BUFFER_SIZE = 6 * 1024;
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[CountersReader.METADATA_LENGTH * 2]),
+        new UnsafeBuffer(new byte[CountersReader.COUNTER_LENGTH * 2]));
+    private final AtomicCounter buffersInUse = countersManager.newCounter("buffers");
+    private final AtomicCounter bytesInUse = countersManager.newCounter("bytes");
+    private final ReceiveBufferPool pool = new ReceiveBufferPool(MAX_BUFFER_SIZE, buffersInUse, bytesInUse);
+
+    @Test
+    public void shouldAcquireBuffersOfAtLeastTheMinimumSize()
+    {
+        assertEquals(MIN_BUFFER_SIZE, pool.acquire(1).capacity());
+        assertEquals(MIN_BUFFER_SIZE, pool.acquire(MIN_BUFFER_SIZE).capacity());
+    }
+
+    @Test
+    public void shouldRoundBuffersUpToTheNextSizeClass()
+    {
+        assertEquals(2 * MIN_BUFFER_SIZE, pool.acquire(MIN_BUFFER_SIZE + 1).capacity());
+        assertEquals(4 * MIN_BUFFER_SIZE, pool.acquire(3 * MIN_BUFFER_SIZE).capacity());
+    }
+
+    @Test
+    public void shouldLimitBuffersToTheMaximumSize()
+    {
+        assertEquals(MAX_BUFFER_SIZE, pool.acquire(5 * MIN_BUFFER_SIZE).capacity());
+        assertEquals(MAX_BUFFER_SIZE, pool.acquire(2 * MAX_BUFFER_SIZE).capacity());
+    }
+
+    @Test
+    public void shouldReuseReleasedBuffersOfTheSameSizeClass()
+    {
+        final ByteBuffer buffer = pool.acquire(MIN_BUFFER_SIZE);
+        buffer.put((byte)1);
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(2 * MIN_BUFFER_SIZE));
+
+        final ByteBuffer reusedBuffer = pool.acquire(MIN_BUFFER_SIZE / 2);
+        assertSame(buffer, reusedBuffer);
+        assertEquals(0, reusedBuffer.position());
+    }
+
+    @Test
+    public void shouldCountBuffersInUse()
+    {
+        final ByteBuffer buffer = pool.acquire(MIN_BUFFER_SIZE);
+        pool.acquire(2 * MIN_BUFFER_SIZE);
+
+        assertEquals(2, buffersInUse.get());
+        assertEquals(3 * MIN_BUFFER_SIZE, bytesInUse.get());
+
+        pool.release(buffer);
+
+        assertEquals(1, buffersInUse.get());
+        assertEquals(2 * MIN_BUFFER_SIZE, bytesInUse.get());
+        assertEquals(1, pool.pooledBufferCount());
+    }
+
+    @Test
+    public void shouldClearScratchBuffer()
+    {
+        final ByteBuffer scratchBuffer = pool.scratchBuffer();
+        scratchBuffer.put((byte)1);
+
+        assertSame(scratchBuffer, pool.scratchBuffer());
+        assertEquals(0, scratchBuffer.position());
+        assertEquals(MAX_BUFFER_SIZE, scratchBuffer.capacity());
+        assertTrue(pool.isScratchBuffer(scratchBuffer));
+    }
+}
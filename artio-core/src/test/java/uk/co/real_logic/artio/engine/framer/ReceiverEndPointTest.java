@@ -19,13 +19,18 @@ import org.agrona.ErrorHandler;
 import org.agrona.LangUtil;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.verification.VerificationMode;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
 import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
 import uk.co.real_logic.artio.messages.*;
@@ -59,6 +64,7 @@ public class ReceiverEndPointTest
     private static final long POSITION = 1024L;
     private static final int BUFFER_SIZE = 16 * 1024;
     private static final int SEQUENCE_INDEX = 0;
+    private static final long EG_MESSAGE_SENDING_TIME = 1237822829000L; // 20090323-15:40:29
 
     private TcpChannel mockChannel = mock(TcpChannel.class);
     private GatewayPublication libraryPublication = mock(GatewayPublication.class);
@@ -75,15 +81,21 @@ public class ReceiverEndPointTest
     private final AuthenticationResult authenticationResult = AuthenticationResult.authenticatedSession(
         gatewaySession, 1, 1);
     private GatewaySessions mockGatewaySessions = mock(GatewaySessions.class);
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[CountersReader.METADATA_LENGTH * 2]),
+        new UnsafeBuffer(new byte[CountersReader.COUNTER_LENGTH * 2]));
+    private final AtomicCounter receiveBuffersInUse = countersManager.newCounter("buffers");
+    private final AtomicCounter receiveBufferBytesInUse = countersManager.newCounter("bytes");
+    private final ReceiveBufferPool receiveBufferPool = new ReceiveBufferPool(
+        BUFFER_SIZE, receiveBuffersInUse, receiveBufferBytesInUse);
+    private AdmissionControl admissionControl = new AdmissionControl(
+        Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, new String[0],
+        mock(AtomicCounter.class), mock(AtomicCounter.class), mock(AtomicCounter.class));
     private CompositeKey sessionKey = SessionIdStrategy
         .senderAndTarget()
         .onInitiateLogon("ACCEPTOR", "", "", "INIATOR", "", "");
 
-    private ReceiverEndPoint endPoint = new ReceiverEndPoint(
-        mockChannel, BUFFER_SIZE, libraryPublication, clusterablePublication,
-        CONNECTION_ID, UNKNOWN, SEQUENCE_INDEX, mockSessionContexts,
-        sentSequenceNumbers, receivedSequenceNumbers, messagesRead, framer, errorHandler, LIBRARY_ID,
-        DETERMINE_AT_LOGON, ConnectionType.ACCEPTOR, replicatedConnectionIds, mockGatewaySessions);
+    private ReceiverEndPoint endPoint = new EndPointBuilder().build();
 
     @Before
     public void setUp()
@@ -365,6 +377,248 @@ public class ReceiverEndPointTest
         sessionReceivesTwoMessages();
     }
 
+    @Test
+    public void shouldBatchTwoCompleteFixMessagesInOnePacket()
+    {
+        givenABatchingEndPoint();
+
+        theEndpointReceivesTwoCompleteMessages();
+        endPoint.pollForData();
+
+        savesABatchOfTwoMessages(times(1));
+        savesFramedMessages(0, OK, MSG_LEN);
+
+        sessionReceivesTwoMessages();
+    }
+
+    @Test
+    public void shouldBatchTwoCompleteFixMessagesInOnePacketWhenBackpressured()
+    {
+        givenABatchingEndPoint();
+        when(libraryPublication.saveMessageBatch(
+            anyBuffer(), anyInt(), any(), any(), anyInt(), anyInt(), anyLong(), anyInt(), anyLong()))
+            .thenReturn(BACK_PRESSURED, POSITION);
+
+        theEndpointReceivesTwoCompleteMessages();
+        endPoint.pollForData();
+
+        pollWithNoData();
+
+        savesABatchOfTwoMessages(times(2));
+
+        sessionReceivesTwoMessages();
+    }
+
+    @Test
+    public void shouldNotBatchASingleFixMessage()
+    {
+        givenABatchingEndPoint();
+
+        theEndpointReceivesACompleteAndAnIncompleteMessage();
+        endPoint.pollForData();
+
+        savesAFramedMessage();
+        verify(libraryPublication, never()).saveMessageBatch(
+            anyBuffer(), anyInt(), any(), any(), anyInt(), anyInt(), anyLong(), anyInt(), anyLong());
+
+        sessionReceivesOneMessage();
+    }
+
+    @Test
+    public void shouldSavePreParsedHeaderFieldsWhenEnabled()
+    {
+        givenAPreParsingEndPoint();
+
+        theEndpointReceivesACompleteMessage();
+        pollsData(2 * MSG_LEN);
+
+        verify(libraryPublication).saveMessage(
+            anyBuffer(), eq(0), eq(MSG_LEN), eq(LIBRARY_ID),
+            eq(MESSAGE_TYPE), eq(SESSION_ID), eq(SEQUENCE_INDEX), eq(CONNECTION_ID),
+            eq(OK), eq(4), eq(false), eq(EG_MESSAGE_SENDING_TIME));
+        sessionReceivesOneMessage();
+    }
+
+    @Test
+    public void shouldCountBytesReadWhenTelemetryEnabled()
+    {
+        final AtomicCounter bytesRead = mock(AtomicCounter.class);
+        endPoint = new EndPointBuilder().bytesRead(bytesRead).build();
+
+        theEndpointReceivesACompleteMessage();
+        pollsData(2 * MSG_LEN);
+
+        verify(bytesRead).getAndAddOrdered(MSG_LEN);
+    }
+
+    @Test
+    public void shouldDeferLogonUntilAdmitted()
+    {
+        givenAnEndPointWithALogonBudgetOf(1);
+        admissionControl.admitLogon(new HeaderDecoder(), false);
+        theEndpointReceivesACompleteMessage();
+
+        pollsData(MSG_LEN);
+
+        verify(mockGatewaySessions, never()).authenticateAndInitiate(any(), anyLong(), any(), any(), any());
+        assertTrue(endPoint.hasDeferredLogon());
+        assertEquals(1, admissionControl.pendingLogons());
+        assertEquals(0, endPoint.pollForData());
+
+        theEndpointReceivesNothing();
+        admissionControl.onDutyCycle();
+
+        assertEquals(MSG_LEN, admissionControl.pollDeferredLogons());
+        savesAFramedMessage();
+        assertFalse(endPoint.hasDeferredLogon());
+        assertEquals(0, admissionControl.pendingLogons());
+    }
+
+    private void givenAnEndPointWithALogonBudgetOf(final int maxLogonsPerDutyCycle)
+    {
+        admissionControl = new AdmissionControl(
+            Integer.MAX_VALUE, maxLogonsPerDutyCycle, Integer.MAX_VALUE, new String[0],
+            mock(AtomicCounter.class), mock(AtomicCounter.class), mock(AtomicCounter.class));
+        endPoint = new EndPointBuilder().build();
+    }
+
+    private void givenAPreParsingEndPoint()
+    {
+        endPoint = new EndPointBuilder().preParseHeaders().build();
+    }
+
+    private void givenABatchingEndPoint()
+    {
+        endPoint = new EndPointBuilder().batchMessages().build();
+        when(libraryPublication.maxPayloadLength()).thenReturn(BUFFER_SIZE);
+    }
+
+    private void savesABatchOfTwoMessages(final VerificationMode mode)
+    {
+        final ArgumentCaptor<int[]> messageTypes = ArgumentCaptor.forClass(int[].class);
+        final ArgumentCaptor<int[]> lengths = ArgumentCaptor.forClass(int[].class);
+        verify(libraryPublication, mode).saveMessageBatch(
+            anyBuffer(), eq(0), messageTypes.capture(), lengths.capture(), eq(2),
+            eq(LIBRARY_ID), eq(SESSION_ID), eq(SEQUENCE_INDEX), eq(CONNECTION_ID));
+
+        assertEquals(MESSAGE_TYPE, messageTypes.getValue()[0]);
+        assertEquals(MESSAGE_TYPE, messageTypes.getValue()[1]);
+        assertEquals(MSG_LEN, lengths.getValue()[0]);
+        assertEquals(MSG_LEN, lengths.getValue()[1]);
+    }
+
+    @Test
+    public void shouldNotHoldPooledBufferOnceMessagesFramed()
+    {
+        givenAPooledEndPoint();
+
+        theEndpointReceivesTwoCompleteMessages();
+        endPoint.pollForData();
+
+        savesTwoFramedMessages(1);
+        sessionReceivesTwoMessages();
+        pooledBuffersInUseIs(0);
+        assertEquals(0, receiveBufferPool.pooledBufferCount());
+    }
+
+    @Test
+    public void shouldFrameSplitFixMessageWithPooledBuffer()
+    {
+        givenAPooledEndPoint();
+
+        theEndpointReceivesAnIncompleteMessage();
+        endPoint.pollForData();
+
+        pooledBuffersInUseIs(1);
+        assertEquals(ReceiveBufferPool.MIN_BUFFER_SIZE, receiveBufferBytesInUse.get());
+
+        theEndpointReceivesTheRestOfTheMessage();
+        endPoint.pollForData();
+
+        savesAFramedMessage();
+        sessionReceivesOneMessage();
+        pooledBuffersInUseIs(0);
+        assertEquals(1, receiveBufferPool.pooledBufferCount());
+    }
+
+    @Test
+    public void shouldHoldPooledBufferWhenBackpressured()
+    {
+        givenAPooledEndPoint();
+        firstSaveAttemptIsBackPressured();
+
+        theEndpointReceivesACompleteMessage();
+        endPoint.pollForData();
+
+        pooledBuffersInUseIs(1);
+
+        pollWithNoData();
+
+        savesFramedMessages(2, OK, MSG_LEN);
+        sessionReceivesOneMessage();
+        pooledBuffersInUseIs(0);
+    }
+
+    @Test
+    public void shouldReleasePooledBufferOnClose()
+    {
+        givenAPooledEndPoint();
+
+        theEndpointReceivesAnIncompleteMessage();
+        endPoint.pollForData();
+        endPoint.close(DisconnectReason.ENGINE_SHUTDOWN);
+
+        pooledBuffersInUseIs(0);
+    }
+
+    @Test
+    public void shouldOnlyUsePooledBuffersForPartialMessages()
+    {
+        final int connections = 1000;
+        final int connectionsWithPartialMessages = connections / 10;
+        final TcpChannel[] channels = new TcpChannel[connections];
+        final ReceiverEndPoint[] endPoints = new ReceiverEndPoint[connections];
+        for (int i = 0; i < connections; i++)
+        {
+            channels[i] = mock(TcpChannel.class);
+            endPoints[i] = newPooledEndPoint(channels[i]);
+        }
+
+        for (int i = 0; i < connections; i++)
+        {
+            final int length = i < connectionsWithPartialMessages ? MSG_LEN - 8 : MSG_LEN;
+            channelReceives(channels[i], EG_MESSAGE, 0, length);
+            endPoints[i].pollForData();
+        }
+
+        pooledBuffersInUseIs(connectionsWithPartialMessages);
+        assertEquals(connectionsWithPartialMessages * ReceiveBufferPool.MIN_BUFFER_SIZE, receiveBufferBytesInUse.get());
+
+        for (int i = 0; i < connectionsWithPartialMessages; i++)
+        {
+            channelReceives(channels[i], EG_MESSAGE, MSG_LEN - 8, 8);
+            endPoints[i].pollForData();
+        }
+
+        pooledBuffersInUseIs(0);
+        savesFramedMessages(connections, OK, MSG_LEN);
+    }
+
+    private void givenAPooledEndPoint()
+    {
+        endPoint = newPooledEndPoint(mockChannel);
+    }
+
+    private ReceiverEndPoint newPooledEndPoint(final TcpChannel channel)
+    {
+        return new EndPointBuilder().channel(channel).receiveBufferPool(receiveBufferPool).build();
+    }
+
+    private void pooledBuffersInUseIs(final int buffersInUse)
+    {
+        assertEquals(buffersInUse, receiveBuffersInUse.get());
+    }
+
     private void firstSaveAttemptIsBackPressured()
     {
         when(libraryPublication
@@ -487,7 +741,13 @@ public class ReceiverEndPointTest
 
     private void theEndpointReceives(final byte[] data, final int offset, final int length)
     {
-        endpointBufferUpdatedWith(
+        channelReceives(mockChannel, data, offset, length);
+    }
+
+    private void channelReceives(final TcpChannel channel, final byte[] data, final int offset, final int length)
+    {
+        channelBufferUpdatedWith(
+            channel,
             (buffer) ->
             {
                 buffer.put(data, offset, length);
@@ -520,6 +780,11 @@ public class ReceiverEndPointTest
     }
 
     private void endpointBufferUpdatedWith(final ToIntFunction<ByteBuffer> bufferUpdater)
+    {
+        channelBufferUpdatedWith(mockChannel, bufferUpdater);
+    }
+
+    private void channelBufferUpdatedWith(final TcpChannel channel, final ToIntFunction<ByteBuffer> bufferUpdater)
     {
         try
         {
@@ -528,7 +793,7 @@ public class ReceiverEndPointTest
                 {
                     final ByteBuffer buffer = (ByteBuffer)invocation.getArguments()[0];
                     return bufferUpdater.applyAsInt(buffer);
-                }).when(mockChannel).read(any(ByteBuffer.class));
+                }).when(channel).read(any(ByteBuffer.class));
         }
         catch (final IOException ex)
         {
@@ -603,4 +868,55 @@ public class ReceiverEndPointTest
         when(mockGatewaySessions.authenticateAndInitiate(any(), anyLong(), any(), any(), any())).thenReturn(
             AuthenticationResult.DUPLICATE_SESSION);
     }
+
+    private final class EndPointBuilder
+    {
+        private TcpChannel channel = mockChannel;
+        private AtomicCounter bytesRead;
+        private boolean batchMessages;
+        private boolean preParseHeaders;
+        private ReceiveBufferPool receiveBufferPool;
+
+        EndPointBuilder channel(final TcpChannel channel)
+        {
+            this.channel = channel;
+            return this;
+        }
+
+        EndPointBuilder bytesRead(final AtomicCounter bytesRead)
+        {
+            this.bytesRead = bytesRead;
+            return this;
+        }
+
+        EndPointBuilder batchMessages()
+        {
+            this.batchMessages = true;
+            return this;
+        }
+
+        EndPointBuilder preParseHeaders()
+        {
+            this.preParseHeaders = true;
+            return this;
+        }
+
+        EndPointBuilder receiveBufferPool(final ReceiveBufferPool receiveBufferPool)
+        {
+            this.receiveBufferPool = receiveBufferPool;
+            return this;
+        }
+
+        ReceiverEndPoint build()
+        {
+            final ReceiverEndPoint endPoint = new ReceiverEndPoint(
+                channel, BUFFER_SIZE, libraryPublication, clusterablePublication,
+                CONNECTION_ID, UNKNOWN, SEQUENCE_INDEX, mockSessionContexts,
+                sentSequenceNumbers, receivedSequenceNumbers, messagesRead, bytesRead, framer, errorHandler,
+                LIBRARY_ID, DETERMINE_AT_LOGON, ConnectionType.ACCEPTOR, replicatedConnectionIds, mockGatewaySessions,
+                batchMessages, preParseHeaders, receiveBufferPool, admissionControl);
+            endPoint.gatewaySession(gatewaySession);
+            return endPoint;
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package uk.co.real_logic.artio.engine.framer;
 
 import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.ErrorHandler;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -43,13 +44,15 @@ public class SenderEndPointTest
     private static final long CONNECTION_ID = 1;
     private static final int LIBRARY_ID = 2;
     private static final int HEADER_LENGTH = MessageHeaderDecoder.ENCODED_LENGTH;
+    private static final int DATA_HEADER_LENGTH = DataHeaderFlyweight.HEADER_LENGTH;
 
     private static final long POSITION = 8 * 1024;
     private static final int BODY_LENGTH = 84;
     private static final int LENGTH = FRAME_SIZE + BODY_LENGTH;
     private static final int FRAGMENT_LENGTH = alignTerm(HEADER_LENGTH + FRAME_SIZE + BODY_LENGTH);
-    private static final long BEGIN_POSITION = POSITION - FRAGMENT_LENGTH;
+    private static final long BEGIN_POSITION = POSITION - alignTerm(DATA_HEADER_LENGTH + FRAGMENT_LENGTH);
     private static final int MAX_BYTES_IN_BUFFER = 3 * BODY_LENGTH;
+    private static final long TIMESTAMP = 1234;
 
     private TcpChannel tcpChannel = mock(TcpChannel.class);
     private AtomicCounter bytesInBuffer = fakeCounter();
@@ -69,6 +72,7 @@ public class SenderEndPointTest
         tcpChannel,
         bytesInBuffer,
         invalidLibraryAttempts,
+        null,
         errorHandler,
         framer,
         MAX_BYTES_IN_BUFFER,
@@ -380,6 +384,55 @@ public class SenderEndPointTest
         verifyNoMoreErrors();
     }
 
+    @Test
+    public void shouldRecordTelemetryForOutboundMessages()
+    {
+        final SenderTelemetry telemetry = useTelemetry();
+        channelWillWrite(BODY_LENGTH);
+
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, POSITION, 0, TIMESTAMP);
+
+        verify(telemetry).onMessageWritten(BODY_LENGTH, TIMESTAMP);
+
+        endPoint.close();
+
+        verify(telemetry).close();
+    }
+
+    @Test
+    public void shouldRecordTelemetryOnlyOnceSlowMessageIsWritten()
+    {
+        final SenderTelemetry telemetry = useTelemetry();
+
+        becomeSlowConsumer();
+        verify(telemetry, never()).onMessageWritten(anyInt(), anyLong());
+
+        channelWillWrite(BODY_LENGTH);
+        onSlowOutboundMessage();
+
+        verify(telemetry).onMessageWritten(BODY_LENGTH, TIMESTAMP);
+    }
+
+    private SenderTelemetry useTelemetry()
+    {
+        final SenderTelemetry telemetry = mock(SenderTelemetry.class);
+        endPoint = new SenderEndPoint(
+            CONNECTION_ID,
+            LIBRARY_ID,
+            libraryBlockablePosition,
+            replayBlockablePosition,
+            tcpChannel,
+            bytesInBuffer,
+            invalidLibraryAttempts,
+            telemetry,
+            errorHandler,
+            framer,
+            MAX_BYTES_IN_BUFFER,
+            DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
+            0);
+        return telemetry;
+    }
+
     private void byteBufferNotWritten()
     {
         byteBufferWritten(never());
@@ -397,7 +450,7 @@ public class SenderEndPointTest
 
     private void onOutboundMessage(final long timeInMs, final long position)
     {
-        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, position, timeInMs);
+        endPoint.onOutboundMessage(LIBRARY_ID, buffer, 0, BODY_LENGTH, position, timeInMs, 0);
     }
 
     private void onReplayMessage(final long timeInMs, final long position)
@@ -452,7 +505,8 @@ public class SenderEndPointTest
             POSITION,
             BODY_LENGTH,
             LIBRARY_ID,
-            timeInMs);
+            timeInMs,
+            TIMESTAMP);
         assertEquals(CONTINUE, action);
     }
 
@@ -26,6 +26,7 @@ import uk.co.real_logic.artio.engine.MappedFile;
 import uk.co.real_logic.artio.session.CompositeKey;
 import uk.co.real_logic.artio.session.Session;
 import uk.co.real_logic.artio.session.SessionIdStrategy;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
 import java.io.File;
 import java.io.IOException;
@@ -33,11 +34,13 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.artio.engine.framer.SessionContexts.LOWEST_VALID_SESSION_ID;
+import static uk.co.real_logic.artio.util.Allocations.bytesAllocatedBy;
 
 public class SessionContextsTest
 {
@@ -219,6 +222,50 @@ public class SessionContextsTest
             new SessionContext(sessionId, SEQUENCE_INDEX, Session.NO_LOGON_TIME, sessionContexts, FILE_POSITION));
     }
 
+    @Test
+    public void findsExistingSessionKeyFromLogonHeader()
+    {
+        sessionContexts.onLogon(aSession);
+
+        assertSame(aSession, sessionContexts.onAcceptLogon(logonHeader("b", "a")));
+    }
+
+    @Test
+    public void createsSessionKeyForUnknownLogon()
+    {
+        sessionContexts.onLogon(aSession);
+
+        final CompositeKey compositeKey = sessionContexts.onAcceptLogon(logonHeader("a", "b"));
+
+        assertEquals(bSession, compositeKey);
+        assertNotSame(bSession, compositeKey);
+    }
+
+    @Test
+    public void acceptsLogonOfExistingSessionWithoutAllocating()
+    {
+        final HeaderDecoder header = logonHeader("b", "a");
+
+        assertEquals(0, bytesAllocatedBy(() -> acceptLogonAndDisconnect(header)));
+    }
+
+    private void acceptLogonAndDisconnect(final HeaderDecoder header)
+    {
+        final CompositeKey compositeKey = sessionContexts.onAcceptLogon(header);
+        final SessionContext sessionContext = sessionContexts.onLogon(compositeKey);
+        sessionContexts.onDisconnect(sessionContext.sessionId());
+    }
+
+    private HeaderDecoder logonHeader(final String senderCompId, final String targetCompId)
+    {
+        final String message = "8=FIX.4.4\0019=0000\00135=A\00149=" + senderCompId + "\00156=" + targetCompId +
+            "\00134=1\00152=20180101-00:00:00.000\00110=000\001";
+        final byte[] bytes = message.getBytes(US_ASCII);
+        final HeaderDecoder header = new HeaderDecoder();
+        header.decode(new MutableAsciiBuffer(bytes), 0, bytes.length);
+        return header;
+    }
+
     private void verifyNoBackUp()
     {
         verify(mappedFile, never()).transferTo(any());
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.LangUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier.NewChannelHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static uk.co.real_logic.artio.TestFixtures.unusedPort;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+
+public class TcpChannelSupplierTest
+{
+    private static final long TIME = 1;
+
+    private final InetSocketAddress address = new InetSocketAddress("localhost", unusedPort());
+    private final FakeNewChannelHandler handler = new FakeNewChannelHandler();
+
+    private TcpChannelSupplier channelSupplier;
+    private SocketChannel client;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        channelSupplier = new TcpChannelSupplier(
+            new EngineConfiguration().bindTo(address.getHostName(), address.getPort()));
+        client = SocketChannel.open(address);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        handler.channels.forEach(CloseHelper::close);
+        CloseHelper.close(client);
+        channelSupplier.close();
+    }
+
+    @Test
+    public void shouldNotReportDeferredConnectionsAsWork()
+    {
+        handler.canAccept = false;
+
+        assertEventuallyTrue("Connection never offered", () ->
+        {
+            assertEquals(0, pollSelector());
+            return handler.acceptChecks > 0;
+        });
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(0, pollSelector());
+        }
+        assertEquals(0, handler.channels.size());
+
+        handler.canAccept = true;
+
+        assertEquals(1, pollSelector());
+        assertEquals(1, handler.channels.size());
+    }
+
+    private int pollSelector()
+    {
+        try
+        {
+            return channelSupplier.pollSelector(TIME, handler);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return 0;
+        }
+    }
+
+    private static final class FakeNewChannelHandler implements NewChannelHandler
+    {
+        private final List<TcpChannel> channels = new ArrayList<>();
+        private boolean canAccept;
+        private int acceptChecks;
+
+        public void onNewChannel(final long timeInMs, final TcpChannel socketChannel)
+        {
+            channels.add(socketChannel);
+        }
+
+        public boolean canAcceptChannel()
+        {
+            acceptChecks++;
+            return canAccept;
+        }
+    }
+}
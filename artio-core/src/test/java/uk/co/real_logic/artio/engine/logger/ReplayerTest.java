@@ -659,6 +659,7 @@ public class ReplayerTest extends AbstractLogTest
     {
         final String resultAsAscii = resultAsciiBuffer.getAscii(0, resultAsciiBuffer.capacity());
         assertThat(resultAsAscii, containsString("43=Y"));
+        assertEquals("8=FIX", resultAsciiBuffer.getAscii(offset() + MESSAGE_FRAME_BLOCK_LENGTH, 5));
 
         assertThat(resultAsAscii,
             containsString(ORIG_SENDING_TIME_PREFIX_AS_STR + ORIGINAL_SENDING_TIME + '\001'));
@@ -104,6 +104,18 @@ public class SequenceNumberIndexTest extends AbstractLogTest
         assertLastKnownSequenceNumberIs(SESSION_ID, updatedSequenceNumber);
     }
 
+    @Test
+    public void shouldUsePreParsedSequenceNumber()
+    {
+        final int preParsedSequenceNumber = 8;
+
+        bufferContainsExampleMessage(true);
+        messageFrame.msgSeqNum(preParsedSequenceNumber);
+        indexRecord(alignedEndPosition());
+
+        assertLastKnownSequenceNumberIs(SESSION_ID, preParsedSequenceNumber);
+    }
+
     @Test
     public void shouldValidateBufferItReadsFrom()
     {
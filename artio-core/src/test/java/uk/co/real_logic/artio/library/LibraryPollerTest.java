@@ -25,21 +25,26 @@ import org.mockito.stubbing.Answer;
 import org.mockito.stubbing.OngoingStubbing;
 import org.mockito.verification.VerificationMode;
 import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.engine.framer.FakeEpochClock;
 import uk.co.real_logic.artio.messages.ControlNotificationDecoder.SessionsDecoder;
 import uk.co.real_logic.artio.messages.LogonStatus;
+import uk.co.real_logic.artio.messages.SessionReplyStatus;
 import uk.co.real_logic.artio.messages.SlowStatus;
 import uk.co.real_logic.artio.protocol.GatewayPublication;
 import uk.co.real_logic.artio.session.Session;
 import uk.co.real_logic.artio.timing.LibraryTimers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
 import static io.aeron.CommonContext.IPC_CHANNEL;
+import static io.aeron.Publication.BACK_PRESSURED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
@@ -225,6 +230,98 @@ public class LibraryPollerTest
         doesNotAttemptConnectTo(LEADER_CHANNEL);
     }
 
+    @Test
+    public void shouldInitiateBatchOfSessionsWithinOneMessage()
+    {
+        connectToSingleEngine();
+        final List<SessionConfiguration> configurations = sessionConfigurations(3);
+        batchesFitWithinPayload(configurations, 3);
+
+        final List<Reply<Session>> replies = library.initiate(configurations);
+
+        assertEquals(3, replies.size());
+        savesInitiateConnections(configurations, 0, 3);
+        verify(outboundPublication, never()).saveInitiateConnection(
+            anyInt(), any(), anyInt(), any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt(),
+            anyInt(), any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    public void shouldSplitBatchOfSessionsThatDoesNotFitWithinOneMessage()
+    {
+        connectToSingleEngine();
+        final List<SessionConfiguration> configurations = sessionConfigurations(3);
+        batchesFitWithinPayload(configurations, 2);
+
+        library.initiate(configurations);
+
+        savesInitiateConnections(configurations, 0, 2);
+        savesInitiateConnections(configurations, 2, 1);
+    }
+
+    @Test
+    public void shouldResendSessionsIndividuallyWhenBatchIsBackPressured()
+    {
+        connectToSingleEngine();
+        final List<SessionConfiguration> configurations = sessionConfigurations(2);
+        batchesFitWithinPayload(configurations, 2);
+        when(outboundPublication.saveInitiateConnections(
+            anyInt(), anyInt(), any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(BACK_PRESSURED);
+
+        library.initiate(configurations);
+        poll();
+
+        verify(outboundPublication, times(2)).saveInitiateConnection(
+            eq(libraryId()), eq("localhost"), eq(1234), any(), any(), any(), any(), any(), any(), any(),
+            anyBoolean(), anyInt(), anyInt(), any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    public void shouldRequestBatchOfSessionsWithinOneMessage()
+    {
+        connectToSingleEngine();
+        when(outboundPublication.maxPayloadLength()).thenReturn(4096);
+
+        final List<Reply<SessionReplyStatus>> replies = library.requestSessions(
+            new long[]{SESSION_ID, OTHER_SESSION_ID},
+            new int[]{LAST_RECEIVED_SEQUENCE_NUMBER, LAST_RECEIVED_SEQUENCE_NUMBER},
+            new int[]{SEQUENCE_INDEX, SEQUENCE_INDEX},
+            DEFAULT_REPLY_TIMEOUT_IN_MS);
+
+        assertEquals(2, replies.size());
+        verify(outboundPublication).saveRequestSessions(
+            eq(libraryId()), eq(new long[]{SESSION_ID, OTHER_SESSION_ID}), any(), any(), any(), eq(0), eq(2));
+        verify(outboundPublication, never()).saveRequestSession(anyInt(), anyLong(), anyLong(), anyInt(), anyInt());
+    }
+
+    private List<SessionConfiguration> sessionConfigurations(final int count)
+    {
+        final List<SessionConfiguration> configurations = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            configurations.add(SessionConfiguration.builder()
+                .address("localhost", 1234)
+                .senderCompId("initiator" + i)
+                .targetCompId("acceptor")
+                .build());
+        }
+        return configurations;
+    }
+
+    private void batchesFitWithinPayload(final List<SessionConfiguration> configurations, final int sessionCount)
+    {
+        final int entryLength = GatewayPublication.initiateConnectionsEntryLength(configurations.get(0));
+        when(outboundPublication.maxPayloadLength()).thenReturn(
+            GatewayPublication.initiateConnectionsFramedLength(entryLength * sessionCount));
+    }
+
+    private void savesInitiateConnections(
+        final List<SessionConfiguration> configurations, final int offset, final int count)
+    {
+        verify(outboundPublication).saveInitiateConnections(
+            eq(libraryId()), anyInt(), eq(configurations), any(), eq(offset), eq(count), anyInt());
+    }
+
     private void sendsLibraryConnect(final VerificationMode times)
     {
         verify(outboundPublication, times)
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.protocol;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.Header;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.messages.*;
+import uk.co.real_logic.artio.messages.InitiateConnectionsEncoder.ConnectionsEncoder;
+import uk.co.real_logic.artio.messages.RequestSessionsEncoder.SessionsEncoder;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.protocol.EngineProtocolSubscription.BATCH_SLICE_SIZE;
+
+public class EngineProtocolSubscriptionTest
+{
+    private static final int LIBRARY_ID = 1;
+    private static final int AERON_SESSION_ID = 2;
+    private static final int POSITION = 1024;
+    private static final int BATCH_SIZE = BATCH_SLICE_SIZE + 4;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16 * 1024]);
+    private final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[HEADER_LENGTH]);
+    private final Header header = new Header(0, 16);
+    private final EngineEndPointHandler handler = mock(EngineEndPointHandler.class);
+    private final EngineProtocolSubscription subscription = new EngineProtocolSubscription(handler);
+
+    private int length;
+
+    @Before
+    public void setUp()
+    {
+        header.buffer(headerBuffer);
+        header.offset(0);
+        headerBuffer.putInt(FRAME_LENGTH_FIELD_OFFSET, HEADER_LENGTH);
+        headerBuffer.putInt(TERM_OFFSET_FIELD_OFFSET, POSITION - HEADER_LENGTH);
+        headerBuffer.putInt(SESSION_ID_FIELD_OFFSET, AERON_SESSION_ID);
+
+        when(handler.onRequestSession(anyInt(), anyLong(), anyLong(), anyInt(), anyInt())).thenReturn(CONTINUE);
+        when(handler.onInitiateConnection(
+            anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt(), anyInt(),
+            anyBoolean(), any(), any(), anyInt(), anyLong(), any())).thenReturn(CONTINUE);
+    }
+
+    @Test
+    public void shouldHandleBatchOfRequestedSessionsInSlices()
+    {
+        encodeRequestSessions();
+
+        assertEquals(ABORT, onFragment());
+        verifyRequestedSessions(0, BATCH_SLICE_SIZE);
+
+        assertEquals(CONTINUE, onFragment());
+        verifyRequestedSessions(BATCH_SLICE_SIZE, BATCH_SIZE);
+    }
+
+    @Test
+    public void shouldResumeBatchOfRequestedSessionsFromAbortedSession()
+    {
+        encodeRequestSessions();
+        when(handler.onRequestSession(anyInt(), eq(2L), anyLong(), anyInt(), anyInt())).thenReturn(ABORT, CONTINUE);
+
+        assertEquals(ABORT, onFragment());
+        verifyRequestedSessions(0, 2);
+
+        assertEquals(ABORT, onFragment());
+        verify(handler, times(2)).onRequestSession(LIBRARY_ID, 2, 2, 0, 0);
+        verifyRequestedSessions(3, BATCH_SLICE_SIZE + 2);
+    }
+
+    @Test
+    public void shouldHandleBatchOfInitiatedConnectionsInSlices()
+    {
+        encodeInitiateConnections();
+
+        assertEquals(ABORT, onFragment());
+        verifyInitiatedConnections(0, BATCH_SLICE_SIZE);
+
+        assertEquals(CONTINUE, onFragment());
+        verifyInitiatedConnections(BATCH_SLICE_SIZE, BATCH_SIZE);
+    }
+
+    @Test
+    public void shouldHandleBatchFromStartWhenOtherFragmentIsDelivered()
+    {
+        encodeRequestSessions();
+        assertEquals(ABORT, onFragment());
+
+        headerBuffer.putInt(SESSION_ID_FIELD_OFFSET, AERON_SESSION_ID + 1);
+        assertEquals(ABORT, onFragment());
+
+        verify(handler, times(2)).onRequestSession(LIBRARY_ID, 0, 0, 0, 0);
+    }
+
+    private Action onFragment()
+    {
+        return subscription.onFragment(buffer, 0, length, header);
+    }
+
+    private void encodeRequestSessions()
+    {
+        final RequestSessionsEncoder requestSessions = new RequestSessionsEncoder();
+        final SessionsEncoder sessions = requestSessions
+            .wrapAndApplyHeader(buffer, 0, new MessageHeaderEncoder())
+            .libraryId(LIBRARY_ID)
+            .sessionsCount(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            sessions.next().correlationId(i).sessionId(i).lastReceivedSequenceNumber(0).sequenceIndex(0);
+        }
+        length = MessageHeaderEncoder.ENCODED_LENGTH + requestSessions.encodedLength();
+    }
+
+    private void encodeInitiateConnections()
+    {
+        final InitiateConnectionsEncoder initiateConnections = new InitiateConnectionsEncoder();
+        final ConnectionsEncoder connections = initiateConnections
+            .wrapAndApplyHeader(buffer, 0, new MessageHeaderEncoder())
+            .libraryId(LIBRARY_ID)
+            .heartbeatIntervalInS(10)
+            .connectionsCount(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            connections.next()
+                .correlationId(i)
+                .port(9999)
+                .sequenceNumberType(SequenceNumberType.TRANSIENT)
+                .resetSequenceNumber(ResetSequenceNumber.NO)
+                .requestedInitialReceivedSequenceNumber(0)
+                .requestedInitialSentSequenceNumber(0)
+                .host("localhost")
+                .senderCompId("initiator" + i)
+                .senderSubId("")
+                .senderLocationId("")
+                .targetCompId("acceptor")
+                .targetSubId("")
+                .targetLocationId("")
+                .username("")
+                .password("");
+        }
+        length = MessageHeaderEncoder.ENCODED_LENGTH + initiateConnections.encodedLength();
+    }
+
+    private void verifyRequestedSessions(final int from, final int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            verify(handler).onRequestSession(LIBRARY_ID, i, i, 0, 0);
+        }
+    }
+
+    private void verifyInitiatedConnections(final int from, final int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            verify(handler).onInitiateConnection(
+                eq(LIBRARY_ID), eq(9999), eq("localhost"), eq("initiator" + i), eq(""), eq(""), eq("acceptor"),
+                eq(""), eq(""), eq(SequenceNumberType.TRANSIENT), eq(0), eq(0), eq(false), eq(""), eq(""), eq(10),
+                eq((long)i), any());
+        }
+    }
+}
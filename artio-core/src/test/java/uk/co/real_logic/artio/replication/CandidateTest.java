@@ -17,13 +17,17 @@ package uk.co.real_logic.artio.replication;
 
 import io.aeron.Subscription;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.IntHashSet;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.verification.VerificationMode;
 
 import static io.aeron.Publication.BACK_PRESSURED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.replication.Candidate.NO_POSITION;
 import static uk.co.real_logic.artio.replication.ReplicationAsserts.neverTransitionsToFollower;
 import static uk.co.real_logic.artio.replication.ReplicationAsserts.neverTransitionsToLeader;
 import static uk.co.real_logic.artio.replication.messages.Vote.AGAINST;
@@ -70,9 +74,9 @@ public class CandidateTest
         startElection();
 
         candidate.onReplyVote(
-            ID_4, ID, OLD_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_4, ID, OLD_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
         candidate.onReplyVote(
-            ID_5, ID, OLD_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_5, ID, OLD_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
 
         neverTransitionsToLeader(clusterAgent);
     }
@@ -83,9 +87,9 @@ public class CandidateTest
         startElection();
 
         candidate.onReplyVote(
-            ID_4, ID, NEW_LEADERSHIP_TERM, AGAINST, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_4, ID, NEW_LEADERSHIP_TERM, AGAINST, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
         candidate.onReplyVote(
-            ID_5, ID, NEW_LEADERSHIP_TERM, AGAINST, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_5, ID, NEW_LEADERSHIP_TERM, AGAINST, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
 
         neverTransitionsToLeader(clusterAgent);
     }
@@ -113,9 +117,9 @@ public class CandidateTest
         startElection();
 
         candidate.onReplyVote(
-            ID_4, otherCandidate, NEW_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_4, otherCandidate, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
         candidate.onReplyVote(
-            ID_5, otherCandidate, NEW_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+            ID_5, otherCandidate, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
 
         neverTransitionsToLeader(clusterAgent);
     }
@@ -125,8 +129,27 @@ public class CandidateTest
     {
         startElection();
 
-        candidate.onReplyVote(ID_4, ID, NEW_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
-        candidate.onReplyVote(ID_4, ID, NEW_LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+
+        neverTransitionsToLeader(clusterAgent);
+    }
+
+    @Test
+    public void shouldNotCountVotesFromLearners()
+    {
+        final IntHashSet learnerNodes = new IntHashSet();
+        learnerNodes.add(ID_5);
+        candidate.learnerNodes(learnerNodes);
+
+        startElection();
+
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+        candidate.onReplyVote(
+            ID_5, ID, NEW_LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
 
         neverTransitionsToLeader(clusterAgent);
     }
@@ -162,6 +185,71 @@ public class CandidateTest
         requestsVote(NEW_LEADERSHIP_TERM, times(2));
     }
 
+    @Test
+    public void shouldRecordPositionsOfVoters()
+    {
+        startElection();
+
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, FOR, POSITION - 1, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+
+        assertEquals(POSITION - 1, candidate.voterPositions().get(ID_4));
+    }
+
+    @Test
+    public void shouldStandDownWhenOutpacedInFastFailover()
+    {
+        candidate.fastFailover(true, VOTE_TIMEOUT / 4);
+
+        startElection();
+
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, AGAINST, POSITION + 1, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+
+        verify(clusterAgent).transitionToFollower(candidate, Follower.NO_ONE, 0L);
+        neverTransitionsToLeader(clusterAgent);
+    }
+
+    @Test
+    public void shouldNotStandDownWhenOutpacedWithoutFastFailover()
+    {
+        startElection();
+
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, AGAINST, POSITION + 1, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+
+        verify(clusterAgent, never()).transitionToFollower(any(Candidate.class), anyShort(), anyLong());
+    }
+
+    @Test
+    public void shouldIgnoreUnknownVoterPositions()
+    {
+        candidate.fastFailover(true, VOTE_TIMEOUT / 4);
+
+        startElection();
+
+        candidate.onReplyVote(
+            ID_4, ID, NEW_LEADERSHIP_TERM, FOR, NO_POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+        candidate.onReplyVote(
+            ID_5, ID, NEW_LEADERSHIP_TERM, AGAINST, NO_POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+
+        assertFalse(candidate.voterPositions().containsKey(ID_4));
+        verify(clusterAgent, never()).transitionToFollower(any(Candidate.class), anyShort(), anyLong());
+    }
+
+    @Test
+    public void shouldRestartElectionAfterHeartbeatIntervalInFastFailover()
+    {
+        candidate.fastFailover(true, VOTE_TIMEOUT / 4);
+
+        startElection();
+
+        candidate.poll(1, VOTE_TIMEOUT / 2 + 1);
+
+        requestsVote(NEW_LEADERSHIP_TERM, times(1));
+        requestsVote(NEW_LEADERSHIP_TERM + 1, times(1));
+    }
+
     private void requestsVote(final int term, final VerificationMode mode)
     {
         verify(controlPublication, mode).saveRequestVote(ID, DATA_SESSION_ID, POSITION, term);
@@ -18,6 +18,7 @@ package uk.co.real_logic.artio.replication;
 import io.aeron.Subscription;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,6 +28,7 @@ import uk.co.real_logic.artio.engine.logger.Archiver;
 import uk.co.real_logic.artio.engine.logger.Archiver.SessionArchiver;
 
 import static io.aeron.Publication.BACK_PRESSURED;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.MISSING_LOG_ENTRIES;
 import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.OK;
@@ -40,6 +42,7 @@ public class FollowerTest
     private static final int OLD_LEADERSHIP_TERM = 1;
     private static final int NEW_LEADERSHIP_TERM = OLD_LEADERSHIP_TERM + 1;
     private static final DirectBuffer NODE_STATE_BUFFER = new UnsafeBuffer(new byte[1]);
+    private static final long ACK_INTERVAL_IN_US = 50;
 
     private static final short ID = 3;
     private static final short ID_4 = 4;
@@ -55,6 +58,8 @@ public class FollowerTest
     private ClusterAgent clusterNode = mock(ClusterAgent.class);
     private Archiver archiver = mock(Archiver.class);
     private NodeStateHandler nodeStateHandler = mock(NodeStateHandler.class);
+    private long nanoTime = 0;
+    private NanoClock nanoClock = () -> nanoTime;
 
     private final TermState termState = new TermState()
         .allPositions(POSITION)
@@ -89,13 +94,35 @@ public class FollowerTest
     {
         follower.onRequestVote(ID_4, SESSION_ID_4, NEW_LEADERSHIP_TERM, POSITION);
 
-        verify(controlPublication).saveReplyVote(eq(ID), eq(ID_4), anyInt(), eq(FOR), eq(NODE_STATE_BUFFER));
+        verify(controlPublication).saveReplyVote(
+            eq(ID), eq(ID_4), anyInt(), eq(FOR), anyLong(), eq(NODE_STATE_BUFFER));
 
         onHeartbeat();
 
         follower.onRequestVote(ID_5, SESSION_ID_5, NEW_LEADERSHIP_TERM, POSITION);
 
-        verify(controlPublication, never()).saveReplyVote(eq(ID), eq(ID_5), anyInt(), eq(FOR), eq(NODE_STATE_BUFFER));
+        verify(controlPublication, never()).saveReplyVote(
+            eq(ID), eq(ID_5), anyInt(), eq(FOR), anyLong(), eq(NODE_STATE_BUFFER));
+    }
+
+    @Test
+    public void shouldNotVoteWhenLearner()
+    {
+        follower.learner(true);
+
+        follower.onRequestVote(ID_4, SESSION_ID_4, NEW_LEADERSHIP_TERM, POSITION);
+
+        verify(controlPublication, never()).saveReplyVote(anyShort(), anyShort(), anyInt(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void shouldNotStandForElectionWhenLearner()
+    {
+        follower.learner(true);
+
+        follower.checkConditions(VOTE_TIMEOUT * 3);
+
+        verify(clusterNode, never()).transitionToCandidate(anyLong());
     }
 
     @Test
@@ -147,6 +174,70 @@ public class FollowerTest
         acknowledgeLogEntries(times(2));
     }
 
+    @Test
+    public void shouldCoalesceAcknowledgementsWithinWindow()
+    {
+        follower.acknowledgementWindow(LENGTH * 3, 0, nanoClock);
+        when(leaderArchiver.poll()).thenReturn(LENGTH, LENGTH, LENGTH);
+
+        poll();
+        poll();
+
+        verify(acknowledgementPublication, never()).saveMessageAcknowledgement(anyLong(), anyShort(), eq(OK));
+
+        poll();
+
+        verify(acknowledgementPublication).saveMessageAcknowledgement(POSITION + 3 * LENGTH, ID, OK);
+    }
+
+    @Test
+    public void shouldAcknowledgeCoalescedDataOnceIdle()
+    {
+        follower.acknowledgementWindow(LENGTH * 3, 0, nanoClock);
+        when(leaderArchiver.poll()).thenReturn(LENGTH, 0);
+
+        poll();
+
+        verify(acknowledgementPublication, never()).saveMessageAcknowledgement(anyLong(), anyShort(), eq(OK));
+
+        poll();
+
+        acknowledgeLogEntries(times(1));
+    }
+
+    @Test
+    public void shouldAcknowledgeCoalescedDataOnceIntervalElapsed()
+    {
+        follower.acknowledgementWindow(LENGTH * 3, ACK_INTERVAL_IN_US, nanoClock);
+        when(leaderArchiver.poll()).thenReturn(LENGTH, LENGTH);
+
+        poll();
+
+        nanoTime = MICROSECONDS.toNanos(ACK_INTERVAL_IN_US);
+
+        verify(acknowledgementPublication, never()).saveMessageAcknowledgement(anyLong(), anyShort(), eq(OK));
+
+        poll();
+
+        verify(acknowledgementPublication).saveMessageAcknowledgement(POSITION + 2 * LENGTH, ID, OK);
+    }
+
+    @Test
+    public void shouldCoalesceAcknowledgementsByIntervalAloneWithoutWindow()
+    {
+        follower.acknowledgementWindow(0, ACK_INTERVAL_IN_US, nanoClock);
+        when(leaderArchiver.poll()).thenReturn(LENGTH, LENGTH);
+
+        poll();
+
+        verify(acknowledgementPublication, never()).saveMessageAcknowledgement(anyLong(), anyShort(), eq(OK));
+
+        nanoTime = MICROSECONDS.toNanos(ACK_INTERVAL_IN_US);
+        poll();
+
+        verify(acknowledgementPublication).saveMessageAcknowledgement(POSITION + 2 * LENGTH, ID, OK);
+    }
+
     private void backPressureFirstAcknowledgement()
     {
         when(acknowledgementPublication.saveMessageAcknowledgement(anyLong(), anyShort(), any()))
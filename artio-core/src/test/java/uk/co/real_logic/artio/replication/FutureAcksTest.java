@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.replication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static uk.co.real_logic.artio.util.Allocations.bytesAllocatedBy;
+
+public class FutureAcksTest
+{
+    private final FutureAcks futureAcks = new FutureAcks(2);
+
+    @Test
+    public void shouldRemoveAcksInStartPositionOrder()
+    {
+        final long[] startPositions = { 512, 128, 1024, 0, 256, 768, 384 };
+        for (final long startPosition : startPositions)
+        {
+            addAck(startPosition);
+        }
+
+        assertEquals(startPositions.length, futureAcks.size());
+
+        long previousStartPosition = -1;
+        while (!futureAcks.isEmpty())
+        {
+            final long startPosition = futureAcks.startPosition();
+            assertTrue(startPosition + " after " + previousStartPosition, startPosition > previousStartPosition);
+            assertAckFields(startPosition);
+
+            futureAcks.remove();
+            previousStartPosition = startPosition;
+        }
+
+        assertEquals(1024, previousStartPosition);
+    }
+
+    @Test
+    public void shouldTrackOutOfOrderAcksWithoutAllocating()
+    {
+        assertEquals(0, bytesAllocatedBy(this::addAndRemoveOutOfOrderAcks));
+    }
+
+    private void addAndRemoveOutOfOrderAcks()
+    {
+        for (int i = 8; i > 0; i--)
+        {
+            addAck(i * 128L);
+        }
+
+        while (!futureAcks.isEmpty())
+        {
+            futureAcks.remove();
+        }
+    }
+
+    private void addAck(final long startPosition)
+    {
+        futureAcks.add(
+            (int)startPosition + 1,
+            (int)startPosition + 2,
+            startPosition,
+            startPosition + 3,
+            startPosition + 4);
+    }
+
+    private void assertAckFields(final long startPosition)
+    {
+        assertEquals((int)startPosition + 1, futureAcks.leaderShipTerm());
+        assertEquals((int)startPosition + 2, futureAcks.leaderSessionId());
+        assertEquals(startPosition + 3, futureAcks.transportStartPosition());
+        assertEquals(startPosition + 4, futureAcks.transportPosition());
+    }
+}
@@ -19,6 +19,7 @@ import io.aeron.Subscription;
 import io.aeron.logbuffer.BlockHandler;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.IntHashSet;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,9 +30,14 @@ import uk.co.real_logic.artio.engine.logger.Archiver;
 import uk.co.real_logic.artio.engine.logger.Archiver.SessionArchiver;
 
 import static io.aeron.Publication.BACK_PRESSURED;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.MISSING_LOG_ENTRIES;
+import static uk.co.real_logic.artio.replication.messages.AcknowledgementStatus.OK;
 
 public class LeaderTest
 {
@@ -44,6 +50,8 @@ public class LeaderTest
     private static final short FOLLOWER_ID = 4;
     private static final short OTHER_FOLLOWER_ID = 5;
     private static final DirectBuffer NODE_STATE_BUFFER = new UnsafeBuffer(new byte[1]);
+    private static final int MAX_RESEND_BODY_LENGTH = 1024;
+    private static final int CHUNK_SIZE = 16;
 
     private RaftPublication controlPublication = mock(RaftPublication.class);
     private ClusterAgent clusterNode = mock(ClusterAgent.class);
@@ -79,6 +87,7 @@ public class LeaderTest
         when(archiver.session(LEADER_SESSION_ID)).thenReturn(sessionArchiver);
         when(archiveReader.session(LEADER_SESSION_ID)).thenReturn(sessionReader);
         termState.leaderSessionId(LEADER_SESSION_ID);
+        when(controlPublication.maxResendBodyLength()).thenReturn(MAX_RESEND_BODY_LENGTH);
 
         leader
             .controlPublication(controlPublication)
@@ -110,6 +119,45 @@ public class LeaderTest
             .saveConsensusHeartbeat(ID, LEADERSHIP_TERM, POSITION, LEADER_SESSION_ID, 0, POSITION);
     }
 
+    @Test
+    public void shouldNotWaitForLearnerAcknowledgementsToCommit()
+    {
+        final IntHashSet learnerNodes = new IntHashSet();
+        learnerNodes.add(FOLLOWER_ID);
+        leader.learnerNodes(learnerNodes);
+        when(sessionArchiver.poll()).thenReturn((int)POSITION);
+        when(sessionArchiver.archivedPosition()).thenReturn(2 * POSITION);
+
+        leader.readData();
+        leader.onMessageAcknowledgement(POSITION, FOLLOWER_ID, OK);
+        leader.checkConditions(TIME);
+
+        verify(controlPublication)
+            .saveConsensusHeartbeat(eq(ID), eq(LEADERSHIP_TERM), eq(2 * POSITION), eq(LEADER_SESSION_ID), anyLong(),
+            anyLong());
+    }
+
+    @Test
+    public void shouldCountPromotedLearnerFromItsAcknowledgedPosition()
+    {
+        final IntHashSet learnerNodes = new IntHashSet();
+        learnerNodes.add(FOLLOWER_ID);
+        leader.learnerNodes(learnerNodes);
+        when(sessionArchiver.poll()).thenReturn((int)POSITION);
+        when(sessionArchiver.archivedPosition()).thenReturn(2 * POSITION);
+
+        leader.readData();
+        leader.onMessageAcknowledgement(2 * POSITION, FOLLOWER_ID, OK);
+
+        learnerNodes.remove(FOLLOWER_ID);
+        leader.onLearnerPromoted(FOLLOWER_ID);
+        leader.checkConditions(TIME);
+
+        verify(controlPublication)
+            .saveConsensusHeartbeat(eq(ID), eq(LEADERSHIP_TERM), eq(2 * POSITION), eq(LEADER_SESSION_ID), anyLong(),
+            anyLong());
+    }
+
     @Test
     public void shouldResendDataInResponseToMissingLogEntries()
     {
@@ -167,6 +215,132 @@ public class LeaderTest
         resendsMissingLogEntries(followerPosition, (int)POSITION, times(2));
     }
 
+    @Test
+    public void shouldResendMissingLogEntriesInChunksPerDutyCycle()
+    {
+        // Frames of 32, 32 and 64 bytes once aligned, the last of which is bigger than a chunk
+        final int chunkSize = 48;
+        final int followerPosition = HEADER_LENGTH;
+        final UnsafeBuffer log = new UnsafeBuffer(new byte[followerPosition + 128]);
+        log.putInt(followerPosition + FRAME_LENGTH_FIELD_OFFSET, 30, LITTLE_ENDIAN);
+        log.putInt(followerPosition + 32 + FRAME_LENGTH_FIELD_OFFSET, 32, LITTLE_ENDIAN);
+        log.putInt(followerPosition + 64 + FRAME_LENGTH_FIELD_OFFSET, 60, LITTLE_ENDIAN);
+        blocksAreReadFrom(log);
+
+        leader.catchUp(chunkSize, 2);
+        when(sessionArchiver.archivedPosition()).thenReturn((long)log.capacity());
+
+        leader.readData();
+
+        receivesMissingLogEntries(followerPosition);
+
+        resendsChunk(followerPosition, 32);
+        resendsChunk(followerPosition + 32, 32);
+        verify(controlPublication, times(2)).saveResend(
+            anyInt(), anyInt(), anyLong(), anyLong(), any(), anyInt(), anyInt());
+
+        leader.poll(1, 0);
+
+        resendsChunk(followerPosition + 64, 64);
+
+        leader.poll(1, 0);
+
+        verify(controlPublication, times(3)).saveResend(
+            anyInt(), anyInt(), anyLong(), anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldExtendInProgressResendWhenFollowerRequestsAgain()
+    {
+        leader.catchUp(CHUNK_SIZE, 1);
+        when(sessionArchiver.archivedPosition()).thenReturn(POSITION);
+
+        leader.readData();
+
+        receivesMissingLogEntries(0);
+        receivesMissingLogEntries(0);
+
+        leader.poll(1, 0);
+        leader.poll(1, 0);
+
+        resendsChunk(0, CHUNK_SIZE);
+        resendsChunk(CHUNK_SIZE, CHUNK_SIZE);
+        resendsChunk(2 * CHUNK_SIZE, (int)POSITION - 2 * CHUNK_SIZE);
+    }
+
+    @Test
+    public void shouldCatchUpFollowerAfterLargeGap()
+    {
+        final int frameLength = 64;
+        final int frameCount = 10_000;
+        final int chunkSize = MAX_RESEND_BODY_LENGTH;
+        final int chunksPerDutyCycle = 4;
+        final int followerStartPosition = HEADER_LENGTH;
+        final UnsafeBuffer log = new UnsafeBuffer(new byte[followerStartPosition + frameCount * frameLength]);
+        for (int i = 0; i < frameCount; i++)
+        {
+            final int frameOffset = followerStartPosition + i * frameLength;
+            log.putInt(frameOffset + FRAME_LENGTH_FIELD_OFFSET, frameLength, LITTLE_ENDIAN);
+            log.putInt(frameOffset + HEADER_LENGTH, i);
+        }
+        blocksAreReadFrom(log);
+
+        leader.catchUp(chunkSize, chunksPerDutyCycle);
+        when(sessionArchiver.archivedPosition()).thenReturn((long)log.capacity());
+
+        leader.readData();
+
+        // Applies resends in the way that the follower does, back pressuring every fifth one
+        final UnsafeBuffer followerLog = new UnsafeBuffer(new byte[log.capacity()]);
+        final long[] followerPosition = { followerStartPosition };
+        final int[] resends = { 0 };
+        when(controlPublication.saveResend(anyInt(), anyInt(), anyLong(), anyLong(), any(), anyInt(), anyInt())).then(
+            (inv) ->
+            {
+                if (++resends[0] % 5 == 0)
+                {
+                    return BACK_PRESSURED;
+                }
+
+                final Object[] arguments = inv.getArguments();
+                final long position = (long)arguments[2];
+                final DirectBuffer buffer = (DirectBuffer)arguments[4];
+                final int offset = (int)arguments[5];
+                final int length = (int)arguments[6];
+                if (position == followerPosition[0])
+                {
+                    followerLog.putBytes((int)position, buffer, offset, length);
+                    followerPosition[0] += length;
+                }
+
+                return 100L;
+            });
+
+        receivesMissingLogEntries(followerStartPosition);
+
+        // Back pressure ends a duty cycle early, but every duty cycle should still make progress
+        final int dutyCycleLimit = (log.capacity() - followerStartPosition) / chunkSize;
+        for (int i = 0; i < dutyCycleLimit && followerPosition[0] < log.capacity(); i++)
+        {
+            leader.poll(1, 0);
+        }
+
+        assertEquals(log.capacity(), followerPosition[0]);
+        assertEquals(0, followerLog.compareTo(log));
+    }
+
+    private void resendsChunk(final long position, final int length)
+    {
+        verify(controlPublication).saveResend(
+            eq(LEADER_SESSION_ID),
+            eq(LEADERSHIP_TERM),
+            eq(position),
+            anyLong(),
+            any(),
+            eq(0),
+            eq(length));
+    }
+
     private void backPressureResend(final long position)
     {
         when(controlPublication.saveResend(anyInt(), anyInt(), eq(position), anyLong(), any(), anyInt(), anyInt()))
@@ -185,6 +359,25 @@ public class LeaderTest
         resendsMissingLogEntries(followerPosition, 0, times(1));
     }
 
+    @Test
+    public void shouldCatchUpVotersBehindOurArchive()
+    {
+        when(sessionArchiver.archivedPosition()).thenReturn(POSITION);
+
+        leader.readData();
+
+        final long followerPosition = 0;
+        final Long2LongHashMap voterPositions = new Long2LongHashMap(-1);
+        voterPositions.put(FOLLOWER_ID, followerPosition);
+        voterPositions.put(OTHER_FOLLOWER_ID, POSITION);
+
+        leader.catchUpVoters(voterPositions);
+
+        resendsMissingLogEntries(followerPosition, (int)POSITION, times(1));
+        verify(controlPublication, times(1)).saveResend(
+            anyInt(), anyInt(), anyLong(), anyLong(), any(), anyInt(), anyInt());
+    }
+
     private void receivesMissingLogEntries(final long followerPosition)
     {
         receivesMissingLogEntries(followerPosition, FOLLOWER_ID);
@@ -207,6 +400,25 @@ public class LeaderTest
             eq((int)(length - followerPosition)));
     }
 
+    private void blocksAreReadFrom(final UnsafeBuffer log)
+    {
+        whenBlockRead().then(
+            (inv) ->
+            {
+                final Object[] arguments = inv.getArguments();
+                final int position = (int)(long)arguments[0];
+                final int length = (int)arguments[1];
+                final BlockHandler handler = (BlockHandler)arguments[2];
+
+                if (handler != null)
+                {
+                    handler.onBlock(new UnsafeBuffer(log, position, length), 0, length, LEADER_SESSION_ID, 1);
+                }
+
+                return true;
+            });
+    }
+
     private OngoingStubbing<Boolean> whenBlockRead()
     {
         return when(sessionReader.readBlock(anyLong(), anyInt(), any()));
@@ -20,6 +20,7 @@ import org.junit.Test;
 import uk.co.real_logic.artio.replication.LeadershipTermIndex.Cursor;
 
 import static org.junit.Assert.*;
+import static uk.co.real_logic.artio.replication.PositionTranslations.replicatedToTransport;
 
 public class LeadershipTermIndexTest
 {
@@ -104,6 +105,70 @@ public class LeadershipTermIndexTest
         assertCursor(2, 11);
     }
 
+    @Test
+    public void shouldReuseCursorAcrossTerms()
+    {
+        storesHistory();
+
+        assertFindsPosition(6);
+        assertCursor(2, 1);
+
+        assertFindsPosition(16);
+        assertCursor(1, 6);
+
+        assertFindsPosition(1);
+        assertCursor(1, 1);
+
+        assertFindsPosition(30);
+        assertCursor(1, 18);
+    }
+
+    @Test
+    public void shouldFindTermsAddedAfterCursorWasUsed()
+    {
+        storesHistory();
+
+        assertFindsPosition(30);
+        assertCursor(1, 18);
+
+        leadershipTermIndex.onNewLeader(20, 40, 0, 3);
+
+        assertFindsPosition(45);
+        assertCursor(3, 5);
+
+        assertFindsPosition(30);
+        assertCursor(1, 18);
+    }
+
+    @Test
+    public void shouldTranslatePositionsWithinFoundTerm()
+    {
+        storesHistory();
+
+        assertFindsPosition(18);
+
+        assertEquals(cursor.transportPosition(), replicatedToTransport(18, cursor.transportPositionDelta()));
+    }
+
+    @Test
+    public void shouldSearchManyTerms()
+    {
+        final int terms = 200;
+        final int termLength = 16;
+        for (int i = 0; i < terms; i++)
+        {
+            leadershipTermIndex.onNewLeader(termLength, i * termLength, 0, i + 1);
+        }
+
+        assertEquals(terms, leadershipTermIndex.rowCount());
+
+        for (int i = terms - 1; i >= 0; i--)
+        {
+            assertFindsPosition(i * termLength + 1);
+            assertCursor(i + 1, 1);
+        }
+    }
+
     private void findsNoTerm(final int position)
     {
         assertFalse("Found term when there was none", leadershipTermIndex.find(position, cursor));
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.replication;
+
+import io.aeron.ExclusivePublication;
+import io.aeron.ReservedValueSupplier;
+import io.aeron.logbuffer.ExclusiveBufferClaim;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static io.aeron.Publication.BACK_PRESSURED;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class OutboundPipeTest
+{
+    private static final int STREAM_ID = 5;
+    private static final int MAX_PAYLOAD_LENGTH = 64;
+    private static final int OFFSET = 3;
+    private static final int LENGTH = 20;
+    private static final long RESERVED_VALUE = ReservedValue.of(STREAM_ID, 42);
+
+    private final ExclusivePublication publication = mock(ExclusivePublication.class);
+    private final ClusterStreams streams = mock(ClusterStreams.class);
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[1024]);
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+    private final ClusterHeader header = new ClusterHeader(STREAM_ID);
+
+    private OutboundPipe outboundPipe;
+
+    @Before
+    public void setUp()
+    {
+        when(publication.streamId()).thenReturn(STREAM_ID);
+        when(publication.maxPayloadLength()).thenReturn(MAX_PAYLOAD_LENGTH);
+
+        outboundPipe = new OutboundPipe(publication, streams);
+
+        header.update(0, 1, (byte)0, RESERVED_VALUE);
+        for (int i = 0; i < LENGTH; i++)
+        {
+            buffer.putByte(OFFSET + i, (byte)i);
+        }
+    }
+
+    @Test
+    public void shouldCopyFragmentIntoClaimedBufferRetainingReservedValue()
+    {
+        when(publication.tryClaim(anyInt(), any(ExclusiveBufferClaim.class))).then(
+            (inv) ->
+            {
+                final int length = inv.getArgument(0);
+                final ExclusiveBufferClaim bufferClaim = inv.getArgument(1);
+                bufferClaim.wrap(termBuffer, 0, length + HEADER_LENGTH);
+                return 100L;
+            });
+
+        assertEquals(CONTINUE, outboundPipe.onFragment(buffer, OFFSET, LENGTH, header));
+
+        assertEquals(RESERVED_VALUE, termBuffer.getLong(RESERVED_VALUE_OFFSET, LITTLE_ENDIAN));
+        for (int i = 0; i < LENGTH; i++)
+        {
+            assertEquals(i, termBuffer.getByte(HEADER_LENGTH + i));
+        }
+        verify(publication, never()).offer(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void shouldAbortWhenBackPressured()
+    {
+        when(publication.tryClaim(anyInt(), any(ExclusiveBufferClaim.class))).thenReturn(BACK_PRESSURED);
+
+        assertEquals(ABORT, outboundPipe.onFragment(buffer, OFFSET, LENGTH, header));
+    }
+
+    @Test
+    public void shouldOfferFragmentsLargerThanMaxPayloadRetainingReservedValue()
+    {
+        final int length = MAX_PAYLOAD_LENGTH + 1;
+        final ArgumentCaptor<ReservedValueSupplier> reservedValueSupplier =
+            ArgumentCaptor.forClass(ReservedValueSupplier.class);
+        when(publication.offer(eq(buffer), eq(OFFSET), eq(length), reservedValueSupplier.capture())).thenReturn(100L);
+
+        assertEquals(CONTINUE, outboundPipe.onFragment(buffer, OFFSET, length, header));
+
+        assertEquals(RESERVED_VALUE, reservedValueSupplier.getValue().get(termBuffer, 0, length));
+        verify(publication, never()).tryClaim(anyInt(), any(ExclusiveBufferClaim.class));
+    }
+}
@@ -90,6 +90,21 @@ public class QuorumAcknowledgementStrategyTest
         assertEquals(2, ackedTerm);
     }
 
+    @Test
+    public void shouldAcknowledgeQuorumPositionForUnorderedPositions()
+    {
+        final Long2LongHashMap sessionIdToPosition = new Long2LongHashMap(-1L);
+        sessionIdToPosition.put(1, 5);
+        sessionIdToPosition.put(2, 1);
+        sessionIdToPosition.put(3, 4);
+        sessionIdToPosition.put(4, 2);
+        sessionIdToPosition.put(5, 3);
+
+        final long ackedTerm = strategy.findAckedTerm(sessionIdToPosition);
+
+        assertEquals(3, ackedTerm);
+    }
+
     @Test
     public void shouldElectWithMajority()
     {
@@ -317,7 +317,8 @@ public class ScenariosTest
     }
 
     private static Effect voteForCandidate = namedEffect((st) ->
-        verify(st.controlPublication).saveReplyVote(ID, CANDIDATE_ID, NEW_TERM, FOR, NODE_STATE_BUFFER),
+        verify(st.controlPublication).saveReplyVote(
+            eq(ID), eq(CANDIDATE_ID), eq(NEW_TERM), eq(FOR), anyLong(), eq(NODE_STATE_BUFFER)),
         "voteForCandidate");
 
     private static Effect transitionsToFollower =
@@ -441,11 +442,12 @@ public class ScenariosTest
         (st) ->
         {
             st.raftHandler.onReplyVote(
-                FOLLOWER_1_ID, ID, LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+                FOLLOWER_1_ID, ID, LEADERSHIP_TERM, FOR, POSITION, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
             if (st.clusterSize > 3)
             {
                 st.raftHandler.onReplyVote(
-                    FOLLOWER_2_ID, ID, LEADERSHIP_TERM, FOR, NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
+                    FOLLOWER_2_ID, ID, LEADERSHIP_TERM, FOR, POSITION,
+                    NODE_STATE_BUFFER, NODE_STATE_LENGTH, SESSION_ID);
             }
         }, "onMajority");
 
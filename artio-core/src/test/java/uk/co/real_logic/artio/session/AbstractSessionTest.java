@@ -34,6 +34,7 @@ import static io.aeron.Publication.BACK_PRESSURED;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.Matchers.containsString;
@@ -43,6 +44,7 @@ import static org.mockito.Mockito.*;
 import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_REASONABLE_TRANSMISSION_TIME_IN_S;
 import static uk.co.real_logic.artio.decoder.Constants.NEW_SEQ_NO;
 import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
+import static uk.co.real_logic.artio.fields.EpochFractionFormat.MICROSECONDS;
 import static uk.co.real_logic.artio.fields.RejectReason.*;
 import static uk.co.real_logic.artio.messages.DisconnectReason.APPLICATION_DISCONNECT;
 import static uk.co.real_logic.artio.messages.SessionState.*;
@@ -98,7 +100,10 @@ public abstract class AbstractSessionTest
             anyLong(),
             anyInt(),
             anyLong(),
-            any()
+            any(),
+            anyInt(),
+            anyBoolean(),
+            anyLong()
         )).thenReturn(POSITION);
     }
 
@@ -659,6 +664,34 @@ public abstract class AbstractSessionTest
         assertThat(secondMessage, containsString(":01\001"));
     }
 
+    @Test
+    public void shouldEncodeMessageTimestampsInMicroseconds()
+    {
+        givenActive();
+
+        final long epochNanos = SECONDS.toNanos(1) + 123_456_789L;
+        session().sendingTimeFormat(MICROSECONDS, () -> epochNanos);
+
+        final String message = sendTestRequest(0);
+
+        assertThat(message, containsString("52=19700101-00:00:01.123456\001"));
+        verify(mockProxy).sendingTimeFormat(eq(MICROSECONDS), any());
+    }
+
+    @Test
+    public void shouldSavePreParsedHeaderFieldsOfSentMessages()
+    {
+        givenActive();
+        session().sendingTimeFormat(MICROSECONDS, () -> MILLISECONDS.toNanos(fakeClock.time()) + 123_456L);
+        final int sentSeqNum = session().lastSentMsgSeqNum() + 1;
+
+        sendTestRequest(0);
+
+        verify(mockPublication).saveMessage(
+            any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyInt(), anyLong(), any(),
+            eq(sentSeqNum), eq(false), eq(fakeClock.time()));
+    }
+
     private String sendTestRequest(final long nonSecondDurationInMs)
     {
         testRequest.reset();
@@ -18,6 +18,7 @@ package uk.co.real_logic.artio.session;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Test;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -26,8 +27,9 @@ import java.util.Set;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertThat;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static uk.co.real_logic.artio.session.SessionIdStrategy.INSUFFICIENT_SPACE;
 
 @SuppressWarnings("Indentation")
@@ -62,6 +64,29 @@ public class SenderAndTargetSessionIdStrategyTest
             }));
     }
 
+    @Test
+    public void acceptingALogonMatchesTheEquivalentInitiatedKey()
+    {
+        IDS.forEach((initiatorSenderComp) ->
+            IDS.forEach((initiatorTargetComp) ->
+            {
+                final CompositeKey key = strategy.onInitiateLogon(
+                    initiatorSenderComp, null, null, initiatorTargetComp, null, null);
+                final CompositeKey otherKey = strategy.onInitiateLogon(
+                    initiatorSenderComp, null, null, initiatorTargetComp + "X", null, null);
+
+                final HeaderDecoder headerDecoder = mock(HeaderDecoder.class);
+                when(headerDecoder.senderCompID()).thenReturn(initiatorTargetComp.toCharArray());
+                when(headerDecoder.senderCompIDLength()).thenReturn(initiatorTargetComp.length());
+                when(headerDecoder.targetCompID()).thenReturn(initiatorSenderComp.toCharArray());
+                when(headerDecoder.targetCompIDLength()).thenReturn(initiatorSenderComp.length());
+
+                assertEquals(key.hashCode(), strategy.onAcceptLogonHashCode(headerDecoder));
+                assertTrue(strategy.onAcceptLogonMatches(key, headerDecoder));
+                assertFalse(strategy.onAcceptLogonMatches(otherKey, headerDecoder));
+            }));
+    }
+
     @Test
     public void savesAndLoadsACompositeKey()
     {
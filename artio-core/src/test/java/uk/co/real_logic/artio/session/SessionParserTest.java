@@ -26,6 +26,7 @@ import uk.co.real_logic.artio.validation.MessageValidationStrategy;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.builder.Validation.CODEC_VALIDATION_ENABLED;
 import static uk.co.real_logic.artio.decoder.Constants.TARGET_COMP_ID;
 import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
 
@@ -91,6 +92,33 @@ public class SessionParserTest
         verify(mockSession, never()).onInvalidMessageType(anyInt(), any(), anyInt());
     }
 
+    @Test
+    public void shouldValidateCompIdOfMessageWithPreParsedHeader()
+    {
+        final UnsafeBuffer buffer = bufferOf(
+            "8=FIX.4.2\0019=146\00135=D\00134=4\00149=WRONG\001" +
+            "52=20090323-15:40:29\00156=WRONG\001115=XYZ\00111=NF 0542/03232009\00154=1\00138=100\001" +
+            "55=CVS\00140=1\00159=0\00147=A\00160=20090323-15:40:29\00121=1\001207=N\00110=195\001");
+
+        when(mockSession.state()).thenReturn(SessionState.AWAITING_LOGOUT);
+
+        parser.onMessage(buffer, 0, buffer.capacity(), 'D', 1, 4, false, 1237822829000L);
+
+        if (CODEC_VALIDATION_ENABLED)
+        {
+            verify(mockSession).onInvalidMessage(
+                4,
+                TARGET_COMP_ID,
+                "D".toCharArray(),
+                "D".length(),
+                RejectReason.COMPID_PROBLEM.representation());
+        }
+        else
+        {
+            verify(mockSession).onMessage(eq(4), any(), eq(1), eq(1237822829000L), anyLong(), eq(false));
+        }
+    }
+
     private UnsafeBuffer bufferOf(final String str)
     {
         return new UnsafeBuffer(str.getBytes(US_ASCII));
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.session;
+
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.builder.HeaderEncoder;
+import uk.co.real_logic.artio.builder.HeartbeatEncoder;
+import uk.co.real_logic.artio.builder.TestRequestEncoder;
+import uk.co.real_logic.artio.engine.framer.FakeEpochClock;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class SessionProxyTest
+{
+    private static final long CONNECTION_ID = 2L;
+    private static final long SESSION_ID = 3L;
+    private static final int LIBRARY_ID = 4;
+    private static final int[] MSG_SEQ_NUMS = {1, 2, 9, 10, 11, 99, 100, 100_000};
+
+    private final List<String> sentMessages = new ArrayList<>();
+    private final FakeEpochClock clock = new FakeEpochClock();
+    private final GatewayPublication gatewayPublication = mock(GatewayPublication.class);
+    private final SessionIdStrategy sessionIdStrategy = SessionIdStrategy.senderAndTarget();
+    private final CompositeKey sessionKey = sessionIdStrategy.onInitiateLogon(
+        "SENDER", "", "", "TARGET", "", "");
+
+    private SessionProxy proxy;
+
+    @Before
+    public void setUp()
+    {
+        doAnswer(
+            (inv) ->
+            {
+                final DirectBuffer buffer = inv.getArgument(0);
+                sentMessages.add(buffer.getStringWithoutLengthAscii(inv.getArgument(1), inv.getArgument(2)));
+                return 1L;
+            }).when(gatewayPublication).saveMessage(
+            any(), anyInt(), anyInt(), anyInt(), anyInt(), anyLong(), anyInt(), anyLong(), any(), anyInt(),
+            anyBoolean(), anyLong());
+
+        clock.advanceMilliSeconds(1_500_000_000_123L);
+        proxy = new SessionProxy(
+            new MutableAsciiBuffer(new byte[8 * 1024]),
+            gatewayPublication,
+            sessionIdStrategy,
+            mock(SessionCustomisationStrategy.class),
+            clock,
+            CONNECTION_ID,
+            LIBRARY_ID);
+        proxy.setupSession(SESSION_ID, sessionKey);
+    }
+
+    @Test
+    public void shouldSendHeartbeatsThatMatchEncodedHeartbeats()
+    {
+        for (final int msgSeqNum : MSG_SEQ_NUMS)
+        {
+            proxy.heartbeat(msgSeqNum, 0);
+
+            assertLastSent(expectedHeartbeat(msgSeqNum));
+            clock.advanceMilliSeconds(1_001);
+        }
+    }
+
+    @Test
+    public void shouldSendHeartbeatsThatMatchEncodedHeartbeatsWhenSendingTimeLengthChanges()
+    {
+        proxy.heartbeat(1, 0);
+
+        clock.advanceMilliSeconds(877); // a whole second, so no fraction is encoded
+
+        proxy.heartbeat(2, 0);
+        assertLastSent(expectedHeartbeat(2));
+
+        clock.advanceMilliSeconds(1);
+
+        proxy.heartbeat(3, 0);
+        assertLastSent(expectedHeartbeat(3));
+    }
+
+    @Test
+    public void shouldSendTestRequestsThatMatchEncodedTestRequests()
+    {
+        for (final int msgSeqNum : MSG_SEQ_NUMS)
+        {
+            proxy.testRequest(msgSeqNum, Session.TEST_REQ_ID, 0);
+
+            assertLastSent(expectedTestRequest(msgSeqNum, Session.TEST_REQ_ID));
+            clock.advanceMilliSeconds(1_001);
+        }
+
+        proxy.testRequest(100_001, "OTHER", 0);
+        assertLastSent(expectedTestRequest(100_001, "OTHER"));
+    }
+
+    @Test
+    public void shouldSendHeartbeatsForNewSessionKey()
+    {
+        proxy.heartbeat(1, 0);
+
+        final CompositeKey newSessionKey = sessionIdStrategy.onInitiateLogon(
+            "NEW_SENDER", "", "", "NEW_TARGET", "", "");
+        proxy.setupSession(SESSION_ID, newSessionKey);
+        proxy.heartbeat(2, 0);
+
+        final HeartbeatEncoder heartbeat = new HeartbeatEncoder();
+        sessionIdStrategy.setupSession(newSessionKey, heartbeat.header());
+        assertLastSent(encode(heartbeat, 2));
+    }
+
+    @Test
+    public void shouldSendHeartbeatsWithTestReqIdsAfterTemplatedHeartbeats()
+    {
+        proxy.heartbeat(1, 0);
+
+        final char[] testReqId = "ID".toCharArray();
+        proxy.heartbeat(testReqId, testReqId.length, 2, 0);
+        final HeartbeatEncoder withTestReqId = new HeartbeatEncoder();
+        withTestReqId.testReqID(testReqId);
+        sessionIdStrategy.setupSession(sessionKey, withTestReqId.header());
+        assertLastSent(encode(withTestReqId, 2));
+
+        proxy.heartbeat(3, 0);
+        assertLastSent(expectedHeartbeat(3));
+    }
+
+    private String expectedHeartbeat(final int msgSeqNum)
+    {
+        final HeartbeatEncoder heartbeat = new HeartbeatEncoder();
+        sessionIdStrategy.setupSession(sessionKey, heartbeat.header());
+        return encode(heartbeat, msgSeqNum);
+    }
+
+    private String expectedTestRequest(final int msgSeqNum, final String testReqId)
+    {
+        final TestRequestEncoder testRequest = new TestRequestEncoder();
+        testRequest.testReqID(testReqId);
+        sessionIdStrategy.setupSession(sessionKey, testRequest.header());
+        return encode(testRequest, msgSeqNum);
+    }
+
+    private String encode(final Encoder encoder, final int msgSeqNum)
+    {
+        final UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+        final int sendingTimeLength = timestampEncoder.encode(clock.time());
+        final HeaderEncoder header = (HeaderEncoder)encoder.header();
+        header.sendingTime(timestampEncoder.buffer(), sendingTimeLength);
+        header.msgSeqNum(msgSeqNum);
+
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[1024]);
+        final long result = encoder.encode(buffer, 0);
+        return buffer.getStringWithoutLengthAscii(Encoder.offset(result), Encoder.length(result));
+    }
+
+    private void assertLastSent(final String expected)
+    {
+        assertEquals(expected, sentMessages.get(sentMessages.size() - 1));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.timing;
+
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.co.real_logic.artio.timing.LatencyHistogram.BUCKET_COUNT;
+
+public class LatencyHistogramTest
+{
+    private static final String LABEL = "Latency";
+
+    private final NanoClock clock = mock(NanoClock.class);
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[BUCKET_COUNT * CountersManager.METADATA_LENGTH]),
+        new UnsafeBuffer(new byte[BUCKET_COUNT * CountersManager.COUNTER_LENGTH]));
+    private final LatencyHistogram histogram = new LatencyHistogram(countersManager, LABEL, clock);
+
+    @After
+    public void tearDown()
+    {
+        histogram.close();
+    }
+
+    @Test
+    public void shouldPutLatenciesIntoPowerOfTwoBuckets()
+    {
+        assertEquals(0, LatencyHistogram.bucketIndex(-1));
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(0, LatencyHistogram.bucketIndex(1023));
+        assertEquals(1, LatencyHistogram.bucketIndex(1024));
+        assertEquals(1, LatencyHistogram.bucketIndex(2047));
+        assertEquals(2, LatencyHistogram.bucketIndex(2048));
+        assertEquals(BUCKET_COUNT - 2, LatencyHistogram.bucketIndex((1L << 26) - 1));
+        assertEquals(BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(1L << 26));
+        assertEquals(BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldRecordLatencySinceTimestamp()
+    {
+        when(clock.nanoTime()).thenReturn(11_000L);
+
+        assertEquals(11_000L, histogram.recordSince(1_000L));
+        histogram.recordValue(100);
+        histogram.recordValue(200);
+
+        assertEquals(2, histogram.count(0));
+        assertEquals(1, histogram.count(LatencyHistogram.bucketIndex(10_000L)));
+    }
+
+    @Test
+    public void shouldLabelBucketsWithTheirBounds()
+    {
+        final List<String> labels = new ArrayList<>();
+        countersManager.forEach((id, label) -> labels.add(label));
+
+        assertThat(labels, hasSize(BUCKET_COUNT));
+        assertEquals(LABEL + " < 1024ns", labels.get(0));
+        assertEquals(LABEL + " < 2048ns", labels.get(1));
+        assertThat(labels.subList(BUCKET_COUNT - 2, BUCKET_COUNT),
+            contains(LABEL + " < 67108864ns", LABEL + " >= 67108864ns"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.stress;
+
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.SleepingIdleStrategy;
+import uk.co.real_logic.artio.Reply;
+import uk.co.real_logic.artio.SampleUtil;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.library.SessionConfiguration;
+import uk.co.real_logic.artio.session.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+import static uk.co.real_logic.artio.messages.SessionState.ACTIVE;
+import static uk.co.real_logic.artio.stress.StressConfiguration.*;
+
+/**
+ * Logs on many sessions from a single library and reports how much heap they use. The acceptor's sessions run in
+ * the same process, so the figure covers a session on both sides of the connection.
+ */
+public final class ManySessionsOneLibrary
+{
+    private static final long TIMEOUT_IN_MS = 60_000;
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final AgentRunner server = Server.createServer(new SleepingIdleStrategy(100), Throwable::printStackTrace);
+
+        AgentRunner.startOnThread(server);
+
+        final String aeronChannel = "aeron:udp?endpoint=localhost:10002";
+        final EngineConfiguration engineConfiguration = new EngineConfiguration()
+            .libraryAeronChannel(aeronChannel)
+            .logFileDir("stress-client-logs")
+            .bindTo("localhost", 10001);
+
+        System.out.println("Client Logs at " + engineConfiguration.logFileDir());
+
+        StressUtil.cleanupOldLogFileDir(engineConfiguration);
+
+        final LibraryConfiguration libraryConfiguration = new LibraryConfiguration()
+            .sessionAcquireHandler(StressSessionHandler::new)
+            .libraryAeronChannels(singletonList(aeronChannel));
+
+        try (FixEngine ignore = FixEngine.launch(engineConfiguration);
+            FixLibrary library = SampleUtil.blockingConnect(libraryConfiguration))
+        {
+            final SleepingIdleStrategy idleStrategy = new SleepingIdleStrategy(100);
+
+            final List<SessionConfiguration> sessionConfigurations = new ArrayList<>(NUM_SESSIONS);
+            for (int i = 0; i < NUM_SESSIONS; i++)
+            {
+                sessionConfigurations.add(SessionConfiguration.builder()
+                    .address("localhost", StressConfiguration.PORT)
+                    .targetCompId(ACCEPTOR_ID + "-" + i)
+                    .senderCompId(INITIATOR_ID + "-" + i)
+                    .timeoutInMs(TIMEOUT_IN_MS)
+                    .build());
+            }
+
+            final long usedBeforeInBytes = usedHeapInBytes();
+
+            final List<Reply<Session>> replies = library.initiate(sessionConfigurations);
+            for (final Reply<Session> reply : replies)
+            {
+                while (reply.isExecuting())
+                {
+                    idleStrategy.idle(library.poll(10));
+                }
+
+                if (!reply.hasCompleted())
+                {
+                    System.err.println("Unable to initiate the session, " + reply.state());
+                    if (reply.hasErrored())
+                    {
+                        reply.error().printStackTrace();
+                    }
+                    System.exit(-1);
+                }
+
+                final Session session = reply.resultIfPresent();
+                while (session.state() != ACTIVE)
+                {
+                    idleStrategy.idle(library.poll(10));
+                }
+            }
+
+            final long usedAfterInBytes = usedHeapInBytes();
+
+            System.out.format("Sessions %d.%n", NUM_SESSIONS);
+            System.out.format(
+                "Heap used %dKB, %d bytes per session.%n",
+                (usedAfterInBytes - usedBeforeInBytes) / 1024,
+                (usedAfterInBytes - usedBeforeInBytes) / NUM_SESSIONS);
+        }
+
+        server.close();
+        System.exit(0);
+    }
+
+    private static long usedHeapInBytes()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
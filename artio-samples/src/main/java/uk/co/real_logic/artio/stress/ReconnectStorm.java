@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.stress;
+
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.SleepingIdleStrategy;
+import uk.co.real_logic.artio.Reply;
+import uk.co.real_logic.artio.SampleUtil;
+import uk.co.real_logic.artio.builder.TestRequestEncoder;
+import uk.co.real_logic.artio.client.TestReqIdFinder;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.library.SessionConfiguration;
+import uk.co.real_logic.artio.session.Session;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+import static uk.co.real_logic.artio.messages.SessionState.ACTIVE;
+import static uk.co.real_logic.artio.messages.SessionState.DISCONNECTED;
+import static uk.co.real_logic.artio.stress.StressConfiguration.*;
+
+/**
+ * Measures the round trip latency of an established session whilst many other sessions repeatedly disconnect and
+ * log back on to the same acceptor at once. Run with the fix.core.max_accepts_per_duty_cycle,
+ * fix.core.max_logons_per_duty_cycle and fix.core.max_pending_logons properties set to see how the acceptor's
+ * admission control changes the impact of the storm.
+ */
+public final class ReconnectStorm
+{
+    private static final int RECONNECT_ROUNDS = Integer.getInteger("fix.stress.reconnectRounds", 3);
+    private static final int BASELINE_PINGS = Integer.getInteger("fix.stress.baselinePings", 1000);
+    private static final String STABLE_ID = "STABLE";
+    private static final long TIMEOUT_IN_MS = 60_000;
+
+    private static final SleepingIdleStrategy IDLE_STRATEGY = new SleepingIdleStrategy(100);
+    private static final TestRequestEncoder TEST_REQUEST = new TestRequestEncoder();
+
+    private static int pingCount;
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final AgentRunner server = Server.createServer(new SleepingIdleStrategy(100), Throwable::printStackTrace);
+
+        AgentRunner.startOnThread(server);
+
+        final String aeronChannel = "aeron:udp?endpoint=localhost:10002";
+        final EngineConfiguration engineConfiguration = new EngineConfiguration()
+            .libraryAeronChannel(aeronChannel)
+            .logFileDir("stress-client-logs")
+            .bindTo("localhost", 10001);
+
+        System.out.println("Client Logs at " + engineConfiguration.logFileDir());
+
+        StressUtil.cleanupOldLogFileDir(engineConfiguration);
+
+        final TestReqIdFinder stableHandler = new TestReqIdFinder();
+        final LibraryConfiguration libraryConfiguration = new LibraryConfiguration()
+            .sessionAcquireHandler((session, isSlow) ->
+            {
+                final boolean isStable = STABLE_ID.equals(session.compositeKey().localCompId());
+                return isStable ? stableHandler : new StressSessionHandler(session, isSlow);
+            })
+            .libraryAeronChannels(singletonList(aeronChannel));
+
+        try (FixEngine ignore = FixEngine.launch(engineConfiguration);
+            FixLibrary library = SampleUtil.blockingConnect(libraryConfiguration))
+        {
+            final Session stableSession = awaitSession(library, library.initiate(SessionConfiguration.builder()
+                .address("localhost", StressConfiguration.PORT)
+                .targetCompId(ACCEPTOR_ID)
+                .senderCompId(STABLE_ID)
+                .timeoutInMs(TIMEOUT_IN_MS)
+                .build()));
+
+            final LongArrayList baselineLatencies = new LongArrayList();
+            for (int i = 0; i < BASELINE_PINGS; i++)
+            {
+                baselineLatencies.addLong(ping(library, stableSession, stableHandler));
+            }
+
+            final List<SessionConfiguration> stormConfigurations = new ArrayList<>(NUM_SESSIONS);
+            for (int i = 0; i < NUM_SESSIONS; i++)
+            {
+                stormConfigurations.add(SessionConfiguration.builder()
+                    .address("localhost", StressConfiguration.PORT)
+                    .targetCompId(ACCEPTOR_ID + "-" + i)
+                    .senderCompId(INITIATOR_ID + "-" + i)
+                    .timeoutInMs(TIMEOUT_IN_MS)
+                    .build());
+            }
+
+            final LongArrayList stormLatencies = new LongArrayList();
+            final long startTime = System.currentTimeMillis();
+            for (int round = 0; round < RECONNECT_ROUNDS; round++)
+            {
+                System.out.format("Reconnect round %d / %d%n", round + 1, RECONNECT_ROUNDS);
+
+                final List<Reply<Session>> replies = library.initiate(stormConfigurations);
+                final List<Session> stormSessions = new ArrayList<>(NUM_SESSIONS);
+                while (stormSessions.size() < NUM_SESSIONS)
+                {
+                    stormLatencies.addLong(ping(library, stableSession, stableHandler));
+                    collectActiveSessions(replies, stormSessions);
+                }
+
+                for (final Session session : stormSessions)
+                {
+                    session.requestDisconnect();
+                }
+
+                while (!allDisconnected(stormSessions))
+                {
+                    stormLatencies.addLong(ping(library, stableSession, stableHandler));
+                }
+            }
+
+            System.out.format(
+                "Sessions %d. Reconnect rounds %d in %dms.%n",
+                NUM_SESSIONS,
+                RECONNECT_ROUNDS,
+                System.currentTimeMillis() - startTime);
+            printLatencies("Baseline", baselineLatencies);
+            printLatencies("During storm", stormLatencies);
+        }
+
+        server.close();
+        System.exit(0);
+    }
+
+    private static Session awaitSession(final FixLibrary library, final Reply<Session> reply)
+    {
+        while (reply.isExecuting())
+        {
+            IDLE_STRATEGY.idle(library.poll(10));
+        }
+
+        checkCompleted(reply);
+
+        final Session session = reply.resultIfPresent();
+        while (session.state() != ACTIVE)
+        {
+            IDLE_STRATEGY.idle(library.poll(10));
+        }
+
+        return session;
+    }
+
+    private static void collectActiveSessions(final List<Reply<Session>> replies, final List<Session> sessions)
+    {
+        for (int i = replies.size() - 1; i >= 0; i--)
+        {
+            final Reply<Session> reply = replies.get(i);
+            if (!reply.isExecuting())
+            {
+                checkCompleted(reply);
+
+                final Session session = reply.resultIfPresent();
+                if (session.state() == ACTIVE)
+                {
+                    sessions.add(session);
+                    replies.remove(i);
+                }
+            }
+        }
+    }
+
+    private static boolean allDisconnected(final List<Session> sessions)
+    {
+        for (final Session session : sessions)
+        {
+            if (session.state() != DISCONNECTED)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void checkCompleted(final Reply<Session> reply)
+    {
+        if (!reply.hasCompleted())
+        {
+            System.err.println("Unable to initiate the session, " + reply.state());
+            if (reply.hasErrored())
+            {
+                reply.error().printStackTrace();
+            }
+            System.exit(-1);
+        }
+    }
+
+    private static long ping(final FixLibrary library, final Session session, final TestReqIdFinder finder)
+    {
+        final String testReqId = "Ping-" + pingCount++;
+        TEST_REQUEST.testReqID(testReqId);
+
+        final long startInNs = System.nanoTime();
+        while (session.send(TEST_REQUEST) < 0)
+        {
+            library.poll(10);
+        }
+
+        while (!testReqId.equals(finder.testReqId()))
+        {
+            library.poll(10);
+        }
+
+        return System.nanoTime() - startInNs;
+    }
+
+    private static void printLatencies(final String name, final LongArrayList latencies)
+    {
+        final long[] sorted = latencies.toLongArray();
+        Arrays.sort(sorted);
+
+        System.out.format(
+            "%s: %d round trips, 50%% = %dus, 99%% = %dus, 99.9%% = %dus, max = %dus%n",
+            name,
+            sorted.length,
+            percentileInUs(sorted, 0.5),
+            percentileInUs(sorted, 0.99),
+            percentileInUs(sorted, 0.999),
+            sorted[sorted.length - 1] / 1000);
+    }
+
+    private static long percentileInUs(final long[] sorted, final double percentile)
+    {
+        return sorted[(int)Math.min(sorted.length - 1, sorted.length * percentile)] / 1000;
+    }
+}
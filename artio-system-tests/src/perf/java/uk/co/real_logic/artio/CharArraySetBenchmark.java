@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.dictionary.CharArrayMap;
+import uk.co.real_logic.artio.dictionary.CharArraySet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up values in the sets and maps used to validate and decode enum fields, such as MsgType.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CharArraySetBenchmark
+{
+    private static final String[] MSG_TYPES =
+    {
+        "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "A", "B", "C", "D", "E", "F", "G", "H", "J", "K", "L", "M",
+        "N", "P", "Q", "R", "S", "T", "V", "W", "X", "Y", "Z", "a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k",
+        "l", "m", "n", "o", "p", "q", "r", "s", "t", "u", "v", "w", "x", "y", "z", "AA", "AB", "AC", "AD", "AE", "AF",
+        "AG", "AH", "AI", "AJ", "AK", "AL", "AM", "AN", "AO", "AP", "AQ", "AR", "AS", "AT", "AU", "AV", "AW", "AX",
+        "AY", "AZ", "BA", "BB", "BC", "BD", "BE", "BF", "BG", "BH"
+    };
+
+    private static final String[] LONG_VALUES =
+    {
+        "EXECUTION_VENUE", "MARKET_MAKER_ONE", "MARKET_MAKER_TWO", "LIQUIDITY_PROVIDER", "SMART_ORDER_ROUTER"
+    };
+
+    private static final int LOOKUPS = 1024;
+    private static final int MASK = LOOKUPS - 1;
+
+    private final char[][] msgTypes = new char[LOOKUPS][];
+    private final int[] msgTypeLengths = new int[LOOKUPS];
+    private final char[][] longValues = new char[LOOKUPS][];
+    private final int[] longValueLengths = new int[LOOKUPS];
+
+    private CharArraySet msgTypeSet;
+    private CharArraySet longValueSet;
+    private CharArrayMap<String> msgTypeMap;
+
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        msgTypeSet = new CharArraySet(MSG_TYPES);
+        longValueSet = new CharArraySet(LONG_VALUES);
+
+        final Map<String, String> stringMap = new HashMap<>();
+        for (final String msgType : MSG_TYPES)
+        {
+            stringMap.put(msgType, msgType);
+        }
+        msgTypeMap = new CharArrayMap<>(stringMap);
+
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            // Codecs decode into buffers that are larger than the value they hold
+            final String msgType = MSG_TYPES[(i * 7) % MSG_TYPES.length];
+            msgTypes[i] = copyOf(msgType);
+            msgTypeLengths[i] = msgType.length();
+
+            final String longValue = LONG_VALUES[i % LONG_VALUES.length];
+            longValues[i] = copyOf(longValue);
+            longValueLengths[i] = longValue.length();
+        }
+    }
+
+    @Benchmark
+    public void containsMsgType(final Blackhole bh)
+    {
+        final int i = index++ & MASK;
+        bh.consume(msgTypeSet.contains(msgTypes[i], msgTypeLengths[i]));
+    }
+
+    @Benchmark
+    public void containsLongValue(final Blackhole bh)
+    {
+        final int i = index++ & MASK;
+        bh.consume(longValueSet.contains(longValues[i], longValueLengths[i]));
+    }
+
+    @Benchmark
+    public void getMsgType(final Blackhole bh)
+    {
+        final int i = index++ & MASK;
+        bh.consume(msgTypeMap.get(msgTypes[i], msgTypeLengths[i]));
+    }
+
+    private static char[] copyOf(final String value)
+    {
+        final char[] chars = new char[32];
+        value.getChars(0, value.length(), chars, 0);
+        return chars;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.logbuffer.ExclusiveBufferClaim;
+import org.agrona.CloseHelper;
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.replication.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+
+/**
+ * Replicates messages across a local three node cluster, with every node sharing a media driver over IPC and
+ * being driven by the benchmark thread, optionally with a learner node attached that is only polled once every
+ * {@link #LEARNER_POLL_INTERVAL} duty cycles. Commit latency should be unaffected by the slow learner since its
+ * acknowledgements don't count towards the consensus position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClusterLearnerBenchmark
+{
+    private static final int CLUSTER_SIZE = 3;
+    private static final int LEARNER_POLL_INTERVAL = 100;
+    private static final short LEARNER_ID = CLUSTER_SIZE;
+    private static final int BURST_SIZE = 100;
+    private static final int MESSAGE_SIZE = 128;
+    private static final int CLUSTER_STREAM_ID = 1;
+
+    @Param({"false", "true"})
+    boolean withLearner;
+
+    private ClusterAgent learner;
+    private int dutyCycles;
+    private final ExclusiveBufferClaim bufferClaim = new ExclusiveBufferClaim();
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[MESSAGE_SIZE]);
+
+    private InProcessCluster cluster;
+    private ClusterablePublication publication;
+    private ClusterableSubscription subscription;
+    private int committed;
+
+    private final ClusterFragmentHandler fragmentHandler = (buffer, offset, length, header) ->
+    {
+        committed++;
+        return CONTINUE;
+    };
+
+    @Setup
+    public void setup()
+    {
+        final IntHashSet learnerNodes = new IntHashSet();
+        if (withLearner)
+        {
+            learnerNodes.add(LEARNER_ID);
+        }
+
+        cluster = new InProcessCluster("cluster-learner-benchmark", CLUSTER_SIZE);
+        cluster.startVotingNodes(configuration -> configuration.learnerNodes(learnerNodes));
+
+        if (withLearner)
+        {
+            learner = cluster.newNode(
+                LEARNER_ID, configuration -> configuration.learnerNodes(learnerNodes).learner(true));
+        }
+
+        final ClusterableStreams streams = cluster.awaitLeader().clusterStreams();
+        publication = streams.publication(CLUSTER_STREAM_ID, "benchmark");
+        subscription = streams.subscription(CLUSTER_STREAM_ID, "benchmark");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(subscription);
+        CloseHelper.close(publication);
+        CloseHelper.close(cluster);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public int commitBurst()
+    {
+        for (int i = 0; i < BURST_SIZE; i++)
+        {
+            offer();
+        }
+
+        return awaitCommitted(BURST_SIZE);
+    }
+
+    @Benchmark
+    public int commitMessage()
+    {
+        offer();
+
+        return awaitCommitted(1);
+    }
+
+    private void offer()
+    {
+        while (publication.tryClaim(MESSAGE_SIZE, bufferClaim) < 0)
+        {
+            doWork();
+        }
+
+        bufferClaim.buffer().putBytes(bufferClaim.offset(), message, 0, MESSAGE_SIZE);
+        bufferClaim.commit();
+    }
+
+    private int awaitCommitted(final int messages)
+    {
+        committed = 0;
+        while (committed < messages)
+        {
+            doWork();
+            subscription.poll(fragmentHandler, messages);
+        }
+
+        return committed;
+    }
+
+    private void doWork()
+    {
+        cluster.doWork();
+
+        if (learner != null && ++dutyCycles % LEARNER_POLL_INTERVAL == 0)
+        {
+            learner.doWork();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.ExclusiveBufferClaim;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.replication.ClusterablePublication;
+import uk.co.real_logic.artio.replication.ClusterableStreams;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+
+/**
+ * Replicates small messages across a local three node cluster, with every node sharing a media driver over IPC
+ * and being driven by the benchmark thread, measuring the time per message for a burst of committed messages to
+ * be copied onto the leader's outbound pipe publication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClusterOutboundPipeBenchmark
+{
+    private static final int CLUSTER_SIZE = 3;
+    private static final int BURST_SIZE = 100;
+    private static final int COPY_TO_STREAM_ID = 10;
+
+    @Param({"32", "128"})
+    int messageSize;
+
+    private final ExclusiveBufferClaim bufferClaim = new ExclusiveBufferClaim();
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[1024]);
+
+    private InProcessCluster cluster;
+    private ClusterablePublication publication;
+    private Subscription copyToSubscription;
+    private int copied;
+
+    private final FragmentHandler fragmentHandler = (buffer, offset, length, header) -> copied++;
+
+    @Setup
+    public void setup()
+    {
+        cluster = new InProcessCluster("cluster-pipe-benchmark", CLUSTER_SIZE);
+        final Aeron aeron = cluster.aeron();
+        cluster.startVotingNodes(
+            configuration -> configuration.copyTo(aeron.addExclusivePublication(IPC_CHANNEL, COPY_TO_STREAM_ID)));
+
+        copyToSubscription = aeron.addSubscription(IPC_CHANNEL, COPY_TO_STREAM_ID);
+        final ClusterableStreams streams = cluster.awaitLeader().clusterStreams();
+        publication = streams.publication(COPY_TO_STREAM_ID, "benchmark");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(copyToSubscription);
+        CloseHelper.close(publication);
+        CloseHelper.close(cluster);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public int copyBurst()
+    {
+        for (int i = 0; i < BURST_SIZE; i++)
+        {
+            offer();
+        }
+
+        return awaitCopied(BURST_SIZE);
+    }
+
+    private void offer()
+    {
+        final int messageSize = this.messageSize;
+        while (publication.tryClaim(messageSize, bufferClaim) < 0)
+        {
+            doWork();
+        }
+
+        bufferClaim.buffer().putBytes(bufferClaim.offset(), message, 0, messageSize);
+        bufferClaim.commit();
+    }
+
+    private int awaitCopied(final int messages)
+    {
+        copied = 0;
+        while (copied < messages)
+        {
+            doWork();
+            copyToSubscription.poll(fragmentHandler, messages);
+        }
+
+        return copied;
+    }
+
+    private void doWork()
+    {
+        cluster.doWork();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Decodes and encodes batches of prices and quantities typical of different asset classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DecimalFloatBenchmark
+{
+    private static final int VALUES = 1024;
+    private static final int MASK = VALUES - 1;
+
+    public enum Distribution
+    {
+        /** FX rates to 5 decimal places, eg 1.17245 */
+        FX_PRICE,
+
+        /** Equity prices in cents, eg 101.25 */
+        EQUITY_PRICE,
+
+        /** Whole number quantities, eg 1000000 */
+        QUANTITY,
+
+        /** Crypto prices and quantities with long fractions, eg 0.00012345 or 6543.21098765 */
+        LONG_FRACTION,
+
+        /** Padded and non-canonical values that need the general parsing routine, eg " 1.50 " */
+        PADDED
+    }
+
+    @Param
+    Distribution distribution;
+
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[VALUES * 32]);
+    private final int[] offsets = new int[VALUES];
+    private final int[] lengths = new int[VALUES];
+    private final DecimalFloat[] values = new DecimalFloat[VALUES];
+    private final DecimalFloat decoded = new DecimalFloat();
+    private final MutableAsciiBuffer encodeBuffer = new MutableAsciiBuffer(new byte[64]);
+
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(42);
+        int offset = 0;
+        for (int i = 0; i < VALUES; i++)
+        {
+            final byte[] value = generate(random).getBytes(US_ASCII);
+            buffer.putBytes(offset, value);
+            offsets[i] = offset;
+            lengths[i] = value.length;
+            values[i] = buffer.getFloat(new DecimalFloat(), offset, value.length);
+            offset += value.length;
+        }
+    }
+
+    @Benchmark
+    public void decode(final Blackhole bh)
+    {
+        final int i = index++ & MASK;
+        bh.consume(buffer.getFloat(decoded, offsets[i], lengths[i]));
+    }
+
+    @Benchmark
+    public void encode(final Blackhole bh)
+    {
+        final int i = index++ & MASK;
+        bh.consume(encodeBuffer.putAsciiFloat(0, values[i]));
+    }
+
+    private String generate(final Random random)
+    {
+        switch (distribution)
+        {
+            case FX_PRICE:
+                return String.format("%.5f", 0.5 + random.nextDouble());
+
+            case EQUITY_PRICE:
+                return String.format("%d.%02d", 1 + random.nextInt(500), random.nextInt(100));
+
+            case QUANTITY:
+                return Integer.toString((1 + random.nextInt(100)) * 1000 * (random.nextBoolean() ? 1 : 1000));
+
+            case LONG_FRACTION:
+                return random.nextBoolean() ?
+                    String.format("0.%08d", 1 + random.nextInt(99_999_999)) :
+                    String.format("%d.%08d", random.nextInt(10_000), random.nextInt(100_000_000));
+
+            case PADDED:
+            default:
+                return String.format(" %d.%d0 ", random.nextInt(1000), random.nextInt(10));
+        }
+    }
+}
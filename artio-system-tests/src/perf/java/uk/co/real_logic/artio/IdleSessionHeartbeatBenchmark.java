@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.ExclusivePublication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.SystemEpochClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.builder.HeaderEncoder;
+import uk.co.real_logic.artio.builder.HeartbeatEncoder;
+import uk.co.real_logic.artio.decoder.HeartbeatDecoder;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.replication.ClusterablePublication;
+import uk.co.real_logic.artio.session.CompositeKey;
+import uk.co.real_logic.artio.session.SessionCustomisationStrategy;
+import uk.co.real_logic.artio.session.SessionIdStrategy;
+import uk.co.real_logic.artio.session.SessionProxy;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.artio.messages.MessageStatus.OK;
+
+/**
+ * Sends a heartbeat from each of a large number of idle sessions, as the framer does for gateway-managed sessions
+ * every heartbeat interval. Compares encoding every heartbeat from scratch with the pre-encoded templates that
+ * {@link SessionProxy} patches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IdleSessionHeartbeatBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final int LIBRARY_ID = 2;
+    private static final int SEQUENCE_INDEX = 0;
+
+    @Param("10000")
+    int sessions;
+
+    private final EpochClock clock = new SystemEpochClock();
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[8 * 1024]);
+
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private Subscription subscription;
+    private GatewayPublication publication;
+    private SessionProxy[] proxies;
+    private HeartbeatEncoder[] heartbeats;
+    private UtcTimestampEncoder[] timestampEncoders;
+    private int msgSeqNum;
+    private int received;
+
+    private final FragmentHandler fragmentHandler = (fragmentBuffer, offset, length, header) -> received++;
+
+    @Setup
+    public void setup()
+    {
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED)
+            .dirDeleteOnStart(true));
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+        subscription = aeron.addSubscription(IPC_CHANNEL, STREAM_ID);
+        final ExclusivePublication dataPublication = aeron.addExclusivePublication(IPC_CHANNEL, STREAM_ID);
+        publication = new GatewayPublication(
+            ClusterablePublication.solo(dataPublication),
+            aeron.addCounter(0, "idle-session-heartbeat-benchmark-fails"),
+            new BusySpinIdleStrategy(),
+            new SystemNanoClock(),
+            Integer.MAX_VALUE);
+
+        final SessionIdStrategy sessionIdStrategy = SessionIdStrategy.senderAndTarget();
+        final SessionCustomisationStrategy customisationStrategy = SessionCustomisationStrategy.none();
+        proxies = new SessionProxy[sessions];
+        heartbeats = new HeartbeatEncoder[sessions];
+        timestampEncoders = new UtcTimestampEncoder[sessions];
+        for (int i = 0; i < sessions; i++)
+        {
+            final CompositeKey sessionKey = sessionIdStrategy.onInitiateLogon(
+                "ACCEPTOR", "", "", "INITIATOR-" + i, "", "");
+
+            proxies[i] = new SessionProxy(
+                buffer, publication, sessionIdStrategy, customisationStrategy, clock, i, LIBRARY_ID)
+                .setupSession(i, sessionKey);
+
+            heartbeats[i] = new HeartbeatEncoder();
+            sessionIdStrategy.setupSession(sessionKey, heartbeats[i].header());
+            timestampEncoders[i] = new UtcTimestampEncoder();
+            timestampEncoders[i].initialise(clock.time());
+        }
+
+        while (!dataPublication.isConnected())
+        {
+            Thread.yield();
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    public int encodedHeartbeats()
+    {
+        final int msgSeqNum = ++this.msgSeqNum;
+        final MutableAsciiBuffer buffer = this.buffer;
+        for (int i = 0; i < sessions; i++)
+        {
+            final HeartbeatEncoder heartbeat = heartbeats[i];
+            final UtcTimestampEncoder timestampEncoder = timestampEncoders[i];
+            final long timeInMs = clock.time();
+            final HeaderEncoder header = heartbeat.header();
+            header.sendingTime(timestampEncoder.buffer(), timestampEncoder.update(timeInMs));
+            header.msgSeqNum(msgSeqNum);
+
+            final long result = heartbeat.encode(buffer, 0);
+            publication.saveMessage(
+                buffer, Encoder.offset(result), Encoder.length(result), LIBRARY_ID, HeartbeatDecoder.MESSAGE_TYPE,
+                i, SEQUENCE_INDEX, i, OK, msgSeqNum, false, timeInMs);
+        }
+
+        return drain();
+    }
+
+    @Benchmark
+    public int preEncodedHeartbeats()
+    {
+        final int msgSeqNum = ++this.msgSeqNum;
+        for (int i = 0; i < sessions; i++)
+        {
+            proxies[i].heartbeat(msgSeqNum, SEQUENCE_INDEX);
+        }
+
+        return drain();
+    }
+
+    private int drain()
+    {
+        received = 0;
+        while (received < sessions)
+        {
+            subscription.poll(fragmentHandler, sessions);
+        }
+
+        return received;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.HdrHistogram.Histogram;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+import static uk.co.real_logic.artio.AdaptiveIdleStrategy.PARKING;
+import static uk.co.real_logic.artio.AdaptiveIdleStrategy.SPINNING;
+import static uk.co.real_logic.artio.AdaptiveIdleStrategy.YIELDING;
+
+/**
+ * Measures the latency between a message being published and an idling agent picking it up, for each of the
+ * busy spin, backoff and adaptive idle strategies, under load profiles ranging from saturated to overnight quiet.
+ * Also reports the time that the adaptive strategy spends in each of its modes.
+ */
+public final class IdleStrategyLatencyBenchmark
+{
+    private static final int MESSAGES = Integer.getInteger("fix.benchmark.idle.messages", 20_000);
+    private static final long SPIN_GAP_LIMIT_IN_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final Profile[] PROFILES =
+    {
+        new Profile("saturated", 1, 0, 0),
+        new Profile("steady 100k/s", 1, TimeUnit.MICROSECONDS.toNanos(10), 0),
+        new Profile("steady 1k/s", 1, TimeUnit.MILLISECONDS.toNanos(1), 0),
+        new Profile("market open bursts", 1_000, 0, TimeUnit.MILLISECONDS.toNanos(50)),
+        new Profile("overnight quiet", 1, TimeUnit.MILLISECONDS.toNanos(20), 0)
+    };
+
+    public static void main(final String[] args)
+    {
+        for (final Profile profile : PROFILES)
+        {
+            System.out.printf("%n--- %s ---%n", profile.name);
+            run(profile, "busy spin", BusySpinIdleStrategy::new);
+            run(profile, "backoff", CommonConfiguration::backoffIdleStrategy);
+            run(profile, "adaptive", AdaptiveIdleStrategy::new);
+        }
+    }
+
+    private static void run(final Profile profile, final String name, final Supplier<IdleStrategy> idleStrategies)
+    {
+        final int messages = profile.messages();
+        final IdleStrategy idleStrategy = idleStrategies.get();
+        final ConsumerAgent consumer = new ConsumerAgent();
+        final AgentRunner runner = new AgentRunner(idleStrategy, Throwable::printStackTrace, null, consumer);
+        startOnThread(runner);
+
+        try
+        {
+            for (int i = 1; i <= messages; i++)
+            {
+                if (i % profile.burstLength == 0)
+                {
+                    pause(profile.pauseInNs);
+                }
+                pause(profile.gapInNs);
+
+                consumer.publishedTimeInNs.lazySet(System.nanoTime());
+                while (consumer.acknowledged.get() != i)
+                {
+                    // spin until the consumer has picked up the message
+                }
+            }
+        }
+        finally
+        {
+            runner.close();
+        }
+
+        final Histogram histogram = consumer.histogram;
+        System.out.printf(
+            "%-10s mean = %8.0fns, p50 = %8dns, p99 = %8dns, p99.99 = %8dns, max = %8dns%n",
+            name,
+            histogram.getMean(),
+            histogram.getValueAtPercentile(50),
+            histogram.getValueAtPercentile(99),
+            histogram.getValueAtPercentile(99.99),
+            histogram.getMaxValue());
+
+        if (idleStrategy instanceof AdaptiveIdleStrategy)
+        {
+            final AdaptiveIdleStrategy adaptive = (AdaptiveIdleStrategy)idleStrategy;
+            System.out.printf(
+                "%-10s spinning = %dms, yielding = %dms, parking = %dms%n",
+                "",
+                TimeUnit.NANOSECONDS.toMillis(adaptive.timeInModeInNs(SPINNING)),
+                TimeUnit.NANOSECONDS.toMillis(adaptive.timeInModeInNs(YIELDING)),
+                TimeUnit.NANOSECONDS.toMillis(adaptive.timeInModeInNs(PARKING)));
+        }
+    }
+
+    private static void pause(final long durationInNs)
+    {
+        if (durationInNs > SPIN_GAP_LIMIT_IN_NS)
+        {
+            LockSupport.parkNanos(durationInNs);
+        }
+        else if (durationInNs > 0)
+        {
+            final long deadlineInNs = System.nanoTime() + durationInNs;
+            while (System.nanoTime() < deadlineInNs)
+            {
+                // spin to keep short gaps accurate
+            }
+        }
+    }
+
+    private static final class ConsumerAgent implements Agent
+    {
+        private final AtomicLong publishedTimeInNs = new AtomicLong();
+        private final AtomicLong acknowledged = new AtomicLong();
+        private final Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(1), 3);
+
+        private long lastPublishedTimeInNs;
+
+        public int doWork()
+        {
+            final long publishedTimeInNs = this.publishedTimeInNs.get();
+            if (publishedTimeInNs == lastPublishedTimeInNs)
+            {
+                return 0;
+            }
+
+            final long latencyInNs = System.nanoTime() - publishedTimeInNs;
+            histogram.recordValue(Math.min(latencyInNs, histogram.getHighestTrackableValue()));
+            lastPublishedTimeInNs = publishedTimeInNs;
+            acknowledged.lazySet(acknowledged.get() + 1);
+            return 1;
+        }
+
+        public String roleName()
+        {
+            return "IdleStrategyLatencyBenchmark";
+        }
+    }
+
+    private static final class Profile
+    {
+        private final String name;
+        private final int burstLength;
+        private final long gapInNs;
+        private final long pauseInNs;
+
+        private Profile(final String name, final int burstLength, final long gapInNs, final long pauseInNs)
+        {
+            this.name = name;
+            this.burstLength = burstLength;
+            this.gapInNs = gapInNs;
+            this.pauseInNs = pauseInNs;
+        }
+
+        private int messages()
+        {
+            // Keep slow profiles to a few seconds each
+            final long periodInNs = gapInNs + (pauseInNs / burstLength);
+            if (periodInNs == 0)
+            {
+                return MESSAGES;
+            }
+
+            return (int)Math.min(MESSAGES, TimeUnit.SECONDS.toNanos(5) / periodInNs);
+        }
+    }
+}
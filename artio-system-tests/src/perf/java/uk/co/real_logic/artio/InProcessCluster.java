@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.engine.CompletionPosition;
+import uk.co.real_logic.artio.engine.logger.ArchiveMetaData;
+import uk.co.real_logic.artio.engine.logger.ArchiveReader;
+import uk.co.real_logic.artio.engine.logger.Archiver;
+import uk.co.real_logic.artio.engine.logger.LogDirectoryDescriptor;
+import uk.co.real_logic.artio.replication.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static org.agrona.BitUtil.SIZE_OF_SHORT;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_LOGGER_CACHE_NUM_SETS;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_LOGGER_CACHE_SET_SIZE;
+import static uk.co.real_logic.artio.replication.ClusterConfiguration.DEFAULT_DATA_STREAM_ID;
+import static uk.co.real_logic.artio.replication.ReservedValue.NO_FILTER;
+
+/**
+ * A local cluster for benchmarks, with every node sharing an embedded media driver over IPC and being driven by
+ * the benchmark thread.
+ */
+final class InProcessCluster implements AutoCloseable
+{
+    private static final long TIMEOUT_IN_MS = 1000;
+
+    private final String name;
+    private final int clusterSize;
+    private final ClusterAgent[] votingNodes;
+    private final List<ClusterAgent> allNodes = new ArrayList<>();
+    private final MediaDriver mediaDriver;
+    private final Aeron aeron;
+
+    /**
+     * Launch the media driver for a cluster.
+     *
+     * @param name the prefix for the nodes' log directories and counters.
+     * @param clusterSize the number of voting nodes, which are numbered from 0.
+     */
+    InProcessCluster(final String name, final int clusterSize)
+    {
+        this.name = name;
+        this.clusterSize = clusterSize;
+        votingNodes = new ClusterAgent[clusterSize];
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED)
+            .dirDeleteOnStart(true));
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+    }
+
+    Aeron aeron()
+    {
+        return aeron;
+    }
+
+    /**
+     * Create the voting nodes.
+     *
+     * @param configurer customises the configuration of each node.
+     */
+    void startVotingNodes(final Consumer<ClusterConfiguration> configurer)
+    {
+        for (short nodeId = 0; nodeId < clusterSize; nodeId++)
+        {
+            votingNodes[nodeId] = newNode(nodeId, configurer);
+        }
+    }
+
+    /**
+     * Create a node, which isn't driven by {@link #doWork()} unless it's a voting node.
+     *
+     * @param nodeId the id of the node.
+     * @param configurer customises the configuration of the node.
+     * @return the new node.
+     */
+    ClusterAgent newNode(final short nodeId, final Consumer<ClusterConfiguration> configurer)
+    {
+        final File logFileDir = new File(IoUtil.tmpDirName(), name + "-node" + nodeId);
+        if (logFileDir.exists())
+        {
+            IoUtil.delete(logFileDir, true);
+        }
+
+        final IntHashSet otherNodes = new IntHashSet();
+        for (int otherNodeId = 0; otherNodeId < clusterSize; otherNodeId++)
+        {
+            if (otherNodeId != nodeId)
+            {
+                otherNodes.add(otherNodeId);
+            }
+        }
+
+        final StreamIdentifier dataStream = new StreamIdentifier(IPC_CHANNEL, DEFAULT_DATA_STREAM_ID);
+        final ArchiveMetaData metaData = new ArchiveMetaData(new LogDirectoryDescriptor(logFileDir.getPath()));
+        final ArchiveReader archiveReader = new ArchiveReader(
+            metaData, DEFAULT_LOGGER_CACHE_NUM_SETS, DEFAULT_LOGGER_CACHE_SET_SIZE, dataStream, NO_FILTER);
+        final Archiver archiver = new Archiver(
+            metaData, DEFAULT_LOGGER_CACHE_NUM_SETS, DEFAULT_LOGGER_CACHE_SET_SIZE, dataStream, nodeId + "-",
+            new CompletionPosition());
+        final UnsafeBuffer nodeState = new UnsafeBuffer(new byte[SIZE_OF_SHORT]);
+        nodeState.putShort(0, nodeId);
+
+        final ClusterConfiguration configuration = new ClusterConfiguration()
+            .nodeId(nodeId)
+            .aeron(aeron)
+            .otherNodes(otherNodes)
+            .timeoutIntervalInMs(TIMEOUT_IN_MS)
+            .failCounter(aeron.addCounter(0, name + "-fails-" + nodeId))
+            .aeronChannel(IPC_CHANNEL)
+            .archiver(archiver)
+            .archiveReaderSupplier(() -> archiveReader)
+            .nodeState(nodeState)
+            .nodeStateHandler(new NoOpNodeStateHandler());
+        configurer.accept(configuration);
+
+        final ClusterAgent node = new ClusterAgent(configuration, System.currentTimeMillis());
+        allNodes.add(node);
+        return node;
+    }
+
+    void doWork()
+    {
+        for (final ClusterAgent node : votingNodes)
+        {
+            node.doWork();
+        }
+    }
+
+    ClusterAgent awaitLeader()
+    {
+        while (true)
+        {
+            doWork();
+
+            ClusterAgent leader = null;
+            int followers = 0;
+            for (final ClusterAgent node : votingNodes)
+            {
+                if (node.isLeader())
+                {
+                    leader = node;
+                }
+                else if (node.isFollower())
+                {
+                    followers++;
+                }
+            }
+
+            if (leader != null && followers == clusterSize - 1)
+            {
+                return leader;
+            }
+
+            Thread.yield();
+        }
+    }
+
+    public void close()
+    {
+        for (final ClusterAgent node : allNodes)
+        {
+            node.onClose();
+        }
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    private static final class NoOpNodeStateHandler implements NodeStateHandler
+    {
+        public void onNewNodeState(
+            final short nodeId, final int aeronSessionId, final DirectBuffer nodeStateBuffer, final int nodeStateLength)
+        {
+        }
+
+        public void onNewLeader(final int leaderSessionId)
+        {
+        }
+
+        public void noLeader()
+        {
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.ExclusivePublication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.messages.DisconnectReason;
+import uk.co.real_logic.artio.messages.MessageStatus;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.protocol.ProtocolHandler;
+import uk.co.real_logic.artio.protocol.ProtocolSubscription;
+import uk.co.real_logic.artio.replication.ClusterablePublication;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Publishes and receives a burst of small FIX messages, as read from a single TCP read, either with a
+ * fragment per message or within a single batch fragment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InboundBatchBenchmark
+{
+    // Large enough for a batch of the biggest burst to fit in a single fragment
+    private static final String CHANNEL = IPC_CHANNEL + "?mtu=16384";
+    private static final int STREAM_ID = 1;
+    private static final int LIBRARY_ID = 2;
+    private static final long SESSION_ID = 3;
+    private static final long CONNECTION_ID = 4;
+    private static final int SEQUENCE_INDEX = 0;
+    private static final byte[] HEARTBEAT = ("8=FIX.4.4\0019=58\00135=0\00149=ABC_DEFG01\00156=CCG\00134=10\001" +
+        "52=20150514-15:57:31.336\00110=101\001").getBytes(US_ASCII);
+
+    @Param({"false", "true"})
+    boolean batched;
+
+    @Param({"10", "100"})
+    int messagesPerRead;
+
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private Subscription subscription;
+    private GatewayPublication publication;
+    private ProtocolSubscription protocolSubscription;
+    private UnsafeBuffer buffer;
+    private int[] messageTypes;
+    private int[] lengths;
+    private int received;
+
+    @Setup
+    public void setup()
+    {
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED)
+            .dirDeleteOnStart(true));
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+        subscription = aeron.addSubscription(CHANNEL, STREAM_ID);
+        final ExclusivePublication dataPublication = aeron.addExclusivePublication(CHANNEL, STREAM_ID);
+        publication = new GatewayPublication(
+            ClusterablePublication.solo(dataPublication),
+            aeron.addCounter(0, "inbound-batch-benchmark-fails"),
+            new BusySpinIdleStrategy(),
+            new SystemNanoClock(),
+            Integer.MAX_VALUE);
+        protocolSubscription = ProtocolSubscription.of(new CountingHandler());
+
+        buffer = new UnsafeBuffer(new byte[messagesPerRead * HEARTBEAT.length]);
+        messageTypes = new int[messagesPerRead];
+        lengths = new int[messagesPerRead];
+        for (int i = 0; i < messagesPerRead; i++)
+        {
+            buffer.putBytes(i * HEARTBEAT.length, HEARTBEAT);
+            messageTypes[i] = '0';
+            lengths[i] = HEARTBEAT.length;
+        }
+
+        while (!dataPublication.isConnected())
+        {
+            Thread.yield();
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    public int publishAndReceiveBurst()
+    {
+        final int messagesPerRead = this.messagesPerRead;
+        if (batched)
+        {
+            publication.saveMessageBatch(
+                buffer, 0, messageTypes, lengths, messagesPerRead, LIBRARY_ID, SESSION_ID, SEQUENCE_INDEX,
+                CONNECTION_ID);
+        }
+        else
+        {
+            final int length = HEARTBEAT.length;
+            for (int i = 0; i < messagesPerRead; i++)
+            {
+                publication.saveMessage(
+                    buffer, i * length, length, LIBRARY_ID, '0', SESSION_ID, SEQUENCE_INDEX, CONNECTION_ID,
+                    MessageStatus.OK);
+            }
+        }
+
+        received = 0;
+        while (received < messagesPerRead)
+        {
+            subscription.controlledPoll(protocolSubscription, messagesPerRead);
+        }
+
+        return received;
+    }
+
+    private final class CountingHandler implements ProtocolHandler
+    {
+        public Action onMessage(
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final int libraryId,
+            final long connectionId,
+            final long sessionId,
+            final int sequenceIndex,
+            final int messageType,
+            final long timestamp,
+            final MessageStatus status,
+            final long position)
+        {
+            received++;
+            return CONTINUE;
+        }
+
+        public Action onDisconnect(final int libraryId, final long connectionId, final DisconnectReason reason)
+        {
+            return CONTINUE;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.generation.StringWriterOutputManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.builder.Decoder;
+import uk.co.real_logic.artio.builder.Validation;
+import uk.co.real_logic.artio.dictionary.generation.ConstantGenerator;
+import uk.co.real_logic.artio.dictionary.generation.DecoderGenerator;
+import uk.co.real_logic.artio.dictionary.generation.EnumGenerator;
+import uk.co.real_logic.artio.dictionary.ir.*;
+import uk.co.real_logic.artio.dictionary.ir.Dictionary;
+import uk.co.real_logic.artio.dictionary.ir.Group;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.generation.CompilerUtil.compileInMemory;
+import static uk.co.real_logic.artio.dictionary.ir.Field.Type.*;
+
+/**
+ * Compares decoding a MarketDataSnapshotFullRefresh with a large number of entries using codecs
+ * generated with linked list and array backed repeating groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LargeRepeatingGroupDecoderBenchmark
+{
+    private static final String PARENT_PACKAGE = "uk.co.real_logic.artio.benchmark";
+    private static final String DECODER_PACKAGE = PARENT_PACKAGE + ".decoder";
+    private static final String SNAPSHOT_DECODER = DECODER_PACKAGE + ".MarketDataSnapshotFullRefreshDecoder";
+
+    @Param({"false", "true"})
+    boolean arrayBackedGroups;
+
+    @Param({"10", "100", "500"})
+    int numberOfEntries;
+
+    private Decoder decoder;
+    private Iterable<?> entries;
+    private MutableAsciiBuffer buffer;
+    private int length;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        if (Validation.CODEC_VALIDATION_ENABLED)
+        {
+            throw new IllegalStateException(
+                "Benchmark cannot run with validation enabled, set -Dfix.codecs.no_validation=true");
+        }
+
+        final Dictionary dictionary = snapshotDictionary();
+        final StringWriterOutputManager outputManager = new StringWriterOutputManager();
+        new ConstantGenerator(dictionary, DECODER_PACKAGE, outputManager).generate();
+        new EnumGenerator(dictionary, PARENT_PACKAGE, outputManager).generate();
+        new DecoderGenerator(
+            dictionary, 1, DECODER_PACKAGE, PARENT_PACKAGE, outputManager, Validation.class, arrayBackedGroups)
+            .generate();
+
+        final Class<?> decoderClass = compileInMemory(SNAPSHOT_DECODER, outputManager.getSources());
+        decoder = (Decoder)decoderClass.getConstructor().newInstance();
+        entries = (Iterable<?>)decoderClass.getMethod("mDEntriesGroupIterator").invoke(decoder);
+
+        final byte[] message = snapshotMessage(numberOfEntries);
+        buffer = new MutableAsciiBuffer(message);
+        length = message.length;
+
+        // Grow the entries to their final size before measuring
+        decoder.decode(buffer, 0, length);
+    }
+
+    @Benchmark
+    public void decode(final Blackhole bh)
+    {
+        final Decoder decoder = this.decoder;
+        decoder.reset();
+        bh.consume(decoder.decode(buffer, 0, length));
+    }
+
+    @Benchmark
+    public void decodeAndIterate(final Blackhole bh)
+    {
+        final Decoder decoder = this.decoder;
+        decoder.reset();
+        bh.consume(decoder.decode(buffer, 0, length));
+
+        for (final Object entry : entries)
+        {
+            bh.consume(entry);
+        }
+    }
+
+    private static byte[] snapshotMessage(final int numberOfEntries)
+    {
+        final StringBuilder message = new StringBuilder("8=FIX.4.4\0019=0000\00135=W\00155=EURUSD\001268=")
+            .append(numberOfEntries)
+            .append('\001');
+
+        for (int i = 0; i < numberOfEntries; i++)
+        {
+            message
+                .append("269=").append(i % 2).append('\001')
+                .append("270=1.").append(1000 + i).append('\001')
+                .append("271=").append(1_000_000 + i * 1000).append('\001');
+        }
+
+        return message.append("10=000\001").toString().getBytes(US_ASCII);
+    }
+
+    private static Dictionary snapshotDictionary()
+    {
+        final Map<String, Field> fields = new HashMap<>();
+
+        final Component header = new Component("Header");
+        header
+            .requiredEntry(registerField(fields, 8, "BeginString", STRING))
+            .requiredEntry(registerField(fields, 9, "BodyLength", LENGTH))
+            .requiredEntry(registerField(fields, 35, "MsgType", STRING));
+
+        final Component trailer = new Component("Trailer");
+        trailer.requiredEntry(registerField(fields, 10, "CheckSum", STRING));
+
+        final Group mdEntries = Group.of(registerField(fields, 268, "NoMDEntries", NUMINGROUP));
+        mdEntries.requiredEntry(registerField(fields, 269, "MDEntryType", CHAR));
+        mdEntries.optionalEntry(registerField(fields, 270, "MDEntryPx", PRICE));
+        mdEntries.optionalEntry(registerField(fields, 271, "MDEntrySize", QTY));
+
+        final Message snapshot = new Message("MarketDataSnapshotFullRefresh", "W", Category.APP);
+        snapshot.requiredEntry(registerField(fields, 55, "Symbol", STRING));
+        snapshot.requiredEntry(mdEntries);
+
+        return new Dictionary(
+            Collections.singletonList(snapshot), fields, Collections.emptyMap(), header, trailer, "FIX", 4, 4);
+    }
+
+    private static Field registerField(
+        final Map<String, Field> fields, final int number, final String name, final Field.Type type)
+    {
+        final Field field = new Field(number, name, type);
+        fields.put(name, field);
+        return field;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import io.aeron.Aeron;
+import io.aeron.ExclusivePublication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.decoder.HeaderDecoder;
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
+import uk.co.real_logic.artio.messages.DisconnectReason;
+import uk.co.real_logic.artio.messages.MessageStatus;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.protocol.ProtocolHandler;
+import uk.co.real_logic.artio.protocol.ProtocolSubscription;
+import uk.co.real_logic.artio.replication.ClusterablePublication;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.NO_PRE_PARSED_HEADER;
+import static uk.co.real_logic.artio.protocol.GatewayPublication.hasPreParsedHeader;
+
+/**
+ * Publishes a FIX message and receives it along with its MsgSeqNum, PossDupFlag and SendingTime, either
+ * pre-parsed by the publisher or by decoding the header of the message upon receipt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PreParsedHeaderBenchmark
+{
+    private static final int STREAM_ID = 1;
+    private static final int LIBRARY_ID = 2;
+    private static final long SESSION_ID = 3;
+    private static final long CONNECTION_ID = 4;
+    private static final int SEQUENCE_INDEX = 0;
+    private static final int MSG_SEQ_NUM = 4;
+    private static final long SENDING_TIME = 1237822829000L;
+    private static final byte[] NEW_ORDER_SINGLE = ("8=FIX.4.2\0019=146\00135=D\00134=4\00149=ABC_DEFG01\001" +
+        "52=20090323-15:40:29\00156=CCG\001115=XYZ\00111=NF 0542/03232009\00154=1\00138=100\00155=CVS\00140=1" +
+        "\00159=0\00147=A\00160=20090323-15:40:29\00121=1\001207=N\00110=195\001").getBytes(US_ASCII);
+
+    @Param({"false", "true"})
+    boolean preParsed;
+
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private Subscription subscription;
+    private GatewayPublication publication;
+    private ProtocolSubscription protocolSubscription;
+    private UnsafeBuffer buffer;
+    private boolean received;
+    private long receivedSequenceNumbers;
+
+    @Setup
+    public void setup()
+    {
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED)
+            .dirDeleteOnStart(true));
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+        subscription = aeron.addSubscription(IPC_CHANNEL, STREAM_ID);
+        final ExclusivePublication dataPublication = aeron.addExclusivePublication(IPC_CHANNEL, STREAM_ID);
+        publication = new GatewayPublication(
+            ClusterablePublication.solo(dataPublication),
+            aeron.addCounter(0, "pre-parsed-header-benchmark-fails"),
+            new BusySpinIdleStrategy(),
+            new SystemNanoClock(),
+            Integer.MAX_VALUE);
+        protocolSubscription = ProtocolSubscription.of(new HeaderReadingHandler());
+        buffer = new UnsafeBuffer(NEW_ORDER_SINGLE);
+
+        while (!dataPublication.isConnected())
+        {
+            Thread.yield();
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    public long publishAndReceiveMessage()
+    {
+        publication.saveMessage(
+            buffer, 0, NEW_ORDER_SINGLE.length, LIBRARY_ID, 'D', SESSION_ID, SEQUENCE_INDEX, CONNECTION_ID,
+            MessageStatus.OK, preParsed ? MSG_SEQ_NUM : NO_PRE_PARSED_HEADER, false, SENDING_TIME);
+
+        received = false;
+        while (!received)
+        {
+            subscription.controlledPoll(protocolSubscription, 1);
+        }
+
+        return receivedSequenceNumbers;
+    }
+
+    private final class HeaderReadingHandler implements ProtocolHandler
+    {
+        private final MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer();
+        private final HeaderDecoder header = new HeaderDecoder();
+        private final UtcTimestampDecoder timestampDecoder = new UtcTimestampDecoder();
+
+        public Action onMessage(
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final int libraryId,
+            final long connectionId,
+            final long sessionId,
+            final int sequenceIndex,
+            final int messageType,
+            final long timestamp,
+            final MessageStatus status,
+            final long position,
+            final int msgSeqNum,
+            final boolean possDup,
+            final long sendingTime)
+        {
+            if (hasPreParsedHeader(msgSeqNum))
+            {
+                receivedSequenceNumbers += msgSeqNum + sendingTime + (possDup ? 1 : 0);
+            }
+            else
+            {
+                final HeaderDecoder header = this.header;
+                asciiBuffer.wrap(buffer);
+                header.reset();
+                header.decode(asciiBuffer, offset, length);
+                final boolean decodedPossDup = header.hasPossDupFlag() && header.possDupFlag();
+                receivedSequenceNumbers += header.msgSeqNum() +
+                    timestampDecoder.decode(header.sendingTime(), header.sendingTimeLength()) +
+                    (decodedPossDup ? 1 : 0);
+            }
+
+            received = true;
+            return CONTINUE;
+        }
+
+        public Action onMessage(
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final int libraryId,
+            final long connectionId,
+            final long sessionId,
+            final int sequenceIndex,
+            final int messageType,
+            final long timestamp,
+            final MessageStatus status,
+            final long position)
+        {
+            return onMessage(
+                buffer, offset, length, libraryId, connectionId, sessionId, sequenceIndex, messageType, timestamp,
+                status, position, NO_PRE_PARSED_HEADER, false, 0);
+        }
+
+        public Action onDisconnect(final int libraryId, final long connectionId, final DisconnectReason reason)
+        {
+            return CONTINUE;
+        }
+    }
+}
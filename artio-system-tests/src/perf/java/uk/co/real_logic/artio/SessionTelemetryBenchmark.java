@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.timing.LatencyHistogram;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.concurrent.status.CountersReader.COUNTER_LENGTH;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+
+/**
+ * Records the counters touched for a session that reads one message and writes one message, with and without
+ * session telemetry. With it disabled only the counters that are always recorded get updated, so the difference
+ * between the two is the overhead of enabling telemetry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionTelemetryBenchmark
+{
+    private static final int MAX_COUNTERS = 64;
+    private static final long CONNECTION_ID = 1;
+    private static final String ADDRESS = "localhost:9999";
+    private static final int MESSAGE_LENGTH = 150;
+
+    @Param({"false", "true"})
+    boolean sessionTelemetry;
+
+    private final NanoClock clock = new SystemNanoClock();
+
+    private FixCounters fixCounters;
+    private AtomicCounter messagesRead;
+    private AtomicCounter bytesRead;
+    private AtomicCounter messagesWritten;
+    private AtomicCounter bytesWritten;
+    private LatencyHistogram engineToLibraryLatency;
+    private LatencyHistogram libraryToSocketLatency;
+
+    @Setup
+    public void setup()
+    {
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(MAX_COUNTERS * METADATA_LENGTH)),
+            new UnsafeBuffer(ByteBuffer.allocateDirect(MAX_COUNTERS * COUNTER_LENGTH)));
+        fixCounters = new FixCounters(countersManager);
+        messagesRead = fixCounters.messagesRead(CONNECTION_ID, ADDRESS);
+
+        if (sessionTelemetry)
+        {
+            bytesRead = fixCounters.bytesRead(CONNECTION_ID, ADDRESS);
+            messagesWritten = fixCounters.messagesWritten(CONNECTION_ID, ADDRESS);
+            bytesWritten = fixCounters.bytesWritten(CONNECTION_ID, ADDRESS);
+            engineToLibraryLatency = fixCounters.engineToLibraryLatency(CONNECTION_ID, clock);
+            libraryToSocketLatency = fixCounters.libraryToSocketLatency(CONNECTION_ID, ADDRESS, clock);
+        }
+    }
+
+    @Benchmark
+    public long readAndWriteMessage()
+    {
+        final long timestamp = clock.nanoTime();
+
+        messagesRead.incrementOrdered();
+        if (bytesRead != null)
+        {
+            bytesRead.getAndAddOrdered(MESSAGE_LENGTH);
+        }
+
+        if (engineToLibraryLatency != null)
+        {
+            engineToLibraryLatency.recordSince(timestamp);
+        }
+
+        if (messagesWritten != null)
+        {
+            messagesWritten.incrementOrdered();
+            bytesWritten.getAndAddOrdered(MESSAGE_LENGTH);
+            libraryToSocketLatency.recordSince(timestamp);
+        }
+
+        return timestamp;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(messagesRead);
+        CloseHelper.close(bytesRead);
+        CloseHelper.close(messagesWritten);
+        CloseHelper.close(bytesWritten);
+        CloseHelper.close(engineToLibraryLatency);
+        CloseHelper.close(libraryToSocketLatency);
+        fixCounters.close();
+    }
+}
@@ -15,8 +15,11 @@
  */
 package uk.co.real_logic.artio;
 
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.SystemEpochNanoClock;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
 import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 
 import java.util.concurrent.TimeUnit;
@@ -29,12 +32,18 @@ import java.util.concurrent.TimeUnit;
 @Fork(1)
 public class TimestampEncoderBenchmark
 {
-    private UtcTimestampEncoder timestampEncoder = new UtcTimestampEncoder();
+    private final EpochNanoClock clock = new SystemEpochNanoClock();
+
+    @Param
+    EpochFractionFormat format;
+
+    private UtcTimestampEncoder timestampEncoder;
 
     @Setup
     public void initialiseTimestamp()
     {
-        timestampEncoder.initialise(System.currentTimeMillis());
+        timestampEncoder = new UtcTimestampEncoder(format);
+        timestampEncoder.initialise(time());
     }
 
     @Benchmark
@@ -42,7 +51,7 @@ public class TimestampEncoderBenchmark
     {
         final UtcTimestampEncoder timestampEncoder = this.timestampEncoder;
 
-        bh.consume(timestampEncoder.encode(System.currentTimeMillis()));
+        bh.consume(timestampEncoder.encode(time()));
         bh.consume(timestampEncoder.buffer());
     }
 
@@ -51,7 +60,7 @@ public class TimestampEncoderBenchmark
     {
         final UtcTimestampEncoder timestampEncoder = this.timestampEncoder;
 
-        bh.consume(timestampEncoder.update(System.currentTimeMillis()));
+        bh.consume(timestampEncoder.update(time()));
         bh.consume(timestampEncoder.buffer());
     }
 
@@ -60,7 +69,16 @@ public class TimestampEncoderBenchmark
     {
         bh.consume(this.timestampEncoder);
 
-        bh.consume(System.currentTimeMillis());
+        bh.consume(time());
     }
 
+    private long time()
+    {
+        if (format == EpochFractionFormat.MILLISECONDS)
+        {
+            return System.currentTimeMillis();
+        }
+
+        return format.fromNanos(clock.nanoTime());
+    }
 }
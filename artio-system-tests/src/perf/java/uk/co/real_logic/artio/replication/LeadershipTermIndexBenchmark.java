@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.replication;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.replication.LeadershipTermIndex.Cursor;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up replicated positions in a memory mapped leadership term index that has been through many failovers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LeadershipTermIndexBenchmark
+{
+    private static final int TERM_LENGTH = 64 * 1024;
+    private static final int MAX_BYTES_PER_TERM = 64;
+    private static final int LOOKUPS = 1024;
+    private static final int MASK = LOOKUPS - 1;
+
+    @Param({"16", "1024", "8192"})
+    public int terms;
+
+    private final long[] randomPositions = new long[LOOKUPS];
+    private final Cursor cursor = new Cursor();
+
+    private File file;
+    private MappedByteBuffer mappedBuffer;
+    private LeadershipTermIndex index;
+    private long endPosition;
+    private long sequentialPosition;
+    private int lookup;
+
+    @Setup
+    public void setup()
+    {
+        file = new File(IoUtil.tmpDirName(), "leadership-term-index-benchmark");
+        mappedBuffer = IoUtil.mapNewFile(file, (long)MAX_BYTES_PER_TERM * (terms + 1));
+        index = new LeadershipTermIndex(new UnsafeBuffer(mappedBuffer));
+
+        long transportPosition = 0;
+        for (int i = 0; i < terms; i++)
+        {
+            final int sessionId = i % 3 + 1;
+            index.onNewLeader(transportPosition + TERM_LENGTH, (long)i * TERM_LENGTH, transportPosition, sessionId);
+            transportPosition += TERM_LENGTH / 3;
+        }
+        endPosition = (long)terms * TERM_LENGTH;
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            randomPositions[i] = random.nextLong(endPosition);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        IoUtil.unmap(mappedBuffer);
+        IoUtil.delete(file, true);
+    }
+
+    @Benchmark
+    public void findRandomPosition(final Blackhole bh)
+    {
+        bh.consume(index.find(randomPositions[lookup++ & MASK], cursor));
+        bh.consume(cursor.transportPosition());
+    }
+
+    // Replays through the whole log a kilobyte at a time, like a consumer catching up from the archive
+    @Benchmark
+    public void findSequentialPosition(final Blackhole bh)
+    {
+        long position = sequentialPosition + 1024;
+        if (position >= endPosition)
+        {
+            position = 0;
+        }
+        sequentialPosition = position;
+
+        bh.consume(index.find(position, cursor));
+        bh.consume(cursor.transportPosition());
+    }
+
+    @Benchmark
+    public void findLatestTermPosition(final Blackhole bh)
+    {
+        bh.consume(index.find(endPosition + (lookup++ & MASK), cursor));
+        bh.consume(cursor.transportPosition());
+    }
+}
@@ -131,7 +131,12 @@ public abstract class AbstractBenchmarkClient
 
     protected SocketChannel open() throws IOException
     {
-        final SocketChannel socketChannel = SocketChannel.open(new InetSocketAddress(HOST, PORT));
+        return open(PORT);
+    }
+
+    protected SocketChannel open(final int port) throws IOException
+    {
+        final SocketChannel socketChannel = SocketChannel.open(new InetSocketAddress(HOST, port));
         socketChannel.configureBlocking(false);
         socketChannel.setOption(TCP_NODELAY, true);
         socketChannel.setOption(SO_RCVBUF, 1024 * 1024);
@@ -38,6 +38,22 @@ public final class BenchmarkConfiguration
     public static final int SEND_RATE_PER_SECOND = Integer.getInteger("fix.benchmark.send_rate_sec", 1_000);
     public static final int NUMBER_OF_SESSIONS = Integer.getInteger("fix.benchmark.num_sessions", 1);
 
+    public static final int CLUSTER_SIZE = Integer.getInteger("fix.benchmark.cluster.size", 3);
+    public static final String CLUSTER_AERON_INTERFACE = System.getProperty(
+        "fix.benchmark.cluster.aeron_interface", "127.0.0.1");
+    public static final String CLUSTER_AERON_CHANNEL = System.getProperty(
+        "fix.benchmark.cluster.aeron_channel",
+        "aeron:udp?endpoint=224.0.1.1:9100|interface=" + CLUSTER_AERON_INTERFACE);
+    public static final String CLUSTER_LIBRARY_AERON_HOST = System.getProperty(
+        "fix.benchmark.cluster.library_aeron_host", "224.0.1.1");
+    public static final int CLUSTER_LIBRARY_AERON_PORT = Integer.getInteger(
+        "fix.benchmark.cluster.library_aeron_port", 9110);
+    public static final double CLUSTER_LOSS_RATE = Double.parseDouble(
+        System.getProperty("fix.benchmark.cluster.loss_rate", "0"));
+    public static final long CLUSTER_DELAY_IN_US = Long.getLong("fix.benchmark.cluster.delay_us", 0);
+    public static final boolean CLUSTER_FAST_FAILOVER = Boolean.getBoolean("fix.benchmark.cluster.fast_failover");
+    public static final long CLUSTER_TIMEOUT_IN_MS = Long.getLong("fix.benchmark.cluster.timeout_ms", 30_000);
+
     static IdleStrategy idleStrategy()
     {
         final String strategyName = System.getProperty("fix.benchmark.engine_idle", "");
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.CommonContext;
+import io.aeron.driver.MediaDriver;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.IdleStrategy;
+import uk.co.real_logic.artio.Reply;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.library.SessionConfiguration;
+import uk.co.real_logic.artio.session.Session;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.co.real_logic.artio.messages.SessionState.ACTIVE;
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+
+/**
+ * Measures the time taken for a library to initiate a large number of sessions with the {@link FixBenchmarkServer}
+ * and for all of them to be logged on. Set fix.benchmark.batch_initiate to compare initiating the sessions as
+ * a batch with initiating them one at a time.
+ */
+public final class BulkInitiateBenchmarkClient
+{
+    private static final boolean BATCH_INITIATE = Boolean.getBoolean("fix.benchmark.batch_initiate");
+    private static final int SESSIONS = Integer.getInteger("fix.benchmark.num_sessions", 100);
+    private static final long TIMEOUT_IN_MS = 120_000;
+    private static final String CLIENT_LOGS = "bulk_initiator_logs";
+
+    public static void main(final String[] args)
+    {
+        IoUtil.delete(new File(CLIENT_LOGS), true);
+        final String aeronDirectoryName = CommonContext.AERON_DIR_PROP_DEFAULT + "-bulk-initiator";
+
+        final MediaDriver.Context driverContext = new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .dirDeleteOnStart(true);
+
+        try (MediaDriver mediaDriver = MediaDriver.launch(driverContext);
+            FixEngine engine = FixEngine.launch(engineConfiguration(aeronDirectoryName));
+            FixLibrary library = FixLibrary.connect(libraryConfiguration(aeronDirectoryName)))
+        {
+            final IdleStrategy idleStrategy = idleStrategy();
+            while (!library.isConnected())
+            {
+                idleStrategy.idle(library.poll(10));
+            }
+
+            System.out.printf("Initiating %d sessions, batch_initiate = %s%n", SESSIONS, BATCH_INITIATE);
+
+            final List<SessionConfiguration> configurations = new ArrayList<>(SESSIONS);
+            for (int i = 0; i < SESSIONS; i++)
+            {
+                configurations.add(SessionConfiguration.builder()
+                    .address(System.getProperty("fix.benchmark.host", "localhost"), PORT)
+                    .senderCompId(INITIATOR_ID + i)
+                    .targetCompId(ACCEPTOR_ID)
+                    .timeoutInMs(TIMEOUT_IN_MS)
+                    .build());
+            }
+
+            final long startTimeInNs = System.nanoTime();
+
+            final List<Reply<Session>> replies;
+            if (BATCH_INITIATE)
+            {
+                replies = library.initiate(configurations);
+            }
+            else
+            {
+                replies = new ArrayList<>(SESSIONS);
+                for (final SessionConfiguration configuration : configurations)
+                {
+                    replies.add(library.initiate(configuration));
+                }
+            }
+
+            int loggedOn = 0;
+            while (loggedOn < SESSIONS)
+            {
+                idleStrategy.idle(library.poll(10));
+
+                loggedOn = 0;
+                for (final Reply<Session> reply : replies)
+                {
+                    if (reply.hasErrored() || reply.hasTimedOut())
+                    {
+                        throw new IllegalStateException("Failed to initiate session: " + reply.state(), reply.error());
+                    }
+
+                    final Session session = reply.resultIfPresent();
+                    if (session != null && session.state() == ACTIVE)
+                    {
+                        loggedOn++;
+                    }
+                }
+            }
+
+            final long durationInNs = System.nanoTime() - startTimeInNs;
+            System.out.printf(
+                "%d sessions logged on in %dms%n", SESSIONS, NANOSECONDS.toMillis(durationInNs));
+        }
+    }
+
+    private static EngineConfiguration engineConfiguration(final String aeronDirectoryName)
+    {
+        final EngineConfiguration configuration = new EngineConfiguration()
+            .libraryAeronChannel(IPC_CHANNEL)
+            .logFileDir(CLIENT_LOGS)
+            .monitoringFile(CLIENT_LOGS + File.separator + "engineCounters")
+            .framerIdleStrategy(idleStrategy());
+        configuration.agentNamePrefix("bulk-");
+        configuration.aeronContext().aeronDirectoryName(aeronDirectoryName);
+
+        return configuration;
+    }
+
+    private static LibraryConfiguration libraryConfiguration(final String aeronDirectoryName)
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration()
+            .libraryAeronChannels(singletonList(IPC_CHANNEL))
+            .sessionAcquireHandler((session, isSlow) -> new BenchmarkSessionHandler());
+        configuration.aeronContext().aeronDirectoryName(aeronDirectoryName);
+
+        return configuration;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.CommonContext;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.HdrHistogram.Histogram;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.IdleStrategy;
+import uk.co.real_logic.artio.builder.HeaderEncoder;
+import uk.co.real_logic.artio.builder.TestRequestEncoder;
+import uk.co.real_logic.artio.library.AcquiringSessionExistsHandler;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.timing.HistogramLogReader;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.stream.Collectors.toList;
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+
+/**
+ * Runs a whole cluster of {@link uk.co.real_logic.artio.engine.FixEngine} nodes inside this JVM, talking over UDP
+ * loopback, and reports replicated round trip latency, throughput and failover time. Set
+ * fix.benchmark.cluster.loss_rate and fix.benchmark.cluster.delay_us to see how changes behave on a worse network,
+ * and fix.benchmark.cluster.fast_failover to compare failover times with the cluster's fast failover mode.
+ *
+ * Nodes talk to each other over multicast bound to fix.benchmark.cluster.aeron_interface, which defaults to
+ * 127.0.0.1, so the loopback interface must accept multicast. On Linux that is not the default and needs
+ * {@code ip link set lo multicast on} (plus a route for 224.0.0.0/4 via lo if there is another multicast route).
+ *
+ * The round trip is a TestRequest sent to the leader and the Heartbeat sent back by the acceptor's library, so
+ * both the inbound and outbound messages have been committed by a quorum of the cluster.
+ */
+public final class ClusterBenchmarkHarness extends AbstractBenchmarkClient
+{
+    public static void main(final String[] args) throws Exception
+    {
+        final List<ClusterBenchmarkNode> nodes = new ArrayList<>();
+        try (MediaDriver libraryMediaDriver = newLibraryMediaDriver())
+        {
+            for (int nodeId = 1; nodeId <= CLUSTER_SIZE; nodeId++)
+            {
+                nodes.add(new ClusterBenchmarkNode(nodeId, CLUSTER_SIZE));
+            }
+
+            final long electionStartTime = System.nanoTime();
+            nodes.forEach(ClusterBenchmarkNode::launch);
+            final ClusterBenchmarkNode leader = awaitLeader(nodes, null);
+            System.out.printf(
+                "Node %d elected leader of %d nodes in %d ms%n",
+                leader.nodeId(),
+                CLUSTER_SIZE,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - electionStartTime));
+
+            try (LibraryPoller libraryPoller = new LibraryPoller(libraryConfiguration(
+                nodes, libraryMediaDriver.aeronDirectoryName())))
+            {
+                libraryPoller.start();
+                libraryPoller.awaitConnected();
+
+                new ClusterBenchmarkHarness().runBenchmark(leader);
+
+                leader.disable();
+                final long failoverStartTime = System.nanoTime();
+                final ClusterBenchmarkNode newLeader = awaitLeader(nodes, leader);
+                System.out.printf(
+                    "Failed over from node %d to node %d in %d ms (fast failover = %b)%n",
+                    leader.nodeId(),
+                    newLeader.nodeId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - failoverStartTime),
+                    CLUSTER_FAST_FAILOVER);
+            }
+        }
+        finally
+        {
+            nodes.forEach(CloseHelper::close);
+        }
+    }
+
+    private static MediaDriver newLibraryMediaDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .aeronDirectoryName(CommonContext.AERON_DIR_PROP_DEFAULT + "-cluster-library")
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .termBufferSparseFile(true)
+            .publicationTermBufferLength(ClusterBenchmarkNode.TERM_BUFFER_LENGTH);
+
+        return MediaDriver.launch(context);
+    }
+
+    private static LibraryConfiguration libraryConfiguration(
+        final List<ClusterBenchmarkNode> nodes, final String aeronDirectoryName)
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration();
+        configuration.printAeronStreamIdentifiers(true);
+        configuration.authenticationStrategy((logon) -> !REJECT_LOGON);
+        configuration.aeronContext().aeronDirectoryName(aeronDirectoryName);
+
+        return configuration
+            .libraryAeronChannels(nodes.stream().map(ClusterBenchmarkNode::libraryChannel).collect(toList()))
+            .sessionAcquireHandler((session, isSlow) -> new BenchmarkSessionHandler())
+            .sessionExistsHandler(new AcquiringSessionExistsHandler());
+    }
+
+    private static ClusterBenchmarkNode awaitLeader(
+        final List<ClusterBenchmarkNode> nodes, final ClusterBenchmarkNode oldLeader)
+    {
+        final long deadline = System.currentTimeMillis() + CLUSTER_TIMEOUT_IN_MS;
+        while (System.currentTimeMillis() < deadline)
+        {
+            for (final ClusterBenchmarkNode node : nodes)
+            {
+                if (node != oldLeader && node.isLeader())
+                {
+                    return node;
+                }
+            }
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        throw new IllegalStateException("Cluster failed to elect a leader within " + CLUSTER_TIMEOUT_IN_MS + "ms");
+    }
+
+    private void runBenchmark(final ClusterBenchmarkNode leader) throws IOException
+    {
+        try (SocketChannel socketChannel = open(leader.tcpPort()))
+        {
+            logon(socketChannel);
+
+            final TestRequestEncoder testRequest = setupTestRequest();
+            final HeaderEncoder header = testRequest.header();
+            final Histogram histogram = new Histogram(3);
+
+            int seqNum = 2;
+            for (int i = 0; i < WARMUP_MESSAGES; i++)
+            {
+                exchangeMessage(socketChannel, testRequest, header, seqNum++, histogram);
+            }
+            System.out.println("Warmup Complete");
+
+            parkAfterWarmup();
+
+            histogram.reset();
+            for (int i = 0; i < MESSAGES_EXCHANGED; i++)
+            {
+                exchangeMessage(socketChannel, testRequest, header, seqNum++, histogram);
+            }
+
+            HistogramLogReader.prettyPrint(
+                System.currentTimeMillis(), histogram, "Cluster round trip in Micros", 1000);
+
+            final long startTime = System.currentTimeMillis();
+            int sent = 0;
+            int received = 0;
+            while (received < MESSAGES_EXCHANGED)
+            {
+                while (sent < MESSAGES_EXCHANGED && sent - received < MAX_MESSAGES_IN_FLIGHT)
+                {
+                    write(socketChannel, encode(testRequest, header, seqNum++));
+                    sent++;
+                }
+
+                readBuffer.clear();
+                final int length = socketChannel.read(readBuffer);
+                if (length < 0)
+                {
+                    throw new IOException("Disconnected by cluster leader");
+                }
+
+                received += scanForReceivesMessages(readFlyweight, length);
+            }
+
+            printThroughput(startTime, MESSAGES_EXCHANGED);
+        }
+    }
+
+    private void exchangeMessage(
+        final SocketChannel socketChannel,
+        final TestRequestEncoder testRequest,
+        final HeaderEncoder header,
+        final int seqNum,
+        final Histogram histogram)
+        throws IOException
+    {
+        final long result = encode(testRequest, header, seqNum);
+
+        final long sendingTime = System.nanoTime();
+        write(socketChannel, result);
+
+        read(socketChannel);
+        final long returnTime = System.nanoTime();
+        histogram.recordValue(returnTime - sendingTime);
+    }
+
+    /**
+     * Owns the accepting library, which has to be polled on its own thread so that it can answer the benchmark's
+     * TestRequests and follow the cluster leader when it fails over.
+     */
+    private static final class LibraryPoller extends Thread implements AutoCloseable
+    {
+        private final CountDownLatch connected = new CountDownLatch(1);
+        private final LibraryConfiguration configuration;
+
+        private volatile boolean running = true;
+
+        private LibraryPoller(final LibraryConfiguration configuration)
+        {
+            super("ClusterBenchmarkLibrary");
+            this.configuration = configuration;
+        }
+
+        public void run()
+        {
+            final IdleStrategy idleStrategy = idleStrategy();
+            try (FixLibrary library = FixLibrary.connect(configuration))
+            {
+                while (running)
+                {
+                    idleStrategy.idle(library.poll(10));
+
+                    if (connected.getCount() > 0 && library.isConnected())
+                    {
+                        System.out.println("Library connected to " + library.currentAeronChannel());
+                        connected.countDown();
+                    }
+                }
+            }
+        }
+
+        private void awaitConnected() throws InterruptedException
+        {
+            if (!connected.await(CLUSTER_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS))
+            {
+                throw new IllegalStateException(
+                    "Library failed to connect to the cluster within " + CLUSTER_TIMEOUT_IN_MS + "ms");
+            }
+        }
+
+        public void close() throws InterruptedException
+        {
+            running = false;
+            join();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.CommonContext;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+
+/**
+ * A single clustered {@link FixEngine} along with its own media driver, so that several can share one JVM while
+ * still talking to each other over UDP through a {@link ClusterNetworkInterposer}.
+ */
+class ClusterBenchmarkNode implements AutoCloseable
+{
+    static final int TERM_BUFFER_LENGTH = 16 * 1024 * 1024;
+
+    private final int nodeId;
+    private final int tcpPort;
+    private final String libraryChannel;
+    private final ClusterNetworkInterposer interposer;
+    private final MediaDriver mediaDriver;
+    private final EngineConfiguration configuration;
+
+    private FixEngine engine;
+
+    ClusterBenchmarkNode(final int nodeId, final int clusterSize)
+    {
+        this.nodeId = nodeId;
+        tcpPort = PORT + nodeId;
+        libraryChannel = "aeron:udp?endpoint=" + CLUSTER_LIBRARY_AERON_HOST + ":" +
+            (CLUSTER_LIBRARY_AERON_PORT + nodeId) + "|interface=" + CLUSTER_AERON_INTERFACE;
+        interposer = new ClusterNetworkInterposer(
+            CLUSTER_LOSS_RATE, TimeUnit.MICROSECONDS.toNanos(CLUSTER_DELAY_IN_US));
+
+        final String aeronDirectoryName = CommonContext.AERON_DIR_PROP_DEFAULT + "-cluster-" + nodeId;
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .termBufferSparseFile(true)
+            .publicationTermBufferLength(TERM_BUFFER_LENGTH)
+            .ipcTermBufferLength(TERM_BUFFER_LENGTH)
+            .sendChannelEndpointSupplier(interposer.newSendChannelEndpointSupplier())
+            .receiveChannelEndpointSupplier(interposer.newReceiveChannelEndpointSupplier());
+        mediaDriver = MediaDriver.launch(context);
+
+        final String logFileDir = "cluster_benchmark_logs" + nodeId;
+        final File dir = new File(logFileDir);
+        if (dir.exists())
+        {
+            IoUtil.delete(dir, false);
+        }
+
+        configuration = new EngineConfiguration();
+        configuration.printAeronStreamIdentifiers(true);
+        configuration.authenticationStrategy((logon) -> !REJECT_LOGON);
+        configuration.agentNamePrefix(nodeId + "-");
+        configuration.aeronContext().aeronDirectoryName(aeronDirectoryName);
+
+        configuration
+            .bindTo("localhost", tcpPort)
+            .libraryAeronChannel(libraryChannel)
+            .monitoringFile(IoUtil.tmpDirName() + "cluster-benchmark-counters-" + nodeId)
+            .logFileDir(logFileDir)
+            .logInboundMessages(LOG_INBOUND_MESSAGES)
+            .logOutboundMessages(LOG_OUTBOUND_MESSAGES)
+            .framerIdleStrategy(idleStrategy())
+            .clusterAeronChannel(CLUSTER_AERON_CHANNEL)
+            .clusterFastFailover(CLUSTER_FAST_FAILOVER)
+            .nodeId((short)nodeId)
+            .addOtherNodes(IntStream.rangeClosed(1, clusterSize).filter((id) -> id != nodeId).toArray());
+    }
+
+    void launch()
+    {
+        engine = FixEngine.launch(configuration);
+    }
+
+    /**
+     * Netsplit this node from the rest of the cluster and from its libraries.
+     */
+    void disable()
+    {
+        interposer.disabled(true);
+    }
+
+    void enable()
+    {
+        interposer.disabled(false);
+    }
+
+    boolean isLeader()
+    {
+        return engine.isLeader();
+    }
+
+    int nodeId()
+    {
+        return nodeId;
+    }
+
+    int tcpPort()
+    {
+        return tcpPort;
+    }
+
+    String libraryChannel()
+    {
+        return libraryChannel;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(engine);
+        CloseHelper.close(mediaDriver);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.driver.ReceiveChannelEndpointSupplier;
+import io.aeron.driver.SendChannelEndpointSupplier;
+import io.aeron.driver.ext.DebugReceiveChannelEndpoint;
+import io.aeron.driver.ext.DebugSendChannelEndpoint;
+import io.aeron.driver.ext.LossGenerator;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sits between a benchmark node's media driver and the loopback network, randomly dropping frames and delaying
+ * outbound frames in order to approximate a lossy or distant link.
+ *
+ * The delay is applied by spinning on the driver's sender thread, so it adds latency to every outbound frame but
+ * also serialises them: it models a slow link rather than a long pipe and will cap throughput at high rates.
+ */
+class ClusterNetworkInterposer
+{
+    private final LossGenerator outboundLossGenerator = new InterposingLossGenerator(true);
+    private final LossGenerator inboundLossGenerator = new InterposingLossGenerator(false);
+
+    private final double lossRate;
+    private final long delayInNs;
+
+    private volatile boolean disabled;
+
+    ClusterNetworkInterposer(final double lossRate, final long delayInNs)
+    {
+        this.lossRate = lossRate;
+        this.delayInNs = delayInNs;
+    }
+
+    SendChannelEndpointSupplier newSendChannelEndpointSupplier()
+    {
+        return (udpChannel, statusIndicator, context) ->
+            new DebugSendChannelEndpoint(
+                udpChannel, statusIndicator, context, outboundLossGenerator, outboundLossGenerator);
+    }
+
+    ReceiveChannelEndpointSupplier newReceiveChannelEndpointSupplier()
+    {
+        return (udpChannel, dispatcher, statusIndicator, context) ->
+            new DebugReceiveChannelEndpoint(
+                udpChannel, dispatcher, statusIndicator, context, inboundLossGenerator, inboundLossGenerator);
+    }
+
+    /**
+     * Drop every frame to and from this node, netsplitting it from the rest of the cluster.
+     *
+     * @param disabled true to drop all frames, false to go back to the configured loss rate.
+     */
+    void disabled(final boolean disabled)
+    {
+        this.disabled = disabled;
+    }
+
+    private final class InterposingLossGenerator implements LossGenerator
+    {
+        private final boolean delays;
+
+        private InterposingLossGenerator(final boolean delays)
+        {
+            this.delays = delays;
+        }
+
+        public boolean shouldDropFrame(final InetSocketAddress address, final UnsafeBuffer buffer, final int length)
+        {
+            if (disabled)
+            {
+                return true;
+            }
+
+            if (delays && delayInNs > 0)
+            {
+                final long deadline = System.nanoTime() + delayInNs;
+                while (System.nanoTime() < deadline)
+                {
+                    // spin to hold up the frame
+                }
+            }
+
+            return lossRate > 0 && ThreadLocalRandom.current().nextDouble() < lossRate;
+        }
+    }
+}
@@ -33,8 +33,10 @@ import uk.co.real_logic.artio.session.Session;
 import java.util.List;
 import java.util.function.IntSupplier;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_REPLY_TIMEOUT_IN_MS;
 import static uk.co.real_logic.artio.FixMatchers.*;
 import static uk.co.real_logic.artio.TestFixtures.launchMediaDriver;
 import static uk.co.real_logic.artio.Timing.*;
@@ -247,6 +249,40 @@ public class GatewayToGatewaySystemTest extends AbstractGatewayToGatewaySystemTe
         assertInitiatingSequenceIndexIs(0);
     }
 
+    @Test
+    public void shouldInitiateABatchOfSessions()
+    {
+        final List<Reply<Session>> replies = initiatingLibrary.initiate(asList(
+            sessionConfiguration(port, INITIATOR_ID2, ACCEPTOR_ID),
+            sessionConfiguration(port, INITIATOR_ID, ACCEPTOR_ID)));
+
+        final Reply<Session> reply = testSystem.awaitReply(replies.get(0));
+        assertEquals(Reply.State.COMPLETED, reply.state());
+        final Session session2 = reply.resultIfPresent();
+        assertConnected(session2);
+        sessionLogsOn(testSystem, session2, DEFAULT_TIMEOUT_IN_MS);
+
+        final Reply<Session> duplicateReply = testSystem.awaitReply(replies.get(1));
+        assertEquals(Reply.State.ERRORED, duplicateReply.state());
+    }
+
+    @Test
+    public void shouldRequestABatchOfSessions()
+    {
+        final long sessionId = acceptingHandler.awaitSessionId(testSystem::poll);
+        final long unknownSessionId = sessionId + 1;
+
+        final List<Reply<SessionReplyStatus>> replies = acceptingLibrary.requestSessions(
+            new long[]{sessionId, unknownSessionId},
+            new int[]{NO_MESSAGE_REPLAY, NO_MESSAGE_REPLAY},
+            new int[]{NO_MESSAGE_REPLAY, NO_MESSAGE_REPLAY},
+            DEFAULT_REPLY_TIMEOUT_IN_MS);
+
+        assertEquals(OK, testSystem.awaitReply(replies.get(0)).resultIfPresent());
+        assertEquals(SessionReplyStatus.UNKNOWN_SESSION, testSystem.awaitReply(replies.get(1)).resultIfPresent());
+        assertNotNull("unable to acquire accepting session", acceptingHandler.lastSession());
+    }
+
     @Test
     public void sequenceNumbersShouldResetOverDisconnects()
     {
@@ -144,14 +144,17 @@ public final class SystemTestUtil
         final String initiatorId,
         final String acceptorId)
     {
-        final SessionConfiguration config = SessionConfiguration.builder()
+        return library.initiate(sessionConfiguration(port, initiatorId, acceptorId));
+    }
+
+    static SessionConfiguration sessionConfiguration(final int port, final String initiatorId, final String acceptorId)
+    {
+        return SessionConfiguration.builder()
             .address("localhost", port)
             .credentials(USERNAME, PASSWORD)
             .senderCompId(initiatorId)
             .targetCompId(acceptorId)
             .build();
-
-        return library.initiate(config);
     }
 
     static void awaitLibraryReply(final FixLibrary library, final Reply<?> reply)